@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+/** json-rpc responses shaped like the ones returned by the node, used as benchmark input */
+public class SampleResponses {
+
+    private static final String INPUT =
+            "0x2fe99bdc000000000000000000000000000000000000000000000000000000000000006000000000"
+                    + "000000000000000000000000000000000000000000000000000000a000000000000000000000000000"
+                    + "000000000000000000000000000000000000e000000000000000000000000000000000000000000000"
+                    + "0000000000000000000574657374310000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000057465737432000000"
+                    + "0000000000000000000000000000000000000000000000000000000000000000000000000000000000"
+                    + "0000000000000000000000000000057465737433000000000000000000000000000000000000000000"
+                    + "000000000000";
+
+    private static final String WORD =
+            "0000000000000000000000000000000000000000000000000000000000000001";
+
+    private SampleResponses() {}
+
+    public static String transactionReceipt(int logCount) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"id\":8,\"jsonrpc\":\"2.0\",\"result\":{")
+                .append(
+                        "\"blockNumber\":2,\"checksumContractAddress\":\"\",\"contractAddress\":\"\",")
+                .append(
+                        "\"from\":\"0x3d20a4e26f41b57c2061e520c825fbfa5f321f22\",\"gasUsed\":\"19413\",")
+                .append(
+                        "\"hash\":\"0xb59cfe6ef607b72a6bab515042e0882213d179bd421afba353e2259b2a6396e4\",")
+                .append("\"input\":\"")
+                .append(INPUT)
+                .append("\",\"logEntries\":[");
+        for (int i = 0; i < logCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"address\":\"6849f21d1e455e9f0712b1e99fa4fcd23758e8f1\",")
+                    .append("\"data\":\"0x")
+                    .append(WORD)
+                    .append(WORD)
+                    .append("\",\"topics\":[")
+                    .append(
+                            "\"0xc57b01fa77f41df77eaab79a0e2623fab2e7ae3e9530d9b1cab225ad65f2b7ce\",")
+                    .append("\"0x")
+                    .append(WORD)
+                    .append("\"]}");
+        }
+        builder.append("],\"message\":\"\",\"output\":\"0x")
+                .append(WORD)
+                .append("\",\"status\":0,\"to\":\"0x6849f21d1e455e9f0712b1e99fa4fcd23758e8f1\",")
+                .append(
+                        "\"transactionHash\":\"0x0359a5588c5e9c9dcfd2f4ece850d6f4c41bc88e2c27cc051890f26ef0ef118f\",")
+                .append("\"transactionProof\":null,\"version\":0}}");
+        return builder.toString();
+    }
+
+    public static String transaction() {
+        return "{\"id\":4,\"jsonrpc\":\"2.0\",\"result\":" + transactionObject(0) + "}";
+    }
+
+    public static String block(int transactionCount) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"id\":5,\"jsonrpc\":\"2.0\",\"result\":{")
+                .append("\"consensusWeights\":[1],\"extraData\":\"0x\",\"gasUsed\":\"36488\",")
+                .append(
+                        "\"hash\":\"0xaa3fb2b657db63ca437f9b862bab1a5e06bb0be6281cd78bf51373beafc97f5b\",")
+                .append("\"number\":1,\"parentInfo\":[{\"blockHash\":")
+                .append("\"0x3e05e34a36cad0836483101667a9ed1822a7810f848979ce2a38444a222e029c\",")
+                .append("\"blockNumber\":0}],")
+                .append(
+                        "\"receiptsRoot\":\"0x0000000000000000000000000000000000000000000000000000000000000000\",")
+                .append(
+                        "\"sealer\":0,\"sealerList\":[\"0x751bbcec9ab8fc8a8ecc9da7827e40a7f1b710801b")
+                .append(
+                        "3090cf06f846198b1ad0a0baff615a2624c00d2bf1f48bd29fbe509982130eb8c22debca2c")
+                .append("acc8125b551e\"],\"signatureList\":[{\"sealerIndex\":0,\"signature\":")
+                .append(
+                        "\"0x8427bf9a5f3081dc4ede863d85ccccb22b870d56be63fbac110e20b9473e5f822486238")
+                .append("fe39faf732f902bdad895c437ddf95037e46e37dbf06f0aee8bb14ad100\"}],")
+                .append(
+                        "\"stateRoot\":\"0x6a061fd2b32d4384df1d2e1897286f6dbbc139a3383569cbd940d0d990f66604\",")
+                .append("\"timestamp\":1637579843630,\"transactions\":[");
+        for (int i = 0; i < transactionCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(transactionObject(i));
+        }
+        builder.append("],")
+                .append(
+                        "\"txsRoot\":\"0x0000000000000000000000000000000000000000000000000000000000000000\",")
+                .append("\"version\":0}}");
+        return builder.toString();
+    }
+
+    private static String transactionObject(int index) {
+        return "{\"abi\":\"\",\"blockLimit\":501,\"chainID\":\"chain0\","
+                + "\"from\":\"0xebf98be58e190cab7ebed61295b0321d55bb8163\",\"groupID\":\"group0\","
+                + "\"hash\":\"0x4da85a5350adf7676c8a81d7ba5cf26a5041af68324c6018ebbf1dcfaf2dfa8f\","
+                + "\"importTime\":1654587909356,\"input\":\""
+                + INPUT
+                + "\",\"nonce\":\""
+                + String.format("%064x", 1154587909356L + index)
+                + "\",\"signature\":\"0x36b38271936016813d596ee40c32b317e1dede0be7f6c1a976a111e319d5"
+                + "0f936d04721a28aeb2c181b8cafa15d0a6035c261aede2b3d8cb9ad1791da28c7ab700\","
+                + "\"to\":\"0xebf98be58e190cab7ebed61295b0321d55bb8123\",\"version\":0}";
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark.client;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.benchmark.SampleResponses;
+import org.fisco.bcos.sdk.v3.client.protocol.deserializer.JsonRpcResponseReaders;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransaction;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** json-rpc response decoding, the same reader call ClientImpl makes for every response */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParseBenchmark {
+
+    @Param({"1", "100"})
+    public int elementCount;
+
+    @Param({JsonRpcResponseReaders.REFLECTIVE, JsonRpcResponseReaders.TUNED})
+    public String decoder;
+
+    private JsonRpcResponseReaders responseReaders;
+    private byte[] receipt;
+    private byte[] transaction;
+    private byte[] block;
+
+    @Setup
+    public void setup() {
+        responseReaders = JsonRpcResponseReaders.of(decoder);
+        receipt = SampleResponses.transactionReceipt(elementCount).getBytes(StandardCharsets.UTF_8);
+        transaction = SampleResponses.transaction().getBytes(StandardCharsets.UTF_8);
+        block = SampleResponses.block(elementCount).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public BcosTransactionReceipt parseTransactionReceipt() throws IOException {
+        return responseReaders.readValue(receipt, BcosTransactionReceipt.class);
+    }
+
+    @Benchmark
+    public BcosTransaction parseTransaction() throws IOException {
+        return responseReaders.readValue(transaction, BcosTransaction.class);
+    }
+
+    @Benchmark
+    public BcosBlock parseBlock() throws IOException {
+        return responseReaders.readValue(block, BcosBlock.class);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark.codec;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionReturnDecoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.test.codec.TestFixture;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ABI encode/decode of the generated datatypes, the path used by the generated contract wrappers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AbiTypeCodecBenchmark {
+
+    @Param({"16"})
+    public int arrayLength;
+
+    private final FunctionEncoder functionEncoder = new FunctionEncoder(new Keccak256());
+    private final FunctionReturnDecoder functionReturnDecoder = new FunctionReturnDecoder();
+
+    private Function uint256ArrayFunction;
+    private Function bytes32ArrayFunction;
+    private Function stringArrayFunction;
+    private Function structArrayFunction;
+    private String uint256ArrayOutput;
+    private String bytes32ArrayOutput;
+    private String stringArrayOutput;
+    private String structArrayOutput;
+
+    @Setup
+    public void setup() {
+        List<Uint256> uint256s = new ArrayList<>(arrayLength);
+        List<Bytes32> bytes32s = new ArrayList<>(arrayLength);
+        List<Utf8String> strings = new ArrayList<>(arrayLength);
+        List<TestFixture.Foo> foos = new ArrayList<>(arrayLength);
+        for (int i = 0; i < arrayLength; i++) {
+            uint256s.add(new Uint256(BigInteger.valueOf(i).shiftLeft(128)));
+            byte[] value = new byte[32];
+            Arrays.fill(value, (byte) i);
+            bytes32s.add(new Bytes32(value));
+            strings.add(new Utf8String("value" + i));
+            foos.add(new TestFixture.Foo("id" + i, "name" + i));
+        }
+
+        uint256ArrayFunction =
+                function(
+                        new DynamicArray<>(Uint256.class, uint256s),
+                        new TypeReference<DynamicArray<Uint256>>() {});
+        bytes32ArrayFunction =
+                function(
+                        new DynamicArray<>(Bytes32.class, bytes32s),
+                        new TypeReference<DynamicArray<Bytes32>>() {});
+        stringArrayFunction =
+                function(
+                        new DynamicArray<>(Utf8String.class, strings),
+                        new TypeReference<DynamicArray<Utf8String>>() {});
+        structArrayFunction =
+                function(
+                        new DynamicArray<>(TestFixture.Foo.class, foos),
+                        new TypeReference<DynamicArray<TestFixture.Foo>>() {});
+
+        // the functions return their input, so the encoded params are a valid output
+        uint256ArrayOutput = encodeOutput(uint256ArrayFunction);
+        bytes32ArrayOutput = encodeOutput(bytes32ArrayFunction);
+        stringArrayOutput = encodeOutput(stringArrayFunction);
+        structArrayOutput = encodeOutput(structArrayFunction);
+    }
+
+    private static Function function(Type input, TypeReference<?> output) {
+        return new Function(
+                "echo", Collections.singletonList(input), Collections.singletonList(output));
+    }
+
+    private static String encodeOutput(Function function) {
+        return Hex.toHexString(FunctionEncoder.encodeConstructor(function.getInputParameters()));
+    }
+
+    private List<Type> decode(String output, Function function) {
+        return functionReturnDecoder.decode(output, function.getOutputParameters());
+    }
+
+    @Benchmark
+    public byte[] encodeUint256Array() {
+        return functionEncoder.encode(uint256ArrayFunction);
+    }
+
+    @Benchmark
+    public byte[] encodeBytes32Array() {
+        return functionEncoder.encode(bytes32ArrayFunction);
+    }
+
+    @Benchmark
+    public byte[] encodeStringArray() {
+        return functionEncoder.encode(stringArrayFunction);
+    }
+
+    @Benchmark
+    public byte[] encodeStructArray() {
+        return functionEncoder.encode(structArrayFunction);
+    }
+
+    @Benchmark
+    public List<Type> decodeUint256Array() {
+        return decode(uint256ArrayOutput, uint256ArrayFunction);
+    }
+
+    @Benchmark
+    public List<Type> decodeBytes32Array() {
+        return decode(bytes32ArrayOutput, bytes32ArrayFunction);
+    }
+
+    @Benchmark
+    public List<Type> decodeStringArray() {
+        return decode(stringArrayOutput, stringArrayFunction);
+    }
+
+    @Benchmark
+    public List<Type> decodeStructArray() {
+        return decode(structArrayOutput, structArrayFunction);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark.codec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.codec.ContractCodec;
+import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
+import org.fisco.bcos.sdk.v3.codec.EventEncoder;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
+import org.fisco.bcos.sdk.v3.model.EventLog;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** ABI encode/decode through ContractCodec, the path used by AssembleTransactionService */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractCodecBenchmark {
+
+    // test(int256,(string,int256,(int256,int256,int256)[])[],string)
+    // setBytes32Array(bytes32[])
+    // setNested(uint256[][],string[])
+    // emitData(string,bytes32[]) and LogInfo(string indexed,string,bytes32[])
+    public static final String ABI =
+            "[{\"inputs\":[{\"name\":\"a\",\"type\":\"int256\"},{\"components\":[{\"name\":\"name\",\"type\":\"string\"},"
+                    + "{\"name\":\"count\",\"type\":\"int256\"},{\"components\":[{\"name\":\"a\",\"type\":\"int256\"},"
+                    + "{\"name\":\"b\",\"type\":\"int256\"},{\"name\":\"c\",\"type\":\"int256\"}],\"name\":\"items\",\"type\":\"tuple[]\"}],"
+                    + "\"name\":\"b\",\"type\":\"tuple[]\"},{\"name\":\"c\",\"type\":\"string\"}],\"name\":\"test\","
+                    + "\"outputs\":[{\"components\":[{\"name\":\"name\",\"type\":\"string\"},{\"name\":\"count\",\"type\":\"int256\"},"
+                    + "{\"components\":[{\"name\":\"a\",\"type\":\"int256\"},{\"name\":\"b\",\"type\":\"int256\"},"
+                    + "{\"name\":\"c\",\"type\":\"int256\"}],\"name\":\"items\",\"type\":\"tuple[]\"}],\"name\":\"\",\"type\":\"tuple[]\"}],"
+                    + "\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"inputs\":[{\"name\":\"v\",\"type\":\"bytes32[]\"}],\"name\":\"setBytes32Array\","
+                    + "\"outputs\":[{\"name\":\"\",\"type\":\"bytes32[]\"}],\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"inputs\":[{\"name\":\"v\",\"type\":\"uint256[][]\"},{\"name\":\"s\",\"type\":\"string[]\"}],"
+                    + "\"name\":\"setNested\",\"outputs\":[{\"name\":\"\",\"type\":\"uint256[][]\"},{\"name\":\"\",\"type\":\"string[]\"}],"
+                    + "\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"inputs\":[{\"name\":\"name\",\"type\":\"string\"},{\"name\":\"values\",\"type\":\"bytes32[]\"}],"
+                    + "\"name\":\"emitData\",\"outputs\":[],\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"tag\",\"type\":\"string\"},"
+                    + "{\"indexed\":false,\"name\":\"name\",\"type\":\"string\"},{\"indexed\":false,\"name\":\"values\",\"type\":\"bytes32[]\"}],"
+                    + "\"name\":\"LogInfo\",\"type\":\"event\"}]";
+
+    @Param({"keccak256", "sm3"})
+    public String hashType;
+
+    @Param({"16"})
+    public int arrayLength;
+
+    private ContractCodec contractCodec;
+    private List<String> structParams;
+    private List<String> bytes32ArrayParams;
+    private List<String> nestedParams;
+    private byte[] structEncoded;
+    private byte[] bytes32ArrayEncoded;
+    private byte[] nestedEncoded;
+    private String bytes32ArrayOutput;
+    private EventLog eventLog;
+
+    @Setup
+    public void setup() throws ContractCodecException {
+        Hash hash = "sm3".equals(hashType) ? new SM3Hash() : new Keccak256();
+        contractCodec = new ContractCodec(hash, false);
+
+        StringBuilder infos = new StringBuilder("[");
+        StringBuilder bytes32Array = new StringBuilder("[");
+        StringBuilder nested = new StringBuilder("[");
+        StringBuilder strings = new StringBuilder("[");
+        for (int i = 0; i < arrayLength; i++) {
+            String separator = i == 0 ? "" : ",";
+            infos.append(separator)
+                    .append("{\"name\":\"info")
+                    .append(i)
+                    .append("\",\"count\":")
+                    .append(i)
+                    .append(",\"items\":[{\"a\":1,\"b\":2,\"c\":3},{\"a\":4,\"b\":5,\"c\":6}]}");
+            bytes32Array.append(separator).append('"').append(bytes32(i)).append('"');
+            nested.append(separator).append("[").append(i).append(",").append(i + 1).append("]");
+            strings.append(separator).append("\"value").append(i).append('"');
+        }
+        infos.append("]");
+        bytes32Array.append("]");
+        nested.append("]");
+        strings.append("]");
+
+        structParams = Arrays.asList("100", infos.toString(), "Hello world!");
+        bytes32ArrayParams = Arrays.asList(bytes32Array.toString());
+        nestedParams = Arrays.asList(nested.toString(), strings.toString());
+
+        structEncoded = contractCodec.encodeMethodFromString(ABI, "test", structParams);
+        bytes32ArrayEncoded =
+                contractCodec.encodeMethodFromString(ABI, "setBytes32Array", bytes32ArrayParams);
+        nestedEncoded = contractCodec.encodeMethodFromString(ABI, "setNested", nestedParams);
+        // setBytes32Array returns its input, so the encoded params without the selector are
+        // a valid output
+        bytes32ArrayOutput = Hex.toHexString(bytes32ArrayEncoded).substring(8);
+
+        byte[] eventData =
+                contractCodec.encodeMethodFromString(
+                        ABI, "emitData", Arrays.asList("event data", bytes32Array.toString()));
+        List<String> topics = new ArrayList<>();
+        topics.add(new EventEncoder(hash).buildEventSignature("LogInfo(string,string,bytes32[])"));
+        topics.add(Hex.toHexStringWithPrefix(hash.hash("tag".getBytes())));
+        eventLog =
+                new EventLog(
+                        Hex.toHexString(Arrays.copyOfRange(eventData, 4, eventData.length)),
+                        topics);
+    }
+
+    private static String bytes32(int value) {
+        String hex = Integer.toHexString(value);
+        StringBuilder builder = new StringBuilder("0x");
+        for (int i = hex.length(); i < 64; i++) {
+            builder.append('0');
+        }
+        return builder.append(hex).toString();
+    }
+
+    @Benchmark
+    public byte[] encodeStructArray() throws ContractCodecException {
+        return contractCodec.encodeMethodFromString(ABI, "test", structParams);
+    }
+
+    @Benchmark
+    public byte[] encodeBytes32Array() throws ContractCodecException {
+        return contractCodec.encodeMethodFromString(ABI, "setBytes32Array", bytes32ArrayParams);
+    }
+
+    @Benchmark
+    public byte[] encodeNestedDynamicArray() throws ContractCodecException {
+        return contractCodec.encodeMethodFromString(ABI, "setNested", nestedParams);
+    }
+
+    @Benchmark
+    public List<String> decodeStructArrayInput() throws ContractCodecException {
+        return contractCodec.decodeMethodInputToString(ABI, "test", structEncoded);
+    }
+
+    @Benchmark
+    public List<String> decodeBytes32ArrayInput() throws ContractCodecException {
+        return contractCodec.decodeMethodInputToString(ABI, "setBytes32Array", bytes32ArrayEncoded);
+    }
+
+    @Benchmark
+    public List<String> decodeNestedDynamicArrayInput() throws ContractCodecException {
+        return contractCodec.decodeMethodInputToString(ABI, "setNested", nestedEncoded);
+    }
+
+    @Benchmark
+    public List<Object> decodeBytes32ArrayOutput() throws ContractCodecException {
+        return contractCodec
+                .decodeMethodOutputAndGetObject(ABI, "setBytes32Array", bytes32ArrayOutput)
+                .getLeft();
+    }
+
+    @Benchmark
+    public List<Object> decodeEvent() throws ContractCodecException {
+        return contractCodec.decodeEvent(ABI, "LogInfo", eventLog);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.codec.scale.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.scale.FunctionReturnDecoder;
+import org.fisco.bcos.sdk.v3.codec.scale.ScaleCodecReader;
+import org.fisco.bcos.sdk.v3.codec.scale.ScaleCodecWriter;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** SCALE encode/decode of the generated datatypes and the raw codec, used by wasm contracts */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScaleCodecBenchmark {
+
+    @Param({"16"})
+    public int arrayLength;
+
+    private final FunctionEncoder functionEncoder = new FunctionEncoder(new Keccak256());
+    private final FunctionReturnDecoder functionReturnDecoder = new FunctionReturnDecoder();
+
+    private Function int32ArrayFunction;
+    private Function uint256ArrayFunction;
+    private Function stringArrayFunction;
+    private String int32ArrayOutput;
+    private String uint256ArrayOutput;
+    private String stringArrayOutput;
+    private byte[] compactIntegers;
+
+    @Setup
+    public void setup() throws IOException {
+        List<Int32> int32s = new ArrayList<>(arrayLength);
+        List<Uint256> uint256s = new ArrayList<>(arrayLength);
+        List<Utf8String> strings = new ArrayList<>(arrayLength);
+        for (int i = 0; i < arrayLength; i++) {
+            int32s.add(new Int32(BigInteger.valueOf(-i)));
+            uint256s.add(new Uint256(BigInteger.valueOf(i).shiftLeft(128)));
+            strings.add(new Utf8String("value" + i));
+        }
+
+        int32ArrayFunction =
+                function(
+                        new DynamicArray<>(Int32.class, int32s),
+                        new TypeReference<DynamicArray<Int32>>() {});
+        uint256ArrayFunction =
+                function(
+                        new DynamicArray<>(Uint256.class, uint256s),
+                        new TypeReference<DynamicArray<Uint256>>() {});
+        stringArrayFunction =
+                function(
+                        new DynamicArray<>(Utf8String.class, strings),
+                        new TypeReference<DynamicArray<Utf8String>>() {});
+
+        // the functions return their input, so the encoded params are a valid output
+        int32ArrayOutput = encodeOutput(int32ArrayFunction);
+        uint256ArrayOutput = encodeOutput(uint256ArrayFunction);
+        stringArrayOutput = encodeOutput(stringArrayFunction);
+        compactIntegers = writeCompactIntegers();
+    }
+
+    private static Function function(Type input, TypeReference<?> output) {
+        return new Function(
+                "echo", Collections.singletonList(input), Collections.singletonList(output));
+    }
+
+    private static String encodeOutput(Function function) {
+        return Hex.toHexString(FunctionEncoder.encodeConstructor(function.getInputParameters()));
+    }
+
+    private List<Type> decode(String output, Function function) {
+        return functionReturnDecoder.decode(output, function.getOutputParameters());
+    }
+
+    @Benchmark
+    public byte[] encodeInt32Array() {
+        return functionEncoder.encode(int32ArrayFunction);
+    }
+
+    @Benchmark
+    public byte[] encodeUint256Array() {
+        return functionEncoder.encode(uint256ArrayFunction);
+    }
+
+    @Benchmark
+    public byte[] encodeStringArray() {
+        return functionEncoder.encode(stringArrayFunction);
+    }
+
+    @Benchmark
+    public List<Type> decodeInt32Array() {
+        return decode(int32ArrayOutput, int32ArrayFunction);
+    }
+
+    @Benchmark
+    public List<Type> decodeUint256Array() {
+        return decode(uint256ArrayOutput, uint256ArrayFunction);
+    }
+
+    @Benchmark
+    public List<Type> decodeStringArray() {
+        return decode(stringArrayOutput, stringArrayFunction);
+    }
+
+    @Benchmark
+    public byte[] writeCompactIntegers() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ScaleCodecWriter writer = new ScaleCodecWriter(outputStream);
+        // cover the single byte, two bytes and four bytes compact modes and fixed width integers
+        for (int i = 0; i < arrayLength; i++) {
+            writer.writeCompact(i);
+            writer.writeCompact(1 << 8 | i);
+            writer.writeCompact(1 << 16 | i);
+            writer.writeInteger(BigInteger.valueOf(1L << 32 | i), 8);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public long readCompactIntegers() {
+        ScaleCodecReader reader = new ScaleCodecReader(compactIntegers);
+        long sum = 0;
+        for (int i = 0; i < arrayLength; i++) {
+            sum += reader.readCompact();
+            sum += reader.readCompact();
+            sum += reader.readCompact();
+            sum += reader.decodeInteger(false, 8).longValue();
+        }
+        return sum;
+    }
+}
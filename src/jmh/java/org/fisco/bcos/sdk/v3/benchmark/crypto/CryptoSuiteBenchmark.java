@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark.crypto;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** hash, sign, verify and recover through CryptoSuite for both the ecdsa and the sm suite */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoSuiteBenchmark {
+
+    @Param({"ECDSA", "SM"})
+    public String cryptoType;
+
+    @Param({"32", "1024"})
+    public int messageSize;
+
+    @Param({"native", "java"})
+    public String hashImpl;
+
+    private CryptoSuite cryptoSuite;
+    private CryptoKeyPair keyPair;
+    private byte[] message;
+    private String hexMessage;
+    private byte[] messageHash;
+    private final byte[] output = new byte[32];
+    private SignatureResult signatureResult;
+    private String publicKey;
+    private String hexMessageHash;
+    private String signature;
+
+    @Setup
+    public void setup() {
+        cryptoSuite =
+                new CryptoSuite(
+                        "SM".equals(cryptoType) ? CryptoType.SM_TYPE : CryptoType.ECDSA_TYPE);
+        if ("java".equals(hashImpl)) {
+            cryptoSuite.setHashImpl(
+                    cryptoSuite.getCryptoTypeConfig() == CryptoType.SM_TYPE
+                            ? new JavaSM3Hash()
+                            : new JavaKeccak256());
+        }
+        keyPair = cryptoSuite.generateRandomKeyPair();
+        message = new byte[messageSize];
+        new Random(messageSize).nextBytes(message);
+        hexMessage = Hex.toHexString(message);
+        messageHash = cryptoSuite.hash(message);
+        signatureResult = cryptoSuite.sign(messageHash, keyPair);
+        publicKey = keyPair.getHexPublicKey();
+        hexMessageHash = Hex.toHexString(messageHash);
+        signature = signatureResult.convertToString();
+    }
+
+    @Benchmark
+    public byte[] hashBytes() {
+        return cryptoSuite.hash(message);
+    }
+
+    @Benchmark
+    public int hashIntoBuffer() {
+        return cryptoSuite.getHashImpl().hash(message, 0, message.length, output, 0);
+    }
+
+    @Benchmark
+    public String hashHexString() {
+        return cryptoSuite.hash(hexMessage);
+    }
+
+    @Benchmark
+    public SignatureResult sign() {
+        return cryptoSuite.sign(messageHash, keyPair);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return cryptoSuite.verify(publicKey, hexMessageHash, signature);
+    }
+
+    @Benchmark
+    public String recoverAddress() {
+        return cryptoSuite.recoverAddress(messageHash, signatureResult);
+    }
+}
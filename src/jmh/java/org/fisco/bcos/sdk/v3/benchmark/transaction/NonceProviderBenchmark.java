@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark.transaction;
+
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.transaction.nonce.DefaultNonceAndBlockLimitProvider;
+import org.fisco.bcos.sdk.v3.transaction.nonce.NonceAndBlockLimitProvider;
+import org.fisco.bcos.sdk.v3.transaction.nonce.ThreadLocalNonceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** nonce generation shared by many signing threads */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class NonceProviderBenchmark {
+
+    @Param({"default", "threadLocal"})
+    public String provider;
+
+    private NonceAndBlockLimitProvider nonceProvider;
+
+    @Setup
+    public void setup() {
+        nonceProvider =
+                "threadLocal".equals(provider)
+                        ? new ThreadLocalNonceProvider()
+                        : new DefaultNonceAndBlockLimitProvider();
+    }
+
+    @Benchmark
+    public String getNonce() {
+        return nonceProvider.getNonce();
+    }
+}
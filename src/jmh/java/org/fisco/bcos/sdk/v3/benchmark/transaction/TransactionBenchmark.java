@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.benchmark.transaction;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.jni.common.JniException;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.benchmark.SampleResponses;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransaction;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.codec.ContractCodec;
+import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.DefaultTransactionManager;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto.AbiEncodedRequest;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.utils.TransactionRequestBuilder;
+import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * transaction assembly and hashing without a node: the client is mocked, so only the encoding,
+ * hashing and signing done by the sdk is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBenchmark {
+
+    private static final String ABI =
+            "[{\"inputs\":[{\"name\":\"n\",\"type\":\"string\"},{\"name\":\"v\",\"type\":\"uint256\"}],"
+                    + "\"name\":\"set\",\"outputs\":[],\"stateMutability\":\"nonpayable\",\"type\":\"function\"}]";
+    private static final String TO = "0x6849f21d1e455e9f0712b1e99fa4fcd23758e8f1";
+
+    @Param({"ECDSA", "SM"})
+    public String cryptoType;
+
+    private ContractCodec contractCodec;
+    private Hash hashImpl;
+    private DefaultTransactionManager transactionManager;
+    private AbiEncodedRequest abiEncodedRequest;
+    private TransactionReceipt receipt;
+    private JsonTransactionResponse transaction;
+
+    @Setup
+    public void setup() throws IOException, ContractCodecException, ContractException {
+        CryptoSuite cryptoSuite =
+                new CryptoSuite(
+                        "SM".equals(cryptoType) ? CryptoType.SM_TYPE : CryptoType.ECDSA_TYPE);
+        hashImpl = cryptoSuite.getHashImpl();
+        contractCodec = new ContractCodec(hashImpl, false);
+
+        Client client = mock(Client.class);
+        when(client.getChainId()).thenReturn("chain0");
+        when(client.getGroup()).thenReturn("group0");
+        when(client.getCryptoSuite()).thenReturn(cryptoSuite);
+        when(client.isWASM()).thenReturn(false);
+        when(client.getBlockLimit()).thenReturn(BigInteger.valueOf(500));
+        transactionManager = new DefaultTransactionManager(client);
+
+        abiEncodedRequest =
+                new TransactionRequestBuilder(ABI, "set", TO)
+                        .setNonce("1")
+                        .setBlockLimit(BigInteger.valueOf(500))
+                        .buildAbiEncodedRequest(encodeInput());
+
+        receipt =
+                ObjectMapperFactory.getObjectMapper()
+                        .readValue(
+                                SampleResponses.transactionReceipt(4), BcosTransactionReceipt.class)
+                        .getTransactionReceipt();
+        transaction =
+                ObjectMapperFactory.getObjectMapper()
+                        .readValue(SampleResponses.transaction(), BcosTransaction.class)
+                        .getTransaction()
+                        .get();
+    }
+
+    private byte[] encodeInput() throws ContractCodecException {
+        return contractCodec.encodeMethodFromString(ABI, "set", Arrays.asList("benchmark", "100"));
+    }
+
+    @Benchmark
+    public TxPair createSignedTransaction() throws JniException {
+        return transactionManager.createSignedTransaction(abiEncodedRequest);
+    }
+
+    @Benchmark
+    public TxPair encodeAndCreateSignedTransaction()
+            throws ContractCodecException, ContractException, JniException {
+        AbiEncodedRequest request =
+                new TransactionRequestBuilder(ABI, "set", TO)
+                        .setNonce("1")
+                        .setBlockLimit(BigInteger.valueOf(500))
+                        .buildAbiEncodedRequest(encodeInput());
+        return transactionManager.createSignedTransaction(request);
+    }
+
+    @Benchmark
+    public String calculateReceiptHash() throws IOException {
+        return receipt.calculateReceiptHashInNative(hashImpl);
+    }
+
+    @Benchmark
+    public String calculateTransactionHash() throws IOException {
+        return transaction.calculateTxHashInNative(hashImpl);
+    }
+}
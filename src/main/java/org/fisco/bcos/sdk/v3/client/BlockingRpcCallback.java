@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import org.fisco.bcos.sdk.jni.common.Response;
+import org.fisco.bcos.sdk.jni.rpc.RpcCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rpc callback used by the synchronous rpc path to wait for the response of the node.
+ *
+ * <p>The callback is owned by the waiting thread and reused by its next request, so a synchronous
+ * call allocates no future or lambda. A callback whose wait timed out or was interrupted is
+ * abandoned and never reused: a late response only reaches the abandoned instance and is dropped.
+ */
+public final class BlockingRpcCallback implements RpcCallback {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingRpcCallback.class);
+
+    private static final ThreadLocal<BlockingRpcCallback> CURRENT =
+            ThreadLocal.withInitial(BlockingRpcCallback::new);
+
+    private final Thread owner;
+    private volatile Response response;
+    private volatile boolean abandoned;
+
+    private BlockingRpcCallback() {
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * get the callback of the current thread
+     *
+     * @return the callback to pass to the rpc request
+     */
+    public static BlockingRpcCallback acquire() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void onResponse(Response response) {
+        if (abandoned) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "drop the response of an abandoned request, code: {}, msg: {}",
+                        response.getErrorCode(),
+                        response.getErrorMessage());
+            }
+            return;
+        }
+        this.response = response;
+        LockSupport.unpark(owner);
+    }
+
+    /**
+     * wait for the response, must be called by the thread that acquired the callback
+     *
+     * @param timeoutMillis the maximum time to wait, 0 to wait without timeout
+     * @return the response of the node
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws TimeoutException if no response arrives in time
+     */
+    public Response await(long timeoutMillis) throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            Response current = response;
+            if (current != null) {
+                response = null;
+                return current;
+            }
+            if (Thread.interrupted()) {
+                abandon();
+                throw new InterruptedException();
+            }
+            if (timeoutMillis <= 0) {
+                LockSupport.park(this);
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                abandon();
+                throw new TimeoutException("no response in " + timeoutMillis + "ms");
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    /** give up waiting, the current thread gets a new callback for its next request */
+    public void abandon() {
+        abandoned = true;
+        if (Thread.currentThread() == owner && CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public boolean isAbandoned() {
+        return abandoned;
+    }
+}
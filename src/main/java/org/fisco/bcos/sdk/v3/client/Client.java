@@ -16,10 +16,25 @@
 package org.fisco.bcos.sdk.v3.client;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import org.fisco.bcos.sdk.jni.BcosSDKJniObj;
+import org.fisco.bcos.sdk.v3.client.cache.ResponseCache;
+import org.fisco.bcos.sdk.v3.client.coalesce.RequestCoalescer;
+import org.fisco.bcos.sdk.v3.client.metrics.LatencyHistogram;
+import org.fisco.bcos.sdk.v3.client.metrics.RpcMetrics;
+import org.fisco.bcos.sdk.v3.client.protocol.request.BatchRequest;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcRequest;
 import org.fisco.bcos.sdk.v3.client.protocol.request.LogFilterRequest;
 import org.fisco.bcos.sdk.v3.client.protocol.request.Transaction;
 import org.fisco.bcos.sdk.v3.client.protocol.response.Abi;
@@ -47,10 +62,15 @@ import org.fisco.bcos.sdk.v3.client.protocol.response.SyncStatus;
 import org.fisco.bcos.sdk.v3.client.protocol.response.SystemConfig;
 import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
 import org.fisco.bcos.sdk.v3.client.protocol.response.UninstallLogFilter;
+import org.fisco.bcos.sdk.v3.client.routing.ReadRouter;
+import org.fisco.bcos.sdk.v3.client.stream.BlockStream;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.model.EnumNodeVersion;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.RespCallback;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallbackFuture;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -166,6 +186,24 @@ public interface Client {
     /** @return return client config */
     ConfigOption getConfigOption();
 
+    /**
+     * Get the executor completing the futures returned by the async rpc methods
+     *
+     * @return the callback executor, null if the futures are completed on the network thread
+     */
+    default Executor getCallbackExecutor() {
+        return null;
+    }
+
+    /**
+     * Set the executor completing the futures returned by the async rpc methods, so that the
+     * dependent stages do not run on the network thread; ignored by the clients without a callback
+     * executor
+     *
+     * @param callbackExecutor the callback executor, null to complete on the network thread
+     */
+    default void setCallbackExecutor(Executor callbackExecutor) {}
+
     // ------------------------- rpc interface begin ------------------------------------------
 
     /**
@@ -198,6 +236,29 @@ public interface Client {
     void sendTransactionAsync(
             String signedTransactionData, boolean withProof, TransactionCallback callback);
 
+    /**
+     * Ledger operation: async send transaction
+     *
+     * @param signedTransactionData transaction string
+     * @param withProof whether contains merkle proof or not
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<TransactionReceipt> sendTransactionAsync(
+            String signedTransactionData, boolean withProof) {
+        RespCallbackFuture<TransactionReceipt> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        sendTransactionAsync(
+                signedTransactionData,
+                withProof,
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        future.onResponse(receipt);
+                    }
+                });
+        return future;
+    }
+
     /**
      * Ledger operation: async send transaction
      *
@@ -212,6 +273,31 @@ public interface Client {
             boolean withProof,
             TransactionCallback callback);
 
+    /**
+     * Ledger operation: async send transaction
+     *
+     * @param node the node rpc request send to
+     * @param signedTransactionData transaction string
+     * @param withProof whether contains merkle proof or not
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<TransactionReceipt> sendTransactionAsync(
+            String node, String signedTransactionData, boolean withProof) {
+        RespCallbackFuture<TransactionReceipt> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        sendTransactionAsync(
+                node,
+                signedTransactionData,
+                withProof,
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        future.onResponse(receipt);
+                    }
+                });
+        return future;
+    }
+
     /**
      * Ledger operation: call contract functions without sending transaction
      *
@@ -256,6 +342,18 @@ public interface Client {
      */
     void callAsync(Transaction transaction, RespCallback<Call> callback);
 
+    /**
+     * Ledger operation: async call contract functions without sending transaction
+     *
+     * @param transaction transaction instance
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Call> callAsync(Transaction transaction) {
+        RespCallbackFuture<Call> future = new RespCallbackFuture<>(getCallbackExecutor());
+        callAsync(transaction, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async call contract functions without sending transaction
      *
@@ -265,6 +363,19 @@ public interface Client {
      */
     void callAsync(String node, Transaction transaction, RespCallback<Call> callback);
 
+    /**
+     * Ledger operation: async call contract functions without sending transaction
+     *
+     * @param node the node rpc request send to
+     * @param transaction transaction instance
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Call> callAsync(String node, Transaction transaction) {
+        RespCallbackFuture<Call> future = new RespCallbackFuture<>(getCallbackExecutor());
+        callAsync(node, transaction, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async call contract functions without sending transaction
      *
@@ -274,6 +385,19 @@ public interface Client {
      */
     void callAsync(Transaction transaction, String sign, RespCallback<Call> callback);
 
+    /**
+     * Ledger operation: async call contract functions without sending transaction
+     *
+     * @param transaction transaction instance
+     * @param sign the sign of call data hash(to+data)
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Call> callAsync(Transaction transaction, String sign) {
+        RespCallbackFuture<Call> future = new RespCallbackFuture<>(getCallbackExecutor());
+        callAsync(transaction, sign, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async call contract functions without sending transaction
      *
@@ -284,6 +408,20 @@ public interface Client {
      */
     void callAsync(String node, Transaction transaction, String sign, RespCallback<Call> callback);
 
+    /**
+     * Ledger operation: async call contract functions without sending transaction
+     *
+     * @param node the node rpc request send to
+     * @param transaction transaction instance
+     * @param sign the sign of call data hash(to+data)
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Call> callAsync(String node, Transaction transaction, String sign) {
+        RespCallbackFuture<Call> future = new RespCallbackFuture<>(getCallbackExecutor());
+        callAsync(node, transaction, sign, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get block number
      *
@@ -306,6 +444,17 @@ public interface Client {
      */
     void getBlockNumberAsync(RespCallback<BlockNumber> callback);
 
+    /**
+     * Ledger operation: async get block number
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BlockNumber> getBlockNumberAsync() {
+        RespCallbackFuture<BlockNumber> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockNumberAsync(future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block number
      *
@@ -314,6 +463,18 @@ public interface Client {
      */
     void getBlockNumberAsync(String node, RespCallback<BlockNumber> callback);
 
+    /**
+     * Ledger operation: async get block number
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BlockNumber> getBlockNumberAsync(String node) {
+        RespCallbackFuture<BlockNumber> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockNumberAsync(node, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get code
      *
@@ -339,6 +500,18 @@ public interface Client {
      */
     void getCodeAsync(String address, RespCallback<Code> callback);
 
+    /**
+     * Ledger operation: async get code
+     *
+     * @param address the address string
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Code> getCodeAsync(String address) {
+        RespCallbackFuture<Code> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getCodeAsync(address, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get code
      *
@@ -348,6 +521,19 @@ public interface Client {
      */
     void getCodeAsync(String node, String address, RespCallback<Code> callback);
 
+    /**
+     * Ledger operation: async get code
+     *
+     * @param node the node rpc request send to
+     * @param address the address string
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Code> getCodeAsync(String node, String address) {
+        RespCallbackFuture<Code> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getCodeAsync(node, address, future);
+        return future;
+    }
+
     /**
      * Scheduler: get abi
      *
@@ -373,6 +559,18 @@ public interface Client {
      */
     void getABIAsync(String address, RespCallback<Abi> callback);
 
+    /**
+     * Ledger operation: async get abi
+     *
+     * @param address the address string
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Abi> getABIAsync(String address) {
+        RespCallbackFuture<Abi> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getABIAsync(address, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get abi
      *
@@ -382,6 +580,19 @@ public interface Client {
      */
     void getABIAsync(String node, String address, RespCallback<Abi> callback);
 
+    /**
+     * Ledger operation: async get abi
+     *
+     * @param node the node rpc request send to
+     * @param address the address string
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Abi> getABIAsync(String node, String address) {
+        RespCallbackFuture<Abi> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getABIAsync(node, address, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get total transaction coun
      *
@@ -404,6 +615,18 @@ public interface Client {
      */
     void getTotalTransactionCountAsync(RespCallback<TotalTransactionCount> callback);
 
+    /**
+     * Ledger operation: async get total transaction count
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<TotalTransactionCount> getTotalTransactionCountAsync() {
+        RespCallbackFuture<TotalTransactionCount> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getTotalTransactionCountAsync(future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get total transaction count
      *
@@ -412,6 +635,19 @@ public interface Client {
      */
     void getTotalTransactionCountAsync(String node, RespCallback<TotalTransactionCount> callback);
 
+    /**
+     * Ledger operation: async get total transaction count
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<TotalTransactionCount> getTotalTransactionCountAsync(String node) {
+        RespCallbackFuture<TotalTransactionCount> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getTotalTransactionCountAsync(node, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get block by hash
      *
@@ -447,6 +683,21 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by hash
+     *
+     * @param blockHash the hashcode of the block
+     * @param onlyHeader if true then only return block header
+     * @param onlyTxHash the boolean define the tx is full or not
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosBlock> getBlockByHashAsync(
+            String blockHash, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockByHashAsync(blockHash, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block by hash
      *
@@ -463,6 +714,22 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by hash
+     *
+     * @param node the node rpc request send to
+     * @param blockHash the hashcode of the block
+     * @param onlyHeader if true then only return block header
+     * @param onlyTxHash the boolean define the tx is full or not
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosBlock> getBlockByHashAsync(
+            String node, String blockHash, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockByHashAsync(node, blockHash, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get block by block number
      *
@@ -485,6 +752,47 @@ public interface Client {
     BcosBlock getBlockByNumber(
             String node, BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash);
 
+    /**
+     * Ledger operation: get block by block number, decoding the transactions one at a time
+     *
+     * @param blockNumber the number of the block
+     * @param onlyTxHash the boolean define if only return tx hash
+     * @param transactionVisitor called for every transaction of the block in order
+     * @return the block without transactions
+     */
+    default BcosBlock.Block getBlockByNumber(
+            BigInteger blockNumber,
+            boolean onlyTxHash,
+            Consumer<BcosBlock.TransactionResult> transactionVisitor) {
+        return getBlockByNumber(null, blockNumber, onlyTxHash, transactionVisitor);
+    }
+
+    /**
+     * Ledger operation: get block by block number, decoding the transactions one at a time. The
+     * default implementation decodes the whole block first.
+     *
+     * @param node the node rpc request send to
+     * @param blockNumber the number of the block
+     * @param onlyTxHash the boolean define if only return tx hash
+     * @param transactionVisitor called for every transaction of the block in order
+     * @return the block without transactions
+     */
+    default BcosBlock.Block getBlockByNumber(
+            String node,
+            BigInteger blockNumber,
+            boolean onlyTxHash,
+            Consumer<BcosBlock.TransactionResult> transactionVisitor) {
+        BcosBlock.Block block = getBlockByNumber(node, blockNumber, false, onlyTxHash).getBlock();
+        if (block == null) {
+            return null;
+        }
+        if (block.getTransactions() != null) {
+            block.getTransactions().forEach(transactionVisitor);
+        }
+        block.setTransactions(new ArrayList<>());
+        return block;
+    }
+
     /**
      * Ledger operation: async get block by block number
      *
@@ -499,6 +807,21 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by block number
+     *
+     * @param blockNumber the number of the block
+     * @param onlyHeader the boolean if only need header
+     * @param onlyTxHash the boolean if you need all transactions
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosBlock> getBlockByNumberAsync(
+            BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockByNumberAsync(blockNumber, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block by block number
      *
@@ -515,6 +838,22 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by block number
+     *
+     * @param node the node rpc request send to
+     * @param blockNumber the number of the block
+     * @param onlyHeader the boolean if only need header
+     * @param onlyTxHash the boolean if you need all transactions
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosBlock> getBlockByNumberAsync(
+            String node, BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockByNumberAsync(node, blockNumber, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block hash by block number
      *
@@ -531,6 +870,18 @@ public interface Client {
      */
     void getBlockHashByNumberAsync(BigInteger blockNumber, RespCallback<BlockHash> callback);
 
+    /**
+     * Ledger operation: async get block hash by block number
+     *
+     * @param blockNumber the number of the block
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BlockHash> getBlockHashByNumberAsync(BigInteger blockNumber) {
+        RespCallbackFuture<BlockHash> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockHashByNumberAsync(blockNumber, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block hash by block number
      *
@@ -550,6 +901,20 @@ public interface Client {
     void getBlockHashByNumberAsync(
             String node, BigInteger blockNumber, RespCallback<BlockHash> callback);
 
+    /**
+     * Ledger operation: async get block hash by block number
+     *
+     * @param node the node rpc request send to
+     * @param blockNumber the number of the block
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BlockHash> getBlockHashByNumberAsync(
+            String node, BigInteger blockNumber) {
+        RespCallbackFuture<BlockHash> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getBlockHashByNumberAsync(node, blockNumber, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get transaction by hash
      *
@@ -579,6 +944,21 @@ public interface Client {
     void getTransactionAsync(
             String transactionHash, Boolean withProof, RespCallback<BcosTransaction> callback);
 
+    /**
+     * Ledger operation: async get trnasaction by hash
+     *
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction proof
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosTransaction> getTransactionAsync(
+            String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransaction> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getTransactionAsync(transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get trnasaction by hash
      *
@@ -593,6 +973,22 @@ public interface Client {
             Boolean withProof,
             RespCallback<BcosTransaction> callback);
 
+    /**
+     * Ledger operation: async get trnasaction by hash
+     *
+     * @param node the node rpc request send to
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction proof
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosTransaction> getTransactionAsync(
+            String node, String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransaction> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getTransactionAsync(node, transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get transaction receipt by transaction hash
      *
@@ -625,6 +1021,21 @@ public interface Client {
             Boolean withProof,
             RespCallback<BcosTransactionReceipt> callback);
 
+    /**
+     * Ledger operation: async get transaction receipt by transaction hash
+     *
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction receipt proof
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosTransactionReceipt> getTransactionReceiptAsync(
+            String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransactionReceipt> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getTransactionReceiptAsync(transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get transaction receipt by transaction hash
      *
@@ -639,6 +1050,22 @@ public interface Client {
             Boolean withProof,
             RespCallback<BcosTransactionReceipt> callback);
 
+    /**
+     * Ledger operation: async get transaction receipt by transaction hash
+     *
+     * @param node the node rpc request send to
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction receipt proof
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<BcosTransactionReceipt> getTransactionReceiptAsync(
+            String node, String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransactionReceipt> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getTransactionReceiptAsync(node, transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get pending transaction size
      *
@@ -655,6 +1082,18 @@ public interface Client {
      */
     void getPendingTxSizeAsync(String node, RespCallback<PendingTxSize> callback);
 
+    /**
+     * Ledger operation: async get pending transaction size
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<PendingTxSize> getPendingTxSizeAsync(String node) {
+        RespCallbackFuture<PendingTxSize> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getPendingTxSizeAsync(node, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get pending transaction size
      *
@@ -669,6 +1108,17 @@ public interface Client {
      */
     void getPendingTxSizeAsync(RespCallback<PendingTxSize> callback);
 
+    /**
+     * Ledger operation: async get pending transaction size
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<PendingTxSize> getPendingTxSizeAsync() {
+        RespCallbackFuture<PendingTxSize> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getPendingTxSizeAsync(future);
+        return future;
+    }
+
     /**
      * Get cached block height
      *
@@ -676,6 +1126,18 @@ public interface Client {
      */
     BigInteger getBlockLimit();
 
+    /**
+     * Get notified of the new blocks of the group, forwarded from the block notifier of the node
+     *
+     * @param listener called with the number of each new block, in the notifier thread
+     * @return false if the client can not notify the new blocks
+     */
+    default boolean addBlockNumberListener(LongConsumer listener) {
+        return false;
+    }
+
+    default void removeBlockNumberListener(LongConsumer listener) {}
+
     /**
      * Peer operation: get connected peers
      *
@@ -692,6 +1154,12 @@ public interface Client {
 
     void getGroupPeersAsync(RespCallback<GroupPeers> callback);
 
+    default CompletableFuture<GroupPeers> getGroupPeersAsync() {
+        RespCallbackFuture<GroupPeers> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getGroupPeersAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: async get connected peers
      *
@@ -699,6 +1167,17 @@ public interface Client {
      */
     void getPeersAsync(RespCallback<Peers> callback);
 
+    /**
+     * Peer operation: async get connected peers
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Peers> getPeersAsync() {
+        RespCallbackFuture<Peers> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getPeersAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: get observer node list
      *
@@ -751,6 +1230,17 @@ public interface Client {
      */
     void getSealerListAsync(RespCallback<SealerList> callback);
 
+    /**
+     * Peer operation: async get sealer node list
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SealerList> getSealerListAsync() {
+        RespCallbackFuture<SealerList> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getSealerListAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: async get sealer node list
      *
@@ -759,6 +1249,18 @@ public interface Client {
      */
     void getSealerListAsync(String node, RespCallback<SealerList> callback);
 
+    /**
+     * Peer operation: async get sealer node list
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SealerList> getSealerListAsync(String node) {
+        RespCallbackFuture<SealerList> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getSealerListAsync(node, future);
+        return future;
+    }
+
     /**
      * get node list by type
      *
@@ -787,6 +1289,19 @@ public interface Client {
      */
     void getNodeListByTypeAsync(String type, RespCallback<SealerList> callback);
 
+    /**
+     * async get node list by type
+     *
+     * @param type type of node, now support consensus_sealer, consensus_observer and
+     *     consensus_candidate_sealer
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SealerList> getNodeListByTypeAsync(String type) {
+        RespCallbackFuture<SealerList> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getNodeListByTypeAsync(type, future);
+        return future;
+    }
+
     /**
      * async get node list by type
      *
@@ -797,6 +1312,20 @@ public interface Client {
      */
     void getNodeListByTypeAsync(String node, String type, RespCallback<SealerList> callback);
 
+    /**
+     * async get node list by type
+     *
+     * @param node the node rpc request send to
+     * @param type type of node, now support consensus_sealer, consensus_observer and
+     *     consensus_candidate_sealer
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SealerList> getNodeListByTypeAsync(String node, String type) {
+        RespCallbackFuture<SealerList> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getNodeListByTypeAsync(node, type, future);
+        return future;
+    }
+
     /**
      * Peer operation: get pbft view
      *
@@ -819,6 +1348,17 @@ public interface Client {
      */
     void getPbftViewAsync(RespCallback<PbftView> callback);
 
+    /**
+     * Peer operation: async get pbft view
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<PbftView> getPbftViewAsync() {
+        RespCallbackFuture<PbftView> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getPbftViewAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: async get pbft view
      *
@@ -827,6 +1367,18 @@ public interface Client {
      */
     void getPbftViewAsync(String node, RespCallback<PbftView> callback);
 
+    /**
+     * Peer operation: async get pbft view
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<PbftView> getPbftViewAsync(String node) {
+        RespCallbackFuture<PbftView> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getPbftViewAsync(node, future);
+        return future;
+    }
+
     /**
      * Peer operation: get system config
      *
@@ -859,6 +1411,18 @@ public interface Client {
      */
     void getSystemConfigByKeyAsync(String key, RespCallback<SystemConfig> callback);
 
+    /**
+     * Peer operation: async get system config
+     *
+     * @param key the string of key
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SystemConfig> getSystemConfigByKeyAsync(String key) {
+        RespCallbackFuture<SystemConfig> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getSystemConfigByKeyAsync(key, future);
+        return future;
+    }
+
     /**
      * Peer operation: async get system config
      *
@@ -868,6 +1432,19 @@ public interface Client {
      */
     void getSystemConfigByKeyAsync(String node, String key, RespCallback<SystemConfig> callback);
 
+    /**
+     * Peer operation: async get system config
+     *
+     * @param node the node rpc request send to
+     * @param key the string of key
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SystemConfig> getSystemConfigByKeyAsync(String node, String key) {
+        RespCallbackFuture<SystemConfig> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getSystemConfigByKeyAsync(node, key, future);
+        return future;
+    }
+
     /**
      * async get all connect nodes support keys
      *
@@ -875,6 +1452,17 @@ public interface Client {
      */
     void getSupportSysConfigKeysAsync(RespCallback<Set<String>> callback);
 
+    /**
+     * async get all connect nodes support keys
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Set<String>> getSupportSysConfigKeysAsync() {
+        RespCallbackFuture<Set<String>> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getSupportSysConfigKeysAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: async get system config list, witch will fetch all config
      *
@@ -882,6 +1470,18 @@ public interface Client {
      */
     void getSystemConfigListAsync(RespCallback<Map<String, Optional<SystemConfig>>> callback);
 
+    /**
+     * Peer operation: async get system config list, witch will fetch all config
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<Map<String, Optional<SystemConfig>>> getSystemConfigListAsync() {
+        RespCallbackFuture<Map<String, Optional<SystemConfig>>> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getSystemConfigListAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: get sync status
      *
@@ -898,6 +1498,18 @@ public interface Client {
      */
     void getSyncStatusAsync(String node, RespCallback<SyncStatus> callback);
 
+    /**
+     * Peer operation: async get sync status
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SyncStatus> getSyncStatusAsync(String node) {
+        RespCallbackFuture<SyncStatus> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getSyncStatusAsync(node, future);
+        return future;
+    }
+
     /**
      * Peer operation: get sync status
      *
@@ -912,6 +1524,17 @@ public interface Client {
      */
     void getSyncStatusAsync(RespCallback<SyncStatus> callback);
 
+    /**
+     * Peer operation: async get sync status
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<SyncStatus> getSyncStatusAsync() {
+        RespCallbackFuture<SyncStatus> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getSyncStatusAsync(future);
+        return future;
+    }
+
     /**
      * async get consensus status
      *
@@ -920,6 +1543,19 @@ public interface Client {
      */
     void getConsensusStatusAsync(String node, RespCallback<ConsensusStatus> callback);
 
+    /**
+     * async get consensus status
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<ConsensusStatus> getConsensusStatusAsync(String node) {
+        RespCallbackFuture<ConsensusStatus> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getConsensusStatusAsync(node, future);
+        return future;
+    }
+
     /**
      * async get consensus status
      *
@@ -927,6 +1563,18 @@ public interface Client {
      */
     void getConsensusStatusAsync(RespCallback<ConsensusStatus> callback);
 
+    /**
+     * async get consensus status
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<ConsensusStatus> getConsensusStatusAsync() {
+        RespCallbackFuture<ConsensusStatus> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getConsensusStatusAsync(future);
+        return future;
+    }
+
     /**
      * sync get consensus status
      *
@@ -951,6 +1599,12 @@ public interface Client {
 
     void getGroupListAsync(RespCallback<BcosGroupList> callback);
 
+    default CompletableFuture<BcosGroupList> getGroupListAsync() {
+        RespCallbackFuture<BcosGroupList> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getGroupListAsync(future);
+        return future;
+    }
+
     /**
      * get group info
      *
@@ -960,6 +1614,12 @@ public interface Client {
 
     void getGroupInfoAsync(RespCallback<BcosGroupInfo> callback);
 
+    default CompletableFuture<BcosGroupInfo> getGroupInfoAsync() {
+        RespCallbackFuture<BcosGroupInfo> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getGroupInfoAsync(future);
+        return future;
+    }
+
     /**
      * get group info list
      *
@@ -969,6 +1629,13 @@ public interface Client {
 
     void getGroupInfoListAsync(RespCallback<BcosGroupInfoList> callback);
 
+    default CompletableFuture<BcosGroupInfoList> getGroupInfoListAsync() {
+        RespCallbackFuture<BcosGroupInfoList> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getGroupInfoListAsync(future);
+        return future;
+    }
+
     /**
      * get group node info
      *
@@ -979,6 +1646,13 @@ public interface Client {
 
     void getGroupNodeInfoAsync(String node, RespCallback<BcosGroupNodeInfo> callback);
 
+    default CompletableFuture<BcosGroupNodeInfo> getGroupNodeInfoAsync(String node) {
+        RespCallbackFuture<BcosGroupNodeInfo> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getGroupNodeInfoAsync(node, future);
+        return future;
+    }
+
     // ------------------------- rpc interface end ------------------------------------------
 
     /**
@@ -1006,6 +1680,18 @@ public interface Client {
     void getChainCompatibilityVersionAsync(
             RespCallback<EnumNodeVersion.Version> versionRespCallback);
 
+    /**
+     * async get the chain compatibility version
+     *
+     * @return the future of the response, completed on the callback executor
+     */
+    default CompletableFuture<EnumNodeVersion.Version> getChainCompatibilityVersionAsync() {
+        RespCallbackFuture<EnumNodeVersion.Version> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        getChainCompatibilityVersionAsync(future);
+        return future;
+    }
+
     /**
      * Set node name to send rpc request directly, if not set, will use random node in the
      * groupInfoList. Node name should choose from groupInfo.
@@ -1048,30 +1734,253 @@ public interface Client {
 
     void newFilterAsync(LogFilterRequest filter, RespCallback<LogFilterResponse> callback);
 
+    default CompletableFuture<LogFilterResponse> newFilterAsync(LogFilterRequest filter) {
+        RespCallbackFuture<LogFilterResponse> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        newFilterAsync(filter, future);
+        return future;
+    }
+
     LogFilterResponse newBlockFilter();
 
     void newBlockFilterAsync(RespCallback<LogFilterResponse> callback);
 
+    default CompletableFuture<LogFilterResponse> newBlockFilterAsync() {
+        RespCallbackFuture<LogFilterResponse> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        newBlockFilterAsync(future);
+        return future;
+    }
+
     LogFilterResponse newPendingTransactionFilter();
 
     void newPendingTransactionFilterAsync(RespCallback<LogFilterResponse> callback);
 
+    default CompletableFuture<LogFilterResponse> newPendingTransactionFilterAsync() {
+        RespCallbackFuture<LogFilterResponse> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        newPendingTransactionFilterAsync(future);
+        return future;
+    }
+
     LogWrapper getFilterChanges(LogFilterResponse filter);
 
     void getFilterChangesAsync(LogFilterResponse filter, RespCallback<LogWrapper> callback);
 
+    default CompletableFuture<LogWrapper> getFilterChangesAsync(LogFilterResponse filter) {
+        RespCallbackFuture<LogWrapper> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getFilterChangesAsync(filter, future);
+        return future;
+    }
+
     UninstallLogFilter uninstallFilter(LogFilterResponse filter);
 
     void uninstallFilterAsync(LogFilterResponse filter, RespCallback<UninstallLogFilter> callback);
 
+    default CompletableFuture<UninstallLogFilter> uninstallFilterAsync(LogFilterResponse filter) {
+        RespCallbackFuture<UninstallLogFilter> future =
+                new RespCallbackFuture<>(getCallbackExecutor());
+        uninstallFilterAsync(filter, future);
+        return future;
+    }
+
     LogWrapper getLogs(LogFilterRequest filter);
 
+    /**
+     * get the logs matching the filter, decoding the entries one at a time. The default
+     * implementation decodes the whole response first.
+     *
+     * @param filter the log filter
+     * @param logVisitor called for every entry in order
+     */
+    default void getLogs(LogFilterRequest filter, Consumer<LogWrapper.LogResult> logVisitor) {
+        LogWrapper logWrapper = getLogs(filter);
+        if (logWrapper.getLogs() != null) {
+            logWrapper.getLogs().forEach(logVisitor);
+        }
+    }
+
     void getLogsAsync(LogFilterRequest filter, RespCallback<LogWrapper> callback);
 
+    default CompletableFuture<LogWrapper> getLogsAsync(LogFilterRequest filter) {
+        RespCallbackFuture<LogWrapper> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getLogsAsync(filter, future);
+        return future;
+    }
+
     LogWrapper getFilterLogs(LogFilterResponse filter);
 
     void getFilterLogsAsync(LogFilterResponse filter, RespCallback<LogWrapper> callback);
 
+    default CompletableFuture<LogWrapper> getFilterLogsAsync(LogFilterResponse filter) {
+        RespCallbackFuture<LogWrapper> future = new RespCallbackFuture<>(getCallbackExecutor());
+        getFilterLogsAsync(filter, future);
+        return future;
+    }
+
+    /**
+     * Send the requests in JSON-RPC batches of at most network.maxBatchSize requests, one round
+     * trip per batch; the requests are pipelined one by one if the node does not accept batches
+     *
+     * @param batch the requests and the types of their responses
+     * @return the responses in the order of the requests, a failed request gets a response with its
+     *     error
+     */
+    List<JsonRpcResponse<?>> sendBatch(BatchRequest batch);
+
+    CompletableFuture<List<JsonRpcResponse<?>>> sendBatchAsync(BatchRequest batch);
+
+    /**
+     * Get the receipts of the transactions in JSON-RPC batches, see sendBatch
+     *
+     * @param transactionHashes the hashes of the transactions
+     * @param withProof with the transaction proof
+     * @return the receipts in the order of the hashes, check hasError of each one
+     */
+    @SuppressWarnings("unchecked")
+    default List<BcosTransactionReceipt> getTransactionReceipts(
+            List<String> transactionHashes, boolean withProof) {
+        BatchRequest batch = new BatchRequest();
+        for (String transactionHash : transactionHashes) {
+            batch.add(
+                    new JsonRpcRequest<>(
+                            JsonRpcMethods.GET_TRANSACTION_RECEIPT,
+                            Arrays.asList(
+                                    getGroup(),
+                                    getNodeToSendRequest(),
+                                    transactionHash,
+                                    withProof)),
+                    BcosTransactionReceipt.class);
+        }
+        return (List<BcosTransactionReceipt>) (List<?>) sendBatch(batch);
+    }
+
+    /**
+     * Get the hashes of the blocks in JSON-RPC batches, see sendBatch
+     *
+     * @param blockNumbers the numbers of the blocks
+     * @return the block hashes in the order of the numbers, check hasError of each one
+     */
+    @SuppressWarnings("unchecked")
+    default List<BlockHash> getBlockHashesByNumber(List<BigInteger> blockNumbers) {
+        BatchRequest batch = new BatchRequest();
+        for (BigInteger blockNumber : blockNumbers) {
+            batch.add(
+                    new JsonRpcRequest<>(
+                            JsonRpcMethods.GET_BLOCKHASH_BY_NUMBER,
+                            Arrays.asList(getGroup(), getNodeToSendRequest(), blockNumber)),
+                    BlockHash.class);
+        }
+        return (List<BlockHash>) (List<?>) sendBatch(batch);
+    }
+
+    /**
+     * Stream the blocks of a range in order, fetching up to window blocks ahead of the consumer;
+     * blocks above the head of the chain are streamed once committed
+     *
+     * @param from the first block
+     * @param to the last block, inclusive
+     * @param onlyHeader fetch the block headers only
+     * @param onlyTxHash fetch the transaction hashes instead of the transactions
+     * @param window the most blocks in flight or waiting to be consumed
+     * @return the started stream, to be closed once done
+     */
+    default BlockStream streamBlocks(
+            BigInteger from, BigInteger to, boolean onlyHeader, boolean onlyTxHash, int window) {
+        return new BlockStream(
+                        this,
+                        from.longValueExact(),
+                        to.longValueExact(),
+                        onlyHeader,
+                        onlyTxHash,
+                        window)
+                .start();
+    }
+
+    default BlockStream streamBlocks(
+            BigInteger from, BigInteger to, boolean onlyHeader, boolean onlyTxHash) {
+        return streamBlocks(from, to, onlyHeader, onlyTxHash, BlockStream.DEFAULT_WINDOW);
+    }
+
+    /**
+     * Stream the blocks from a block on, never ending: the stream catches up with the head of the
+     * chain then delivers each new block once committed
+     *
+     * @param from the first block
+     * @param onlyHeader fetch the block headers only
+     * @param onlyTxHash fetch the transaction hashes instead of the transactions
+     * @param window the most blocks in flight or waiting to be consumed
+     * @return the started stream, to be closed once done
+     */
+    default BlockStream followBlocks(
+            BigInteger from, boolean onlyHeader, boolean onlyTxHash, int window) {
+        return streamBlocks(
+                from, BigInteger.valueOf(BlockStream.FOLLOW_HEAD), onlyHeader, onlyTxHash, window);
+    }
+
+    default BlockStream followBlocks(BigInteger from, boolean onlyHeader, boolean onlyTxHash) {
+        return followBlocks(from, onlyHeader, onlyTxHash, BlockStream.DEFAULT_WINDOW);
+    }
+
+    /**
+     * Get the latency histograms of the rpc calls, kept by the metrics of the network.rpcMetrics
+     * config "memory" or "jmx"
+     *
+     * @return rpc method name => latency histogram of the calls of the method, empty if the metrics
+     *     do not keep them
+     */
+    default Map<String, LatencyHistogram> getRpcLatencyHistograms() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Get the metrics receiving the count, latency, sizes and error codes of every rpc call, see
+     * the network.rpcMetrics config
+     *
+     * @return the metrics, RpcMetrics.NOOP by default
+     */
+    default RpcMetrics getRpcMetrics() {
+        return RpcMetrics.NOOP;
+    }
+
+    /**
+     * Set the metrics receiving the measures of every rpc call, the previous metrics are closed if
+     * they are AutoCloseable
+     *
+     * @param rpcMetrics the metrics, null to record nothing
+     */
+    default void setRpcMetrics(RpcMetrics rpcMetrics) {}
+
+    /**
+     * Get the router spreading the reads over the nodes of the group, see the [network.readRouting]
+     * config
+     *
+     * @return the router, null if the reads are not routed
+     */
+    default ReadRouter getReadRouter() {
+        return null;
+    }
+
+    /**
+     * Get the cache of the blocks, transactions, receipts and code read from the chain, see the
+     * [network.readCache] config
+     *
+     * @return the cache with its hit rate, null if the reads are not cached
+     */
+    default ResponseCache getResponseCache() {
+        return null;
+    }
+
+    /**
+     * Get the coalescer sharing one request between the identical reads in flight, see the
+     * network.coalesceReads config
+     *
+     * @return the coalescer with its counters, null if the reads are not coalesced
+     */
+    default RequestCoalescer getRequestCoalescer() {
+        return null;
+    }
+
     void start();
 
     void stop();
@@ -15,11 +15,13 @@ package org.fisco.bcos.sdk.v3.client;
 
 import static org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory.getObjectMapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -28,15 +30,29 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import org.fisco.bcos.sdk.jni.BcosSDKJniObj;
+import org.fisco.bcos.sdk.jni.rpc.RpcCallback;
 import org.fisco.bcos.sdk.jni.rpc.RpcJniObj;
+import org.fisco.bcos.sdk.v3.client.cache.ResponseCache;
+import org.fisco.bcos.sdk.v3.client.coalesce.RequestCoalescer;
 import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.metrics.DefaultRpcMetrics;
+import org.fisco.bcos.sdk.v3.client.metrics.LatencyHistogram;
+import org.fisco.bcos.sdk.v3.client.metrics.RpcMetrics;
+import org.fisco.bcos.sdk.v3.client.metrics.RpcSample;
+import org.fisco.bcos.sdk.v3.client.protocol.deserializer.JsonRpcResponseReaders;
 import org.fisco.bcos.sdk.v3.client.protocol.model.GroupNodeIniConfig;
 import org.fisco.bcos.sdk.v3.client.protocol.model.GroupNodeIniInfo;
+import org.fisco.bcos.sdk.v3.client.protocol.request.BatchRequest;
 import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
 import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcRequest;
 import org.fisco.bcos.sdk.v3.client.protocol.request.LogFilterRequest;
@@ -66,7 +82,12 @@ import org.fisco.bcos.sdk.v3.client.protocol.response.SyncStatus;
 import org.fisco.bcos.sdk.v3.client.protocol.response.SystemConfig;
 import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
 import org.fisco.bcos.sdk.v3.client.protocol.response.UninstallLogFilter;
+import org.fisco.bcos.sdk.v3.client.protocol.stream.JsonRpcStreamReader;
+import org.fisco.bcos.sdk.v3.client.routing.ReadRouter;
+import org.fisco.bcos.sdk.v3.client.stream.BlockStream;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
+import org.fisco.bcos.sdk.v3.config.model.ReadCacheConfig;
+import org.fisco.bcos.sdk.v3.config.model.ReadRoutingConfig;
 import org.fisco.bcos.sdk.v3.contract.precompiled.sysconfig.SystemConfigFeature;
 import org.fisco.bcos.sdk.v3.contract.precompiled.sysconfig.SystemConfigService;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
@@ -83,6 +104,11 @@ import org.slf4j.LoggerFactory;
 
 public class ClientImpl implements Client {
     private static final Logger logger = LoggerFactory.getLogger(ClientImpl.class);
+    // a node that rejected a json rpc batch is sent batches again after this delay, it may have
+    // been upgraded
+    private static final long BATCH_REPROBE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    // the name of the json rpc batches in the rpc metrics
+    public static final String BATCH_METHOD = "batch";
     private static final int BLOCK_LIMIT_RANGE = 500;
 
     // ------------basic group info --------------
@@ -109,6 +135,25 @@ public class ClientImpl implements Client {
     private RpcJniObj rpcJniObj;
 
     protected final ObjectMapper objectMapper = getObjectMapper();
+    // receives a sample of every rpc call, RpcMetrics.NOOP if network.rpcMetrics is none
+    private volatile RpcMetrics rpcMetrics;
+    // decode the responses of the rpc calls, see network.jsonDecoder
+    private final JsonRpcResponseReaders responseReaders;
+    private volatile Executor callbackExecutor;
+    // spreads the reads naming no node over the group, null if disabled
+    private volatile ReadRouter readRouter;
+    // raw responses of the reads on immutable data, null if disabled
+    private final ResponseCache responseCache;
+    // shares the identical reads in flight, null if disabled
+    private final RequestCoalescer requestCoalescer;
+    // set when the node answers a batch with a single response, the batches are pipelined until
+    // this time; 0 while the batches are accepted
+    private volatile long batchRejectedUntilNanos = 0;
+    // the open block streams, told of the new blocks by the block notifier of the group
+    private final Set<BlockStream> blockStreams = new CopyOnWriteArraySet<>();
+    // told of the new blocks by the block notifier of the group
+    private final Set<LongConsumer> blockNumberListeners = new CopyOnWriteArraySet<>();
+    private volatile boolean blockNotifierRegistered = false;
 
     protected void initGroupInfo() {
         this.groupInfo = getGroupInfo().getResult();
@@ -129,6 +174,17 @@ public class ClientImpl implements Client {
                             + this.groupID);
         }
 
+        ReadRoutingConfig readRoutingConfig =
+                configOption.getNetworkConfig().getReadRoutingConfig();
+        if (readRoutingConfig.isEnabled() && nodeList.size() > 1) {
+            List<String> nodeNames = new ArrayList<>(nodeList.size());
+            for (BcosGroupNodeInfo.GroupNodeInfo nodeInfo : nodeList) {
+                nodeNames.add(nodeInfo.getName());
+            }
+            this.readRouter = new ReadRouter(readRoutingConfig, nodeNames);
+            logger.info("route the reads over the nodes {}, {}", nodeNames, readRoutingConfig);
+        }
+
         BcosGroupNodeInfo.GroupNodeInfo groupNodeInfo = groupInfo.getNodeList().get(0);
         GroupNodeIniInfo nodeIniConfig = groupNodeInfo.getIniConfig();
         long compatibilityVersion = groupNodeInfo.getProtocol().getCompatibilityVersion();
@@ -172,6 +228,14 @@ public class ClientImpl implements Client {
         this.groupID = groupID;
         this.configOption = configOption;
         this.rpcJniObj = RpcJniObj.build(nativePointer);
+        ReadCacheConfig readCacheConfig = configOption.getNetworkConfig().getReadCacheConfig();
+        this.responseCache = readCacheConfig.isEnable() ? new ResponseCache(readCacheConfig) : null;
+        this.requestCoalescer =
+                configOption.getNetworkConfig().isCoalesceReads() ? new RequestCoalescer() : null;
+        this.rpcMetrics =
+                RpcMetrics.create(configOption.getNetworkConfig().getRpcMetrics(), groupID);
+        this.responseReaders =
+                JsonRpcResponseReaders.of(configOption.getNetworkConfig().getJsonDecoder());
         // start rpc
         start();
 
@@ -223,6 +287,16 @@ public class ClientImpl implements Client {
         return this.configOption;
     }
 
+    @Override
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    @Override
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
     @Override
     public String getGroup() {
         return this.groupID;
@@ -625,6 +699,25 @@ public class ClientImpl implements Client {
                 BcosBlock.class);
     }
 
+    @Override
+    public BcosBlock.Block getBlockByNumber(
+            String node,
+            BigInteger blockNumber,
+            boolean onlyTxHash,
+            Consumer<BcosBlock.TransactionResult> transactionVisitor) {
+        node = Objects.isNull(node) ? "" : node;
+        return this.callRemoteMethod(
+                this.groupID,
+                node,
+                new JsonRpcRequest<>(
+                        JsonRpcMethods.GET_BLOCK_BY_NUMBER,
+                        Arrays.asList(this.groupID, node, blockNumber, false, onlyTxHash)),
+                response -> {
+                    checkResponseErrorCode(JsonRpcMethods.GET_BLOCK_BY_NUMBER, response);
+                    return JsonRpcStreamReader.readBlock(response.getContent(), transactionVisitor);
+                });
+    }
+
     @Override
     public void getBlockByNumberAsync(
             BigInteger blockNumber,
@@ -820,6 +913,55 @@ public class ClientImpl implements Client {
         return blockLimit;
     }
 
+    private void registerBlockNotifier() {
+        if (blockNotifierRegistered) {
+            return;
+        }
+        synchronized (blockStreams) {
+            if (blockNotifierRegistered) {
+                return;
+            }
+            // the native notifiers can not be removed, one forwards to all the streams and
+            // listeners
+            BcosSDKJniObj.registerBlockNotifier(
+                    getNativePointer(),
+                    groupID,
+                    (group, blockNumber) -> {
+                        for (BlockStream stream : blockStreams) {
+                            if (stream.isClosed()) {
+                                blockStreams.remove(stream);
+                            } else {
+                                try {
+                                    stream.onNewBlock(blockNumber);
+                                } catch (Exception e) {
+                                    logger.warn("block stream failed, e: ", e);
+                                }
+                            }
+                        }
+                        for (LongConsumer listener : blockNumberListeners) {
+                            try {
+                                listener.accept(blockNumber);
+                            } catch (Exception e) {
+                                logger.warn("block number listener failed, e: ", e);
+                            }
+                        }
+                    });
+            blockNotifierRegistered = true;
+        }
+    }
+
+    @Override
+    public boolean addBlockNumberListener(LongConsumer listener) {
+        registerBlockNotifier();
+        blockNumberListeners.add(listener);
+        return true;
+    }
+
+    @Override
+    public void removeBlockNumberListener(LongConsumer listener) {
+        blockNumberListeners.remove(listener);
+    }
+
     @Override
     public GroupPeers getGroupPeers() {
         return this.callRemoteMethod(
@@ -1020,24 +1162,9 @@ public class ClientImpl implements Client {
 
     @Override
     public Map<String, Optional<SystemConfig>> getSystemConfigList() {
-        CompletableFuture<Map<String, Optional<SystemConfig>>> future = new CompletableFuture<>();
-        this.getSystemConfigListAsync(
-                new RespCallback<Map<String, Optional<SystemConfig>>>() {
-                    @Override
-                    public void onResponse(Map<String, Optional<SystemConfig>> configMap) {
-                        future.complete(configMap);
-                    }
-
-                    @Override
-                    public void onError(Response errorResponse) {
-                        future.completeExceptionally(
-                                new ClientException(
-                                        "getSystemConfigList failed, error: "
-                                                + errorResponse.getErrorMessage()));
-                    }
-                });
         try {
-            return future.get(configOption.getNetworkConfig().getTimeout(), TimeUnit.MILLISECONDS);
+            return this.getSystemConfigListAsync()
+                    .get(configOption.getNetworkConfig().getTimeout(), TimeUnit.MILLISECONDS);
         } catch (Exception e) {
             logger.warn("getSystemConfigList failed, error: {}", e.getMessage(), e);
             throw new ClientException("getSystemConfigList failed, error: " + e.getMessage(), e);
@@ -1559,6 +1686,19 @@ public class ClientImpl implements Client {
                 LogWrapper.class);
     }
 
+    @Override
+    public void getLogs(LogFilterRequest params, Consumer<LogWrapper.LogResult> logVisitor) {
+        this.callRemoteMethod(
+                this.groupID,
+                "",
+                new JsonRpcRequest<>(JsonRpcMethods.GET_LOGS, Arrays.asList(this.groupID, params)),
+                response -> {
+                    checkResponseErrorCode(JsonRpcMethods.GET_LOGS, response);
+                    JsonRpcStreamReader.readLogs(response.getContent(), logVisitor);
+                    return null;
+                });
+    }
+
     @Override
     public void getLogsAsync(LogFilterRequest params, RespCallback<LogWrapper> callback) {
         this.asyncCallRemoteMethod(
@@ -1609,6 +1749,10 @@ public class ClientImpl implements Client {
 
     @Override
     public void destroy() {
+        if (readRouter != null) {
+            readRouter.close();
+        }
+        closeRpcMetrics(rpcMetrics);
         if (rpcJniObj != null) {
             BcosSDKJniObj.destroy(rpcJniObj.getNativePointer());
             rpcJniObj = null;
@@ -1641,33 +1785,137 @@ public class ClientImpl implements Client {
 
     public <T extends JsonRpcResponse<?>> T callRemoteMethod(
             String groupID, String node, JsonRpcRequest<?> request, Class<T> responseType) {
+        ResponseDecoder<T> decoder =
+                response ->
+                        ClientImpl.parseResponseIntoJsonRpcResponse(
+                                request.getMethod(), response, responseType, responseReaders);
+        RequestCoalescer coalescer = getRequestCoalescer(request);
+        if (coalescer == null) {
+            return this.callRemoteMethod(groupID, node, request, decoder);
+        }
+        boolean[] sent = new boolean[1];
+        CompletableFuture<T> flight =
+                coalescer.execute(
+                        RequestCoalescer.key(
+                                groupID,
+                                node,
+                                request.getMethod(),
+                                request.getParams(),
+                                responseType),
+                        future -> {
+                            sent[0] = true;
+                            future.complete(this.callRemoteMethod(groupID, node, request, decoder));
+                        });
+        int timeout = configOption.getNetworkConfig().getTimeout(request.getMethod());
         try {
-            CompletableFuture<Response> future = new CompletableFuture<>();
-
-            String data = this.objectMapper.writeValueAsString(request);
-            this.rpcJniObj.genericMethod(
-                    groupID,
-                    node,
-                    data,
-                    resp -> {
-                        Response response = new Response();
-                        response.setErrorCode(resp.getErrorCode());
-                        response.setErrorMessage(resp.getErrorMessage());
-                        response.setContent(resp.getData());
-
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(
-                                    " callRemoteMethod ===>>> request: {}, response: {}",
-                                    request,
-                                    response);
-                        }
+            return flight.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (sent[0] && cause instanceof RuntimeException) {
+                // the caller sent the request, it gets the exception as if not coalesced
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof ClientException) {
+                ClientException clientException = (ClientException) cause;
+                throw new ClientException(
+                        clientException.getErrorCode(),
+                        clientException.getErrorMessage(),
+                        clientException.getMessage(),
+                        clientException);
+            }
+            throw new ClientException(
+                    "callRemoteMethod failed, method: " + request.getMethod(), cause);
+        } catch (TimeoutException e) {
+            throw new ClientException(
+                    "callRemoteMethod timeout, method: "
+                            + request.getMethod()
+                            + ", timeout: "
+                            + timeout
+                            + "ms",
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException(
+                    "callRemoteMethod interrupted, method: " + request.getMethod(), e);
+        }
+    }
 
-                        future.complete(response);
-                    });
-            Response response = future.get();
-            return ClientImpl.parseResponseIntoJsonRpcResponse(
-                    request.getMethod(), response, responseType);
+    /**
+     * send the request and decode the response with the given decoder in the calling thread
+     *
+     * @param groupID the group
+     * @param node the node to send the request to
+     * @param request the json rpc request
+     * @param decoder decode the raw response of the node
+     * @param <R> the decoded type
+     * @return the decoded response
+     */
+    protected <R> R callRemoteMethod(
+            String groupID, String node, JsonRpcRequest<?> request, ResponseDecoder<R> decoder) {
+        boolean success = false;
+        RpcMetrics metrics = this.rpcMetrics;
+        RpcSample sample = new RpcSample(request.getMethod());
+        metrics.onStart(request.getMethod());
+        int timeout = configOption.getNetworkConfig().getTimeout(request.getMethod());
+        ResponseCache cache = getResponseCache(request);
+        String cacheKey =
+                cache == null ? null : ResponseCache.key(request.getMethod(), request.getParams());
+        try {
+            org.fisco.bcos.sdk.jni.common.Response resp;
+            byte[] cached = cache == null ? null : cache.get(cacheKey);
+            ReadRouter router = getReadRouter(groupID, node, request);
+            if (cached != null) {
+                sample.setCached(true);
+                resp = cachedResponse(cached);
+            } else if (router != null) {
+                // the routed request is encoded for its node inside the round trip
+                long sendTime = System.nanoTime();
+                resp = router.call(routedSender(groupID, request), timeout);
+                sample.setRoundTripNanos(System.nanoTime() - sendTime);
+            } else {
+                String data = this.objectMapper.writeValueAsString(request);
+                long sendTime = System.nanoTime();
+                sample.setSerializeNanos(sendTime - sample.getStartNanos());
+                sample.setRequestBytes(data.length());
+                BlockingRpcCallback callback = BlockingRpcCallback.acquire();
+                try {
+                    this.rpcJniObj.genericMethod(groupID, node, data, callback);
+                    resp = callback.await(timeout);
+                } catch (RuntimeException e) {
+                    callback.abandon();
+                    throw e;
+                }
+                sample.setRoundTripNanos(System.nanoTime() - sendTime);
+            }
+            sample.setResponseBytes(resp.getData() == null ? 0 : resp.getData().length);
+            Response response = new Response();
+            response.setErrorCode(resp.getErrorCode());
+            response.setErrorMessage(resp.getErrorMessage());
+            response.setContent(resp.getData());
+
+            if (logger.isTraceEnabled()) {
+                logger.trace(
+                        " callRemoteMethod ===>>> request: {}, response: {}", request, response);
+            }
+            long parseTime = System.nanoTime();
+            R result;
+            try {
+                result = decoder.decode(response);
+            } finally {
+                sample.setParseNanos(System.nanoTime() - parseTime);
+            }
+            if (cached == null
+                    && cache != null
+                    && ResponseCache.isCacheableResult(
+                            result instanceof JsonRpcResponse
+                                    ? ((JsonRpcResponse<?>) result).getResult()
+                                    : result)) {
+                cache.put(cacheKey, resp.getData());
+            }
+            success = true;
+            return result;
         } catch (ClientException e) {
+            sample.setErrorCode(e.getErrorCode() != 0 ? e.getErrorCode() : RpcSample.CLIENT_ERROR);
             logger.info("callRemoteMethod ClientException, raw request:{} ", request, e);
             throw new ClientException(
                     e.getErrorCode(),
@@ -1675,12 +1923,101 @@ public class ClientImpl implements Client {
                     "callRemoteMethod failed for decode the message exception, error message:"
                             + e.getMessage(),
                     e);
-        } catch (JsonProcessingException | InterruptedException | ExecutionException e) {
+        } catch (TimeoutException e) {
+            sample.setErrorCode(RpcSample.TIMEOUT_ERROR);
+            logger.warn(
+                    "callRemoteMethod timeout, method: {}, node: {}, timeout: {}ms",
+                    request.getMethod(),
+                    node,
+                    timeout);
+            throw new ClientException(
+                    "callRemoteMethod timeout, method: "
+                            + request.getMethod()
+                            + ", timeout: "
+                            + timeout
+                            + "ms",
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException(
+                    "callRemoteMethod interrupted, method: " + request.getMethod(), e);
+        } catch (IOException e) {
             logger.error("callRemoteMethod exception, raw request:{} ", request, e);
             throw new ClientException(
                     "callRemoteMethod failed for decode the message exception, error message:"
                             + e.getMessage(),
                     e);
+        } finally {
+            if (!success && sample.isSuccess()) {
+                sample.setErrorCode(RpcSample.CLIENT_ERROR);
+            }
+            metrics.onComplete(sample.complete());
+        }
+    }
+
+    /**
+     * decode the response of a streaming rpc call
+     *
+     * @param <R> the decoded type
+     */
+    @FunctionalInterface
+    protected interface ResponseDecoder<R> {
+        R decode(Response response) throws IOException;
+    }
+
+    private static void checkResponseErrorCode(String method, Response response) {
+        if (response.getErrorCode() != 0) {
+            logger.info(
+                    "check response failed, method: {}, msg: {}, code: {}",
+                    method,
+                    response.getErrorMessage(),
+                    response.getErrorCode());
+            throw new ClientException(
+                    response.getErrorCode(),
+                    response.getErrorMessage(),
+                    "get response failed, code: "
+                            + response.getErrorCode()
+                            + ", msg: "
+                            + response.getErrorMessage());
+        }
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getRpcLatencyHistograms() {
+        RpcMetrics metrics = this.rpcMetrics;
+        if (!(metrics instanceof DefaultRpcMetrics)) {
+            return Collections.emptyMap();
+        }
+        Map<String, LatencyHistogram> histograms = new HashMap<>();
+        ((DefaultRpcMetrics) metrics)
+                .getMethodMetrics()
+                .forEach(
+                        (method, methodMetrics) ->
+                                histograms.put(method, methodMetrics.getLatency()));
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    @Override
+    public RpcMetrics getRpcMetrics() {
+        return rpcMetrics;
+    }
+
+    @Override
+    public void setRpcMetrics(RpcMetrics rpcMetrics) {
+        RpcMetrics previous = this.rpcMetrics;
+        this.rpcMetrics = rpcMetrics == null ? RpcMetrics.NOOP : rpcMetrics;
+        if (previous != this.rpcMetrics) {
+            closeRpcMetrics(previous);
+        }
+    }
+
+    private static void closeRpcMetrics(RpcMetrics rpcMetrics) {
+        if (rpcMetrics instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) rpcMetrics).close();
+            } catch (Exception e) {
+                logger.warn("close the rpc metrics failed, e: ", e);
+            }
         }
     }
 
@@ -1690,43 +2027,603 @@ public class ClientImpl implements Client {
             JsonRpcRequest<?> request,
             Class<T> responseType,
             RespCallback<T> callback) {
+        RequestCoalescer coalescer = getRequestCoalescer(request);
+        if (coalescer == null) {
+            try {
+                this.sendRemoteMethod(groupID, node, request, responseType, callback);
+            } catch (IOException e) {
+                logger.error("e: ", e);
+            }
+            return;
+        }
+        coalescer
+                .<T>execute(
+                        RequestCoalescer.key(
+                                groupID,
+                                node,
+                                request.getMethod(),
+                                request.getParams(),
+                                responseType),
+                        future -> {
+                            try {
+                                this.sendRemoteMethod(
+                                        groupID,
+                                        node,
+                                        request,
+                                        responseType,
+                                        new RespCallback<T>() {
+                                            @Override
+                                            public void onResponse(T response) {
+                                                future.complete(response);
+                                            }
+
+                                            @Override
+                                            public void onError(Response errorResponse) {
+                                                future.completeExceptionally(
+                                                        new ClientException(
+                                                                errorResponse.getErrorCode(),
+                                                                errorResponse.getErrorMessage(),
+                                                                "asyncCallRemoteMethod failed"));
+                                            }
+                                        });
+                            } catch (IOException e) {
+                                logger.error("e: ", e);
+                                future.completeExceptionally(
+                                        new ClientException(
+                                                "asyncCallRemoteMethod failed, error message: "
+                                                        + e.getMessage(),
+                                                e));
+                            }
+                        })
+                .whenComplete(
+                        (response, error) -> {
+                            if (error == null) {
+                                callback.onResponse(response);
+                                return;
+                            }
+                            Response errorResponse = new Response();
+                            if (error instanceof ClientException) {
+                                errorResponse.setErrorCode(
+                                        ((ClientException) error).getErrorCode());
+                                errorResponse.setErrorMessage(
+                                        ((ClientException) error).getErrorMessage());
+                            } else {
+                                errorResponse.setErrorCode(-1);
+                                errorResponse.setErrorMessage(error.getMessage());
+                            }
+                            callback.onError(errorResponse);
+                        });
+    }
+
+    @Override
+    public BlockStream streamBlocks(
+            BigInteger from, BigInteger to, boolean onlyHeader, boolean onlyTxHash, int window) {
+        BlockStream stream =
+                new BlockStream(
+                        this,
+                        from.longValueExact(),
+                        to.longValueExact(),
+                        onlyHeader,
+                        onlyTxHash,
+                        window);
+        registerBlockNotifier();
+        blockStreams.add(stream);
+        try {
+            return stream.start();
+        } catch (RuntimeException e) {
+            stream.close();
+            blockStreams.remove(stream);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<JsonRpcResponse<?>> sendBatch(BatchRequest batch) {
+        return this.sendBatch(this.groupID, nodeToSendRequest, batch);
+    }
 
+    @Override
+    public CompletableFuture<List<JsonRpcResponse<?>>> sendBatchAsync(BatchRequest batch) {
+        return this.sendBatchAsync(this.groupID, nodeToSendRequest, batch);
+    }
+
+    /**
+     * send the requests in json rpc batches of at most network.maxBatchSize requests
+     *
+     * @param groupID the group
+     * @param node the node to send the requests to
+     * @param batch the requests
+     * @return the responses in the order of the requests, a failed request gets a response with its
+     *     error
+     */
+    public List<JsonRpcResponse<?>> sendBatch(String groupID, String node, BatchRequest batch) {
+        int timeout = 0;
+        for (JsonRpcRequest<?> request : batch.getRequests()) {
+            timeout =
+                    Math.max(
+                            timeout,
+                            configOption.getNetworkConfig().getTimeout(request.getMethod()));
+        }
         try {
-            this.rpcJniObj.genericMethod(
+            return this.sendBatchAsync(groupID, node, batch).get(timeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ClientException) {
+                throw (ClientException) e.getCause();
+            }
+            throw new ClientException("sendBatch failed, size: " + batch.size(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new ClientException(
+                    "sendBatch timeout, size: " + batch.size() + ", timeout: " + timeout + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException("sendBatch interrupted, size: " + batch.size(), e);
+        }
+    }
+
+    /**
+     * send the requests in json rpc batches of at most network.maxBatchSize requests, at most
+     * network.maxBatchesInFlight batches waiting for their answer, or pipelined one by one if the
+     * node does not accept batches
+     *
+     * @param groupID the group
+     * @param node the node to send the requests to
+     * @param batch the requests
+     * @return the responses in the order of the requests, a failed request gets a response with its
+     *     error
+     */
+    public CompletableFuture<List<JsonRpcResponse<?>>> sendBatchAsync(
+            String groupID, String node, BatchRequest batch) {
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        if (isBatchRejected()) {
+            return new PipelinedBatch(groupID, node, batch).send();
+        }
+        int maxBatchSize = Math.max(1, configOption.getNetworkConfig().getMaxBatchSize());
+        if (batch.size() <= maxBatchSize) {
+            return this.sendBatchRequest(groupID, node, batch);
+        }
+        return new ChunkedBatch(groupID, node, batch, maxBatchSize).send();
+    }
+
+    private boolean isBatchRejected() {
+        long until = batchRejectedUntilNanos;
+        return until != 0 && System.nanoTime() - until < 0;
+    }
+
+    private CompletableFuture<List<JsonRpcResponse<?>>> sendBatchRequest(
+            String groupID, String node, BatchRequest batch) {
+        CompletableFuture<List<JsonRpcResponse<?>>> future = new CompletableFuture<>();
+        RpcMetrics metrics = this.rpcMetrics;
+        RpcSample sample = new RpcSample(BATCH_METHOD);
+        metrics.onStart(BATCH_METHOD);
+        long[] sendTime = {sample.getStartNanos()};
+        RpcCallback rpcCallback =
+                resp -> {
+                    sample.setRoundTripNanos(System.nanoTime() - sendTime[0]);
+                    sample.setResponseBytes(resp.getData() == null ? 0 : resp.getData().length);
+                    if (resp.getErrorCode() != 0) {
+                        sample.setErrorCode(resp.getErrorCode());
+                        metrics.onComplete(sample.complete());
+                        future.completeExceptionally(
+                                new ClientException(
+                                        resp.getErrorCode(),
+                                        resp.getErrorMessage(),
+                                        "sendBatch failed, code: "
+                                                + resp.getErrorCode()
+                                                + ", msg: "
+                                                + resp.getErrorMessage()));
+                        return;
+                    }
+                    long parseTime = System.nanoTime();
+                    List<JsonRpcResponse<?>> responses;
+                    try {
+                        responses = batch.decode(responseReaders, resp.getData());
+                    } catch (IOException e) {
+                        sample.setParseNanos(System.nanoTime() - parseTime);
+                        sample.setErrorCode(RpcSample.CLIENT_ERROR);
+                        metrics.onComplete(sample.complete());
+                        future.completeExceptionally(
+                                new ClientException(
+                                        "sendBatch failed for decode the message exception, error message: "
+                                                + e.getMessage(),
+                                        e));
+                        return;
+                    }
+                    sample.setParseNanos(System.nanoTime() - parseTime);
+                    if (responses == null) {
+                        sample.setErrorCode(RpcSample.CLIENT_ERROR);
+                    }
+                    metrics.onComplete(sample.complete());
+                    if (responses != null) {
+                        future.complete(responses);
+                        return;
+                    }
+                    // a node without batch support answers the array with a single error
+                    logger.info(
+                            "the node does not accept json rpc batches, pipeline the requests, group: {}, node: {}",
+                            groupID,
+                            node);
+                    batchRejectedUntilNanos = System.nanoTime() + BATCH_REPROBE_NANOS;
+                    new PipelinedBatch(groupID, node, batch)
+                            .send()
+                            .whenComplete(
+                                    (pipelined, error) -> {
+                                        if (error == null) {
+                                            future.complete(pipelined);
+                                        } else {
+                                            future.completeExceptionally(error);
+                                        }
+                                    });
+                };
+        try {
+            String data = batch.encode(this.objectMapper);
+            sendTime[0] = System.nanoTime();
+            sample.setSerializeNanos(sendTime[0] - sample.getStartNanos());
+            sample.setRequestBytes(data.length());
+            this.rpcJniObj.genericMethod(groupID, node, data, rpcCallback);
+        } catch (IOException | RuntimeException e) {
+            sample.setErrorCode(RpcSample.CLIENT_ERROR);
+            metrics.onComplete(sample.complete());
+            logger.error("sendBatch exception, size: {}", batch.size(), e);
+            future.completeExceptionally(
+                    new ClientException("sendBatch failed, error message: " + e.getMessage(), e));
+        }
+        return future;
+    }
+
+    /**
+     * a batch larger than network.maxBatchSize, sent in chunks of that size with at most
+     * network.maxBatchesInFlight chunks waiting for their answer
+     */
+    private final class ChunkedBatch {
+        private final String groupID;
+        private final String node;
+        private final BatchRequest batch;
+        private final int maxBatchSize;
+        private final JsonRpcResponse<?>[] responses;
+        private final CompletableFuture<List<JsonRpcResponse<?>>> future =
+                new CompletableFuture<>();
+        private final AtomicInteger permits;
+        private final AtomicInteger remaining;
+        // the chunks are sent by the thread draining the batch, one at a time
+        private final AtomicInteger drainers = new AtomicInteger();
+        private int next = 0;
+
+        ChunkedBatch(String groupID, String node, BatchRequest batch, int maxBatchSize) {
+            this.groupID = groupID;
+            this.node = node;
+            this.batch = batch;
+            this.maxBatchSize = maxBatchSize;
+            this.responses = new JsonRpcResponse<?>[batch.size()];
+            this.permits =
+                    new AtomicInteger(
+                            Math.max(1, configOption.getNetworkConfig().getMaxBatchesInFlight()));
+            this.remaining = new AtomicInteger((batch.size() + maxBatchSize - 1) / maxBatchSize);
+        }
+
+        CompletableFuture<List<JsonRpcResponse<?>>> send() {
+            drain();
+            return future;
+        }
+
+        private void drain() {
+            // an answer delivered in the sending thread resumes this loop instead of recursing
+            if (drainers.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (next < responses.length && permits.get() > 0 && !future.isDone()) {
+                    permits.decrementAndGet();
+                    int from = next;
+                    next = Math.min(responses.length, from + maxBatchSize);
+                    sendChunk(from, next);
+                }
+            } while (drainers.decrementAndGet() != 0);
+        }
+
+        private void sendChunk(int from, int to) {
+            BatchRequest chunk = batch.subBatch(from, to);
+            // the node may have rejected the batches while the previous chunks were in flight
+            CompletableFuture<List<JsonRpcResponse<?>>> chunkFuture =
+                    isBatchRejected()
+                            ? new PipelinedBatch(groupID, node, chunk).send()
+                            : sendBatchRequest(groupID, node, chunk);
+            chunkFuture.whenComplete(
+                    (chunkResponses, error) -> {
+                        if (error != null) {
+                            // the chunks not sent yet are dropped
+                            future.completeExceptionally(error);
+                            return;
+                        }
+                        for (int i = 0; i < chunkResponses.size(); i++) {
+                            responses[from + i] = chunkResponses.get(i);
+                        }
+                        if (remaining.decrementAndGet() == 0) {
+                            future.complete(Arrays.asList(responses));
+                            return;
+                        }
+                        permits.incrementAndGet();
+                        drain();
+                    });
+        }
+    }
+
+    /** the requests of a batch sent one by one, at most network.maxBatchSize in flight */
+    private final class PipelinedBatch {
+        private final String groupID;
+        private final String node;
+        private final BatchRequest batch;
+        private final JsonRpcResponse<?>[] responses;
+        private final CompletableFuture<List<JsonRpcResponse<?>>> future =
+                new CompletableFuture<>();
+        private final AtomicInteger permits;
+        private final AtomicInteger remaining;
+        // the requests are sent by the thread draining the batch, one at a time
+        private final AtomicInteger drainers = new AtomicInteger();
+        private int next = 0;
+
+        PipelinedBatch(String groupID, String node, BatchRequest batch) {
+            this.groupID = groupID;
+            this.node = node;
+            this.batch = batch;
+            this.responses = new JsonRpcResponse<?>[batch.size()];
+            this.permits =
+                    new AtomicInteger(
+                            Math.max(1, configOption.getNetworkConfig().getMaxBatchSize()));
+            this.remaining = new AtomicInteger(batch.size());
+        }
+
+        CompletableFuture<List<JsonRpcResponse<?>>> send() {
+            drain();
+            return future;
+        }
+
+        private void drain() {
+            // a response delivered in the sending thread resumes this loop instead of recursing
+            if (drainers.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (next < responses.length && permits.get() > 0) {
+                    permits.decrementAndGet();
+                    sendRequest(next, batch.getResponseType(next));
+                    next++;
+                }
+            } while (drainers.decrementAndGet() != 0);
+        }
+
+        private <T extends JsonRpcResponse<?>> void sendRequest(int index, Class<T> responseType) {
+            asyncCallRemoteMethod(
                     groupID,
                     node,
-                    this.objectMapper.writeValueAsString(request),
-                    resp -> {
-                        Response response = new Response();
-                        response.setErrorCode(resp.getErrorCode());
-                        response.setErrorMessage(resp.getErrorMessage());
-                        response.setContent(resp.getData());
-
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(
-                                    " ===>>> asyncCallRemoteMethod, group: {}, node: {}, request: {}, response: {}",
-                                    groupID,
-                                    node,
-                                    request,
-                                    response);
+                    batch.getRequests().get(index),
+                    responseType,
+                    new RespCallback<T>() {
+                        @Override
+                        public void onResponse(T response) {
+                            onDone(index, response);
                         }
 
-                        ResponseCallback responseCallback =
-                                createResponseCallback(request.getMethod(), responseType, callback);
-                        responseCallback.onResponse(response);
+                        @Override
+                        public void onError(Response errorResponse) {
+                            onDone(
+                                    index,
+                                    batch.errorResponse(
+                                            index,
+                                            errorResponse.getErrorCode(),
+                                            errorResponse.getErrorMessage()));
+                        }
                     });
-        } catch (JsonProcessingException e) {
-            logger.error("e: ", e);
+        }
+
+        private void onDone(int index, JsonRpcResponse<?> response) {
+            responses[index] = response;
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(Arrays.asList(responses));
+                return;
+            }
+            permits.incrementAndGet();
+            drain();
         }
     }
 
+    private <T extends JsonRpcResponse<?>> void sendRemoteMethod(
+            String groupID,
+            String node,
+            JsonRpcRequest<?> request,
+            Class<T> responseType,
+            RespCallback<T> callback)
+            throws IOException {
+        RpcMetrics metrics = this.rpcMetrics;
+        RpcSample sample = new RpcSample(request.getMethod());
+        metrics.onStart(request.getMethod());
+        // the time the request is handed to the native sdk
+        long[] sendTime = {sample.getStartNanos()};
+        ResponseCache cache = getResponseCache(request);
+        String cacheKey =
+                cache == null ? null : ResponseCache.key(request.getMethod(), request.getParams());
+        byte[] cached = cache == null ? null : cache.get(cacheKey);
+        RpcCallback rpcCallback =
+                resp -> {
+                    if (cached == null) {
+                        sample.setRoundTripNanos(System.nanoTime() - sendTime[0]);
+                    }
+                    sample.setResponseBytes(resp.getData() == null ? 0 : resp.getData().length);
+                    Response response = new Response();
+                    response.setErrorCode(resp.getErrorCode());
+                    response.setErrorMessage(resp.getErrorMessage());
+                    response.setContent(resp.getData());
+
+                    if (logger.isTraceEnabled()) {
+                        logger.trace(
+                                " ===>>> asyncCallRemoteMethod, group: {}, node: {}, request: {}, response: {}",
+                                groupID,
+                                node,
+                                request,
+                                response);
+                    }
+
+                    long parseTime = System.nanoTime();
+                    T jsonRpcResponse;
+                    try {
+                        jsonRpcResponse =
+                                parseResponseIntoJsonRpcResponse(
+                                        request.getMethod(),
+                                        response,
+                                        responseType,
+                                        responseReaders);
+                    } catch (ClientException e) {
+                        sample.setParseNanos(System.nanoTime() - parseTime);
+                        sample.setErrorCode(
+                                e.getErrorCode() != 0 ? e.getErrorCode() : RpcSample.CLIENT_ERROR);
+                        metrics.onComplete(sample.complete());
+                        response.setErrorCode(e.getErrorCode());
+                        response.setErrorMessage(e.getErrorMessage());
+                        callback.onError(response);
+                        return;
+                    }
+                    sample.setParseNanos(System.nanoTime() - parseTime);
+                    if (cache != null
+                            && cached == null
+                            && ResponseCache.isCacheableResult(jsonRpcResponse.getResult())) {
+                        cache.put(cacheKey, resp.getData());
+                    }
+                    metrics.onComplete(sample.complete());
+                    callback.onResponse(jsonRpcResponse);
+                };
+        if (cached != null) {
+            sample.setCached(true);
+            rpcCallback.onResponse(cachedResponse(cached));
+            return;
+        }
+        try {
+            ReadRouter router = getReadRouter(groupID, node, request);
+            if (router != null) {
+                // the routed request is encoded for its node inside the round trip
+                sendTime[0] = System.nanoTime();
+                router.callAsync(
+                        routedSender(groupID, request),
+                        configOption.getNetworkConfig().getTimeout(request.getMethod()),
+                        rpcCallback);
+            } else {
+                String data = this.objectMapper.writeValueAsString(request);
+                sendTime[0] = System.nanoTime();
+                sample.setSerializeNanos(sendTime[0] - sample.getStartNanos());
+                sample.setRequestBytes(data.length());
+                this.rpcJniObj.genericMethod(groupID, node, data, rpcCallback);
+            }
+        } catch (IOException | RuntimeException e) {
+            sample.setErrorCode(RpcSample.CLIENT_ERROR);
+            metrics.onComplete(sample.complete());
+            throw e;
+        }
+    }
+
+    /**
+     * the router of a request, a read is routed when it names no node
+     *
+     * @return the router, null to send the request to the given node
+     */
+    private ReadRouter getReadRouter(String groupID, String node, JsonRpcRequest<?> request) {
+        ReadRouter router = this.readRouter;
+        if (router == null
+                || !node.isEmpty()
+                || !this.groupID.equals(groupID)
+                || !ReadRouter.isReadMethod(request.getMethod())) {
+            return null;
+        }
+        // the read methods take the group and the node as their first parameters
+        List<?> params = request.getParams();
+        if (params.size() < 2 || !"".equals(params.get(1))) {
+            return null;
+        }
+        return router;
+    }
+
+    private ReadRouter.RequestSender routedSender(String groupID, JsonRpcRequest<?> request) {
+        return (target, rpcCallback) -> {
+            List<Object> params = new ArrayList<>(request.getParams());
+            params.set(1, target);
+            JsonRpcRequest<Object> routedRequest =
+                    new JsonRpcRequest<>(request.getMethod(), params);
+            routedRequest.setId(request.getId());
+            this.rpcJniObj.genericMethod(
+                    groupID,
+                    target,
+                    this.objectMapper.writeValueAsString(routedRequest),
+                    rpcCallback);
+        };
+    }
+
+    @Override
+    public ReadRouter getReadRouter() {
+        return readRouter;
+    }
+
+    /** @return the cache of the request, null if its response is not cached */
+    private ResponseCache getResponseCache(JsonRpcRequest<?> request) {
+        if (responseCache == null || !ResponseCache.isCacheableMethod(request.getMethod())) {
+            return null;
+        }
+        return responseCache;
+    }
+
+    private static org.fisco.bcos.sdk.jni.common.Response cachedResponse(byte[] data) {
+        org.fisco.bcos.sdk.jni.common.Response response =
+                new org.fisco.bcos.sdk.jni.common.Response();
+        response.setErrorCode(0);
+        response.setErrorMessage("success");
+        response.setData(data);
+        return response;
+    }
+
+    @Override
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /** @return the coalescer of the request, null if it is sent on its own */
+    private RequestCoalescer getRequestCoalescer(JsonRpcRequest<?> request) {
+        if (requestCoalescer == null
+                || !RequestCoalescer.isCoalescableMethod(request.getMethod())) {
+            return null;
+        }
+        return requestCoalescer;
+    }
+
+    @Override
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     public static <T extends JsonRpcResponse<?>> T parseResponseIntoJsonRpcResponse(
             String method, Response response, Class<T> responseType) throws ClientException {
+        return parseResponseIntoJsonRpcResponse(
+                method, response, responseType, JsonRpcResponseReaders.reflective());
+    }
+
+    /**
+     * decode the response of an rpc call
+     *
+     * @param method the rpc method
+     * @param response the response
+     * @param responseType the type of the json rpc response
+     * @param responseReaders the readers decoding the content of the response
+     * @param <T> the type of the json rpc response
+     * @return the json rpc response
+     * @throws ClientException if the call failed or the response holds a json rpc error
+     */
+    public static <T extends JsonRpcResponse<?>> T parseResponseIntoJsonRpcResponse(
+            String method,
+            Response response,
+            Class<T> responseType,
+            JsonRpcResponseReaders responseReaders)
+            throws ClientException {
         try {
             if (response.getErrorCode() == 0) {
                 // parse the response into JsonRPCResponse
-                T jsonRpcResponse =
-                        getObjectMapper().readValue(response.getContent(), responseType);
+                T jsonRpcResponse = responseReaders.readValue(response.getContent(), responseType);
                 // error code inside json rpc response
                 if (jsonRpcResponse.hasError()) {
                     logger.info(
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.fisco.bcos.sdk.v3.config.model.ReadCacheConfig;
+
+/**
+ * Cache of the raw json responses of the reads on immutable chain data: committed blocks,
+ * transactions and receipts, and the code and abi of deployed contracts. Blocks are final once
+ * committed by the consensus, so a successful response with a result never changes.
+ *
+ * <p>The entries are kept in least recently used order in independently locked segments, bounded by
+ * their count and by the total size of the responses.
+ */
+public class ResponseCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    private static final Set<String> CACHEABLE_METHODS =
+            Collections.unmodifiableSet(
+                    new HashSet<>(
+                            Arrays.asList(
+                                    JsonRpcMethods.GET_BLOCK_BY_HASH,
+                                    JsonRpcMethods.GET_BLOCK_BY_NUMBER,
+                                    JsonRpcMethods.GET_BLOCKHASH_BY_NUMBER,
+                                    JsonRpcMethods.GET_TRANSACTION_BY_HASH,
+                                    JsonRpcMethods.GET_TRANSACTION_RECEIPT,
+                                    JsonRpcMethods.GET_CODE,
+                                    JsonRpcMethods.GET_ABI)));
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final boolean offHeap;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public ResponseCache(ReadCacheConfig config) {
+        this(config.getMaxEntries(), config.getMaxBytes(), config.isOffHeap());
+    }
+
+    /**
+     * @param maxEntries the maximum number of cached responses
+     * @param maxBytes the maximum total size of the cached responses
+     * @param offHeap keep the responses in direct buffers instead of the java heap
+     */
+    public ResponseCache(int maxEntries, long maxBytes, boolean offHeap) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "the read cache needs a positive size, maxEntries: "
+                            + maxEntries
+                            + ", maxBytes: "
+                            + maxBytes);
+        }
+        this.offHeap = offHeap;
+        int segmentEntries = Math.max(1, (maxEntries + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        long segmentBytes = Math.max(1, (maxBytes + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentEntries, segmentBytes);
+        }
+    }
+
+    /** @return true if the successful responses of the rpc method may be cached */
+    public static boolean isCacheableMethod(String method) {
+        return CACHEABLE_METHODS.contains(method);
+    }
+
+    /**
+     * @param result the result of a successful response
+     * @return true if the result is immutable: an existing block, transaction, receipt or code
+     */
+    public static boolean isCacheableResult(Object result) {
+        if (result == null) {
+            return false;
+        }
+        if (result instanceof String) {
+            // the code and abi of an address without contract
+            String value = (String) result;
+            return !value.isEmpty() && !"0x".equals(value);
+        }
+        return true;
+    }
+
+    /**
+     * the key of a read, the node the request is sent to is left out since every node answers the
+     * same
+     *
+     * @param method the rpc method
+     * @param params the parameters of the request, the group and the node first
+     * @return the cache key
+     */
+    public static String key(String method, List<?> params) {
+        StringBuilder key = new StringBuilder(method.length() + 96).append(method);
+        for (int i = 0; i < params.size(); i++) {
+            if (i != 1) {
+                key.append('|').append(params.get(i));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param key the key of the read
+     * @return the cached raw response, null on miss; the returned array must not be modified
+     */
+    public byte[] get(String key) {
+        Object value = segmentFor(key).get(key);
+        if (value == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            byte[] data = new byte[buffer.remaining()];
+            buffer.get(data);
+            return data;
+        }
+        return (byte[]) value;
+    }
+
+    /**
+     * @param key the key of the read
+     * @param data the raw response, must not be modified afterwards
+     */
+    public void put(String key, byte[] data) {
+        if (data == null) {
+            return;
+        }
+        Object value = data;
+        if (offHeap) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+            buffer.put(data);
+            buffer.flip();
+            value = buffer;
+        }
+        if (segmentFor(key).put(key, value, data.length)) {
+            putCount.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /** @return the share of the lookups answered by the cache, 0 before the first lookup */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long getPutCount() {
+        return putCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /** @return the number of cached responses */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /** @return the total size in bytes of the cached responses */
+    public long getWeight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.getWeight();
+        }
+        return weight;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{"
+                + "size="
+                + size()
+                + ", weight="
+                + getWeight()
+                + ", hitRate="
+                + getHitRate()
+                + ", evictions="
+                + getEvictionCount()
+                + ", offHeap="
+                + offHeap
+                + '}';
+    }
+
+    private final class Segment {
+        private final int maxEntries;
+        private final long maxBytes;
+        // access ordered, the eldest entry is the least recently used one
+        private final LinkedHashMap<String, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Object get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized boolean put(String key, Object value, int length) {
+            if (length > maxBytes) {
+                return false;
+            }
+            Object previous = entries.put(key, value);
+            if (previous != null) {
+                weight -= lengthOf(previous);
+            }
+            weight += length;
+            Iterator<Map.Entry<String, Object>> iterator = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || weight > maxBytes) && iterator.hasNext()) {
+                Map.Entry<String, Object> eldest = iterator.next();
+                weight -= lengthOf(eldest.getValue());
+                iterator.remove();
+                evictionCount.increment();
+            }
+            return true;
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            weight = 0;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized long getWeight() {
+            return weight;
+        }
+
+        private int lengthOf(Object value) {
+            return value instanceof ByteBuffer
+                    ? ((ByteBuffer) value).remaining()
+                    : ((byte[]) value).length;
+        }
+    }
+}
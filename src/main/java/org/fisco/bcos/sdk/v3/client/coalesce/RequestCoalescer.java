@@ -0,0 +1,160 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.coalesce;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+
+/**
+ * Shares one outstanding request between the identical reads issued while it is in flight: the
+ * first caller sends the request, the callers arriving before its response wait for it and get the
+ * same parsed response.
+ *
+ * <p>A read joining a flight sees the state of the chain when the flight was sent, which is never
+ * older than the state seen by a read started at the same time.
+ */
+public class RequestCoalescer {
+
+    private static final Set<String> COALESCABLE_METHODS =
+            Collections.unmodifiableSet(
+                    new HashSet<>(
+                            Arrays.asList(
+                                    JsonRpcMethods.GET_BLOCK_NUMBER,
+                                    JsonRpcMethods.GET_PBFT_VIEW,
+                                    JsonRpcMethods.GET_CONSENSUS_STATUS,
+                                    JsonRpcMethods.GET_SEALER_LIST,
+                                    JsonRpcMethods.GET_NODE_LIST_BY_TYPE,
+                                    JsonRpcMethods.GET_SYSTEM_CONFIG_BY_KEY,
+                                    JsonRpcMethods.GET_OBSERVER_LIST,
+                                    JsonRpcMethods.GET_SYNC_STATUS,
+                                    JsonRpcMethods.GET_BLOCK_BY_HASH,
+                                    JsonRpcMethods.GET_BLOCK_BY_NUMBER,
+                                    JsonRpcMethods.GET_BLOCKHASH_BY_NUMBER,
+                                    JsonRpcMethods.GET_TRANSACTION_BY_HASH,
+                                    JsonRpcMethods.GET_TRANSACTION_RECEIPT,
+                                    JsonRpcMethods.GET_PENDING_TX_SIZE,
+                                    JsonRpcMethods.CALL,
+                                    JsonRpcMethods.GET_CODE,
+                                    JsonRpcMethods.GET_ABI,
+                                    JsonRpcMethods.GET_TOTAL_TRANSACTION_COUNT,
+                                    JsonRpcMethods.GET_PEERS,
+                                    JsonRpcMethods.GET_GROUP_PEERS,
+                                    JsonRpcMethods.GET_GROUP_LIST,
+                                    JsonRpcMethods.GET_GROUP_INFO,
+                                    JsonRpcMethods.GET_GROUP_INFO_LIST,
+                                    JsonRpcMethods.GET_GROUP_NODE_INFO)));
+
+    // key => response of the request in flight
+    private final ConcurrentHashMap<String, CompletableFuture<?>> flights =
+            new ConcurrentHashMap<>();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /** @return true if the rpc method only reads, its identical requests may share a response */
+    public static boolean isCoalescableMethod(String method) {
+        return COALESCABLE_METHODS.contains(method);
+    }
+
+    /**
+     * the key of a request, identical requests decoded into the same type share a flight
+     *
+     * @param groupID the group
+     * @param node the node the request is sent to
+     * @param method the rpc method
+     * @param params the parameters of the request
+     * @param responseType the type the response is decoded into
+     * @return the key
+     */
+    public static String key(
+            String groupID, String node, String method, List<?> params, Class<?> responseType) {
+        StringBuilder key =
+                new StringBuilder(128)
+                        .append(groupID)
+                        .append('|')
+                        .append(node)
+                        .append('|')
+                        .append(method);
+        for (Object param : params) {
+            key.append('|').append(param);
+        }
+        return key.append('|').append(responseType.getName()).toString();
+    }
+
+    /**
+     * join the flight of the key, or start it if none is in flight
+     *
+     * @param key the key of the request
+     * @param sender sends the request and completes the given future with its response, called in
+     *     the calling thread when it starts the flight
+     * @param <T> the response type
+     * @return the response shared by the requests of the flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Consumer<CompletableFuture<T>> sender) {
+        CompletableFuture<T> flight = (CompletableFuture<T>) flights.get(key);
+        if (flight == null) {
+            CompletableFuture<T> newFlight = new CompletableFuture<>();
+            flight = (CompletableFuture<T>) flights.putIfAbsent(key, newFlight);
+            if (flight == null) {
+                sentCount.increment();
+                // the next identical request starts a new flight once this one has its response
+                newFlight.whenComplete((response, error) -> flights.remove(key, newFlight));
+                try {
+                    sender.accept(newFlight);
+                } catch (RuntimeException e) {
+                    newFlight.completeExceptionally(e);
+                }
+                return newFlight;
+            }
+        }
+        coalescedCount.increment();
+        return flight;
+    }
+
+    /** @return the number of requests sent */
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    /** @return the number of requests answered by the flight of an identical request */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /** @return the number of requests in flight */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestCoalescer{"
+                + "sent="
+                + getSentCount()
+                + ", coalesced="
+                + getCoalescedCount()
+                + ", inFlight="
+                + getInFlight()
+                + '}';
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Keeps the metrics of every rpc method in memory, see getMethodMetrics. */
+public class DefaultRpcMetrics implements RpcMetrics {
+    // rpc method => metrics
+    private final Map<String, RpcMethodMetrics> methodMetrics = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(String method) {
+        getMethodMetrics(method).onStart();
+    }
+
+    @Override
+    public void onComplete(RpcSample sample) {
+        getMethodMetrics(sample.getMethod()).onComplete(sample);
+    }
+
+    /**
+     * @param method the rpc method
+     * @return the metrics of the method, created on first use
+     */
+    public RpcMethodMetrics getMethodMetrics(String method) {
+        RpcMethodMetrics metrics = methodMetrics.get(method);
+        if (metrics == null) {
+            metrics =
+                    methodMetrics.computeIfAbsent(
+                            method,
+                            key -> {
+                                RpcMethodMetrics created = new RpcMethodMetrics(key);
+                                onCreate(created);
+                                return created;
+                            });
+        }
+        return metrics;
+    }
+
+    /** @return rpc method => metrics of the methods called so far */
+    public Map<String, RpcMethodMetrics> getMethodMetrics() {
+        return Collections.unmodifiableMap(methodMetrics);
+    }
+
+    /**
+     * the metrics of a method called for the first time
+     *
+     * @param metrics the metrics of the method
+     */
+    protected void onCreate(RpcMethodMetrics metrics) {}
+
+    public void reset() {
+        methodMetrics.values().forEach(RpcMethodMetrics::reset);
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultRpcMetrics{" + "methodMetrics=" + methodMetrics.values() + '}';
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the metrics of every rpc method in memory and registers each one as an MBean of the
+ * platform MBean server, named org.fisco.bcos.sdk:type=RpcMetrics,group=[group],method=[method].
+ * When another client of the same group already holds the name, an instance=[n] key unique to these
+ * metrics is added. close unregisters only the MBeans registered by these metrics.
+ */
+public class JmxRpcMetrics extends DefaultRpcMetrics implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JmxRpcMetrics.class);
+    public static final String DOMAIN = "org.fisco.bcos.sdk";
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final String groupID;
+    private final MBeanServer mBeanServer;
+    private final int instance = INSTANCES.incrementAndGet();
+    // rpc method => name of the MBean registered by these metrics
+    private final Map<String, ObjectName> registered = new ConcurrentHashMap<>();
+
+    public JmxRpcMetrics(String groupID) {
+        this(groupID, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxRpcMetrics(String groupID, MBeanServer mBeanServer) {
+        this.groupID = groupID;
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * @param method the rpc method
+     * @return the name of the MBean registered for the method, the name without instance key if the
+     *     method has no MBean yet
+     */
+    public ObjectName getObjectName(String method) throws JMException {
+        ObjectName name = registered.get(method);
+        return name != null ? name : objectName(method, null);
+    }
+
+    private ObjectName objectName(String method, Integer instance) throws JMException {
+        return new ObjectName(
+                DOMAIN
+                        + ":type=RpcMetrics,group="
+                        + ObjectName.quote(String.valueOf(groupID))
+                        + ",method="
+                        + ObjectName.quote(method)
+                        + (instance == null ? "" : ",instance=" + instance));
+    }
+
+    @Override
+    protected void onCreate(RpcMethodMetrics metrics) {
+        try {
+            ObjectName name = objectName(metrics.getMethod(), null);
+            try {
+                mBeanServer.registerMBean(metrics, name);
+            } catch (InstanceAlreadyExistsException e) {
+                // held by another client of the same group, which keeps it
+                name = objectName(metrics.getMethod(), instance);
+                mBeanServer.registerMBean(metrics, name);
+            }
+            registered.put(metrics.getMethod(), name);
+        } catch (JMException e) {
+            logger.warn(
+                    "register the rpc metrics MBean failed, method: {}, e: ",
+                    metrics.getMethod(),
+                    e);
+        }
+    }
+
+    /** unregister the MBeans registered by these metrics */
+    @Override
+    public void close() {
+        for (String method : registered.keySet()) {
+            ObjectName name = registered.remove(method);
+            if (name == null) {
+                continue;
+            }
+            try {
+                if (mBeanServer.isRegistered(name)) {
+                    mBeanServer.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                logger.warn("unregister the rpc metrics MBean failed, method: {}, e: ", method, e);
+            }
+        }
+    }
+}
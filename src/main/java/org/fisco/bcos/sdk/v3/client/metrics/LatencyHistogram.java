@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ *
+ * <p>Bucket 0 counts latencies below 1us, bucket i counts latencies in [2^(i-1), 2^i) us and the
+ * last bucket counts everything above. Percentiles are reported as the upper bound of the bucket
+ * they fall in, so they overestimate by at most a factor of two.
+ */
+public class LatencyHistogram {
+
+    public static final int BUCKET_COUNT = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * record the latency of one request
+     *
+     * @param latencyNanos the latency in nanoseconds
+     * @param success false if the request failed or timed out
+     */
+    public void record(long latencyNanos, boolean success) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, latencyNanos));
+        buckets[bucketOf(micros)].increment();
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+        if (!success) {
+            errorCount.increment();
+        }
+    }
+
+    private static int bucketOf(long micros) {
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * the upper bound of the bucket
+     *
+     * @param bucket the bucket index
+     * @return the exclusive upper bound in microseconds, Long.MAX_VALUE for the last bucket
+     */
+    public static long getBucketUpperBoundMicros(int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long total = getCount();
+        return total == 0 ? 0 : (double) totalMicros.sum() / total;
+    }
+
+    /** @return the number of requests in every bucket */
+    public long[] getBucketCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * get the latency below which the given percentage of requests fall
+     *
+     * @param percentile the percentile in (0, 100]
+     * @return the upper bound of the bucket of the percentile in microseconds, capped by the max
+     *     latency; 0 if nothing was recorded
+     */
+    public long getPercentileMicros(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in (0, 100]: " + percentile);
+        }
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBoundMicros(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        errorCount.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{"
+                + "count="
+                + getCount()
+                + ", errorCount="
+                + getErrorCount()
+                + ", meanMicros="
+                + String.format("%.1f", getMeanMicros())
+                + ", p50Micros="
+                + getPercentileMicros(50)
+                + ", p99Micros="
+                + getPercentileMicros(99)
+                + ", maxMicros="
+                + getMaxMicros()
+                + '}';
+    }
+}
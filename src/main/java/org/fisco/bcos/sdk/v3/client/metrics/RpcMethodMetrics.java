@@ -0,0 +1,217 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** The metrics of the calls of one rpc method, kept by DefaultRpcMetrics. */
+public class RpcMethodMetrics implements RpcMethodMetricsMBean {
+    private final String method;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder cachedCount = new LongAdder();
+    // error code => number of calls
+    private final Map<Integer, LongAdder> errorCodes = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram serializeLatency = new LatencyHistogram();
+    private final LatencyHistogram roundTripLatency = new LatencyHistogram();
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAccumulator maxRequestBytes = new LongAccumulator(Long::max, 0);
+    private final LongAccumulator maxResponseBytes = new LongAccumulator(Long::max, 0);
+
+    public RpcMethodMetrics(String method) {
+        this.method = method;
+    }
+
+    void onStart() {
+        requestCount.increment();
+        inFlight.increment();
+    }
+
+    void onComplete(RpcSample sample) {
+        inFlight.decrement();
+        boolean success = sample.isSuccess();
+        latency.record(sample.getTotalNanos(), success);
+        if (sample.isCached()) {
+            cachedCount.increment();
+        } else {
+            serializeLatency.record(sample.getSerializeNanos(), success);
+            roundTripLatency.record(sample.getRoundTripNanos(), success);
+        }
+        parseLatency.record(sample.getParseNanos(), success);
+        requestBytes.add(sample.getRequestBytes());
+        responseBytes.add(sample.getResponseBytes());
+        maxRequestBytes.accumulate(sample.getRequestBytes());
+        maxResponseBytes.accumulate(sample.getResponseBytes());
+        if (!success) {
+            errorCodes.computeIfAbsent(sample.getErrorCode(), code -> new LongAdder()).increment();
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return latency.getErrorCount();
+    }
+
+    /** @return error code => number of calls, of the failed calls */
+    public Map<Integer, Long> getErrorCodeCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        errorCodes.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public String getErrorCodes() {
+        return getErrorCodeCounts().toString();
+    }
+
+    @Override
+    public long getCachedCount() {
+        return cachedCount.sum();
+    }
+
+    /** @return the latency of the whole calls */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /** @return the latency of encoding the requests, of the calls not answered by the cache */
+    public LatencyHistogram getSerializeLatency() {
+        return serializeLatency;
+    }
+
+    /** @return the latency of the native round trips, of the calls not answered by the cache */
+    public LatencyHistogram getRoundTripLatency() {
+        return roundTripLatency;
+    }
+
+    /** @return the latency of decoding the responses */
+    public LatencyHistogram getParseLatency() {
+        return parseLatency;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.getMeanMicros();
+    }
+
+    @Override
+    public long getP50Micros() {
+        return latency.getPercentileMicros(50);
+    }
+
+    @Override
+    public long getP99Micros() {
+        return latency.getPercentileMicros(99);
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return latency.getMaxMicros();
+    }
+
+    @Override
+    public long getSerializeP99Micros() {
+        return serializeLatency.getPercentileMicros(99);
+    }
+
+    @Override
+    public long getRoundTripP99Micros() {
+        return roundTripLatency.getPercentileMicros(99);
+    }
+
+    @Override
+    public long getParseP99Micros() {
+        return parseLatency.getPercentileMicros(99);
+    }
+
+    @Override
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    @Override
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    @Override
+    public long getMaxRequestBytes() {
+        return maxRequestBytes.get();
+    }
+
+    @Override
+    public long getMaxResponseBytes() {
+        return maxResponseBytes.get();
+    }
+
+    /** clear the counters and histograms, the calls in flight are kept */
+    @Override
+    public void reset() {
+        requestCount.reset();
+        cachedCount.reset();
+        errorCodes.clear();
+        latency.reset();
+        serializeLatency.reset();
+        roundTripLatency.reset();
+        parseLatency.reset();
+        requestBytes.reset();
+        responseBytes.reset();
+        maxRequestBytes.reset();
+        maxResponseBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "RpcMethodMetrics{"
+                + "method='"
+                + method
+                + '\''
+                + ", requests="
+                + getRequestCount()
+                + ", inFlight="
+                + getInFlight()
+                + ", errorCodes="
+                + getErrorCodes()
+                + ", latency="
+                + latency
+                + ", roundTripP99Micros="
+                + getRoundTripP99Micros()
+                + ", responseBytes="
+                + getResponseBytes()
+                + '}';
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.metrics;
+
+/** The attributes of the metrics of an rpc method exported by JmxRpcMetrics. */
+public interface RpcMethodMetricsMBean {
+    String getMethod();
+
+    long getRequestCount();
+
+    long getInFlight();
+
+    long getErrorCount();
+
+    /** @return error code => number of calls, of the failed calls */
+    String getErrorCodes();
+
+    long getCachedCount();
+
+    double getMeanMicros();
+
+    long getP50Micros();
+
+    long getP99Micros();
+
+    long getMaxMicros();
+
+    long getSerializeP99Micros();
+
+    long getRoundTripP99Micros();
+
+    long getParseP99Micros();
+
+    long getRequestBytes();
+
+    long getResponseBytes();
+
+    long getMaxRequestBytes();
+
+    long getMaxResponseBytes();
+
+    void reset();
+}
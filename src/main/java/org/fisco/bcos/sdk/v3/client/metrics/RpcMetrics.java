@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.metrics;
+
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+
+/**
+ * Receives the measures of the rpc calls of a client, see the network.rpcMetrics config. The
+ * methods are called in the threads making and completing the calls, they must be thread safe and
+ * must not block.
+ */
+public interface RpcMetrics {
+
+    /** records nothing, the default */
+    RpcMetrics NOOP = new RpcMetrics() {};
+
+    /**
+     * a call is about to be sent, followed by one onComplete for the same method
+     *
+     * @param method the rpc method
+     */
+    default void onStart(String method) {}
+
+    /**
+     * a call completed, successfully or not
+     *
+     * @param sample the measures of the call
+     */
+    default void onComplete(RpcSample sample) {}
+
+    /**
+     * create the metrics named by the network.rpcMetrics config
+     *
+     * @param type "none", "memory" to keep them in the client, "jmx" to also export them as MBeans,
+     *     or the name of a class implementing RpcMetrics with a public no-arg constructor
+     * @param groupID the group of the client
+     * @return the metrics
+     */
+    static RpcMetrics create(String type, String groupID) {
+        if (type == null || type.isEmpty() || "none".equals(type)) {
+            return NOOP;
+        }
+        if ("memory".equals(type)) {
+            return new DefaultRpcMetrics();
+        }
+        if ("jmx".equals(type)) {
+            return new JmxRpcMetrics(groupID);
+        }
+        try {
+            return (RpcMetrics) Class.forName(type).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new ClientException("create the rpc metrics failed, type: " + type, e);
+        }
+    }
+}
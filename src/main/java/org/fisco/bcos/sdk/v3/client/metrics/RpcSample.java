@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.metrics;
+
+/**
+ * The measures of one rpc call, filled while the call goes on and handed to RpcMetrics once
+ * complete. The phases not run by the call, e.g. the round trip of a cached read, stay 0.
+ */
+public class RpcSample {
+    public static final int SUCCESS = 0;
+    // the call failed in the sdk without an error code, e.g. the request could not be encoded
+    public static final int CLIENT_ERROR = -1;
+    // no response within the timeout of the method
+    public static final int TIMEOUT_ERROR = -2;
+
+    private final String method;
+    private final long startNanos = System.nanoTime();
+    private long serializeNanos;
+    private long roundTripNanos;
+    private long parseNanos;
+    private long totalNanos;
+    private int requestBytes;
+    private int responseBytes;
+    private int errorCode = SUCCESS;
+    private boolean cached;
+
+    public RpcSample(String method) {
+        this.method = method;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /** @return the time taken to encode the request */
+    public long getSerializeNanos() {
+        return serializeNanos;
+    }
+
+    public void setSerializeNanos(long serializeNanos) {
+        this.serializeNanos = serializeNanos;
+    }
+
+    /** @return the time from handing the request to the native sdk to getting its response */
+    public long getRoundTripNanos() {
+        return roundTripNanos;
+    }
+
+    public void setRoundTripNanos(long roundTripNanos) {
+        this.roundTripNanos = roundTripNanos;
+    }
+
+    /** @return the time taken to decode the response */
+    public long getParseNanos() {
+        return parseNanos;
+    }
+
+    public void setParseNanos(long parseNanos) {
+        this.parseNanos = parseNanos;
+    }
+
+    /** @return the time of the whole call, set on completion */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public int getRequestBytes() {
+        return requestBytes;
+    }
+
+    public void setRequestBytes(int requestBytes) {
+        this.requestBytes = requestBytes;
+    }
+
+    public int getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(int responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+
+    /**
+     * @return SUCCESS, the error code of the node or of the json rpc response, or a client error
+     */
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(int errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public boolean isSuccess() {
+        return errorCode == SUCCESS;
+    }
+
+    /** @return true if the response came from the read cache */
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    /** mark the end of the call */
+    public RpcSample complete() {
+        this.totalNanos = System.nanoTime() - startNanos;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "RpcSample{"
+                + "method='"
+                + method
+                + '\''
+                + ", serializeNanos="
+                + serializeNanos
+                + ", roundTripNanos="
+                + roundTripNanos
+                + ", parseNanos="
+                + parseNanos
+                + ", totalNanos="
+                + totalNanos
+                + ", requestBytes="
+                + requestBytes
+                + ", responseBytes="
+                + responseBytes
+                + ", errorCode="
+                + errorCode
+                + ", cached="
+                + cached
+                + '}';
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlockHeader;
+
+/**
+ * The field switch deserializer of {@link BcosBlock.Block}. Every element of the transactions is
+ * read as a {@link BcosBlock.TransactionHash} if it is a string, as a {@link
+ * BcosBlock.TransactionObject} otherwise.
+ */
+public class BlockDeserializer extends FieldSwitchDeserializer<BcosBlock.Block> {
+    private final JsonTransactionResponseDeserializer<BcosBlock.TransactionObject>
+            transactionDeserializer =
+                    new JsonTransactionResponseDeserializer<>(
+                            BcosBlock.TransactionObject.class, BcosBlock.TransactionObject::new);
+    private final SignatureDeserializer signatureDeserializer = new SignatureDeserializer();
+    private final ParentInfoDeserializer parentInfoDeserializer = new ParentInfoDeserializer();
+
+    public BlockDeserializer() {
+        super(BcosBlock.Block.class);
+    }
+
+    @Override
+    protected BcosBlock.Block create() {
+        return new BcosBlock.Block();
+    }
+
+    @Override
+    protected void readField(
+            String name, JsonParser p, DeserializationContext ctxt, BcosBlock.Block block)
+            throws IOException {
+        switch (name) {
+            case "number":
+                block.setNumber(readLong(p, ctxt));
+                break;
+            case "version":
+                block.setVersion(readInt(p, ctxt));
+                break;
+            case "hash":
+                block.setHash(readString(p, ctxt));
+                break;
+            case "logsBloom":
+                block.setLogsBloom(readString(p, ctxt));
+                break;
+            case "txsRoot":
+                block.setTransactionsRoot(readString(p, ctxt));
+                break;
+            case "receiptsRoot":
+                block.setReceiptsRoot(readString(p, ctxt));
+                break;
+            case "stateRoot":
+                block.setStateRoot(readString(p, ctxt));
+                break;
+            case "sealer":
+                block.setSealer(readInt(p, ctxt));
+                break;
+            case "sealerList":
+                block.setSealerList(readStringList(p, ctxt));
+                break;
+            case "extraData":
+                block.setExtraData(readString(p, ctxt));
+                break;
+            case "gasUsed":
+                block.setGasUsed(readString(p, ctxt));
+                break;
+            case "timestamp":
+                block.setTimestamp(readLong(p, ctxt));
+                break;
+            case "parentInfo":
+                block.setParentInfo(
+                        readList(
+                                p, ctxt, parentInfoDeserializer, BcosBlockHeader.ParentInfo.class));
+                break;
+            case "signatureList":
+                block.setSignatureList(
+                        readList(p, ctxt, signatureDeserializer, BcosBlockHeader.Signature.class));
+                break;
+            case "consensusWeights":
+                block.setConsensusWeights(readList(p, ctxt, Long.class));
+                break;
+            case "transactions":
+                block.setTransactions(readTransactions(p, ctxt));
+                break;
+            default:
+                p.skipChildren();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<BcosBlock.TransactionResult> readTransactions(
+            JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            return (List<BcosBlock.TransactionResult>) ctxt.handleUnexpectedToken(List.class, p);
+        }
+        List<BcosBlock.TransactionResult> transactions = new ArrayList<>();
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_STRING) {
+                transactions.add(new BcosBlock.TransactionHash(p.getText()));
+            } else {
+                transactions.add(transactionDeserializer.deserialize(p, ctxt));
+            }
+        }
+        return transactions;
+    }
+
+    public static class SignatureDeserializer
+            extends FieldSwitchDeserializer<BcosBlockHeader.Signature> {
+
+        public SignatureDeserializer() {
+            super(BcosBlockHeader.Signature.class);
+        }
+
+        @Override
+        protected BcosBlockHeader.Signature create() {
+            return new BcosBlockHeader.Signature();
+        }
+
+        @Override
+        protected void readField(
+                String name,
+                JsonParser p,
+                DeserializationContext ctxt,
+                BcosBlockHeader.Signature signature)
+                throws IOException {
+            switch (name) {
+                case "sealerIndex":
+                    signature.setIndex(readInteger(p, ctxt));
+                    break;
+                case "signature":
+                    signature.setSignature(readString(p, ctxt));
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+    }
+
+    public static class ParentInfoDeserializer
+            extends FieldSwitchDeserializer<BcosBlockHeader.ParentInfo> {
+
+        public ParentInfoDeserializer() {
+            super(BcosBlockHeader.ParentInfo.class);
+        }
+
+        @Override
+        protected BcosBlockHeader.ParentInfo create() {
+            return new BcosBlockHeader.ParentInfo();
+        }
+
+        @Override
+        protected void readField(
+                String name,
+                JsonParser p,
+                DeserializationContext ctxt,
+                BcosBlockHeader.ParentInfo parentInfo)
+                throws IOException {
+            switch (name) {
+                case "blockNumber":
+                    parentInfo.setBlockNumber(readLong(p, ctxt));
+                    break;
+                case "blockHash":
+                    parentInfo.setBlockHash(readString(p, ctxt));
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import java.io.IOException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
+
+/** The field switch deserializer of {@link Call.CallOutput}. */
+public class CallOutputDeserializer extends FieldSwitchDeserializer<Call.CallOutput> {
+
+    public CallOutputDeserializer() {
+        super(Call.CallOutput.class);
+    }
+
+    @Override
+    protected Call.CallOutput create() {
+        return new Call.CallOutput();
+    }
+
+    @Override
+    protected void readField(
+            String name, JsonParser p, DeserializationContext ctxt, Call.CallOutput callOutput)
+            throws IOException {
+        switch (name) {
+            case "blockNumber":
+                callOutput.setBlockNumber(readLong(p, ctxt));
+                break;
+            case "output":
+                callOutput.setOutput(readString(p, ctxt));
+                break;
+            case "status":
+                callOutput.setStatus(readInt(p, ctxt));
+                break;
+            default:
+                p.skipChildren();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deserialize an object by switching on its field names while streaming the tokens, instead of
+ * looking up the bean properties. The values of the usual tokens are read straight from the parser,
+ * the other tokens go through the coercions of jackson so the result is the same as the bean
+ * binding of the default ObjectMapper; the unknown fields are skipped.
+ *
+ * @param <T> the type of the object
+ */
+public abstract class FieldSwitchDeserializer<T> extends StdDeserializer<T> {
+
+    protected FieldSwitchDeserializer(Class<?> type) {
+        super(type);
+    }
+
+    /** @return a new object to fill with the fields */
+    protected abstract T create();
+
+    /**
+     * read one field of the object
+     *
+     * @param name the name of the field
+     * @param p the parser, at the value of the field
+     * @param ctxt the context
+     * @param value the object to fill
+     * @throws IOException if the value is invalid
+     */
+    protected abstract void readField(
+            String name, JsonParser p, DeserializationContext ctxt, T value) throws IOException;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else if (p.hasToken(JsonToken.END_OBJECT)) {
+            return create();
+        } else {
+            return (T) ctxt.handleUnexpectedToken(handledType(), p);
+        }
+        T value = create();
+        for (; name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            readField(name, p, ctxt, value);
+        }
+        return value;
+    }
+
+    protected String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return _parseString(p, ctxt);
+    }
+
+    protected int readInt(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getIntValue();
+        }
+        return _parseIntPrimitive(p, ctxt);
+    }
+
+    protected Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getIntValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return _parseInteger(p, ctxt, Integer.class);
+    }
+
+    protected long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getLongValue();
+        }
+        return _parseLongPrimitive(p, ctxt);
+    }
+
+    protected BigInteger readBigInteger(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getBigIntegerValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, BigInteger.class);
+    }
+
+    protected boolean readBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_TRUE) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_FALSE) {
+            return false;
+        }
+        return _parseBooleanPrimitive(p, ctxt);
+    }
+
+    protected List<String> readStringList(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            return readList(p, ctxt, String.class);
+        }
+        List<String> list = new ArrayList<>();
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            list.add(token == JsonToken.VALUE_STRING ? p.getText() : readString(p, ctxt));
+        }
+        return list;
+    }
+
+    /**
+     * read a list of objects with the deserializer of the elements
+     *
+     * @param p the parser, at the value of the field
+     * @param ctxt the context
+     * @param elementDeserializer the deserializer of the elements
+     * @param elementType the type of the elements, to bind the values that are not an array
+     * @param <E> the type of the elements
+     * @return the list
+     * @throws IOException if the value is invalid
+     */
+    protected <E> List<E> readList(
+            JsonParser p,
+            DeserializationContext ctxt,
+            JsonDeserializer<E> elementDeserializer,
+            Class<E> elementType)
+            throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            return readList(p, ctxt, elementType);
+        }
+        List<E> list = new ArrayList<>();
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            list.add(
+                    token == JsonToken.VALUE_NULL
+                            ? null
+                            : elementDeserializer.deserialize(p, ctxt));
+        }
+        return list;
+    }
+
+    /** read a list of values of a rare type with the bean binding */
+    protected <E> List<E> readList(JsonParser p, DeserializationContext ctxt, Class<E> elementType)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        JavaType listType = ctxt.getTypeFactory().constructCollectionType(List.class, elementType);
+        return ctxt.readValue(p, listType);
+    }
+
+    /** read a value of a rare type with the bean binding */
+    protected <V> V readValue(JsonParser p, DeserializationContext ctxt, Class<V> type)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        return ctxt.readValue(p, type);
+    }
+}
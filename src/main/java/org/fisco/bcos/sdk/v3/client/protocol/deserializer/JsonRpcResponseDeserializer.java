@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.util.function.Supplier;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+
+/**
+ * The field switch deserializer of a json rpc response, the result is read by the deserializer of
+ * the result type without looking it up.
+ *
+ * @param <T> the type of the response
+ * @param <R> the type of the result
+ */
+public class JsonRpcResponseDeserializer<T extends JsonRpcResponse<R>, R>
+        extends FieldSwitchDeserializer<T> {
+    private final Supplier<T> factory;
+    private final JsonDeserializer<? extends R> resultDeserializer;
+
+    public JsonRpcResponseDeserializer(
+            Class<T> type, Supplier<T> factory, JsonDeserializer<? extends R> resultDeserializer) {
+        super(type);
+        this.factory = factory;
+        this.resultDeserializer = resultDeserializer;
+    }
+
+    @Override
+    protected T create() {
+        return factory.get();
+    }
+
+    @Override
+    protected void readField(String name, JsonParser p, DeserializationContext ctxt, T response)
+            throws IOException {
+        switch (name) {
+            case "id":
+                response.setId(readLong(p, ctxt));
+                break;
+            case "jsonrpc":
+                response.setJsonrpc(readString(p, ctxt));
+                break;
+            case "result":
+                response.setResult(
+                        p.hasToken(JsonToken.VALUE_NULL)
+                                ? null
+                                : resultDeserializer.deserialize(p, ctxt));
+                break;
+            case "error":
+                response.setError(readValue(p, ctxt, JsonRpcResponse.Error.class));
+                break;
+            case "rawResponse":
+                response.setRawResponse(readString(p, ctxt));
+                break;
+            default:
+                p.skipChildren();
+        }
+    }
+}
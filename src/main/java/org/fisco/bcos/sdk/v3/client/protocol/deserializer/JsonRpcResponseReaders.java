@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransaction;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
+import org.fisco.bcos.sdk.v3.client.protocol.response.LogWrapper;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+
+/**
+ * The ObjectReaders decoding the json rpc responses, one per response type, built ahead for the hot
+ * responses and on first use for the others. See the network.jsonDecoder config:
+ *
+ * <ul>
+ *   <li>"reflective": the bean binding of the default ObjectMapper, the default
+ *   <li>"tuned": the field switch deserializers for the receipts, calls, blocks, transactions and
+ *       logs, the bean binding for the other responses
+ * </ul>
+ */
+public class JsonRpcResponseReaders {
+    public static final String REFLECTIVE = "reflective";
+    public static final String TUNED = "tuned";
+
+    private static final List<Class<?>> HOT_TYPES =
+            Arrays.asList(
+                    BcosTransactionReceipt.class,
+                    Call.class,
+                    BcosBlock.class,
+                    BcosTransaction.class,
+                    LogWrapper.class);
+
+    private static final JsonRpcResponseReaders REFLECTIVE_READERS =
+            new JsonRpcResponseReaders(ObjectMapperFactory.getObjectMapper());
+
+    // built on first use, only the clients configured with the tuned decoder pay for it
+    private static class TunedHolder {
+        private static final JsonRpcResponseReaders TUNED_READERS =
+                new JsonRpcResponseReaders(createTunedObjectMapper());
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private JsonRpcResponseReaders(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (Class<?> type : HOT_TYPES) {
+            readers.put(type, objectMapper.readerFor(type));
+        }
+    }
+
+    public static JsonRpcResponseReaders reflective() {
+        return REFLECTIVE_READERS;
+    }
+
+    public static JsonRpcResponseReaders tuned() {
+        return TunedHolder.TUNED_READERS;
+    }
+
+    /**
+     * the readers named by the network.jsonDecoder config
+     *
+     * @param type "reflective" or "tuned", the reflective readers if empty
+     * @return the readers
+     */
+    public static JsonRpcResponseReaders of(String type) {
+        if (type == null || type.isEmpty() || REFLECTIVE.equals(type)) {
+            return reflective();
+        }
+        if (TUNED.equals(type)) {
+            return tuned();
+        }
+        throw new ClientException("unknown json decoder: " + type);
+    }
+
+    /**
+     * a copy of the default ObjectMapper with the field switch deserializers of the hot responses
+     *
+     * @return the ObjectMapper
+     */
+    public static ObjectMapper createTunedObjectMapper() {
+        TransactionReceiptDeserializer receiptDeserializer = new TransactionReceiptDeserializer();
+        CallOutputDeserializer callOutputDeserializer = new CallOutputDeserializer();
+        BlockDeserializer blockDeserializer = new BlockDeserializer();
+        JsonTransactionResponseDeserializer<JsonTransactionResponse> transactionDeserializer =
+                new JsonTransactionResponseDeserializer<>(
+                        JsonTransactionResponse.class, JsonTransactionResponse::new);
+        SimpleModule module = new SimpleModule("TunedJsonRpcResponses");
+        module.addDeserializer(TransactionReceipt.class, receiptDeserializer);
+        module.addDeserializer(Call.CallOutput.class, callOutputDeserializer);
+        module.addDeserializer(BcosBlock.Block.class, blockDeserializer);
+        module.addDeserializer(JsonTransactionResponse.class, transactionDeserializer);
+        module.addDeserializer(LogWrapper.LogObject.class, new LogDeserializer());
+        module.addDeserializer(
+                BcosTransactionReceipt.class,
+                new JsonRpcResponseDeserializer<>(
+                        BcosTransactionReceipt.class,
+                        BcosTransactionReceipt::new,
+                        receiptDeserializer));
+        module.addDeserializer(
+                Call.class,
+                new JsonRpcResponseDeserializer<>(Call.class, Call::new, callOutputDeserializer));
+        module.addDeserializer(
+                BcosBlock.class,
+                new JsonRpcResponseDeserializer<>(
+                        BcosBlock.class, BcosBlock::new, blockDeserializer));
+        module.addDeserializer(
+                BcosTransaction.class,
+                new JsonRpcResponseDeserializer<>(
+                        BcosTransaction.class, BcosTransaction::new, transactionDeserializer));
+        module.addDeserializer(
+                LogWrapper.class,
+                new JsonRpcResponseDeserializer<>(
+                        LogWrapper.class,
+                        LogWrapper::new,
+                        new LogDeserializer.LogResultsDeserializer()));
+        return ObjectMapperFactory.getObjectMapper().copy().registerModule(module);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * @param type the response type
+     * @return the reader of the type, shared by the callers
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, objectMapper::readerFor);
+        }
+        return reader;
+    }
+
+    public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+        return readerFor(type).readValue(content);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import java.io.IOException;
+import java.util.function.Supplier;
+import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.v3.model.MerkleProofUnit;
+
+/**
+ * The field switch deserializer of {@link JsonTransactionResponse} and its subclasses, e.g. the
+ * transactions of a block.
+ *
+ * @param <T> the type of the transaction
+ */
+public class JsonTransactionResponseDeserializer<T extends JsonTransactionResponse>
+        extends FieldSwitchDeserializer<T> {
+    private final Supplier<T> factory;
+
+    public JsonTransactionResponseDeserializer(Class<T> type, Supplier<T> factory) {
+        super(type);
+        this.factory = factory;
+    }
+
+    @Override
+    protected T create() {
+        return factory.get();
+    }
+
+    @Override
+    protected void readField(String name, JsonParser p, DeserializationContext ctxt, T transaction)
+            throws IOException {
+        switch (name) {
+            case "version":
+                transaction.setVersion(readInteger(p, ctxt));
+                break;
+            case "hash":
+                transaction.setHash(readString(p, ctxt));
+                break;
+            case "nonce":
+                transaction.setNonce(readString(p, ctxt));
+                break;
+            case "blockLimit":
+                transaction.setBlockLimit(readLong(p, ctxt));
+                break;
+            case "to":
+                transaction.setTo(readString(p, ctxt));
+                break;
+            case "from":
+                transaction.setFrom(readString(p, ctxt));
+                break;
+            case "abi":
+                transaction.setAbi(readString(p, ctxt));
+                break;
+            case "input":
+                transaction.setInput(readString(p, ctxt));
+                break;
+            case "chainID":
+                transaction.setChainID(readString(p, ctxt));
+                break;
+            case "groupID":
+                transaction.setGroupID(readString(p, ctxt));
+                break;
+            case "extraData":
+                transaction.setExtraData(readString(p, ctxt));
+                break;
+            case "signature":
+                transaction.setSignature(readString(p, ctxt));
+                break;
+            case "importTime":
+                transaction.setImportTime(readLong(p, ctxt));
+                break;
+            case "transactionProof":
+                transaction.setTransactionProof(readList(p, ctxt, MerkleProofUnit.class));
+                break;
+            case "txProof":
+                transaction.setTxProof(readStringList(p, ctxt));
+                break;
+            case "value":
+                transaction.setValue(readString(p, ctxt));
+                break;
+            case "gasPrice":
+                transaction.setGasPrice(readString(p, ctxt));
+                break;
+            case "gasLimit":
+                transaction.setGasLimit(readLong(p, ctxt));
+                break;
+            case "maxFeePerGas":
+                transaction.setMaxFeePerGas(readString(p, ctxt));
+                break;
+            case "maxPriorityFeePerGas":
+                transaction.setMaxPriorityFeePerGas(readString(p, ctxt));
+                break;
+            case "extension":
+                transaction.setExtension(readValue(p, ctxt, byte[].class));
+                break;
+            default:
+                p.skipChildren();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.fisco.bcos.sdk.v3.client.protocol.response.LogWrapper;
+
+/**
+ * The field switch deserializer of the log objects of {@link LogWrapper}, see
+ * LogResultsDeserializer for the result of the response.
+ */
+public class LogDeserializer extends FieldSwitchDeserializer<LogWrapper.LogObject> {
+
+    public LogDeserializer() {
+        super(LogWrapper.LogObject.class);
+    }
+
+    @Override
+    protected LogWrapper.LogObject create() {
+        return new LogWrapper.LogObject();
+    }
+
+    @Override
+    protected void readField(
+            String name, JsonParser p, DeserializationContext ctxt, LogWrapper.LogObject log)
+            throws IOException {
+        switch (name) {
+            case "removed":
+                log.setRemoved(readBoolean(p, ctxt));
+                break;
+            case "logIndex":
+                log.setLogIndex(readString(p, ctxt));
+                break;
+            case "transactionIndex":
+                log.setTransactionIndex(readString(p, ctxt));
+                break;
+            case "transactionHash":
+                log.setTransactionHash(readString(p, ctxt));
+                break;
+            case "blockHash":
+                log.setBlockHash(readString(p, ctxt));
+                break;
+            case "blockNumber":
+                log.setBlockNumber(readString(p, ctxt));
+                break;
+            case "address":
+                log.setAddress(readString(p, ctxt));
+                break;
+            case "data":
+                log.setData(readString(p, ctxt));
+                break;
+            case "type":
+                log.setType(readString(p, ctxt));
+                break;
+            case "topics":
+                log.setTopics(readStringList(p, ctxt));
+                break;
+            default:
+                p.skipChildren();
+        }
+    }
+
+    /**
+     * The result of {@link LogWrapper}, every element is read as a {@link LogWrapper.Hash} if it is
+     * a string, as a {@link LogWrapper.LogObject} otherwise.
+     */
+    public static class LogResultsDeserializer extends StdDeserializer<List<LogWrapper.LogResult>> {
+        private final LogDeserializer logDeserializer = new LogDeserializer();
+
+        public LogResultsDeserializer() {
+            super(List.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<LogWrapper.LogResult> deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (List<LogWrapper.LogResult>) ctxt.handleUnexpectedToken(List.class, p);
+            }
+            List<LogWrapper.LogResult> logResults = new ArrayList<>();
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_STRING) {
+                    logResults.add(new LogWrapper.Hash(p.getText()));
+                } else {
+                    logResults.add(logDeserializer.deserialize(p, ctxt));
+                }
+            }
+            return logResults;
+        }
+    }
+}
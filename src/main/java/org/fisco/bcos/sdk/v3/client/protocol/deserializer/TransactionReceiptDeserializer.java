@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import java.io.IOException;
+import org.fisco.bcos.sdk.v3.model.MerkleProofUnit;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+
+/** The field switch deserializer of {@link TransactionReceipt}. */
+public class TransactionReceiptDeserializer extends FieldSwitchDeserializer<TransactionReceipt> {
+    private final LogsDeserializer logsDeserializer = new LogsDeserializer();
+
+    public TransactionReceiptDeserializer() {
+        super(TransactionReceipt.class);
+    }
+
+    @Override
+    protected TransactionReceipt create() {
+        return new TransactionReceipt();
+    }
+
+    @Override
+    protected void readField(
+            String name, JsonParser p, DeserializationContext ctxt, TransactionReceipt receipt)
+            throws IOException {
+        switch (name) {
+            case "version":
+                receipt.setVersion(readInteger(p, ctxt));
+                break;
+            case "contractAddress":
+                receipt.setContractAddress(readString(p, ctxt));
+                break;
+            case "checksumContractAddress":
+                receipt.setChecksumContractAddress(readString(p, ctxt));
+                break;
+            case "gasUsed":
+                receipt.setGasUsed(readString(p, ctxt));
+                break;
+            case "status":
+                receipt.setStatus(readInt(p, ctxt));
+                break;
+            case "blockNumber":
+                receipt.setBlockNumber(readBigInteger(p, ctxt));
+                break;
+            case "output":
+                receipt.setOutput(readString(p, ctxt));
+                break;
+            case "transactionHash":
+                receipt.setTransactionHash(readString(p, ctxt));
+                break;
+            case "hash":
+                receipt.setReceiptHash(readString(p, ctxt));
+                break;
+            case "logEntries":
+                receipt.setLogEntries(
+                        readList(p, ctxt, logsDeserializer, TransactionReceipt.Logs.class));
+                break;
+            case "input":
+                receipt.setInput(readString(p, ctxt));
+                break;
+            case "from":
+                receipt.setFrom(readString(p, ctxt));
+                break;
+            case "to":
+                receipt.setTo(readString(p, ctxt));
+                break;
+            case "transactionProof":
+                receipt.setTransactionProof(readList(p, ctxt, MerkleProofUnit.class));
+                break;
+            case "receiptProof":
+                receipt.setReceiptProof(readList(p, ctxt, MerkleProofUnit.class));
+                break;
+            case "txProof":
+                receipt.setTxProof(readStringList(p, ctxt));
+                break;
+            case "txReceiptProof":
+                receipt.setTxReceiptProof(readStringList(p, ctxt));
+                break;
+            case "extraData":
+                receipt.setExtraData(readString(p, ctxt));
+                break;
+            case "message":
+                receipt.setMessage(readString(p, ctxt));
+                break;
+            case "effectiveGasPrice":
+                receipt.setEffectiveGasPrice(readString(p, ctxt));
+                break;
+            default:
+                p.skipChildren();
+        }
+    }
+
+    public static class LogsDeserializer extends FieldSwitchDeserializer<TransactionReceipt.Logs> {
+
+        public LogsDeserializer() {
+            super(TransactionReceipt.Logs.class);
+        }
+
+        @Override
+        protected TransactionReceipt.Logs create() {
+            return new TransactionReceipt.Logs();
+        }
+
+        @Override
+        protected void readField(
+                String name,
+                JsonParser p,
+                DeserializationContext ctxt,
+                TransactionReceipt.Logs logs)
+                throws IOException {
+            switch (name) {
+                case "address":
+                    logs.setAddress(readString(p, ctxt));
+                    break;
+                case "topics":
+                    logs.setTopics(readStringList(p, ctxt));
+                    break;
+                case "data":
+                    logs.setData(readString(p, ctxt));
+                    break;
+                case "blockNumber":
+                    logs.setBlockNumber(readString(p, ctxt));
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+    }
+}
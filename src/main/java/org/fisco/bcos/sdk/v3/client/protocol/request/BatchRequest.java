@@ -0,0 +1,161 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.deserializer.JsonRpcResponseReaders;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+
+/**
+ * Requests sent together in JSON-RPC 2.0 batches, the responses are matched to the requests by
+ * their id whatever order the node answers in.
+ */
+public class BatchRequest {
+    // the error of a request left unanswered by the node
+    public static final int NO_RESPONSE_ERROR_CODE = -32603;
+    // the error of an answer that does not decode into the response type of its request
+    public static final int DECODE_ERROR_CODE = -32700;
+
+    private final List<JsonRpcRequest<?>> requests = new ArrayList<>();
+    private final List<Class<? extends JsonRpcResponse<?>>> responseTypes = new ArrayList<>();
+    // request id => index of the request
+    private final Map<Long, Integer> indexes = new HashMap<>();
+
+    /**
+     * @param request the request, its id must be unique in the batch
+     * @param responseType the type its response is decoded into
+     * @return this batch
+     */
+    public BatchRequest add(
+            JsonRpcRequest<?> request, Class<? extends JsonRpcResponse<?>> responseType) {
+        if (indexes.putIfAbsent(request.getId(), requests.size()) != null) {
+            throw new IllegalArgumentException(
+                    "duplicate request id in the batch, id: " + request.getId());
+        }
+        requests.add(request);
+        responseTypes.add(responseType);
+        return this;
+    }
+
+    public int size() {
+        return requests.size();
+    }
+
+    public boolean isEmpty() {
+        return requests.isEmpty();
+    }
+
+    public List<JsonRpcRequest<?>> getRequests() {
+        return Collections.unmodifiableList(requests);
+    }
+
+    public Class<? extends JsonRpcResponse<?>> getResponseType(int index) {
+        return responseTypes.get(index);
+    }
+
+    /**
+     * @param fromIndex the first request, inclusive
+     * @param toIndex the last request, exclusive
+     * @return a batch of the requests in the range
+     */
+    public BatchRequest subBatch(int fromIndex, int toIndex) {
+        BatchRequest batch = new BatchRequest();
+        for (int i = fromIndex; i < toIndex; i++) {
+            batch.add(requests.get(i), responseTypes.get(i));
+        }
+        return batch;
+    }
+
+    /** @return the json array of the requests */
+    public String encode(ObjectMapper objectMapper) throws IOException {
+        return objectMapper.writeValueAsString(requests);
+    }
+
+    /**
+     * decode the answer of the node to the batch
+     *
+     * @param responseReaders the readers of the responses, see network.jsonDecoder
+     * @param content the raw answer of the node
+     * @return the responses in the order of the requests, a request left unanswered gets a response
+     *     with the NO_RESPONSE_ERROR_CODE error and a request whose answer does not decode one with
+     *     the DECODE_ERROR_CODE error; null if the node answered with a single response, it does
+     *     not accept batches
+     * @throws IOException if the answer is not valid json
+     */
+    public List<JsonRpcResponse<?>> decode(JsonRpcResponseReaders responseReaders, byte[] content)
+            throws IOException {
+        JsonNode root = responseReaders.getObjectMapper().readTree(content);
+        if (root == null || !root.isArray()) {
+            return null;
+        }
+        JsonRpcResponse<?>[] responses = new JsonRpcResponse<?>[requests.size()];
+        for (JsonNode element : root) {
+            JsonNode id = element.get("id");
+            Integer index = id == null ? null : indexes.get(id.asLong());
+            if (index == null) {
+                continue;
+            }
+            try {
+                responses[index] =
+                        responseReaders.readerFor(responseTypes.get(index)).readValue(element);
+            } catch (IOException | IllegalArgumentException e) {
+                responses[index] =
+                        errorResponse(
+                                index,
+                                DECODE_ERROR_CODE,
+                                "decode the response in the batch failed: " + e.getMessage());
+            }
+        }
+        List<JsonRpcResponse<?>> result = new ArrayList<>(responses.length);
+        for (int i = 0; i < responses.length; i++) {
+            result.add(
+                    responses[i] != null
+                            ? responses[i]
+                            : errorResponse(
+                                    i,
+                                    NO_RESPONSE_ERROR_CODE,
+                                    "no response to the request in the batch"));
+        }
+        return result;
+    }
+
+    /**
+     * @param index the request
+     * @param code the error code
+     * @param message the error message
+     * @return a response of the request carrying the error
+     */
+    public JsonRpcResponse<?> errorResponse(int index, int code, String message) {
+        JsonRpcResponse<?> response;
+        try {
+            response = responseTypes.get(index).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new ClientException(
+                    "create the response failed, type: " + responseTypes.get(index).getName(), e);
+        }
+        response.setId(requests.get(index).getId());
+        response.setJsonrpc(requests.get(index).getJsonrpc());
+        response.setError(new JsonRpcResponse.Error(code, message));
+        return response;
+    }
+}
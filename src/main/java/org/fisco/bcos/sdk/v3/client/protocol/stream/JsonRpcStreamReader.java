@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.protocol.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.LogWrapper;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+
+/**
+ * Decode large json rpc responses with a streaming {@link JsonParser} instead of binding the whole
+ * response, so the transactions of a block and the entries of a log query are materialized one at a
+ * time and can be dropped by the caller once consumed.
+ */
+public class JsonRpcStreamReader {
+
+    private static final ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
+
+    private JsonRpcStreamReader() {}
+
+    /**
+     * decode a getBlockByNumber/getBlockByHash response
+     *
+     * @param content the raw response
+     * @param transactionVisitor called for every transaction of the block in order, with a {@link
+     *     BcosBlock.TransactionHash} or a {@link BcosBlock.TransactionObject}
+     * @return the block without transactions, null if the block does not exist
+     * @throws IOException if the response is not valid json
+     * @throws ClientException if the response holds a json rpc error
+     */
+    public static BcosBlock.Block readBlock(
+            byte[] content, Consumer<BcosBlock.TransactionResult> transactionVisitor)
+            throws IOException {
+        try (JsonParser parser = objectReader.getFactory().createParser(content)) {
+            if (!moveToResult(parser)) {
+                return null;
+            }
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IOException("unexpected block json: " + parser.currentToken());
+            }
+            // the header fields are small, collect them into a tree and bind once at the end
+            ObjectNode header = JsonNodeFactory.instance.objectNode();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("transactions".equals(name) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        transactionVisitor.accept(readTransaction(parser));
+                    }
+                } else {
+                    JsonNode value = objectReader.readTree(parser);
+                    header.set(name, value);
+                }
+            }
+            BcosBlock.Block block = objectReader.treeToValue(header, BcosBlock.Block.class);
+            block.setTransactions(new ArrayList<>());
+            return block;
+        }
+    }
+
+    private static BcosBlock.TransactionResult readTransaction(JsonParser parser)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return objectReader.readValue(parser, BcosBlock.TransactionObject.class);
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return new BcosBlock.TransactionHash(parser.getText());
+        }
+        throw new IOException("unexpected transaction json: " + parser.currentToken());
+    }
+
+    /**
+     * decode a getLogs/getFilterLogs/getFilterChanges response
+     *
+     * @param content the raw response
+     * @param logVisitor called for every entry in order, with a {@link LogWrapper.LogObject} or a
+     *     {@link LogWrapper.Hash}
+     * @throws IOException if the response is not valid json
+     * @throws ClientException if the response holds a json rpc error
+     */
+    public static void readLogs(byte[] content, Consumer<LogWrapper.LogResult> logVisitor)
+            throws IOException {
+        try (LogResultIterator iterator = iterateLogs(content)) {
+            while (iterator.hasNext()) {
+                logVisitor.accept(iterator.next());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * iterate the entries of a getLogs/getFilterLogs/getFilterChanges response, each entry is
+     * decoded on demand
+     *
+     * @param content the raw response
+     * @return the iterator of the entries, closing it releases the parser
+     * @throws IOException if the response is not valid json
+     * @throws ClientException if the response holds a json rpc error
+     */
+    public static LogResultIterator iterateLogs(byte[] content) throws IOException {
+        JsonParser parser = objectReader.getFactory().createParser(content);
+        try {
+            if (!moveToResult(parser)) {
+                parser.close();
+                return new LogResultIterator(null);
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                throw new IOException("unexpected log json: " + parser.currentToken());
+            }
+            return new LogResultIterator(parser);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * move the parser to the first token of the result
+     *
+     * @return false if the result is null or missing
+     */
+    private static boolean moveToResult(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("json rpc response is not an object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("result".equals(name)) {
+                return token != JsonToken.VALUE_NULL;
+            }
+            if ("error".equals(name) && token == JsonToken.START_OBJECT) {
+                JsonRpcResponse.Error error =
+                        objectReader.readValue(parser, JsonRpcResponse.Error.class);
+                throw new ClientException(
+                        error.getCode(), error.getMessage(), "msg: " + error.getMessage());
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /** Iterator decoding one log entry per {@link #next()} */
+    public static class LogResultIterator implements Iterator<LogWrapper.LogResult>, Closeable {
+        private final JsonParser parser;
+        private LogWrapper.LogResult nextResult;
+        private boolean finished;
+
+        private LogResultIterator(JsonParser parser) {
+            this.parser = parser;
+            this.finished = parser == null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextResult != null) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    close();
+                    return false;
+                }
+                if (token == JsonToken.START_OBJECT) {
+                    nextResult = objectReader.readValue(parser, LogWrapper.LogObject.class);
+                } else if (token == JsonToken.VALUE_STRING) {
+                    nextResult = new LogWrapper.Hash(parser.getText());
+                } else {
+                    throw new IOException("unexpected log json: " + token);
+                }
+                return true;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public LogWrapper.LogResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LogWrapper.LogResult result = nextResult;
+            nextResult = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing to release for a byte array source
+            }
+        }
+    }
+}
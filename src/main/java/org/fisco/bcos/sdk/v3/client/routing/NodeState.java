@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.routing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.v3.client.metrics.LatencyHistogram;
+
+/** Load and latency of one node as seen by the {@link ReadRouter}. */
+public class NodeState {
+    // weight of the latest latency in the moving average
+    static final double EWMA_ALPHA = 0.2;
+
+    private final String name;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    // moving average latency in nanoseconds, 0 until the first response
+    private final AtomicLong ewmaNanos = new AtomicLong();
+    private final AtomicInteger samples = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong ejectedUntilNanos = new AtomicLong();
+    private final LongAdder ejectionCount = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    NodeState(String name) {
+        this.name = name;
+    }
+
+    void start() {
+        outstanding.incrementAndGet();
+    }
+
+    void complete(long latencyNanos, boolean success) {
+        outstanding.decrementAndGet();
+        latency.record(latencyNanos, success);
+        long sample = Math.max(1, latencyNanos);
+        long current;
+        long next;
+        do {
+            current = ewmaNanos.get();
+            next = current == 0 ? sample : (long) (current + EWMA_ALPHA * (sample - current));
+        } while (!ewmaNanos.compareAndSet(current, next));
+        samples.incrementAndGet();
+        if (success) {
+            consecutiveFailures.set(0);
+        } else {
+            consecutiveFailures.incrementAndGet();
+        }
+    }
+
+    boolean isEjected(long nowNanos) {
+        long until = ejectedUntilNanos.get();
+        return until != 0 && nowNanos - until < 0;
+    }
+
+    /** @return true if the node was ejected and its ejection has expired */
+    boolean readmit(long nowNanos) {
+        long until = ejectedUntilNanos.get();
+        if (until == 0 || nowNanos - until < 0 || !ejectedUntilNanos.compareAndSet(until, 0)) {
+            return false;
+        }
+        // forget the latencies that got the node ejected, it is probed again as a new node and
+        // scored with the median latency of the others until it answers
+        ewmaNanos.set(0);
+        samples.set(0);
+        consecutiveFailures.set(0);
+        return true;
+    }
+
+    void eject(long untilNanos) {
+        // 0 means not ejected
+        ejectedUntilNanos.set(untilNanos == 0 ? 1 : untilNanos);
+        ejectionCount.increment();
+    }
+
+    int getSamples() {
+        return samples.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** @return the number of requests sent to the node and waiting for their response */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /** @return the moving average latency, 0 before the first response */
+    public long getEwmaMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(ewmaNanos.get());
+    }
+
+    long getEwmaNanos() {
+        return ewmaNanos.get();
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public boolean isEjected() {
+        return isEjected(System.nanoTime());
+    }
+
+    public long getEjectionCount() {
+        return ejectionCount.sum();
+    }
+
+    /** @return the latency of the reads sent to the node, hedged reads included */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeState{"
+                + "name='"
+                + name
+                + '\''
+                + ", outstanding="
+                + getOutstanding()
+                + ", ewmaMicros="
+                + getEwmaMicros()
+                + ", consecutiveFailures="
+                + getConsecutiveFailures()
+                + ", ejected="
+                + isEjected()
+                + ", ejectionCount="
+                + getEjectionCount()
+                + '}';
+    }
+}
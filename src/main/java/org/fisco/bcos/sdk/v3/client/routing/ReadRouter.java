@@ -0,0 +1,513 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.routing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.jni.common.Response;
+import org.fisco.bcos.sdk.jni.rpc.RpcCallback;
+import org.fisco.bcos.sdk.v3.client.metrics.LatencyHistogram;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.fisco.bcos.sdk.v3.config.model.ReadRoutingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads the read-only rpc calls over the nodes of a group.
+ *
+ * <p>Every read goes to the node with the best score of the configured policy, ejected nodes are
+ * skipped. With hedging, a read that has not been answered after the configured percentile of the
+ * read latency is also sent to a second node, and the first successful response wins. A node is
+ * ejected for a while after too many failures in a row, or when its moving average latency is
+ * several times the one of the fastest node; the last available node is never ejected. A node
+ * without latency yet, new or readmitted, is scored with the median latency of the other nodes.
+ *
+ * <p>Reads may see a node a few blocks behind the others. Transactions are never routed.
+ */
+public class ReadRouter {
+    private static final Logger logger = LoggerFactory.getLogger(ReadRouter.class);
+
+    // the error code of the response of a read not answered before its deadline
+    public static final int TIMEOUT_ERROR_CODE = -2;
+
+    // latencies to record before the hedge delay and the node latencies are trusted
+    static final int MIN_SAMPLES = 20;
+    // a node is never ejected for being slow when it is less than this behind the fastest node
+    private static final long MIN_SLOW_NODE_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Set<String> READ_METHODS =
+            new HashSet<>(
+                    Arrays.asList(
+                            JsonRpcMethods.CALL,
+                            JsonRpcMethods.GET_CODE,
+                            JsonRpcMethods.GET_ABI,
+                            JsonRpcMethods.GET_BLOCK_BY_HASH,
+                            JsonRpcMethods.GET_BLOCK_BY_NUMBER,
+                            JsonRpcMethods.GET_BLOCKHASH_BY_NUMBER,
+                            JsonRpcMethods.GET_TRANSACTION_BY_HASH,
+                            JsonRpcMethods.GET_TRANSACTION_RECEIPT,
+                            JsonRpcMethods.GET_SYSTEM_CONFIG_BY_KEY));
+
+    private final ReadRoutingConfig config;
+    private final List<NodeState> nodes;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+    private final LongAdder hedgeCount = new LongAdder();
+    private volatile ScheduledExecutorService timer;
+
+    /** send a request to a node */
+    @FunctionalInterface
+    public interface RequestSender {
+        void send(String node, RpcCallback callback) throws IOException;
+    }
+
+    /**
+     * create a router
+     *
+     * @param config the routing config
+     * @param nodeNames the names of the nodes of the group
+     */
+    public ReadRouter(ReadRoutingConfig config, List<String> nodeNames) {
+        if (nodeNames.isEmpty()) {
+            throw new IllegalArgumentException("no node to route the reads to");
+        }
+        this.config = config;
+        List<NodeState> states = new ArrayList<>(nodeNames.size());
+        for (String nodeName : nodeNames) {
+            states.add(new NodeState(nodeName));
+        }
+        this.nodes = Collections.unmodifiableList(states);
+    }
+
+    /**
+     * @param method the rpc method
+     * @return true if the method only reads the ledger and may be sent to any node
+     */
+    public static boolean isReadMethod(String method) {
+        return READ_METHODS.contains(method);
+    }
+
+    /**
+     * choose the node of the next request
+     *
+     * @param exclude a node not to choose, null for none
+     * @return the available node with the best score, an ejected node if all are ejected, null if
+     *     there is no node besides the excluded one
+     */
+    public NodeState select(NodeState exclude) {
+        long now = System.nanoTime();
+        int size = nodes.size();
+        // start from a rotating index so that ties are spread over the nodes
+        int start = (nextIndex.getAndIncrement() & Integer.MAX_VALUE) % size;
+        NodeState best = null;
+        double bestScore = Double.MAX_VALUE;
+        NodeState fallback = null;
+        long seedNanos = -1;
+        for (int i = 0; i < size; i++) {
+            NodeState node = nodes.get((start + i) % size);
+            if (node == exclude) {
+                continue;
+            }
+            if (node.readmit(now)) {
+                logger.info("readmit node {} after its ejection", node.getName());
+            }
+            if (node.isEjected(now)) {
+                if (fallback == null) {
+                    fallback = node;
+                }
+                continue;
+            }
+            if (seedNanos < 0
+                    && node.getEwmaNanos() == 0
+                    && config.getPolicy() == ReadRoutingConfig.Policy.EWMA) {
+                seedNanos = medianEwmaNanos(now);
+            }
+            double score = score(node, seedNanos);
+            if (score < bestScore) {
+                best = node;
+                bestScore = score;
+            }
+        }
+        return best != null ? best : fallback;
+    }
+
+    private double score(NodeState node, long seedNanos) {
+        if (config.getPolicy() == ReadRoutingConfig.Policy.EWMA) {
+            long ewmaNanos = node.getEwmaNanos();
+            // a node without response yet scores as a median node, it gets its share of the reads
+            // to be probed instead of all of them
+            if (ewmaNanos == 0) {
+                ewmaNanos = seedNanos;
+            }
+            return (double) ewmaNanos * (node.getOutstanding() + 1);
+        }
+        return node.getOutstanding();
+    }
+
+    /** @return the median moving average latency of the available nodes, 0 if none has any */
+    private long medianEwmaNanos(long nowNanos) {
+        long[] latencies = new long[nodes.size()];
+        int count = 0;
+        for (NodeState node : nodes) {
+            long ewmaNanos = node.getEwmaNanos();
+            if (ewmaNanos != 0 && !node.isEjected(nowNanos)) {
+                latencies[count++] = ewmaNanos;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(latencies, 0, count);
+        return latencies[(count - 1) / 2];
+    }
+
+    /**
+     * @return the delay before hedging a read in nanoseconds, -1 if reads are not hedged or not
+     *     enough latencies have been recorded yet
+     */
+    public long getHedgeDelayNanos() {
+        if (!config.isHedge() || nodes.size() < 2 || readLatency.getCount() < MIN_SAMPLES) {
+            return -1;
+        }
+        long percentileNanos =
+                TimeUnit.MICROSECONDS.toNanos(
+                        readLatency.getPercentileMicros(config.getHedgePercentile()));
+        return Math.max(
+                percentileNanos, TimeUnit.MILLISECONDS.toNanos(config.getMinHedgeDelayMillis()));
+    }
+
+    /**
+     * send a read and wait for its response
+     *
+     * @param sender sends the request to the chosen node
+     * @param timeoutMillis the maximum time to wait, 0 to wait without timeout
+     * @return the first successful response, or the last failed one
+     * @throws IOException if the request cannot be sent
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws TimeoutException if no response arrives in time
+     */
+    public Response call(RequestSender sender, long timeoutMillis)
+            throws IOException, InterruptedException, TimeoutException {
+        long startNanos = System.nanoTime();
+        RoutedCall call = new RoutedCall(sender);
+        call.send(select(null));
+        boolean completed = false;
+        try {
+            long timeoutNanos =
+                    timeoutMillis <= 0
+                            ? Long.MAX_VALUE
+                            : TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            long hedgeDelayNanos = getHedgeDelayNanos();
+            if (hedgeDelayNanos >= 0 && hedgeDelayNanos < timeoutNanos) {
+                try {
+                    Response response = call.result.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                    completed = true;
+                    return response;
+                } catch (TimeoutException e) {
+                    call.hedge();
+                }
+            }
+            Response response =
+                    timeoutMillis <= 0
+                            ? call.result.get()
+                            : call.result.get(
+                                    timeoutNanos - (System.nanoTime() - startNanos),
+                                    TimeUnit.NANOSECONDS);
+            completed = true;
+            return response;
+        } catch (ExecutionException e) {
+            // the result is only completed with a response
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (!completed) {
+                call.abandon();
+            }
+        }
+    }
+
+    /**
+     * send a read without waiting for its response and without deadline
+     *
+     * @param sender sends the request to the chosen node
+     * @param callback receives the first successful response, or the last failed one
+     * @throws IOException if the request cannot be sent
+     */
+    public void callAsync(RequestSender sender, RpcCallback callback) throws IOException {
+        callAsync(sender, 0, callback);
+    }
+
+    /**
+     * send a read without waiting for its response
+     *
+     * @param sender sends the request to the chosen node
+     * @param timeoutMillis the deadline of the read, 0 for none; the attempts still waiting at the
+     *     deadline count as failures of their node, so a hung node gets ejected
+     * @param callback receives the first successful response, the last failed one, or a response
+     *     with the error code {@link #TIMEOUT_ERROR_CODE} at the deadline
+     * @throws IOException if the request cannot be sent
+     */
+    public void callAsync(RequestSender sender, long timeoutMillis, RpcCallback callback)
+            throws IOException {
+        RoutedCall call = new RoutedCall(sender);
+        call.send(select(null));
+        long hedgeDelayNanos = getHedgeDelayNanos();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        if (hedgeDelayNanos >= 0 && (timeoutMillis <= 0 || hedgeDelayNanos < timeoutNanos)) {
+            ScheduledFuture<?> hedge =
+                    getTimer()
+                            .schedule(
+                                    () -> {
+                                        if (!call.result.isDone()) {
+                                            call.hedge();
+                                        }
+                                    },
+                                    hedgeDelayNanos,
+                                    TimeUnit.NANOSECONDS);
+            call.result.thenRun(() -> hedge.cancel(false));
+        }
+        if (timeoutMillis > 0) {
+            ScheduledFuture<?> deadline =
+                    getTimer()
+                            .schedule(
+                                    () -> {
+                                        if (call.result.isDone()) {
+                                            return;
+                                        }
+                                        call.abandon();
+                                        Response response = new Response();
+                                        response.setErrorCode(TIMEOUT_ERROR_CODE);
+                                        response.setErrorMessage(
+                                                "no response within " + timeoutMillis + "ms");
+                                        call.result.complete(response);
+                                    },
+                                    timeoutNanos,
+                                    TimeUnit.NANOSECONDS);
+            call.result.thenRun(() -> deadline.cancel(false));
+        }
+        call.result.thenAccept(callback::onResponse);
+    }
+
+    private ScheduledExecutorService getTimer() {
+        ScheduledExecutorService scheduler = timer;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = timer;
+                if (scheduler == null) {
+                    ScheduledThreadPoolExecutor executor =
+                            new ScheduledThreadPoolExecutor(
+                                    1,
+                                    runnable -> {
+                                        Thread thread = new Thread(runnable, "readRouter-timer");
+                                        thread.setDaemon(true);
+                                        return thread;
+                                    });
+                    executor.setRemoveOnCancelPolicy(true);
+                    timer = scheduler = executor;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    private void onComplete(NodeState node, long latencyNanos, boolean success) {
+        node.complete(latencyNanos, success);
+        readLatency.record(latencyNanos, success);
+        if (!success) {
+            int maxFailures = config.getMaxConsecutiveFailures();
+            if (maxFailures > 0 && node.getConsecutiveFailures() >= maxFailures) {
+                eject(node, "consecutive failures: " + node.getConsecutiveFailures());
+            }
+            return;
+        }
+        double slowNodeFactor = config.getSlowNodeFactor();
+        if (slowNodeFactor <= 0 || node.getSamples() < MIN_SAMPLES) {
+            return;
+        }
+        long now = System.nanoTime();
+        long fastest = Long.MAX_VALUE;
+        for (NodeState other : nodes) {
+            if (other != node && !other.isEjected(now) && other.getSamples() >= MIN_SAMPLES) {
+                fastest = Math.min(fastest, other.getEwmaNanos());
+            }
+        }
+        long ewma = node.getEwmaNanos();
+        if (fastest != Long.MAX_VALUE
+                && ewma > slowNodeFactor * fastest
+                && ewma - fastest > MIN_SLOW_NODE_GAP_NANOS) {
+            eject(
+                    node,
+                    "latency: " + node.getEwmaMicros() + "us, fastest: " + fastest / 1000 + "us");
+        }
+    }
+
+    private void eject(NodeState node, String reason) {
+        long now = System.nanoTime();
+        if (node.isEjected(now)) {
+            return;
+        }
+        for (NodeState other : nodes) {
+            if (other != node && !other.isEjected(now)) {
+                node.eject(now + TimeUnit.MILLISECONDS.toNanos(config.getEjectMillis()));
+                logger.warn(
+                        "eject node {} for {}ms, {}",
+                        node.getName(),
+                        config.getEjectMillis(),
+                        reason);
+                return;
+            }
+        }
+    }
+
+    /** @return the states of the nodes, in the order of the group node list */
+    public List<NodeState> getNodeStates() {
+        return nodes;
+    }
+
+    /** @return the latency of every read attempt, hedged reads included */
+    public LatencyHistogram getReadLatency() {
+        return readLatency;
+    }
+
+    /** @return the number of reads also sent to a second node */
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    public ReadRoutingConfig getConfig() {
+        return config;
+    }
+
+    /** stop the hedge and deadline timer, the router can still route synchronous reads */
+    public void close() {
+        ScheduledExecutorService scheduler = timer;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReadRouter{"
+                + "policy="
+                + config.getPolicy()
+                + ", nodes="
+                + nodes
+                + ", hedgeCount="
+                + getHedgeCount()
+                + '}';
+    }
+
+    /** One read, sent to one node and to a second one when hedged. */
+    private final class RoutedCall {
+        private final RequestSender sender;
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile Attempt first;
+        private volatile Attempt second;
+
+        private RoutedCall(RequestSender sender) {
+            this.sender = sender;
+        }
+
+        private void send(NodeState node) throws IOException {
+            Attempt attempt = new Attempt(this, node);
+            if (first == null) {
+                first = attempt;
+            } else {
+                second = attempt;
+            }
+            pending.incrementAndGet();
+            node.start();
+            try {
+                sender.send(node.getName(), attempt);
+            } catch (IOException | RuntimeException e) {
+                attempt.abandon();
+                throw e;
+            }
+        }
+
+        private void hedge() {
+            NodeState node = select(first.node);
+            if (node == null) {
+                return;
+            }
+            hedgeCount.increment();
+            try {
+                send(node);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("send hedged read to node {} failed", node.getName(), e);
+            }
+        }
+
+        /** give up the attempts still waiting, as failures */
+        private void abandon() {
+            Attempt attempt = first;
+            if (attempt != null) {
+                attempt.abandon();
+            }
+            attempt = second;
+            if (attempt != null) {
+                attempt.abandon();
+            }
+        }
+    }
+
+    private final class Attempt implements RpcCallback {
+        private final RoutedCall call;
+        private final NodeState node;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Attempt(RoutedCall call, NodeState node) {
+            this.call = call;
+            this.node = node;
+        }
+
+        @Override
+        public void onResponse(Response response) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            boolean success = response.getErrorCode() == 0;
+            onComplete(node, System.nanoTime() - startNanos, success);
+            int remaining = call.pending.decrementAndGet();
+            if (success || remaining == 0) {
+                call.result.complete(response);
+            }
+        }
+
+        private void abandon() {
+            if (done.compareAndSet(false, true)) {
+                onComplete(node, System.nanoTime() - startNanos, false);
+                call.pending.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.client.stream;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.model.Response;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The blocks of a range delivered strictly in order, fetched ahead with at most a window of blocks
+ * in flight or waiting to be consumed. Once the stream reaches the head of the chain it waits for
+ * the new blocks, notified by onNewBlock or found by polling the block number.
+ *
+ * <p>The blocks are taken with the iterator methods, or pushed to a callback in the calling thread
+ * by forEachRemaining; a slow consumer holds back the fetching.
+ */
+public class BlockStream implements Iterator<BcosBlock.Block>, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BlockStream.class);
+
+    // the last block of a stream following the head of the chain
+    public static final long FOLLOW_HEAD = Long.MAX_VALUE;
+    public static final int DEFAULT_WINDOW = 16;
+    private static final int MAX_RETRIES = 3;
+    // poll the block number while waiting at the head, in case a block notification is missed
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+
+    private final Client client;
+    private final long end;
+    private final boolean onlyHeader;
+    private final boolean onlyTxHash;
+    private final int window;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // block number => fetched block not consumed yet
+    private final Map<Long, BcosBlock.Block> fetched = new HashMap<>();
+    // the next block to consume
+    private long next;
+    // the next block to fetch
+    private long requested;
+    // the highest block known on the chain
+    private long head = -1;
+    // the lowest block that could not be fetched, thrown once the blocks before it are consumed
+    private ClientException failure;
+    private long failedBlockNumber = -1;
+    private boolean closed = false;
+
+    /**
+     * @param client the client of the group
+     * @param from the first block
+     * @param to the last block, inclusive, FOLLOW_HEAD to never end
+     * @param onlyHeader fetch the block headers only
+     * @param onlyTxHash fetch the transaction hashes instead of the transactions
+     * @param window the most blocks in flight or waiting to be consumed
+     */
+    public BlockStream(
+            Client client, long from, long to, boolean onlyHeader, boolean onlyTxHash, int window) {
+        if (from < 0 || to < from || window <= 0) {
+            throw new IllegalArgumentException(
+                    "invalid block stream, from: " + from + ", to: " + to + ", window: " + window);
+        }
+        this.client = client;
+        this.end = to;
+        this.onlyHeader = onlyHeader;
+        this.onlyTxHash = onlyTxHash;
+        this.window = window;
+        this.next = from;
+        this.requested = from;
+    }
+
+    /**
+     * read the head of the chain and start fetching
+     *
+     * @return this stream
+     */
+    public BlockStream start() {
+        onNewBlock(client.getBlockNumber().getBlockNumber().longValue());
+        return this;
+    }
+
+    /**
+     * a block is committed on the chain, fetch it if in the window
+     *
+     * @param blockNumber the number of the block
+     */
+    public void onNewBlock(long blockNumber) {
+        List<Long> toFetch;
+        lock.lock();
+        try {
+            if (blockNumber > head) {
+                head = blockNumber;
+            }
+            toFetch = claim();
+        } finally {
+            lock.unlock();
+        }
+        fetch(toFetch);
+    }
+
+    /** @return the block numbers to fetch now, the caller holds the lock */
+    private List<Long> claim() {
+        List<Long> toFetch = Collections.emptyList();
+        while (!closed
+                && failure == null
+                && requested <= Math.min(end, head)
+                && requested - next < window) {
+            if (toFetch.isEmpty()) {
+                toFetch = new ArrayList<>();
+            }
+            toFetch.add(requested++);
+        }
+        return toFetch;
+    }
+
+    private void fetch(List<Long> blockNumbers) {
+        for (long blockNumber : blockNumbers) {
+            fetch(blockNumber, 0);
+        }
+    }
+
+    private void fetch(long blockNumber, int retries) {
+        client.getBlockByNumberAsync(
+                BigInteger.valueOf(blockNumber),
+                onlyHeader,
+                onlyTxHash,
+                new RespCallback<BcosBlock>() {
+                    @Override
+                    public void onResponse(BcosBlock bcosBlock) {
+                        if (bcosBlock.getBlock() == null) {
+                            Response errorResponse = new Response();
+                            errorResponse.setErrorCode(-1);
+                            errorResponse.setErrorMessage("empty block");
+                            onError(errorResponse);
+                            return;
+                        }
+                        onFetched(blockNumber, bcosBlock.getBlock());
+                    }
+
+                    @Override
+                    public void onError(Response errorResponse) {
+                        if (retries < MAX_RETRIES && !isClosed()) {
+                            logger.debug(
+                                    "fetch block failed, retry, block: {}, retries: {}, msg: {}",
+                                    blockNumber,
+                                    retries,
+                                    errorResponse.getErrorMessage());
+                            fetch(blockNumber, retries + 1);
+                            return;
+                        }
+                        onFailed(
+                                blockNumber,
+                                new ClientException(
+                                        errorResponse.getErrorCode(),
+                                        errorResponse.getErrorMessage(),
+                                        "fetch block "
+                                                + blockNumber
+                                                + " failed, code: "
+                                                + errorResponse.getErrorCode()
+                                                + ", msg: "
+                                                + errorResponse.getErrorMessage()));
+                    }
+                });
+    }
+
+    private void onFetched(long blockNumber, BcosBlock.Block block) {
+        lock.lock();
+        try {
+            if (!closed) {
+                fetched.put(blockNumber, block);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailed(long blockNumber, ClientException e) {
+        lock.lock();
+        try {
+            if (failure == null || blockNumber < failedBlockNumber) {
+                failure = e;
+                failedBlockNumber = blockNumber;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return false once the last block is consumed or the stream is closed */
+    @Override
+    public boolean hasNext() {
+        lock.lock();
+        try {
+            return !closed && next <= end;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * wait for the next block
+     *
+     * @return the next block
+     * @throws NoSuchElementException if the last block is consumed or the stream is closed
+     * @throws ClientException if the block could not be fetched, the blocks before it are still
+     *     returned first
+     */
+    @Override
+    public BcosBlock.Block next() {
+        while (true) {
+            BcosBlock.Block block;
+            List<Long> toFetch;
+            boolean poll = false;
+            lock.lock();
+            try {
+                if (closed || next > end) {
+                    throw new NoSuchElementException(
+                            closed ? "the block stream is closed" : "no block after " + end);
+                }
+                block = fetched.remove(next);
+                if (block != null) {
+                    next++;
+                    toFetch = claim();
+                } else if (failure != null && next >= failedBlockNumber) {
+                    throw failure;
+                } else if (requested > head) {
+                    // at the head of the chain, the next block is not committed yet
+                    poll = !changed.await(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    continue;
+                } else {
+                    changed.await();
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ClientException("wait for block " + next + " interrupted", e);
+            } finally {
+                lock.unlock();
+                if (poll) {
+                    pollHead();
+                }
+            }
+            fetch(toFetch);
+            return block;
+        }
+    }
+
+    private void pollHead() {
+        try {
+            onNewBlock(client.getBlockNumber().getBlockNumber().longValue());
+        } catch (ClientException e) {
+            logger.debug("poll the block number failed, e: {}", e.getMessage());
+        }
+    }
+
+    /** @return the number of the next block to consume */
+    public long getNextBlockNumber() {
+        lock.lock();
+        try {
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the highest block known on the chain */
+    public long getHeadBlockNumber() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the number of blocks in flight or waiting to be consumed */
+    public int getPrefetched() {
+        lock.lock();
+        try {
+            return (int) (requested - next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** stop fetching, a consumer waiting in next gets NoSuchElementException */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            fetched.clear();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -49,6 +49,8 @@ import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecJsonWrapper;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecTools;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
 import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -107,9 +109,9 @@ public class ContractCodec {
         }
         this.abiDefinitionFactory = new ABIDefinitionFactory(this.hashImpl);
         // for compatibility
-        if (this.hashImpl instanceof SM3Hash) {
+        if (this.hashImpl instanceof SM3Hash || this.hashImpl instanceof JavaSM3Hash) {
             this.cryptoSuite = new CryptoSuite(CryptoType.SM_TYPE);
-        } else if (this.hashImpl instanceof Keccak256) {
+        } else if (this.hashImpl instanceof Keccak256 || this.hashImpl instanceof JavaKeccak256) {
             this.cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
         } else {
             this.cryptoSuite = null;
@@ -447,7 +449,7 @@ public class ContractCodec {
         try {
 
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            outputStream.write(abiDefinition.getMethodId(this.cryptoSuite));
+            outputStream.write(abiDefinition.getMethodId(this.hashImpl));
             outputStream.write(
                     ContractCodecTools.encode(
                             ContractCodecTools.decodeABIObjectValue(inputABIObject, params),
@@ -519,7 +521,7 @@ public class ContractCodec {
                 ABIObject inputObject = ABIObjectFactory.createInputObject(abiDefinition);
                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                 try {
-                    byte[] methodId = abiDefinition.getMethodId(cryptoSuite);
+                    byte[] methodId = abiDefinition.getMethodId(hashImpl);
                     ABIObject abiObject = contractCodecJsonWrapper.encode(inputObject, params);
                     byte[] encode = abiObject.encode(isWasm);
                     outputStream.write(methodId);
@@ -574,7 +576,7 @@ public class ContractCodec {
             ABIObject inputABIObject = ABIObjectFactory.createInputObject(abiDefinition);
             try {
                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                outputStream.write(abiDefinition.getMethodId(this.cryptoSuite));
+                outputStream.write(abiDefinition.getMethodId(this.hashImpl));
                 outputStream.write(
                         ContractCodecTools.encode(
                                 contractCodecJsonWrapper.encode(inputABIObject, params), isWasm));
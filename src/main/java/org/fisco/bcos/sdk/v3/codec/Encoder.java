@@ -2,6 +2,8 @@ package org.fisco.bcos.sdk.v3.codec;
 
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
 import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -18,19 +20,22 @@ public class Encoder {
     }
 
     public Encoder(Hash hash) {
-        // for compatibility
-        if (hashImpl instanceof SM3Hash) {
-            this.cryptoSuite = new CryptoSuite(CryptoType.SM_TYPE);
-        }
-        if (hashImpl instanceof Keccak256) {
-            this.cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
-        }
         this.hashImpl = hash;
     }
 
-    /** @return the cryptoSuite */
+    /**
+     * @return the cryptoSuite, for compatibility an encoder created with a hash gets the suite of
+     *     the hash on first use, since creating a suite generates a key pair
+     */
     @Deprecated
     public CryptoSuite getCryptoSuite() {
+        if (this.cryptoSuite == null) {
+            if (hashImpl instanceof SM3Hash || hashImpl instanceof JavaSM3Hash) {
+                this.cryptoSuite = new CryptoSuite(CryptoType.SM_TYPE);
+            } else if (hashImpl instanceof Keccak256 || hashImpl instanceof JavaKeccak256) {
+                this.cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+            }
+        }
         return this.cryptoSuite;
     }
 
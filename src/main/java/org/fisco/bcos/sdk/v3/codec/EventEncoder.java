@@ -7,7 +7,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
-import org.fisco.bcos.sdk.v3.utils.Numeric;
 
 /**
  * Ethereum filter encoding. Further limited details are available <a
@@ -28,9 +27,7 @@ public class EventEncoder {
     }
 
     public String encode(Event event) {
-        String methodSignature = buildMethodSignature(event.getName(), event.getParameters());
-
-        return buildEventSignature(methodSignature);
+        return buildEventSignature(event.getMethodSignature());
     }
 
     public <T extends Type> String buildMethodSignature(
@@ -46,8 +43,6 @@ public class EventEncoder {
     }
 
     public String buildEventSignature(String methodSignature) {
-        byte[] input = methodSignature.getBytes();
-        byte[] hash = this.hashImpl.hash(input);
-        return Numeric.toHexString(hash);
+        return SignatureHashCache.getEventTopic(this.hashImpl, methodSignature);
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.codec;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+
+/**
+ * Process wide cache of method selectors and event topics.
+ *
+ * <p>The signatures of a contract are constants, so the hash of every signature is computed once
+ * per {@link Hash} implementation class and reused by all encoders. The hash implementations are
+ * stateless, two instances of the same class always produce the same digest. The cache stops
+ * growing after {@link #MAX_SIZE} entries per kind, signatures seen after that are hashed on every
+ * call.
+ */
+public final class SignatureHashCache {
+
+    public static final int MAX_SIZE = 8192;
+
+    private static final ConcurrentMap<Key, byte[]> methodIds = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Key, String> eventTopics = new ConcurrentHashMap<>();
+
+    private SignatureHashCache() {}
+
+    /**
+     * get the 4 bytes selector of a method
+     *
+     * @param hashImpl the hash implementation
+     * @param methodSignature the method signature, e.g. transfer(address,uint256)
+     * @return a copy of the selector, the caller may modify it
+     */
+    public static byte[] getMethodId(Hash hashImpl, String methodSignature) {
+        Key key = new Key(hashImpl.getClass(), methodSignature);
+        byte[] methodId = methodIds.get(key);
+        if (methodId == null) {
+            methodId = Arrays.copyOfRange(hashImpl.hash(methodSignature.getBytes()), 0, 4);
+            if (methodIds.size() < MAX_SIZE) {
+                methodIds.putIfAbsent(key, methodId);
+            }
+        }
+        return methodId.clone();
+    }
+
+    /**
+     * get the topic of an event
+     *
+     * @param hashImpl the hash implementation
+     * @param eventSignature the event signature, e.g. Transfer(address,address,uint256)
+     * @return the hex string of the topic with 0x prefix
+     */
+    public static String getEventTopic(Hash hashImpl, String eventSignature) {
+        Key key = new Key(hashImpl.getClass(), eventSignature);
+        String topic = eventTopics.get(key);
+        if (topic == null) {
+            topic = Numeric.toHexString(hashImpl.hash(eventSignature.getBytes()));
+            if (eventTopics.size() < MAX_SIZE) {
+                eventTopics.putIfAbsent(key, topic);
+            }
+        }
+        return topic;
+    }
+
+    /** @return the number of cached selectors and topics */
+    public static int size() {
+        return methodIds.size() + eventTopics.size();
+    }
+
+    public static void clear() {
+        methodIds.clear();
+        eventTopics.clear();
+    }
+
+    private static final class Key {
+        private final Class<?> hashClass;
+        private final String signature;
+        private final int hashCode;
+
+        private Key(Class<?> hashClass, String signature) {
+            this.hashClass = hashClass;
+            this.signature = signature;
+            this.hashCode = 31 * hashClass.hashCode() + signature.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashClass == key.hashClass && Objects.equals(signature, key.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -277,6 +277,8 @@ public class Utils {
             throws ClassNotFoundException {
         if (type instanceof ParameterizedType) {
             return (Class<T>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof Class) {
+            return (Class<T>) type;
         } else {
             return (Class<T>) Class.forName(type.getTypeName());
         }
@@ -365,4 +367,72 @@ public class Utils {
         }
         return result;
     }
+
+    /** the length of the UTF-8 encoding of a string, without encoding it */
+    public static int utf8Length(String value) {
+        int length = value.length();
+        int utf8Length = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                utf8Length += 1;
+            } else if (Character.isSurrogate(c)) {
+                if (isSurrogatePair(value, i)) {
+                    // 4 bytes for the 2 chars of the pair
+                    utf8Length += 2;
+                    i++;
+                }
+            } else {
+                utf8Length += 2;
+            }
+        }
+        return utf8Length;
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index))
+                && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    /**
+     * encode a string in UTF-8 into a buffer, the buffer must have room for {@link
+     * #utf8Length(String)} bytes
+     *
+     * @param value the string
+     * @param dest the buffer
+     * @param offset the offset of the encoding in the buffer
+     * @return the offset following the encoding
+     */
+    public static int encodeUtf8(String value, byte[] dest, int offset) {
+        int position = offset;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                dest[position++] = (byte) c;
+            } else if (c < 0x800) {
+                dest[position++] = (byte) (0xc0 | (c >> 6));
+                dest[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (isSurrogatePair(value, i)) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    dest[position++] = (byte) (0xf0 | (codePoint >> 18));
+                    dest[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    dest[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    dest[position++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    // same replacement as String.getBytes(UTF_8) for a malformed surrogate
+                    dest[position++] = '?';
+                }
+            } else {
+                dest[position++] = (byte) (0xe0 | (c >> 12));
+                dest[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                dest[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return position;
+    }
 }
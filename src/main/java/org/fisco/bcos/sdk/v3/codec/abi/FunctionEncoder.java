@@ -1,14 +1,10 @@
 package org.fisco.bcos.sdk.v3.codec.abi;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.math.BigInteger;
 import java.util.List;
 import org.fisco.bcos.sdk.v3.codec.FunctionEncoderInterface;
 import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
 
@@ -41,32 +37,40 @@ public class FunctionEncoder extends FunctionEncoderInterface {
     }
 
     public static byte[] encodeParameters(List<Type> parameters, byte[] methodID) {
-        int dynamicDataOffset = Utils.getLength(parameters) * Type.MAX_BYTE_LENGTH;
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            if (methodID != null) {
-                result.write(methodID);
+        // first pass: the exact size of the heads and of the dynamic data
+        int[] encodedLengths = new int[parameters.size()];
+        int headLength = methodID == null ? 0 : methodID.length;
+        int dynamicLength = 0;
+        for (int i = 0; i < parameters.size(); i++) {
+            Type parameter = parameters.get(i);
+            encodedLengths[i] = TypeEncoder.encodedLength(parameter);
+            if (TypeEncoder.isDynamic(parameter)) {
+                headLength += Type.MAX_BYTE_LENGTH;
+                dynamicLength += encodedLengths[i];
+            } else {
+                headLength += encodedLengths[i];
             }
-            ByteArrayOutputStream dynamicData = new ByteArrayOutputStream();
-            for (Type parameter : parameters) {
-                byte[] encodedValue = TypeEncoder.encode(parameter);
+        }
 
-                if (TypeEncoder.isDynamic(parameter)) {
-                    byte[] encodedDataOffset =
-                            TypeEncoder.encodeNumeric(
-                                    new Uint(BigInteger.valueOf(dynamicDataOffset)));
-                    result.write(encodedDataOffset);
-                    dynamicData.write(encodedValue);
-                    dynamicDataOffset += encodedValue.length;
-                } else {
-                    result.write(encodedValue);
-                }
+        // second pass: write every value once into the result
+        byte[] result = new byte[headLength + dynamicLength];
+        int headOffset = 0;
+        if (methodID != null) {
+            System.arraycopy(methodID, 0, result, 0, methodID.length);
+            headOffset = methodID.length;
+        }
+        int dynamicOffset = headLength;
+        long dynamicDataOffset = (long) Utils.getLength(parameters) * Type.MAX_BYTE_LENGTH;
+        for (int i = 0; i < parameters.size(); i++) {
+            Type parameter = parameters.get(i);
+            if (TypeEncoder.isDynamic(parameter)) {
+                headOffset = TypeEncoder.writeUint(dynamicDataOffset, result, headOffset);
+                dynamicOffset = TypeEncoder.encode(parameter, result, dynamicOffset);
+                dynamicDataOffset += encodedLengths[i];
+            } else {
+                headOffset = TypeEncoder.encode(parameter, result, headOffset);
             }
-            result.write(dynamicData.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
         }
-
-        return result.toByteArray();
+        return result;
     }
 }
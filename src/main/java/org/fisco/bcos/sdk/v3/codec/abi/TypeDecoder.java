@@ -1,11 +1,11 @@
 package org.fisco.bcos.sdk.v3.codec.abi;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.AbiTypes;
@@ -16,18 +16,13 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Bytes;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicBytes;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicStruct;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Fixed;
-import org.fisco.bcos.sdk.v3.codec.datatypes.FixedPointType;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Int;
-import org.fisco.bcos.sdk.v3.codec.datatypes.IntType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.NumericType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StaticArray;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StaticStruct;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StructType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeFactory;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Ufixed;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint160;
 
@@ -35,19 +30,24 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint160;
  * Ethereum Contract Application Binary Interface (ABI) decoding for types. Decoding is not
  * documented, but is the reverse of the encoding details located <a
  * href="https://github.com/ethereum/wiki/wiki/Ethereum-Contract-ABI">here</a>.
+ *
+ * <p>The values are created by the factories of {@link TypeFactory} and the layout of the structs
+ * is computed once per struct class, so decoding does not use reflection once a type has been seen.
  */
 public class TypeDecoder {
+    private static final ConcurrentMap<Class<?>, Integer> staticStructFlatSizes =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, int[]> nestedStaticStructLengths =
+            new ConcurrentHashMap<>();
+
     @SuppressWarnings("unchecked")
     public static <T extends Type> T decode(byte[] input, int offset, TypeReference<T> type)
             throws ClassNotFoundException {
         Class<T> cls = type.getClassType();
         if (NumericType.class.isAssignableFrom(cls)) {
-            return (T)
-                    decodeNumeric(
-                            Arrays.copyOfRange(input, offset, input.length),
-                            (Class<NumericType>) cls);
+            return (T) decodeNumeric(input, offset, (Class<NumericType>) cls);
         } else if (Address.class.isAssignableFrom(cls)) {
-            return (T) decodeAddress(Arrays.copyOfRange(input, offset, input.length));
+            return (T) decodeAddress(input, offset);
         } else if (Bool.class.isAssignableFrom(cls)) {
             return (T) decodeBool(input, offset);
         } else if (Bytes.class.isAssignableFrom(cls)) {
@@ -75,35 +75,58 @@ public class TypeDecoder {
     }
 
     public static Address decodeAddress(byte[] input) {
-        return new Address(decodeNumeric(input, Uint160.class));
+        return decodeAddress(input, 0);
+    }
+
+    public static Address decodeAddress(byte[] input, int offset) {
+        return new Address(decodeNumeric(input, offset, Uint160.class));
     }
 
     public static <T extends NumericType> T decodeNumeric(byte[] inputByteArray, Class<T> type) {
-        try {
-            int typeLengthAsBytes = getTypeLengthInBytes(type);
+        return decodeNumeric(inputByteArray, 0, type);
+    }
 
-            byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+    /**
+     * decode the numeric value held by the 32 bytes word at an offset
+     *
+     * @param input the encoded data
+     * @param offset the offset of the word
+     * @param type the numeric type
+     * @param <T> the numeric type
+     * @return the value, no copy of the input is made
+     */
+    public static <T extends NumericType> T decodeNumeric(byte[] input, int offset, Class<T> type) {
+        TypeFactory.NumericFactory<T> factory = TypeFactory.getNumericFactory(type);
+        return factory.create(
+                decodeNumericValue(input, offset, factory.getByteLength(), factory.isSigned()));
+    }
 
-            if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
-                // NOTE (first byte & 0xffff) >> 7 means take the MSB as sign bit
-                resultByteArray[0] = (byte) ((inputByteArray[0] & 0xffff) >> 7);
+    private static BigInteger decodeNumericValue(
+            byte[] input, int offset, int typeLengthAsBytes, boolean signed) {
+        // NOTE the MSB of the word is the sign bit of the signed types
+        byte fill = signed && input[offset] < 0 ? (byte) -1 : 0;
+        int end = offset + Type.MAX_BYTE_LENGTH;
+        int valueOffset = end - typeLengthAsBytes;
+
+        // most values fit in a long, decode them without the intermediate byte array
+        int i = valueOffset;
+        while (i < end - Long.BYTES && input[i] == fill) {
+            i++;
+        }
+        if (end - i <= Long.BYTES) {
+            long value = fill;
+            for (; i < end; i++) {
+                value = (value << 8) | (input[i] & 0xff);
+            }
+            if ((value < 0) == (fill != 0)) {
+                return BigInteger.valueOf(value);
             }
-
-            int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
-            System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
-
-            BigInteger numericValue = new BigInteger(resultByteArray);
-            return type.getConstructor(BigInteger.class).newInstance(numericValue);
-
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
         }
+
+        byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+        resultByteArray[0] = fill;
+        System.arraycopy(input, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+        return new BigInteger(resultByteArray);
     }
 
     static <T extends NumericType> int getTypeLengthInBytes(Class<T> type) {
@@ -111,62 +134,43 @@ public class TypeDecoder {
     }
 
     static <T extends NumericType> int getTypeLength(Class<T> type) {
-        if (IntType.class.isAssignableFrom(type)) {
-            String regex = "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
-            String[] splitName = type.getSimpleName().split(regex);
-            if (splitName.length == 2) {
-                return Integer.parseInt(splitName[1]);
-            }
-        } else if (FixedPointType.class.isAssignableFrom(type)) {
-            String regex =
-                    "(" + Ufixed.class.getSimpleName() + "|" + Fixed.class.getSimpleName() + ")";
-            String[] splitName = type.getSimpleName().split(regex);
-            if (splitName.length == 2) {
-                String[] bitsCounts = splitName[1].split("x");
-                return Integer.parseInt(bitsCounts[0]) + Integer.parseInt(bitsCounts[1]);
-            }
-        }
-        return Type.MAX_BIT_LENGTH;
+        return TypeFactory.getBitLength(type);
     }
 
     public static int decodeUintAsInt(byte[] rawInput, int offset) {
-        byte[] input = Arrays.copyOfRange(rawInput, offset, offset + Type.MAX_BYTE_LENGTH);
+        checkOffset(rawInput, offset);
+        // the low 32 bits of the word, the missing tail of a short input reads as zero
         int result = 0;
-        try {
-            result = decode(input, 0, TypeReference.create(Uint.class)).getValue().intValue();
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
+        int end = offset + Type.MAX_BYTE_LENGTH;
+        for (int i = end - Integer.BYTES; i < end; i++) {
+            result = (result << 8) | (i < rawInput.length ? rawInput[i] & 0xff : 0);
         }
         return result;
     }
 
     public static Bool decodeBool(byte[] rawInput, int offset) {
-        BigInteger numericValue =
-                new BigInteger(Arrays.copyOfRange(rawInput, offset, offset + Type.MAX_BYTE_LENGTH));
-        boolean value = numericValue.equals(BigInteger.ONE);
+        checkOffset(rawInput, offset);
+        int end = offset + Type.MAX_BYTE_LENGTH;
+        boolean value = end <= rawInput.length && rawInput[end - 1] == 1;
+        for (int i = offset; value && i < end - 1; i++) {
+            value = rawInput[i] == 0;
+        }
         return new Bool(value);
     }
 
+    private static void checkOffset(byte[] input, int offset) {
+        if (offset < 0 || offset > input.length) {
+            throw new ArrayIndexOutOfBoundsException(offset);
+        }
+    }
+
     public static <T extends Bytes> T decodeBytes(byte[] input, Class<T> type) {
         return decodeBytes(input, 0, type);
     }
 
     public static <T extends Bytes> T decodeBytes(byte[] input, int offset, Class<T> type) {
-        try {
-            String simpleName = type.getSimpleName();
-            String[] splitName = simpleName.split(Bytes.class.getSimpleName());
-            int length = Integer.parseInt(splitName[1]);
-            byte[] bytes = Arrays.copyOfRange(input, offset, offset + length);
-            return type.getConstructor(byte[].class).newInstance(bytes);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
-        }
+        TypeFactory.BytesFactory<T> factory = TypeFactory.getBytesFactory(type);
+        return factory.create(Arrays.copyOfRange(input, offset, offset + factory.getLength()));
     }
 
     public static DynamicBytes decodeDynamicBytes(byte[] input, int offset) {
@@ -200,16 +204,7 @@ public class TypeDecoder {
 
     @SuppressWarnings("unchecked")
     public static <T extends Type> T instantiateStaticArray(List<T> elements, int length) {
-        try {
-            Class<? extends StaticArray> arrayClass =
-                    (Class<? extends StaticArray>)
-                            Class.forName(
-                                    "org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray"
-                                            + length);
-            return (T) arrayClass.getConstructor(List.class).newInstance(elements);
-        } catch (ReflectiveOperationException e) {
-            throw new UnsupportedOperationException(e);
-        }
+        return (T) TypeFactory.newStaticArray(elements, length);
     }
 
     public static <T extends Type> T decodeDynamicArray(
@@ -241,6 +236,7 @@ public class TypeDecoder {
                     ((ParameterizedType) typeReference.getType()).getActualTypeArguments();
             // cls without parameterized type
             Class<T> classType = Utils.getClassType(types[0]);
+            TypeReference<T> elementType = TypeReference.create(types[0]);
             if (StructType.class.isAssignableFrom(classType)) {
                 for (int i = 0, currOffset = offset;
                         i < length;
@@ -256,11 +252,9 @@ public class TypeDecoder {
                                         offset
                                                 + FunctionReturnDecoder.getDataOffset(
                                                         input, currOffset, typeReference),
-                                        TypeReference.create(types[0]));
+                                        elementType);
                     } else {
-                        value =
-                                TypeDecoder.decodeStaticStruct(
-                                        input, currOffset, TypeReference.create(types[0]));
+                        value = TypeDecoder.decodeStaticStruct(input, currOffset, elementType);
                     }
                     elements.add(value);
                 }
@@ -269,46 +263,35 @@ public class TypeDecoder {
                 return consumer.apply(elements, typeName);
             } else {
                 int currOffset = offset;
+                int staticArraySize =
+                        StaticArray.class.isAssignableFrom(classType)
+                                ? Integer.parseInt(
+                                        Utils.getSimpleTypeName(classType)
+                                                .substring(
+                                                        StaticArray.class.getSimpleName().length()))
+                                : 0;
                 for (int i = 0; i < length; i++) {
                     T value;
                     if (Array.class.isAssignableFrom(classType)) {
                         if (StaticArray.class.isAssignableFrom(classType)) {
-                            int size =
-                                    Integer.parseInt(
-                                            Utils.getSimpleTypeName(classType)
-                                                    .substring(
-                                                            StaticArray.class
-                                                                    .getSimpleName()
-                                                                    .length()));
                             value =
                                     decodeStaticArray(
-                                            input,
-                                            currOffset,
-                                            TypeReference.create(types[0]),
-                                            size);
+                                            input, currOffset, elementType, staticArraySize);
                         } else {
                             int getOffset =
                                     FunctionReturnDecoder.getDataOffset(
-                                            input, currOffset, TypeReference.create(types[0]));
-                            value =
-                                    decodeDynamicArray(
-                                            input,
-                                            offset + getOffset,
-                                            TypeReference.create(types[0]));
+                                            input, currOffset, elementType);
+                            value = decodeDynamicArray(input, offset + getOffset, elementType);
                         }
                     } else {
                         if (isDynamic(classType)) {
                             int getOffset =
                                     FunctionReturnDecoder.getDataOffset(
                                             input, currOffset, typeReference);
-                            value =
-                                    decode(
-                                            input,
-                                            offset + getOffset,
-                                            TypeReference.create(types[0]));
+                            value = decode(input, offset + getOffset, elementType);
                             currOffset += Type.MAX_BYTE_LENGTH;
                         } else {
-                            value = decode(input, currOffset, TypeReference.create(types[0]));
+                            value = decode(input, currOffset, elementType);
                             currOffset +=
                                     getSingleElementLength(input, currOffset, classType)
                                             * Type.MAX_BYTE_LENGTH;
@@ -342,7 +325,7 @@ public class TypeDecoder {
             // length field + data value
             return (decodeUintAsInt(input, offset) / Type.MAX_BYTE_LENGTH) + 2;
         } else if (StaticStruct.class.isAssignableFrom(type)) {
-            return Utils.staticStructNestedPublicFieldsFlatList((Class<Type>) type).size();
+            return getStaticStructFlatSize(type);
         } else {
             return 1;
         }
@@ -363,32 +346,32 @@ public class TypeDecoder {
         return decodeDynamicStructElements(input, offset, typeReference, function);
     }
 
-    @SuppressWarnings("unchecked")
     private static <T extends Type> T instantiateStruct(
             final TypeReference<T> typeReference, final List<T> parameters) {
         try {
-            Constructor ctor =
-                    Arrays.stream(typeReference.getClassType().getDeclaredConstructors())
-                            .filter(
-                                    declaredConstructor ->
-                                            Arrays.stream(declaredConstructor.getParameterTypes())
-                                                            .allMatch(Type.class::isAssignableFrom)
-                                                    && declaredConstructor.getParameterTypes()
-                                                                    .length
-                                                            > 0)
-                            .findAny()
-                            .orElseThrow(
-                                    () ->
-                                            new RuntimeException(
-                                                    "TypeReference struct must contain a constructor with types that extend Type"));
-            ctor.setAccessible(true);
-            return (T) ctor.newInstance(parameters.toArray());
-        } catch (ReflectiveOperationException e) {
+            return TypeFactory.getStructFactory(typeReference.getClassType())
+                    .newInstance(parameters);
+        } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
                     "Constructor cannot accept" + Arrays.toString(parameters.toArray()), e);
         }
     }
 
+    /** the number of words of a static struct with its nested static structs flattened */
+    @SuppressWarnings("unchecked")
+    static int getStaticStructFlatSize(Class<?> type) {
+        Integer size = staticStructFlatSizes.get(type);
+        if (size == null) {
+            size =
+                    staticStructFlatSizes.computeIfAbsent(
+                            type,
+                            cls ->
+                                    Utils.staticStructNestedPublicFieldsFlatList((Class<Type>) cls)
+                                            .size());
+        }
+        return size;
+    }
+
     @SuppressWarnings("unchecked")
     private static <T extends Type> T decodeDynamicStructElements(
             final byte[] input,
@@ -397,71 +380,41 @@ public class TypeDecoder {
             final BiFunction<List<T>, String, T> consumer) {
         try {
             final Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor =
-                    Arrays.stream(classType.getDeclaredConstructors())
-                            .filter(
-                                    declaredConstructor ->
-                                            Arrays.stream(declaredConstructor.getParameterTypes())
-                                                            .allMatch(Type.class::isAssignableFrom)
-                                                    && declaredConstructor.getParameterTypes()
-                                                                    .length
-                                                            > 0)
-                            .findAny()
-                            .orElseThrow(
-                                    () ->
-                                            new RuntimeException(
-                                                    "TypeReferenced struct must contain a constructor with types that extend Type"));
-
-            final int length = constructor.getParameterCount();
-            final Map<Integer, T> parameters = new HashMap<>();
+            final TypeFactory.StructFactory<T> structFactory =
+                    TypeFactory.getStructFactory(classType);
+
+            final int length = structFactory.getParameterCount();
+            final List<T> elements = new ArrayList<>(Collections.nCopies(length, null));
             int staticOffset = 0;
             final List<Integer> parameterOffsets = new ArrayList<>();
             for (int i = 0; i < length; ++i) {
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
-                TypeReference<T> typeReferenceElement =
-                        TypeReference.create(constructor.getGenericParameterTypes()[i]);
+                final Class<T> declaredField = structFactory.getParameterType(i);
+                TypeReference<T> typeReferenceElement = structFactory.getParameterTypeReference(i);
                 final T value;
                 final int beginIndex = offset + staticOffset;
                 if (isDynamic(declaredField)) {
                     final int parameterOffset =
-                            (decodeDynamicStructDynamicParameterOffset(
-                                            Arrays.copyOfRange(
-                                                    input,
-                                                    beginIndex,
-                                                    beginIndex + Type.MAX_BYTE_LENGTH)))
-                                    + offset;
+                            decodeDynamicStructDynamicParameterOffset(input, beginIndex) + offset;
                     parameterOffsets.add(parameterOffset);
                     staticOffset += Type.MAX_BYTE_LENGTH;
                 } else {
                     if (StaticStruct.class.isAssignableFrom(declaredField)) {
                         value =
                                 decodeStaticStruct(
-                                        Arrays.copyOfRange(input, beginIndex, input.length),
-                                        0,
-                                        TypeReference.create(declaredField));
-                        staticOffset +=
-                                Utils.staticStructNestedPublicFieldsFlatList(
-                                                        (Class<Type>) classType)
-                                                .size()
-                                        * Type.MAX_BYTE_LENGTH;
+                                        input, beginIndex, TypeReference.create(declaredField));
+                        staticOffset += getStaticStructFlatSize(classType) * Type.MAX_BYTE_LENGTH;
                     } else {
-                        value =
-                                decode(
-                                        Arrays.copyOfRange(input, beginIndex, input.length),
-                                        0,
-                                        typeReferenceElement);
+                        value = decode(input, beginIndex, typeReferenceElement);
                         staticOffset += value.bytes32PaddedLength();
                     }
-                    parameters.put(i, value);
+                    elements.set(i, value);
                 }
             }
             int dynamicParametersProcessed = 0;
-            int dynamicParametersToProcess =
-                    getDynamicStructDynamicParametersCount(constructor.getParameterTypes());
+            int dynamicParametersToProcess = getDynamicStructDynamicParametersCount(structFactory);
             for (int i = 0; i < length; ++i) {
-                TypeReference<T> typeReferenceElement =
-                        TypeReference.create(constructor.getGenericParameterTypes()[i]);
-                if (isDynamic(typeReferenceElement.getClassType())) {
+                TypeReference<T> typeReferenceElement = structFactory.getParameterTypeReference(i);
+                if (isDynamic(structFactory.getParameterType(i))) {
                     final boolean isLastParameterInStruct =
                             dynamicParametersProcessed == (dynamicParametersToProcess - 1);
                     final int parameterLength =
@@ -470,7 +423,7 @@ public class TypeDecoder {
                                             - parameterOffsets.get(dynamicParametersProcessed)
                                     : parameterOffsets.get(dynamicParametersProcessed + 1)
                                             - parameterOffsets.get(dynamicParametersProcessed);
-                    parameters.put(
+                    elements.set(
                             i,
                             decodeDynamicParameterFromStruct(
                                     input,
@@ -482,12 +435,6 @@ public class TypeDecoder {
             }
 
             String typeName = Utils.getSimpleTypeName(classType);
-
-            final List<T> elements = new ArrayList<>();
-            for (int i = 0; i < length; ++i) {
-                elements.add(parameters.get(i));
-            }
-
             return consumer.apply(elements, typeName);
         } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
@@ -496,14 +443,20 @@ public class TypeDecoder {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends Type> int getDynamicStructDynamicParametersCount(
-            final Class<?>[] cls) {
-        return (int) Arrays.stream(cls).filter(c -> isDynamic((Class<T>) c)).count();
+    private static int getDynamicStructDynamicParametersCount(
+            final TypeFactory.StructFactory<?> structFactory) {
+        int count = 0;
+        for (int i = 0; i < structFactory.getParameterCount(); i++) {
+            if (isDynamic(structFactory.getParameterType(i))) {
+                count++;
+            }
+        }
+        return count;
     }
 
-    private static int decodeDynamicStructDynamicParameterOffset(final byte[] input) {
-        return decodeUintAsInt(input, 0);
+    private static int decodeDynamicStructDynamicParameterOffset(
+            final byte[] input, final int offset) {
+        return decodeUintAsInt(input, offset);
     }
 
     private static <T extends Type> T decodeDynamicParameterFromStruct(
@@ -541,7 +494,6 @@ public class TypeDecoder {
         return decodeStaticStructElement(input, offset, typeReference, function);
     }
 
-    @SuppressWarnings("unchecked")
     private static <T extends Type> T decodeStaticStructElement(
             final byte[] input,
             final int offset,
@@ -549,37 +501,17 @@ public class TypeDecoder {
             final BiFunction<List<T>, String, T> consumer) {
         try {
             Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor =
-                    Arrays.stream(classType.getDeclaredConstructors())
-                            .filter(
-                                    declaredConstructor ->
-                                            Arrays.stream(declaredConstructor.getParameterTypes())
-                                                            .allMatch(Type.class::isAssignableFrom)
-                                                    && declaredConstructor.getParameterTypes()
-                                                                    .length
-                                                            > 0)
-                            .findAny()
-                            .orElseThrow(
-                                    () ->
-                                            new RuntimeException(
-                                                    "TypeReferenced struct must contain a constructor with types that extend Type"));
-            final int length = constructor.getParameterCount();
+            TypeFactory.StructFactory<T> structFactory = TypeFactory.getStructFactory(classType);
+            final int length = structFactory.getParameterCount();
             List<T> elements = new ArrayList<>(length);
 
             for (int i = 0, currOffset = offset; i < length; i++) {
                 T value;
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
-                TypeReference<T> typeReferenceElement =
-                        TypeReference.create(constructor.getGenericParameterTypes()[i]);
+                final Class<T> declaredField = structFactory.getParameterType(i);
+                TypeReference<T> typeReferenceElement = structFactory.getParameterTypeReference(i);
                 if (StaticStruct.class.isAssignableFrom(declaredField)) {
                     final int nestedStructLength =
-                            classType
-                                            .getDeclaredFields()[i]
-                                            .getType()
-                                            .getConstructors()[0]
-                                            .getParameters()
-                                            .length
-                                    * Type.MAX_BYTE_LENGTH;
+                            getNestedStaticStructLength(classType, i) * Type.MAX_BYTE_LENGTH;
                     value =
                             decodeStaticStruct(
                                     Arrays.copyOfRange(
@@ -607,4 +539,33 @@ public class TypeDecoder {
                     e);
         }
     }
+
+    /** the number of members of the constructor of the nested static struct at an index */
+    @SuppressWarnings("unchecked")
+    private static int getNestedStaticStructLength(Class<?> structType, int index) {
+        int[] lengths = nestedStaticStructLengths.get(structType);
+        if (lengths == null) {
+            lengths =
+                    nestedStaticStructLengths.computeIfAbsent(
+                            structType,
+                            cls -> {
+                                TypeFactory.StructFactory<?> structFactory =
+                                        TypeFactory.getStructFactory((Class<Type>) cls);
+                                int[] result = new int[structFactory.getParameterCount()];
+                                for (int i = 0; i < result.length; i++) {
+                                    if (StaticStruct.class.isAssignableFrom(
+                                            structFactory.getParameterType(i))) {
+                                        result[i] =
+                                                cls.getDeclaredFields()[i]
+                                                        .getType()
+                                                        .getConstructors()[0]
+                                                        .getParameters()
+                                                        .length;
+                                    }
+                                }
+                                return result;
+                            });
+        }
+        return lengths[index];
+    }
 }
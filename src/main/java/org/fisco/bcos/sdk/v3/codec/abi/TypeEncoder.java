@@ -2,13 +2,10 @@ package org.fisco.bcos.sdk.v3.codec.abi;
 
 import static org.fisco.bcos.sdk.v3.codec.datatypes.Type.MAX_BYTE_LENGTH;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Array;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Bool;
@@ -27,34 +24,101 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 /**
  * Ethereum Contract Application Binary Interface (ABI) encoding for types. Further details are
  * available <a href= "https://github.com/ethereum/wiki/wiki/Ethereum-Contract-ABI">here</a>.
+ *
+ * <p>Encoding runs in two passes: {@link #encodedLength(Type)} computes the exact size of the
+ * encoding, then {@link #encode(Type, byte[], int)} writes it into a single buffer. The content of
+ * bytes and strings is copied once, from the value into the buffer.
  */
 public class TypeEncoder {
     private TypeEncoder() {}
 
     public static byte[] encode(Type parameter) {
+        byte[] result = new byte[encodedLength(parameter)];
+        encode(parameter, result, 0);
+        return result;
+    }
+
+    /**
+     * compute the size of the encoding of a value
+     *
+     * @param parameter the value
+     * @return the number of bytes written by {@link #encode(Type, byte[], int)}
+     */
+    public static int encodedLength(Type parameter) {
+        if (parameter instanceof NumericType
+                || parameter instanceof Address
+                || parameter instanceof Bool) {
+            return MAX_BYTE_LENGTH;
+        } else if (parameter instanceof Bytes) {
+            return paddedLength(((Bytes) parameter).getValue().length);
+        } else if (parameter instanceof DynamicBytes) {
+            return MAX_BYTE_LENGTH + paddedLength(((DynamicBytes) parameter).getValue().length);
+        } else if (parameter instanceof Utf8String) {
+            return MAX_BYTE_LENGTH
+                    + paddedLength(Utils.utf8Length(((Utf8String) parameter).getValue()));
+        } else if (parameter instanceof StaticArray) {
+            StaticArray<?> array = (StaticArray<?>) parameter;
+            if (DynamicStruct.class.isAssignableFrom(array.getComponentType())) {
+                return array.getValue().size() * MAX_BYTE_LENGTH + arrayValuesLength(array);
+            } else {
+                return arrayValuesLength(array);
+            }
+        } else if (parameter instanceof DynamicStruct) {
+            int length = 0;
+            for (Type type : ((DynamicStruct) parameter).getValue()) {
+                length += isDynamic(type) ? MAX_BYTE_LENGTH : 0;
+                length += encodedLength(type);
+            }
+            return length;
+        } else if (parameter instanceof DynamicArray) {
+            DynamicArray<?> array = (DynamicArray<?>) parameter;
+            return (array.isFixed() ? 0 : MAX_BYTE_LENGTH)
+                    + arrayValuesOffsetsCount(array) * MAX_BYTE_LENGTH
+                    + arrayValuesLength(array);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+
+    /**
+     * encode a value into a buffer
+     *
+     * @param parameter the value
+     * @param dest the buffer, it must hold {@link #encodedLength(Type)} bytes from the offset
+     * @param offset the offset to write at
+     * @return the offset following the encoding
+     */
+    public static int encode(Type parameter, byte[] dest, int offset) {
         if (parameter instanceof NumericType) {
-            return encodeNumeric(((NumericType) parameter));
+            return writeNumeric((NumericType) parameter, dest, offset);
         } else if (parameter instanceof Address) {
-            return encodeAddress((Address) parameter);
+            return writeNumeric(((Address) parameter).toUint160(), dest, offset);
         } else if (parameter instanceof Bool) {
-            return encodeBool((Bool) parameter);
+            return writeUint(((Bool) parameter).getValue() ? 1 : 0, dest, offset);
         } else if (parameter instanceof Bytes) {
-            return encodeBytes((Bytes) parameter);
+            return writeBytes(((Bytes) parameter).getValue(), dest, offset);
         } else if (parameter instanceof DynamicBytes) {
-            return encodeDynamicBytes((DynamicBytes) parameter);
+            byte[] value = ((DynamicBytes) parameter).getValue();
+            offset = writeUint(value.length, dest, offset);
+            return writeBytes(value, dest, offset);
         } else if (parameter instanceof Utf8String) {
-            return encodeString((Utf8String) parameter);
+            return writeString(((Utf8String) parameter).getValue(), dest, offset);
         } else if (parameter instanceof StaticArray) {
-            if (DynamicStruct.class.isAssignableFrom(
-                    ((StaticArray) parameter).getComponentType())) {
-                return encodeStaticArrayWithDynamicStruct((StaticArray) parameter);
-            } else {
-                return encodeArrayValues((StaticArray) parameter);
+            StaticArray<?> array = (StaticArray<?>) parameter;
+            if (DynamicStruct.class.isAssignableFrom(array.getComponentType())) {
+                offset = writeStructsArraysOffsets(array, dest, offset);
             }
+            return writeArrayValues(array, dest, offset);
         } else if (parameter instanceof DynamicStruct) {
-            return encodeDynamicStruct((DynamicStruct) parameter);
+            return writeDynamicStructValues((DynamicStruct) parameter, dest, offset);
         } else if (parameter instanceof DynamicArray) {
-            return encodeDynamicArray((DynamicArray) parameter);
+            DynamicArray<?> array = (DynamicArray<?>) parameter;
+            if (!array.isFixed()) {
+                offset = writeUint(array.getValue().size(), dest, offset);
+            }
+            offset = writeArrayValuesOffsets(array, dest, offset);
+            return writeArrayValues(array, dest, offset);
         } else {
             throw new UnsupportedOperationException(
                     "Type cannot be encoded: " + parameter.getClass());
@@ -66,26 +130,24 @@ public class TypeEncoder {
     }
 
     public static byte[] encodeNumeric(NumericType numericType) {
-        byte[] rawValue = toByteArray(numericType);
-        byte paddingValue = getPaddingValue(numericType);
         byte[] paddedRawValue = new byte[MAX_BYTE_LENGTH];
-        if (paddingValue != 0) {
-            for (int i = 0; i < paddedRawValue.length; i++) {
-                paddedRawValue[i] = paddingValue;
-            }
-        }
-
-        System.arraycopy(
-                rawValue, 0, paddedRawValue, MAX_BYTE_LENGTH - rawValue.length, rawValue.length);
+        writeNumeric(numericType, paddedRawValue, 0);
         return paddedRawValue;
     }
 
-    private static byte getPaddingValue(NumericType numericType) {
-        if (numericType.getValue().signum() == -1) {
-            return (byte) 0xff;
-        } else {
-            return 0;
+    private static int writeNumeric(NumericType numericType, byte[] dest, int offset) {
+        BigInteger value = numericType.getValue();
+        byte paddingValue = value.signum() == -1 ? (byte) 0xff : 0;
+        int end = offset + MAX_BYTE_LENGTH;
+        if (value.bitLength() < Long.SIZE) {
+            Arrays.fill(dest, offset, end - Long.BYTES, paddingValue);
+            writeLong(value.longValue(), dest, end - Long.BYTES);
+            return end;
         }
+        byte[] rawValue = toByteArray(numericType);
+        Arrays.fill(dest, offset, end, paddingValue);
+        System.arraycopy(rawValue, 0, dest, end - rawValue.length, rawValue.length);
+        return end;
     }
 
     private static byte[] toByteArray(NumericType numericType) {
@@ -103,6 +165,41 @@ public class TypeEncoder {
         return value.toByteArray();
     }
 
+    /** write a non negative length or offset as a uint256 word */
+    static int writeUint(long value, byte[] dest, int offset) {
+        int end = offset + MAX_BYTE_LENGTH;
+        Arrays.fill(dest, offset, end - Long.BYTES, (byte) 0);
+        writeLong(value, dest, end - Long.BYTES);
+        return end;
+    }
+
+    private static void writeLong(long value, byte[] dest, int offset) {
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            dest[offset + i] = (byte) value;
+            value >>= 8;
+        }
+    }
+
+    private static int writeBytes(byte[] value, byte[] dest, int offset) {
+        System.arraycopy(value, 0, dest, offset, value.length);
+        int end = offset + paddedLength(value.length);
+        Arrays.fill(dest, offset + value.length, end, (byte) 0);
+        return end;
+    }
+
+    private static int writeString(String value, byte[] dest, int offset) {
+        int length = Utils.utf8Length(value);
+        offset = writeUint(length, dest, offset);
+        int position = Utils.encodeUtf8(value, dest, offset);
+        int end = offset + paddedLength(length);
+        Arrays.fill(dest, position, end, (byte) 0);
+        return end;
+    }
+
+    private static int paddedLength(int length) {
+        return (length + MAX_BYTE_LENGTH - 1) / MAX_BYTE_LENGTH * MAX_BYTE_LENGTH;
+    }
+
     public static byte[] encodeBool(Bool value) {
         byte[] rawValue = new byte[MAX_BYTE_LENGTH];
         if (value.getValue()) {
@@ -128,119 +225,101 @@ public class TypeEncoder {
     }
 
     public static byte[] encodeDynamicBytes(DynamicBytes dynamicBytes) {
-        int size = dynamicBytes.getValue().length;
-        byte[] encodedLength = encode(new Uint(BigInteger.valueOf(size)));
-        byte[] encodedValue = encodeBytes(dynamicBytes);
-
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        try {
-            byteArrayOutputStream.write(encodedLength);
-            byteArrayOutputStream.write(encodedValue);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
-        return byteArrayOutputStream.toByteArray();
+        return encode(dynamicBytes);
     }
 
     public static byte[] encodeString(Utf8String string) {
-        byte[] utfEncoded = string.getValue().getBytes(StandardCharsets.UTF_8);
-        return encodeDynamicBytes(new DynamicBytes(utfEncoded));
+        return encode(string);
     }
 
     public static <T extends Type> byte[] encodeArrayValues(Array<T> value) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            for (Type type : value.getValue()) {
-                result.write(encode(type));
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+        byte[] result = new byte[arrayValuesLength(value)];
+        writeArrayValues(value, result, 0);
+        return result;
+    }
+
+    private static int arrayValuesLength(Array<?> value) {
+        int length = 0;
+        for (Type type : value.getValue()) {
+            length += encodedLength(type);
         }
-        return result.toByteArray();
+        return length;
     }
 
-    public static <T extends Type> byte[] encodeDynamicArray(DynamicArray<T> value) {
-        int size = value.getValue().size();
-        byte[] encodedLength = encode(new Uint(BigInteger.valueOf(size)));
-        byte[] valuesOffsets = encodeArrayValuesOffsets(value);
-        byte[] encodedValues = encodeArrayValues(value);
-
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            if (!value.isFixed()) {
-                result.write(encodedLength);
-            }
-            result.write(valuesOffsets);
-            result.write(encodedValues);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+    private static int writeArrayValues(Array<?> value, byte[] dest, int offset) {
+        for (Type type : value.getValue()) {
+            offset = encode(type, dest, offset);
         }
-        return result.toByteArray();
+        return offset;
+    }
+
+    public static <T extends Type> byte[] encodeDynamicArray(DynamicArray<T> value) {
+        return encode(value);
     }
 
     static <T extends Type> byte[] encodeArrayValuesOffsets(DynamicArray<T> value) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        boolean arrayOfBytes =
-                !value.getValue().isEmpty() && value.getValue().get(0) instanceof DynamicBytes;
-        boolean arrayOfString =
-                !value.getValue().isEmpty() && value.getValue().get(0) instanceof Utf8String;
-        boolean arrayOfDynamicStructs =
-                !value.getValue().isEmpty() && value.getValue().get(0) instanceof DynamicStruct;
-        boolean arrayOfDynamicArray =
-                !value.getValue().isEmpty() && value.getValue().get(0) instanceof DynamicArray;
-        try {
-            if (arrayOfBytes || arrayOfString) {
-                long offset = 0;
-                for (int i = 0; i < value.getValue().size(); i++) {
-                    if (i == 0) {
-                        offset = (long) value.getValue().size() * MAX_BYTE_LENGTH;
-                    } else {
-                        int bytesLength =
-                                arrayOfBytes
-                                        ? ((byte[]) value.getValue().get(i - 1).getValue()).length
-                                        : ((String) value.getValue().get(i - 1).getValue())
-                                                .getBytes()
-                                                .length;
-
-                        int numberOfWords = (bytesLength + MAX_BYTE_LENGTH - 1) / MAX_BYTE_LENGTH;
-                        int totalBytesLength = numberOfWords * MAX_BYTE_LENGTH;
-                        offset += totalBytesLength + MAX_BYTE_LENGTH;
-                    }
-                    result.write(
-                            toBytesPadded(new BigInteger(Long.toString(offset)), MAX_BYTE_LENGTH));
+        byte[] result = new byte[arrayValuesOffsetsCount(value) * MAX_BYTE_LENGTH];
+        writeArrayValuesOffsets(value, result, 0);
+        return result;
+    }
+
+    /** @return the number of offsets preceding the values of a dynamic array */
+    private static int arrayValuesOffsetsCount(DynamicArray<?> value) {
+        List<?> values = value.getValue();
+        if (values.isEmpty()) {
+            return 0;
+        }
+        Object first = values.get(0);
+        if (first instanceof DynamicBytes
+                || first instanceof Utf8String
+                || first instanceof DynamicArray) {
+            // DynamicStruct is a DynamicArray
+            return values.size();
+        }
+        return 0;
+    }
+
+    private static int writeArrayValuesOffsets(DynamicArray<?> value, byte[] dest, int offset) {
+        List<? extends Type> values = value.getValue();
+        if (arrayValuesOffsetsCount(value) == 0) {
+            return offset;
+        }
+        Type first = values.get(0);
+        if (first instanceof DynamicBytes || first instanceof Utf8String) {
+            boolean arrayOfBytes = first instanceof DynamicBytes;
+            long valueOffset = (long) values.size() * MAX_BYTE_LENGTH;
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    Type previous = values.get(i - 1);
+                    int bytesLength =
+                            arrayOfBytes
+                                    ? ((byte[]) previous.getValue()).length
+                                    : Utils.utf8Length((String) previous.getValue());
+                    valueOffset += paddedLength(bytesLength) + MAX_BYTE_LENGTH;
                 }
-            } else if (arrayOfDynamicStructs || arrayOfDynamicArray) {
-                result.write(encodeStructsArraysOffsets(value));
+                offset = writeUint(valueOffset, dest, offset);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+            return offset;
         }
-        return result.toByteArray();
+        return writeStructsArraysOffsets(value, dest, offset);
     }
 
     static <T extends Type> byte[] encodeStructsArraysOffsets(Array<T> value) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        long offset = value.getValue().size();
-        List<byte[]> tailsEncoding =
-                value.getValue().stream().map(TypeEncoder::encode).collect(Collectors.toList());
-        for (int i = 0; i < value.getValue().size(); i++) {
-            if (i == 0) {
-                offset = offset * MAX_BYTE_LENGTH;
-            } else {
-                offset += tailsEncoding.get(i - 1).length;
-            }
-            try {
-                result.write(toBytesPadded(new BigInteger(Long.toString(offset)), MAX_BYTE_LENGTH));
-            } catch (IOException e) {
-                e.printStackTrace();
-                return null;
+        byte[] result = new byte[value.getValue().size() * MAX_BYTE_LENGTH];
+        writeStructsArraysOffsets(value, result, 0);
+        return result;
+    }
+
+    private static int writeStructsArraysOffsets(Array<?> value, byte[] dest, int offset) {
+        List<? extends Type> values = value.getValue();
+        long valueOffset = (long) values.size() * MAX_BYTE_LENGTH;
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                valueOffset += encodedLength(values.get(i - 1));
             }
+            offset = writeUint(valueOffset, dest, offset);
         }
-        return result.toByteArray();
+        return offset;
     }
 
     static byte[] toBytesPadded(BigInteger value, int length) {
@@ -267,73 +346,43 @@ public class TypeEncoder {
     }
 
     static <T extends Type> byte[] encodeStaticArrayWithDynamicStruct(Array<T> value) {
-        byte[] valuesOffsets = encodeStructsArraysOffsets(value);
-        byte[] encodedValues = encodeArrayValues(value);
-
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-
-            result.write(valuesOffsets);
-            result.write(encodedValues);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
-        return result.toByteArray();
+        byte[] result =
+                new byte[value.getValue().size() * MAX_BYTE_LENGTH + arrayValuesLength(value)];
+        int offset = writeStructsArraysOffsets(value, result, 0);
+        writeArrayValues(value, result, offset);
+        return result;
     }
 
     public static byte[] encodeDynamicStruct(final DynamicStruct value) {
-        byte[] encodedValues = encodeDynamicStructValues(value);
-
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            result.write(encodedValues);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
-        return result.toByteArray();
+        return encode(value);
     }
 
-    private static byte[] encodeDynamicStructValues(final DynamicStruct value) {
+    private static int writeDynamicStructValues(
+            final DynamicStruct value, byte[] dest, int offset) {
+        List<Type> values = value.getValue();
         int staticSize = 0;
-        for (int i = 0; i < value.getValue().size(); ++i) {
-            final Type type = value.getValue().get(i);
+        for (final Type type : values) {
             if (isDynamic(type)) {
                 staticSize += 32;
             } else {
                 staticSize += type.bytes32PaddedLength();
             }
         }
-        int dynamicOffset = staticSize;
-        final List<byte[]> offsetsAndStaticValues = new ArrayList<>();
-        final List<byte[]> dynamicValues = new ArrayList<>();
-        for (int i = 0; i < value.getValue().size(); ++i) {
-            final Type type = value.getValue().get(i);
+        long dynamicOffset = staticSize;
+        for (final Type type : values) {
             if (isDynamic(type)) {
-                offsetsAndStaticValues.add(
-                        toBytesPadded(
-                                new BigInteger(Long.toString(dynamicOffset)), MAX_BYTE_LENGTH));
-                byte[] encodedValue = encode(type);
-                dynamicValues.add(encodedValue);
-                dynamicOffset += encodedValue.length;
+                offset = writeUint(dynamicOffset, dest, offset);
+                dynamicOffset += encodedLength(type);
             } else {
-                offsetsAndStaticValues.add(encode(value.getValue().get(i)));
+                offset = encode(type, dest, offset);
             }
         }
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            for (byte[] offsetsAndStaticValue : offsetsAndStaticValues) {
-                result.write(offsetsAndStaticValue);
-            }
-            for (byte[] dynamicValue : dynamicValues) {
-                result.write(dynamicValue);
+        for (final Type type : values) {
+            if (isDynamic(type)) {
+                offset = encode(type, dest, offset);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
         }
-        return result.toByteArray();
+        return offset;
     }
 
     static boolean isDynamic(Type parameter) {
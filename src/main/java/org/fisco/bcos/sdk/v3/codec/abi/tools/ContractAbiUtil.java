@@ -15,11 +15,10 @@
 package org.fisco.bcos.sdk.v3.codec.abi.tools;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.List;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
-import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,9 +38,8 @@ public class ContractAbiUtil {
     public static List<ABIDefinition> getFuncABIDefinition(String contractAbi) {
         List<ABIDefinition> result = new ArrayList<>();
         try {
-            ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
             ABIDefinition[] abiDefinitions =
-                    objectMapper.readValue(contractAbi, ABIDefinition[].class);
+                    ABIDefinitionCache.getDefaultCache().getABIDefinitions(contractAbi);
 
             for (ABIDefinition ABIDefinition : abiDefinitions) {
                 if (TYPE_FUNCTION.equals(ABIDefinition.getType())
@@ -10,6 +10,7 @@ import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
 public class Event {
     private String name;
     private List<TypeReference<Type>> parameters;
+    private String methodSignature;
 
     public Event(String name, List<TypeReference<?>> parameters) {
         this.name = name;
@@ -24,6 +25,25 @@ public class Event {
         return parameters;
     }
 
+    /**
+     * get the signature of the event, e.g. Transfer(address,address,uint256), it is built on the
+     * first call and reused afterwards
+     *
+     * @return the event signature
+     */
+    public String getMethodSignature() {
+        String signature = methodSignature;
+        if (signature == null) {
+            signature =
+                    name
+                            + parameters.stream()
+                                    .map(Utils::getMethodSign)
+                                    .collect(Collectors.joining(",", "(", ")"));
+            methodSignature = signature;
+        }
+        return signature;
+    }
+
     public List<TypeReference<Type>> getIndexedParameters() {
         return parameters.stream().filter(TypeReference::isIndexed).collect(Collectors.toList());
     }
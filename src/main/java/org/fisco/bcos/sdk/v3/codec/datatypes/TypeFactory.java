@@ -0,0 +1,597 @@
+package org.fisco.bcos.sdk.v3.codec.datatypes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes1;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes10;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes11;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes12;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes13;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes14;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes15;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes16;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes17;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes18;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes19;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes2;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes20;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes21;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes22;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes23;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes24;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes25;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes26;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes27;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes28;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes29;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes3;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes30;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes31;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes4;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes5;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes6;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes7;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes8;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes9;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int104;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int112;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int120;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int128;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int136;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int144;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int152;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int16;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int160;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int168;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int176;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int184;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int192;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int200;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int208;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int216;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int224;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int232;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int24;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int240;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int248;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int256;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int40;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int48;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int56;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int64;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int72;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int8;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int80;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int88;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int96;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray1;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray10;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray11;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray12;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray128;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray13;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray14;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray15;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray16;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray17;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray18;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray19;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray2;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray20;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray21;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray22;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray23;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray24;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray25;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray26;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray27;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray28;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray29;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray3;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray30;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray31;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray4;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray5;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray6;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray7;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray8;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray9;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint104;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint112;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint120;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint128;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint136;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint144;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint152;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint16;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint160;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint168;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint176;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint184;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint192;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint200;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint208;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint216;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint224;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint232;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint24;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint240;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint248;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint40;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint48;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint56;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint64;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint72;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint8;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint80;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint88;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint96;
+
+/**
+ * Factories of the abi types created by the decoders, so decoding a value never goes through
+ * reflection.
+ *
+ * <p>The classes of the generated package are registered with their constructors. The other numeric
+ * and bytes types, and the structs, are bound to their constructor with a {@link MethodHandle} the
+ * first time they are decoded, the binding is kept for the life of the process.
+ */
+public final class TypeFactory {
+
+    private static final Map<Class<?>, Function<BigInteger, ? extends NumericType>>
+            numericConstructors = new HashMap<>();
+    private static final Map<Class<?>, Function<byte[], ? extends Bytes>> bytesConstructors =
+            new HashMap<>();
+
+    // StaticArray128 is the largest generated static array
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final Function<List, StaticArray>[] staticArrayConstructors = new Function[129];
+
+    private static final ConcurrentMap<Class<?>, NumericFactory<?>> numericFactories =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, BytesFactory<?>> bytesFactories =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, StructFactory<?>> structFactories =
+            new ConcurrentHashMap<>();
+
+    static {
+        numericConstructors.put(Uint8.class, Uint8::new);
+        numericConstructors.put(Uint16.class, Uint16::new);
+        numericConstructors.put(Uint24.class, Uint24::new);
+        numericConstructors.put(Uint32.class, Uint32::new);
+        numericConstructors.put(Uint40.class, Uint40::new);
+        numericConstructors.put(Uint48.class, Uint48::new);
+        numericConstructors.put(Uint56.class, Uint56::new);
+        numericConstructors.put(Uint64.class, Uint64::new);
+        numericConstructors.put(Uint72.class, Uint72::new);
+        numericConstructors.put(Uint80.class, Uint80::new);
+        numericConstructors.put(Uint88.class, Uint88::new);
+        numericConstructors.put(Uint96.class, Uint96::new);
+        numericConstructors.put(Uint104.class, Uint104::new);
+        numericConstructors.put(Uint112.class, Uint112::new);
+        numericConstructors.put(Uint120.class, Uint120::new);
+        numericConstructors.put(Uint128.class, Uint128::new);
+        numericConstructors.put(Uint136.class, Uint136::new);
+        numericConstructors.put(Uint144.class, Uint144::new);
+        numericConstructors.put(Uint152.class, Uint152::new);
+        numericConstructors.put(Uint160.class, Uint160::new);
+        numericConstructors.put(Uint168.class, Uint168::new);
+        numericConstructors.put(Uint176.class, Uint176::new);
+        numericConstructors.put(Uint184.class, Uint184::new);
+        numericConstructors.put(Uint192.class, Uint192::new);
+        numericConstructors.put(Uint200.class, Uint200::new);
+        numericConstructors.put(Uint208.class, Uint208::new);
+        numericConstructors.put(Uint216.class, Uint216::new);
+        numericConstructors.put(Uint224.class, Uint224::new);
+        numericConstructors.put(Uint232.class, Uint232::new);
+        numericConstructors.put(Uint240.class, Uint240::new);
+        numericConstructors.put(Uint248.class, Uint248::new);
+        numericConstructors.put(Uint256.class, Uint256::new);
+        numericConstructors.put(Int8.class, Int8::new);
+        numericConstructors.put(Int16.class, Int16::new);
+        numericConstructors.put(Int24.class, Int24::new);
+        numericConstructors.put(Int32.class, Int32::new);
+        numericConstructors.put(Int40.class, Int40::new);
+        numericConstructors.put(Int48.class, Int48::new);
+        numericConstructors.put(Int56.class, Int56::new);
+        numericConstructors.put(Int64.class, Int64::new);
+        numericConstructors.put(Int72.class, Int72::new);
+        numericConstructors.put(Int80.class, Int80::new);
+        numericConstructors.put(Int88.class, Int88::new);
+        numericConstructors.put(Int96.class, Int96::new);
+        numericConstructors.put(Int104.class, Int104::new);
+        numericConstructors.put(Int112.class, Int112::new);
+        numericConstructors.put(Int120.class, Int120::new);
+        numericConstructors.put(Int128.class, Int128::new);
+        numericConstructors.put(Int136.class, Int136::new);
+        numericConstructors.put(Int144.class, Int144::new);
+        numericConstructors.put(Int152.class, Int152::new);
+        numericConstructors.put(Int160.class, Int160::new);
+        numericConstructors.put(Int168.class, Int168::new);
+        numericConstructors.put(Int176.class, Int176::new);
+        numericConstructors.put(Int184.class, Int184::new);
+        numericConstructors.put(Int192.class, Int192::new);
+        numericConstructors.put(Int200.class, Int200::new);
+        numericConstructors.put(Int208.class, Int208::new);
+        numericConstructors.put(Int216.class, Int216::new);
+        numericConstructors.put(Int224.class, Int224::new);
+        numericConstructors.put(Int232.class, Int232::new);
+        numericConstructors.put(Int240.class, Int240::new);
+        numericConstructors.put(Int248.class, Int248::new);
+        numericConstructors.put(Int256.class, Int256::new);
+        bytesConstructors.put(Bytes1.class, Bytes1::new);
+        bytesConstructors.put(Bytes2.class, Bytes2::new);
+        bytesConstructors.put(Bytes3.class, Bytes3::new);
+        bytesConstructors.put(Bytes4.class, Bytes4::new);
+        bytesConstructors.put(Bytes5.class, Bytes5::new);
+        bytesConstructors.put(Bytes6.class, Bytes6::new);
+        bytesConstructors.put(Bytes7.class, Bytes7::new);
+        bytesConstructors.put(Bytes8.class, Bytes8::new);
+        bytesConstructors.put(Bytes9.class, Bytes9::new);
+        bytesConstructors.put(Bytes10.class, Bytes10::new);
+        bytesConstructors.put(Bytes11.class, Bytes11::new);
+        bytesConstructors.put(Bytes12.class, Bytes12::new);
+        bytesConstructors.put(Bytes13.class, Bytes13::new);
+        bytesConstructors.put(Bytes14.class, Bytes14::new);
+        bytesConstructors.put(Bytes15.class, Bytes15::new);
+        bytesConstructors.put(Bytes16.class, Bytes16::new);
+        bytesConstructors.put(Bytes17.class, Bytes17::new);
+        bytesConstructors.put(Bytes18.class, Bytes18::new);
+        bytesConstructors.put(Bytes19.class, Bytes19::new);
+        bytesConstructors.put(Bytes20.class, Bytes20::new);
+        bytesConstructors.put(Bytes21.class, Bytes21::new);
+        bytesConstructors.put(Bytes22.class, Bytes22::new);
+        bytesConstructors.put(Bytes23.class, Bytes23::new);
+        bytesConstructors.put(Bytes24.class, Bytes24::new);
+        bytesConstructors.put(Bytes25.class, Bytes25::new);
+        bytesConstructors.put(Bytes26.class, Bytes26::new);
+        bytesConstructors.put(Bytes27.class, Bytes27::new);
+        bytesConstructors.put(Bytes28.class, Bytes28::new);
+        bytesConstructors.put(Bytes29.class, Bytes29::new);
+        bytesConstructors.put(Bytes30.class, Bytes30::new);
+        bytesConstructors.put(Bytes31.class, Bytes31::new);
+        bytesConstructors.put(Bytes32.class, Bytes32::new);
+        staticArrayConstructors[1] = StaticArray1::new;
+        staticArrayConstructors[2] = StaticArray2::new;
+        staticArrayConstructors[3] = StaticArray3::new;
+        staticArrayConstructors[4] = StaticArray4::new;
+        staticArrayConstructors[5] = StaticArray5::new;
+        staticArrayConstructors[6] = StaticArray6::new;
+        staticArrayConstructors[7] = StaticArray7::new;
+        staticArrayConstructors[8] = StaticArray8::new;
+        staticArrayConstructors[9] = StaticArray9::new;
+        staticArrayConstructors[10] = StaticArray10::new;
+        staticArrayConstructors[11] = StaticArray11::new;
+        staticArrayConstructors[12] = StaticArray12::new;
+        staticArrayConstructors[13] = StaticArray13::new;
+        staticArrayConstructors[14] = StaticArray14::new;
+        staticArrayConstructors[15] = StaticArray15::new;
+        staticArrayConstructors[16] = StaticArray16::new;
+        staticArrayConstructors[17] = StaticArray17::new;
+        staticArrayConstructors[18] = StaticArray18::new;
+        staticArrayConstructors[19] = StaticArray19::new;
+        staticArrayConstructors[20] = StaticArray20::new;
+        staticArrayConstructors[21] = StaticArray21::new;
+        staticArrayConstructors[22] = StaticArray22::new;
+        staticArrayConstructors[23] = StaticArray23::new;
+        staticArrayConstructors[24] = StaticArray24::new;
+        staticArrayConstructors[25] = StaticArray25::new;
+        staticArrayConstructors[26] = StaticArray26::new;
+        staticArrayConstructors[27] = StaticArray27::new;
+        staticArrayConstructors[28] = StaticArray28::new;
+        staticArrayConstructors[29] = StaticArray29::new;
+        staticArrayConstructors[30] = StaticArray30::new;
+        staticArrayConstructors[31] = StaticArray31::new;
+        staticArrayConstructors[32] = StaticArray32::new;
+        staticArrayConstructors[128] = StaticArray128::new;
+    }
+
+    private TypeFactory() {}
+
+    /**
+     * get the factory of a numeric type
+     *
+     * @param type the numeric type, e.g. Uint256
+     * @param <T> the numeric type
+     * @return the factory
+     * @throws UnsupportedOperationException if the type has no public BigInteger constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends NumericType> NumericFactory<T> getNumericFactory(Class<T> type) {
+        NumericFactory<?> factory = numericFactories.get(type);
+        if (factory == null) {
+            factory = numericFactories.computeIfAbsent(type, TypeFactory::newNumericFactory);
+        }
+        return (NumericFactory<T>) factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NumericFactory<?> newNumericFactory(Class<?> type) {
+        Function<BigInteger, ? extends NumericType> constructor = numericConstructors.get(type);
+        if (constructor == null) {
+            constructor = bindConstructor((Class<NumericType>) type, BigInteger.class);
+        }
+        boolean signed = Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type);
+        return new NumericFactory<>(constructor, getBitLength((Class<NumericType>) type), signed);
+    }
+
+    /**
+     * get the bit length of a numeric type from its name, e.g. 160 for Uint160 and 136 for
+     * Fixed128x8
+     *
+     * @param type the numeric type
+     * @param <T> the numeric type
+     * @return the bit length, 256 if the name has no size
+     */
+    public static <T extends NumericType> int getBitLength(Class<T> type) {
+        if (IntType.class.isAssignableFrom(type)) {
+            String regex = "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
+            String[] splitName = type.getSimpleName().split(regex);
+            if (splitName.length == 2) {
+                return Integer.parseInt(splitName[1]);
+            }
+        } else if (FixedPointType.class.isAssignableFrom(type)) {
+            String regex =
+                    "(" + Ufixed.class.getSimpleName() + "|" + Fixed.class.getSimpleName() + ")";
+            String[] splitName = type.getSimpleName().split(regex);
+            if (splitName.length == 2) {
+                String[] bitsCounts = splitName[1].split("x");
+                return Integer.parseInt(bitsCounts[0]) + Integer.parseInt(bitsCounts[1]);
+            }
+        }
+        return Type.MAX_BIT_LENGTH;
+    }
+
+    /**
+     * get the factory of a fixed size bytes type
+     *
+     * @param type the bytes type, e.g. Bytes32
+     * @param <T> the bytes type
+     * @return the factory
+     * @throws UnsupportedOperationException if the type has no public byte[] constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Bytes> BytesFactory<T> getBytesFactory(Class<T> type) {
+        BytesFactory<?> factory = bytesFactories.get(type);
+        if (factory == null) {
+            factory = bytesFactories.computeIfAbsent(type, TypeFactory::newBytesFactory);
+        }
+        return (BytesFactory<T>) factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BytesFactory<?> newBytesFactory(Class<?> type) {
+        String[] splitName = type.getSimpleName().split(Bytes.class.getSimpleName());
+        int length = Integer.parseInt(splitName[1]);
+        Function<byte[], ? extends Bytes> constructor = bytesConstructors.get(type);
+        if (constructor == null) {
+            constructor = bindConstructor((Class<Bytes>) type, byte[].class);
+        }
+        return new BytesFactory<>(constructor, length);
+    }
+
+    /**
+     * create a static array of the generated class of its length, e.g. StaticArray3 for 3 elements
+     *
+     * @param elements the elements
+     * @param length the length of the array
+     * @param <T> the element type
+     * @return the array
+     * @throws UnsupportedOperationException if there is no generated class for the length
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> StaticArray<T> newStaticArray(List<T> elements, int length) {
+        if (length < 0 || length >= staticArrayConstructors.length) {
+            throw new UnsupportedOperationException("Unsupported static array length: " + length);
+        }
+        Function<List, StaticArray> constructor = staticArrayConstructors[length];
+        if (constructor == null) {
+            throw new UnsupportedOperationException("Unsupported static array length: " + length);
+        }
+        return constructor.apply(elements);
+    }
+
+    /**
+     * get the factory of a struct type
+     *
+     * @param type the struct class
+     * @param <T> the struct type
+     * @return the factory bound to the constructor taking the struct members
+     * @throws RuntimeException if the struct has no constructor taking the members
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> StructFactory<T> getStructFactory(Class<T> type) {
+        StructFactory<?> factory = structFactories.get(type);
+        if (factory == null) {
+            factory = structFactories.computeIfAbsent(type, cls -> new StructFactory<>(type));
+        }
+        return (StructFactory<T>) factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A, R> Function<A, R> bindConstructor(Class<R> type, Class<A> parameterType) {
+        MethodHandle handle;
+        try {
+            handle =
+                    MethodHandles.publicLookup()
+                            .findConstructor(type, MethodType.methodType(void.class, parameterType))
+                            .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new UnsupportedOperationException(
+                    "Unable to create instance of " + type.getName(), e);
+        }
+        return value -> {
+            try {
+                return (R) (Object) handle.invokeExact((Object) value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException(
+                        "Unable to create instance of " + type.getName(), e);
+            }
+        };
+    }
+
+    /** Creates the values of a numeric type */
+    public static final class NumericFactory<T extends NumericType> {
+        private final Function<BigInteger, ? extends NumericType> constructor;
+        private final int bitLength;
+        private final boolean signed;
+
+        private NumericFactory(
+                Function<BigInteger, ? extends NumericType> constructor,
+                int bitLength,
+                boolean signed) {
+            this.constructor = constructor;
+            this.bitLength = bitLength;
+            this.signed = signed;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T create(BigInteger value) {
+            return (T) constructor.apply(value);
+        }
+
+        public int getBitLength() {
+            return bitLength;
+        }
+
+        public int getByteLength() {
+            return bitLength >> 3;
+        }
+
+        /** @return true for the two's complement types, Int and Fixed */
+        public boolean isSigned() {
+            return signed;
+        }
+    }
+
+    /** Creates the values of a fixed size bytes type */
+    public static final class BytesFactory<T extends Bytes> {
+        private final Function<byte[], ? extends Bytes> constructor;
+        private final int length;
+
+        private BytesFactory(Function<byte[], ? extends Bytes> constructor, int length) {
+            this.constructor = constructor;
+            this.length = length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T create(byte[] value) {
+            return (T) constructor.apply(value);
+        }
+
+        /** @return the number of bytes of a value */
+        public int getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Creates the values of a struct, it holds the members of the struct in the order of its
+     * constructor.
+     */
+    public static final class StructFactory<T extends Type> {
+        private final Class<T> type;
+        private final Class<?>[] parameterTypes;
+        private final java.lang.reflect.Type[] genericParameterTypes;
+        private final TypeReference<?>[] parameterTypeReferences;
+        private final MethodHandle constructor;
+
+        private StructFactory(Class<T> type) {
+            Constructor<?> ctor =
+                    Arrays.stream(type.getDeclaredConstructors())
+                            .filter(
+                                    declaredConstructor ->
+                                            Arrays.stream(declaredConstructor.getParameterTypes())
+                                                            .allMatch(Type.class::isAssignableFrom)
+                                                    && declaredConstructor.getParameterTypes()
+                                                                    .length
+                                                            > 0)
+                            .findAny()
+                            .orElseThrow(
+                                    () ->
+                                            new RuntimeException(
+                                                    "TypeReferenced struct must contain a constructor with types that extend Type"));
+            this.type = type;
+            this.parameterTypes = ctor.getParameterTypes();
+            this.genericParameterTypes = ctor.getGenericParameterTypes();
+            this.parameterTypeReferences = new TypeReference<?>[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypeReferences[i] = TypeReference.create(genericParameterTypes[i]);
+            }
+            try {
+                ctor.setAccessible(true);
+                this.constructor =
+                        MethodHandles.lookup()
+                                .unreflectConstructor(ctor)
+                                .asSpreader(Object[].class, parameterTypes.length)
+                                .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException | SecurityException e) {
+                throw new UnsupportedOperationException(
+                        "Unable to access the constructor of " + type.getName(), e);
+            }
+        }
+
+        public Class<T> getType() {
+            return type;
+        }
+
+        public int getParameterCount() {
+            return parameterTypes.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <E extends Type> Class<E> getParameterType(int index) {
+            return (Class<E>) parameterTypes[index];
+        }
+
+        public java.lang.reflect.Type getGenericParameterType(int index) {
+            return genericParameterTypes[index];
+        }
+
+        /**
+         * @param index the index of the member
+         * @param <E> the member type
+         * @return the shared type reference of the member
+         */
+        @SuppressWarnings("unchecked")
+        public <E extends Type> TypeReference<E> getParameterTypeReference(int index) {
+            return (TypeReference<E>) parameterTypeReferences[index];
+        }
+
+        /**
+         * create a struct
+         *
+         * @param values the members in the order of the constructor
+         * @return the struct
+         * @throws UnsupportedOperationException if the constructor rejects the members
+         */
+        @SuppressWarnings("unchecked")
+        public T newInstance(List<? extends Type> values) {
+            Object[] arguments = values.toArray();
+            try {
+                return (T) (Object) constructor.invokeExact(arguments);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException(
+                        "Constructor cannot accept" + Arrays.toString(arguments), e);
+            }
+        }
+    }
+}
@@ -73,6 +73,8 @@ public abstract class TypeReference<T extends org.fisco.bcos.sdk.v3.codec.dataty
 
         if (clsType instanceof ParameterizedType) {
             return (Class<T>) ((ParameterizedType) clsType).getRawType();
+        } else if (clsType instanceof Class) {
+            return (Class<T>) clsType;
         } else {
             return (Class<T>) Class.forName(clsType.getTypeName());
         }
@@ -1,7 +1,7 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import org.fisco.bcos.sdk.v3.codec.FunctionEncoderInterface;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
@@ -33,12 +33,16 @@ public class FunctionEncoder extends FunctionEncoderInterface {
     }
 
     public static byte[] encodeParameters(List<Type> parameters, byte[] methodID) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        int length = methodID == null ? 0 : methodID.length;
+        for (Type parameter : parameters) {
+            length += TypeEncoder.encodedLength(parameter);
+        }
+        ByteBuffer result = ByteBuffer.allocate(length);
         // when wasm call, input first byte is 1; when wasm deploy, input first byte is 0
         try {
             ScaleCodecWriter writer = new ScaleCodecWriter(result);
             if (methodID != null) {
-                result.write(methodID);
+                writer.writeByteArray(methodID);
             }
             for (Type parameter : parameters) {
                 TypeEncoder.encode(parameter, writer);
@@ -46,6 +50,6 @@ public class FunctionEncoder extends FunctionEncoderInterface {
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return result.toByteArray();
+        return result.array();
     }
 }
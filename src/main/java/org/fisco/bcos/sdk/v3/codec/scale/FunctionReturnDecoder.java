@@ -50,7 +50,7 @@ public class FunctionReturnDecoder implements FunctionReturnDecoderInterface {
 
             if (Bytes.class.isAssignableFrom(type)) {
                 return org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decodeBytes(
-                        scaleCodecReader, (Class<Bytes>) Class.forName(type.getName()));
+                        scaleCodecReader, (Class<Bytes>) type);
             } else if (Array.class.isAssignableFrom(type)
                     || BytesType.class.isAssignableFrom(type)
                     || Utf8String.class.isAssignableFrom(type)) {
@@ -1,7 +1,7 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
 import java.math.BigInteger;
-import org.apache.commons.lang3.ArrayUtils;
+import java.nio.charset.StandardCharsets;
 import org.fisco.bcos.sdk.v3.codec.scale.reader.BoolReader;
 import org.fisco.bcos.sdk.v3.codec.scale.reader.CompactUIntReader;
 import org.fisco.bcos.sdk.v3.codec.scale.reader.UByteReader;
@@ -52,11 +52,31 @@ public class ScaleCodecReader {
     }
 
     public int readUByte() {
-        return UBYTE.read(this);
+        return readByte() & 0xff;
     }
 
+    /**
+     * Read a compact unsigned integer, the same decoding as {@link #COMPACT_UINT}
+     *
+     * @return the value
+     * @throws UnsupportedOperationException if the value is encoded with more than four bytes
+     */
     public int readCompact() {
-        return COMPACT_UINT.read(this);
+        int i = readUByte();
+        CompactMode mode = CompactMode.byValue((byte) (i & 0b11));
+        if (mode == CompactMode.SINGLE) {
+            return i >> 2;
+        }
+        if (mode == CompactMode.TWO) {
+            return (i >> 2) + (readUByte() << 6);
+        }
+        if (mode == CompactMode.FOUR) {
+            return (i >> 2)
+                    + (readUByte() << 6)
+                    + (readUByte() << (6 + 8))
+                    + (readUByte() << (6 + 2 * 8));
+        }
+        throw new UnsupportedOperationException("Mode " + mode + " is not implemented");
     }
 
     public boolean readBoolean() {
@@ -75,34 +95,92 @@ public class ScaleCodecReader {
         return result;
     }
 
+    /**
+     * Read a little endian integer of at most 8 bytes
+     *
+     * @param signed whether the value is two's complement
+     * @param bytesSize the number of bytes, 1 to 8
+     * @return the value, an unsigned 8 bytes value above Long.MAX_VALUE is returned as the negative
+     *     long of the same bits
+     */
+    public long readLong(boolean signed, int bytesSize) {
+        if (!hasMore(bytesSize)) {
+            throw new UnsupportedOperationException("decodeInteger exception for not enough data");
+        }
+        long value = 0;
+        for (int i = 0; i < bytesSize; i++) {
+            value |= (source[pos + i] & 0xffL) << (i * 8);
+        }
+        pos += bytesSize;
+        if (signed && bytesSize < Long.BYTES) {
+            int shift = Long.SIZE - bytesSize * 8;
+            value = (value << shift) >> shift;
+        }
+        return value;
+    }
+
     public BigInteger decodeInteger(boolean signed, int bytesSize) {
+        if (bytesSize <= Long.BYTES) {
+            long value = readLong(signed, bytesSize);
+            if (!signed && value < 0) {
+                return BigInteger.valueOf(value & Long.MAX_VALUE).setBit(Long.SIZE - 1);
+            }
+            return BigInteger.valueOf(value);
+        }
         if (hasMore(bytesSize) == false) {
             throw new UnsupportedOperationException("decodeInteger exception for not enough data");
         }
-        byte[] resultBytes = readByteArray(bytesSize);
-        ArrayUtils.reverse(resultBytes);
-        BigInteger value = new BigInteger(resultBytes);
-        if (value.compareTo(BigInteger.ZERO) < 0 && signed == false) {
-            BigInteger minOverflowUnsignedValue = BigInteger.valueOf((1 << (bytesSize * 8)));
-            return value.add(minOverflowUnsignedValue);
+        // big endian with one more byte for the sign
+        byte[] resultBytes = new byte[bytesSize + 1];
+        for (int i = 0; i < bytesSize; i++) {
+            resultBytes[bytesSize - i] = source[pos + i];
         }
-        return value;
+        if (signed && resultBytes[1] < 0) {
+            resultBytes[0] = (byte) 0xff;
+        }
+        pos += bytesSize;
+        return new BigInteger(resultBytes);
     }
 
     public BigInteger decodeInt256() {
         if (hasMore(32) == false) {
             throw new UnsupportedOperationException("decodeInt256 exception for not enough data");
         }
+        if (fitsInLong(source, pos, 32)) {
+            long value = 0;
+            for (int i = 32 - Long.BYTES; i < 32; i++) {
+                value = (value << 8) | (source[pos + i] & 0xff);
+            }
+            pos += 32;
+            return BigInteger.valueOf(value);
+        }
         byte[] data = readByteArray(32);
         return new BigInteger(data);
     }
 
+    /** whether the big endian two's complement value fits in a long */
+    private static boolean fitsInLong(byte[] data, int offset, int length) {
+        byte fill = data[offset + length - Long.BYTES] < 0 ? (byte) 0xff : 0;
+        for (int i = offset; i < offset + length - Long.BYTES; i++) {
+            if (data[i] != fill) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Read string, encoded as UTF-8 bytes
      *
      * @return string value
      */
     public String readString() {
-        return new String(readByteArray());
+        int len = readCompact();
+        if (!hasMore(len)) {
+            throw new IndexOutOfBoundsException("Cannot read " + len + " bytes at " + pos);
+        }
+        String value = new String(source, pos, len, StandardCharsets.UTF_8);
+        pos += len;
+        return value;
     }
 }
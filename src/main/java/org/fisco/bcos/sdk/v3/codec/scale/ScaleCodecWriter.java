@@ -4,6 +4,10 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.scale.writer.CompactUIntWriter;
 
 public class ScaleCodecWriter implements Closeable {
@@ -16,18 +20,61 @@ public class ScaleCodecWriter implements Closeable {
     public static final CompactUIntWriter COMPACT_UINT = new CompactUIntWriter();
 
     private final OutputStream out;
+    private final ByteBuffer buffer;
 
     public ScaleCodecWriter(OutputStream out) {
         this.out = out;
+        this.buffer = null;
+    }
+
+    /**
+     * Write into a buffer instead of a stream, nothing is copied on the way. The buffer must have
+     * room for the whole encoding, see {@link TypeEncoder#encodedLength}.
+     *
+     * @param buffer the buffer written from its position
+     */
+    public ScaleCodecWriter(ByteBuffer buffer) {
+        this.out = null;
+        this.buffer = buffer;
     }
 
     public void writeByteArray(byte[] value) throws IOException {
-        out.write(value, 0, value.length);
+        write(value, 0, value.length);
     }
 
     public void writeAsList(byte[] value) throws IOException {
         writeCompact(value.length);
-        out.write(value, 0, value.length);
+        write(value, 0, value.length);
+    }
+
+    /**
+     * Write a string as its compact length and its UTF-8 bytes, the bytes are encoded in place when
+     * the writer has an array backed buffer
+     *
+     * @param value the string
+     * @throws IOException if failed to write
+     */
+    public void writeString(String value) throws IOException {
+        if (buffer == null || !buffer.hasArray()) {
+            writeAsList(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        int length = Utils.utf8Length(value);
+        writeCompact(length);
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        int position = buffer.position();
+        Utils.encodeUtf8(value, buffer.array(), buffer.arrayOffset() + position);
+        buffer.position(position + length);
+    }
+
+    private void write(byte[] value, int offset, int length) throws IOException {
+        if (buffer != null) {
+            buffer.put(value, offset, length);
+        } else {
+            out.write(value, offset, length);
+        }
     }
 
     /**
@@ -37,12 +84,18 @@ public class ScaleCodecWriter implements Closeable {
      * @throws IOException if failed to write
      */
     public void directWrite(int b) throws IOException {
-        out.write(b);
+        if (buffer != null) {
+            buffer.put((byte) b);
+        } else {
+            out.write(b);
+        }
     }
 
     @Override
     public void close() throws IOException {
-        out.close();
+        if (out != null) {
+            out.close();
+        }
     }
 
     public <T> void write(ScaleWriter<T> writer, T value) throws IOException {
@@ -76,6 +129,10 @@ public class ScaleCodecWriter implements Closeable {
     }
 
     public void writeUnsignedInteger(BigInteger value, int valueByteSize) throws IOException {
+        if (value.signum() >= 0 && value.bitLength() <= Long.SIZE) {
+            writeUnsignedInteger(value.longValue(), valueByteSize);
+            return;
+        }
         BigInteger maxSignedValue =
                 BigInteger.ONE.shiftLeft((valueByteSize * 8 - 1)).subtract(BigInteger.ONE);
         if (value.compareTo(maxSignedValue) <= 0) {
@@ -93,7 +150,27 @@ public class ScaleCodecWriter implements Closeable {
         writeInteger(convertedValue, valueByteSize);
     }
 
+    /**
+     * Write an unsigned integer in little endian
+     *
+     * @param value the value, read as an unsigned 64 bits integer
+     * @param valueByteSize the number of bytes to write, the bytes above the eighth are 0
+     * @throws IOException if failed to write
+     * @throws UnsupportedOperationException if the value does not fit in valueByteSize bytes
+     */
+    public void writeUnsignedInteger(long value, int valueByteSize) throws IOException {
+        if (valueByteSize < Long.BYTES && (value >>> (valueByteSize * 8)) != 0) {
+            throw new UnsupportedOperationException(
+                    "writeInteger exception for overflow, value: " + Long.toUnsignedString(value));
+        }
+        writeLittleEndian(value, valueByteSize, (byte) 0);
+    }
+
     public void writeInteger(BigInteger value, int valueByteSize) throws IOException {
+        if (value.bitLength() < Long.SIZE) {
+            writeInteger(value.longValue(), valueByteSize);
+            return;
+        }
         byte[] byteArray = new byte[valueByteSize];
         BigInteger v = value;
         byte[] byteValue = v.toByteArray();
@@ -114,11 +191,55 @@ public class ScaleCodecWriter implements Closeable {
         writeByteArray(byteArray);
     }
 
+    /**
+     * Write a signed integer in little endian
+     *
+     * @param value the value
+     * @param valueByteSize the number of bytes to write, the bytes above the eighth extend the sign
+     * @throws IOException if failed to write
+     * @throws UnsupportedOperationException if the value does not fit in valueByteSize bytes
+     */
+    public void writeInteger(long value, int valueByteSize) throws IOException {
+        if (valueByteSize < Long.BYTES) {
+            long high = value >> (valueByteSize * 8 - 1);
+            if (high != 0 && high != -1) {
+                throw new UnsupportedOperationException(
+                        "writeInteger exception for overflow, value: " + value);
+            }
+        }
+        writeLittleEndian(value, valueByteSize, value < 0 ? (byte) 0xff : 0);
+    }
+
+    private void writeLittleEndian(long value, int valueByteSize, byte fill) throws IOException {
+        int valueBytes = Math.min(valueByteSize, Long.BYTES);
+        if (buffer != null) {
+            for (int i = 0; i < valueBytes; i++) {
+                buffer.put((byte) (value >>> (i * 8)));
+            }
+            for (int i = valueBytes; i < valueByteSize; i++) {
+                buffer.put(fill);
+            }
+            return;
+        }
+        byte[] byteArray = new byte[valueByteSize];
+        for (int i = 0; i < valueBytes; i++) {
+            byteArray[i] = (byte) (value >>> (i * 8));
+        }
+        for (int i = valueBytes; i < valueByteSize; i++) {
+            byteArray[i] = fill;
+        }
+        out.write(byteArray, 0, valueByteSize);
+    }
+
     public void writeBigInt256(boolean signed, BigInteger value) throws IOException {
         if (value.compareTo(BigInteger.ZERO) < 0 && !signed) {
             throw new UnsupportedOperationException(
                     "Must provide positive data when using unsigned type");
         }
+        if (value.bitLength() < Long.SIZE) {
+            writeInt256(value.longValue());
+            return;
+        }
         // get bytes size
         byte[] valueBytes = value.toByteArray();
         byte size = (byte) (valueBytes.length);
@@ -139,6 +260,27 @@ public class ScaleCodecWriter implements Closeable {
         writeByteArray(encodedData);
     }
 
+    private void writeInt256(long value) throws IOException {
+        byte fill = value < 0 ? (byte) 0xff : 0;
+        if (buffer != null) {
+            for (int i = 0; i < 24; i++) {
+                buffer.put(fill);
+            }
+            for (int i = Long.BYTES - 1; i >= 0; i--) {
+                buffer.put((byte) (value >>> (i * 8)));
+            }
+            return;
+        }
+        byte[] encodedData = new byte[32];
+        for (int i = 0; i < 24; i++) {
+            encodedData[i] = fill;
+        }
+        for (int i = 0; i < Long.BYTES; i++) {
+            encodedData[31 - i] = (byte) (value >>> (i * 8));
+        }
+        out.write(encodedData, 0, encodedData.length);
+    }
+
     private void writeSecondCategory(BigInteger value) throws IOException {
         // only values from [kMinUint16, kMinUint32) can be put here
         long v = value.longValue();
@@ -165,6 +307,45 @@ public class ScaleCodecWriter implements Closeable {
     }
 
     public void writeCompact(int value) throws IOException {
-        COMPACT_UINT.write(this, value);
+        writeCompact((long) value);
+    }
+
+    /**
+     * Write a compact unsigned integer, the same encoding as {@link #COMPACT_UINT} extended to 64
+     * bits values
+     *
+     * @param value the value
+     * @throws IOException if failed to write
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void writeCompact(long value) throws IOException {
+        CompactMode mode = CompactMode.forNumber(value);
+        if (mode == CompactMode.SINGLE) {
+            directWrite((int) (value << 2));
+        } else if (mode == CompactMode.TWO) {
+            writeLittleEndian((value << 2) + mode.getValue(), 2, (byte) 0);
+        } else if (mode == CompactMode.FOUR) {
+            writeLittleEndian((value << 2) + mode.getValue(), 4, (byte) 0);
+        } else {
+            int length = Math.max(4, (Long.SIZE - Long.numberOfLeadingZeros(value) + 7) / 8);
+            directWrite(((length - 4) << 2) | mode.getValue());
+            writeLittleEndian(value, length, (byte) 0);
+        }
+    }
+
+    /**
+     * @param value the value
+     * @return the number of bytes of the compact encoding of the value
+     */
+    public static int compactLength(long value) {
+        CompactMode mode = CompactMode.forNumber(value);
+        if (mode == CompactMode.SINGLE) {
+            return 1;
+        } else if (mode == CompactMode.TWO) {
+            return 2;
+        } else if (mode == CompactMode.FOUR) {
+            return 4;
+        }
+        return 1 + Math.max(4, (Long.SIZE - Long.numberOfLeadingZeros(value) + 7) / 8);
     }
 }
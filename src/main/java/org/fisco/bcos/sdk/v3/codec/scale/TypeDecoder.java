@@ -1,11 +1,9 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
 import org.fisco.bcos.sdk.v3.codec.Utils;
@@ -16,16 +14,12 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Bytes;
 import org.fisco.bcos.sdk.v3.codec.datatypes.BytesType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicBytes;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Fixed;
-import org.fisco.bcos.sdk.v3.codec.datatypes.FixedPointType;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Int;
-import org.fisco.bcos.sdk.v3.codec.datatypes.IntType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.NumericType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StaticArray;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StructType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeFactory;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Ufixed;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint160;
@@ -77,47 +71,17 @@ public class TypeDecoder {
     }
 
     public static <T extends NumericType> T decodeNumeric(ScaleCodecReader reader, Class<T> type) {
-        try {
-            int bitSize = 256;
-            // TODO: optimize here(duplicated code with abi)
-            if (IntType.class.isAssignableFrom(type)) {
-                String regex =
-                        "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
-                String[] splitName = type.getSimpleName().split(regex);
-                if (splitName.length == 2) {
-                    bitSize = Integer.parseInt(splitName[1]);
-                }
-            } else if (FixedPointType.class.isAssignableFrom(type)) {
-                String regex =
-                        "("
-                                + Ufixed.class.getSimpleName()
-                                + "|"
-                                + Fixed.class.getSimpleName()
-                                + ")";
-                String[] splitName = type.getSimpleName().split(regex);
-                if (splitName.length == 2) {
-                    String[] bitsCounts = splitName[1].split("x");
-                    bitSize = Integer.parseInt(bitsCounts[0]) + Integer.parseInt(bitsCounts[1]);
-                }
-            }
-            int bytesSize = bitSize >> 3;
-            BigInteger value;
-            boolean signedValue = type.toString().contains("Uint") ? false : true;
-            if (bytesSize >= 1 && bytesSize <= 16) {
-                value = reader.decodeInteger(signedValue, bytesSize);
-            } else {
-                value = reader.decodeInt256();
-            }
-            return type.getConstructor(BigInteger.class).newInstance(value);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName() + ": " + e.getMessage(), e);
+        TypeFactory.NumericFactory<T> factory = TypeFactory.getNumericFactory(type);
+        int bytesSize = factory.getByteLength();
+        BigInteger value;
+        if (bytesSize >= 1 && bytesSize <= 16) {
+            // Ufixed is decoded as a signed value, the same as encoded by TypeEncoder
+            boolean signedValue = !Uint.class.isAssignableFrom(type);
+            value = reader.decodeInteger(signedValue, bytesSize);
+        } else {
+            value = reader.decodeInt256();
         }
+        return factory.create(value);
     }
 
     public static Bool decodeBool(ScaleCodecReader reader) {
@@ -125,9 +89,16 @@ public class TypeDecoder {
         return new Bool(boolValue);
     }
 
+    @SuppressWarnings("unchecked")
     public static <T extends BytesType> T decodeBytes(ScaleCodecReader reader, Class<T> type) {
+        byte[] bytes = reader.readByteArray();
+        if (type == DynamicBytes.class) {
+            return (T) new DynamicBytes(bytes);
+        }
+        if (Bytes.class.isAssignableFrom(type)) {
+            return (T) TypeFactory.getBytesFactory((Class<Bytes>) type).create(bytes);
+        }
         try {
-            byte[] bytes = reader.readByteArray();
             return type.getConstructor(byte[].class).newInstance(bytes);
         } catch (NoSuchMethodException
                 | SecurityException
@@ -140,26 +111,11 @@ public class TypeDecoder {
         }
     }
 
+    @SuppressWarnings("unchecked")
     public static <T extends BytesType> T decodeStaticBytes(
             ScaleCodecReader reader, Class<T> type) {
-        try {
-            int size =
-                    Integer.parseInt(
-                            type.getTypeName()
-                                    .substring(
-                                            type.getTypeName().lastIndexOf("Bytes")
-                                                    + "Bytes".length()));
-            byte[] bytes = reader.readByteArray(size);
-            return type.getConstructor(byte[].class).newInstance(bytes);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
-        }
+        TypeFactory.BytesFactory<Bytes> factory = TypeFactory.getBytesFactory((Class<Bytes>) type);
+        return (T) factory.create(reader.readByteArray(factory.getLength()));
     }
 
     public static Utf8String decodeUtf8String(ScaleCodecReader reader) {
@@ -179,9 +135,10 @@ public class TypeDecoder {
             java.lang.reflect.Type[] types =
                     ((ParameterizedType) typeReference.getType()).getActualTypeArguments();
             Class<T> cls = Utils.getClassType(types[0]);
+            TypeReference<T> elementTypeReference = TypeReference.create(types[0]);
             List<T> elements = new ArrayList<>(len);
             for (int i = 0; i < len; i++) {
-                T value = decode(reader, TypeReference.create(types[0]));
+                T value = decode(reader, elementTypeReference);
                 elements.add(value);
             }
 
@@ -203,16 +160,7 @@ public class TypeDecoder {
                         throw new UnsupportedOperationException(
                                 "Zero length fixed array is invalid type");
                     } else {
-                        try {
-                            Class<? extends StaticArray> arrayClass =
-                                    (Class<? extends StaticArray>)
-                                            Class.forName(
-                                                    "org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray"
-                                                            + elements.size());
-                            return (T) arrayClass.getConstructor(List.class).newInstance(elements);
-                        } catch (ReflectiveOperationException e) {
-                            throw new UnsupportedOperationException(e);
-                        }
+                        return (T) TypeFactory.newStaticArray(elements, elements.size());
                     }
                 };
         int length;
@@ -250,37 +198,16 @@ public class TypeDecoder {
     public static <T extends Type> T decodeStruct(
             ScaleCodecReader reader, TypeReference<T> typeReference) {
         try {
-            Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor =
-                    Arrays.stream(classType.getDeclaredConstructors())
-                            .filter(
-                                    declaredConstructor ->
-                                            Arrays.stream(declaredConstructor.getParameterTypes())
-                                                            .allMatch(Type.class::isAssignableFrom)
-                                                    && declaredConstructor.getParameterTypes()
-                                                                    .length
-                                                            > 0)
-                            .findAny()
-                            .orElseThrow(
-                                    () ->
-                                            new RuntimeException(
-                                                    "TypeReferenced struct must contain a constructor with types that extend Type"));
-            final int length = constructor.getParameterCount();
-            List<T> elements = new ArrayList<>(length);
+            TypeFactory.StructFactory<T> factory =
+                    TypeFactory.getStructFactory(typeReference.getClassType());
+            final int length = factory.getParameterCount();
+            List<Type> elements = new ArrayList<>(length);
 
             for (int i = 0; i < length; i++) {
-                java.lang.reflect.Type genericParameterType =
-                        constructor.getGenericParameterTypes()[i];
-                T value = decode(reader, TypeReference.create(genericParameterType));
-                elements.add(value);
+                elements.add(decode(reader, factory.getParameterTypeReference(i)));
             }
-
-            constructor.setAccessible(true);
-            return (T) constructor.newInstance(elements.toArray());
-        } catch (ClassNotFoundException
-                | InstantiationException
-                | IllegalAccessException
-                | InvocationTargetException e) {
+            return factory.newInstance(elements);
+        } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
                     "Unable to access parameterized type " + typeReference.getType().getTypeName(),
                     e);
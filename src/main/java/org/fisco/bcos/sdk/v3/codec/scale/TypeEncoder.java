@@ -1,9 +1,9 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.List;
+import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Array;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Bool;
@@ -14,6 +14,7 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.NumericType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StaticArray;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StructType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 
 public class TypeEncoder {
@@ -45,10 +46,52 @@ public class TypeEncoder {
     }
 
     public static byte[] encode(Type parameter) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ScaleCodecWriter scaleCodecWriter = new ScaleCodecWriter(outputStream);
-        encode(parameter, scaleCodecWriter);
-        return outputStream.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(encodedLength(parameter));
+        encode(parameter, new ScaleCodecWriter(buffer));
+        return buffer.array();
+    }
+
+    /**
+     * the length of the encoding of a value, without encoding it
+     *
+     * @param parameter the value
+     * @return the number of bytes written by {@link #encode(Type, ScaleCodecWriter)}
+     */
+    public static int encodedLength(Type parameter) {
+        if (parameter instanceof NumericType) {
+            int byteSize = ((NumericType) parameter).getBitSize() / 8;
+            return byteSize >= 1 && byteSize <= 16 ? byteSize : 32;
+        } else if (parameter instanceof Bool) {
+            return 1;
+        } else if (parameter instanceof Bytes) {
+            return ((Bytes) parameter).getValue().length;
+        } else if (parameter instanceof BytesType) {
+            int length = ((BytesType) parameter).getValue().length;
+            return ScaleCodecWriter.compactLength(length) + length;
+        } else if (parameter instanceof Address) {
+            return 32;
+        } else if (parameter instanceof Utf8String) {
+            int length = Utils.utf8Length(((Utf8String) parameter).getValue());
+            return ScaleCodecWriter.compactLength(length) + length;
+        } else if (parameter instanceof StructType) {
+            return valuesLength(((StructType) parameter).getComponentTypes());
+        } else if (parameter instanceof StaticArray) {
+            return valuesLength(((Array<?>) parameter).getValue());
+        } else if (parameter instanceof DynamicArray) {
+            List<? extends Type> values = ((Array<?>) parameter).getValue();
+            return ScaleCodecWriter.compactLength(values.size()) + valuesLength(values);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+
+    private static int valuesLength(List<? extends Type> values) {
+        int length = 0;
+        for (Type value : values) {
+            length += encodedLength(value);
+        }
+        return length;
     }
 
     public static void encodeAddress(Address address, ScaleCodecWriter writer) throws IOException {
@@ -59,7 +102,7 @@ public class TypeEncoder {
             throws IOException {
         int bitSize = numericType.getBitSize();
         int byteSize = bitSize / 8;
-        boolean signedInteger = (numericType.getTypeAsString().contains("uint")) ? false : true;
+        boolean signedInteger = !(numericType instanceof Uint);
         if (byteSize >= 1 && byteSize <= 16) {
             if (!signedInteger) {
                 writer.writeUnsignedInteger(numericType.getValue(), byteSize);
@@ -90,9 +133,7 @@ public class TypeEncoder {
 
     public static void encodeString(Utf8String stringType, ScaleCodecWriter writer)
             throws IOException {
-        String string = stringType.getValue();
-        byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
-        writer.writeAsList(stringBytes);
+        writer.writeString(stringType.getValue());
     }
 
     public static void encodeStruct(StructType structType, ScaleCodecWriter writer)
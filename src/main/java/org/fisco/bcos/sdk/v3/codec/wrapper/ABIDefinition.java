@@ -7,6 +7,7 @@ import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import org.fisco.bcos.sdk.v3.codec.SignatureHashCache;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
 
@@ -153,19 +154,12 @@ public class ABIDefinition {
      */
     @Deprecated
     public byte[] getMethodId(CryptoSuite cryptoSuite) {
-        // Note: it's ok to use the abi encoder for all ABIDefinition, because only use
-        // buildMethodId
-        org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder encoder =
-                new org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder(cryptoSuite.getHashImpl());
-        return encoder.buildMethodId(this.getMethodSignatureAsString());
+        return getMethodId(cryptoSuite.getHashImpl());
     }
 
     public byte[] getMethodId(Hash hash) {
-        // Note: it's ok to use the abi encoder for all ABIDefinition, because only use
-        // buildMethodId
-        org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder encoder =
-                new org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder(hash);
-        return encoder.buildMethodId(this.getMethodSignatureAsString());
+        // the selector is the same for the abi and scale encoders
+        return SignatureHashCache.getMethodId(hash, this.getMethodSignatureAsString());
     }
 
     public boolean isConstant() {
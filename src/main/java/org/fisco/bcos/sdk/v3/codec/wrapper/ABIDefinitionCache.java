@@ -0,0 +1,277 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.codec.wrapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, process-wide cache of parsed contract ABIs, keyed by the ABI json content.
+ *
+ * <p>Each entry holds the raw {@link ABIDefinition} array produced by jackson and the {@link
+ * ContractABIDefinition} built from it for every {@link Hash} implementation that requested it, so
+ * the same ABI string is parsed and its method ids/event topics are hashed only once. The cached
+ * definitions are shared between callers and must be treated as read-only.
+ */
+public class ABIDefinitionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ABIDefinitionCache.class);
+
+    public enum EvictionPolicy {
+        /** evict the least recently accessed abi */
+        LRU,
+        /** evict the earliest inserted abi */
+        FIFO
+    }
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 512;
+    private static final int MAX_SEGMENT_COUNT = 16;
+
+    private static volatile ABIDefinitionCache defaultCache =
+            new ABIDefinitionCache(DEFAULT_MAXIMUM_SIZE, EvictionPolicy.LRU);
+
+    private final int maximumSize;
+    private final EvictionPolicy evictionPolicy;
+    private final Segment[] segments;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * create an abi cache
+     *
+     * @param maximumSize the maximum number of abi kept in the cache, 0 disables caching
+     * @param evictionPolicy the policy used to select the abi to evict when the cache is full
+     */
+    public ABIDefinitionCache(int maximumSize, EvictionPolicy evictionPolicy) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.evictionPolicy = evictionPolicy;
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENT_COUNT, maximumSize));
+        int segmentCapacity = maximumSize / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // spread the remainder so that the segments sum up to maximumSize exactly
+            int capacity = segmentCapacity + (i < maximumSize % segmentCount ? 1 : 0);
+            this.segments[i] = new Segment(capacity, evictionPolicy == EvictionPolicy.LRU);
+        }
+    }
+
+    /**
+     * get the cache shared by ContractCodec, TransactionDecoderService and ContractLoader
+     *
+     * @return the default abi cache
+     */
+    public static ABIDefinitionCache getDefaultCache() {
+        return defaultCache;
+    }
+
+    /**
+     * replace the default cache, e.g. to change the size or the eviction policy. The instances
+     * created after this call use the new cache.
+     *
+     * @param abiDefinitionCache the new default abi cache
+     */
+    public static void setDefaultCache(ABIDefinitionCache abiDefinitionCache) {
+        if (abiDefinitionCache == null) {
+            throw new IllegalArgumentException("abiDefinitionCache must not be null");
+        }
+        defaultCache = abiDefinitionCache;
+    }
+
+    /**
+     * get the parsed abi definitions of the abi json, in declaration order
+     *
+     * @param abi the abi json string
+     * @return the parsed abi definitions
+     * @throws JsonProcessingException if the abi is not a valid abi json
+     */
+    public ABIDefinition[] getABIDefinitions(String abi) throws JsonProcessingException {
+        return getEntry(abi).abiDefinitions;
+    }
+
+    /**
+     * get the contract abi definition of the abi json for the given hash implementation
+     *
+     * @param abi the abi json string
+     * @param hashImpl the hash implementation used to calculate method ids and event topics
+     * @param builder build the contract abi definition from the parsed abi definitions on a miss
+     * @return the contract abi definition
+     * @throws JsonProcessingException if the abi is not a valid abi json
+     */
+    public ContractABIDefinition getContractABIDefinition(
+            String abi, Hash hashImpl, Function<ABIDefinition[], ContractABIDefinition> builder)
+            throws JsonProcessingException {
+        Entry entry = getEntry(abi);
+        return entry.contractABIDefinitions.computeIfAbsent(
+                hashImpl.getClass().getName(), key -> builder.apply(entry.abiDefinitions));
+    }
+
+    private Entry getEntry(String abi) throws JsonProcessingException {
+        Segment segment = segmentFor(abi);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(abi);
+        }
+        if (entry != null) {
+            hitCount.increment();
+            return entry;
+        }
+        missCount.increment();
+        // parse outside the lock, concurrent misses of the same abi keep the first entry
+        Entry parsed =
+                new Entry(
+                        ObjectMapperFactory.getObjectMapper()
+                                .readValue(abi, ABIDefinition[].class));
+        if (maximumSize == 0) {
+            return parsed;
+        }
+        synchronized (segment) {
+            entry = segment.get(abi);
+            if (entry == null) {
+                segment.put(abi, parsed);
+                entry = parsed;
+            }
+        }
+        return entry;
+    }
+
+    private Segment segmentFor(String abi) {
+        int h = abi.hashCode();
+        h ^= (h >>> 16);
+        return segments[(h & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /** remove all the cached abi */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * remove the cached definitions of the abi
+     *
+     * @param abi the abi json string
+     */
+    public void invalidate(String abi) {
+        Segment segment = segmentFor(abi);
+        synchronized (segment) {
+            segment.remove(abi);
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ABIDefinitionCache{"
+                + "maximumSize="
+                + maximumSize
+                + ", evictionPolicy="
+                + evictionPolicy
+                + ", size="
+                + size()
+                + ", hitCount="
+                + getHitCount()
+                + ", missCount="
+                + getMissCount()
+                + ", evictionCount="
+                + getEvictionCount()
+                + '}';
+    }
+
+    private static class Entry {
+        private final ABIDefinition[] abiDefinitions;
+        // hash implementation class name => contract abi definition
+        private final Map<String, ContractABIDefinition> contractABIDefinitions =
+                new ConcurrentHashMap<>();
+
+        private Entry(ABIDefinition[] abiDefinitions) {
+            this.abiDefinitions = abiDefinitions;
+        }
+    }
+
+    private class Segment extends LinkedHashMap<String, Entry> {
+        private final int capacity;
+
+        private Segment(int capacity, boolean accessOrder) {
+            super(16, 0.75f, accessOrder);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            evictionCount.increment();
+            if (logger.isTraceEnabled()) {
+                logger.trace(
+                        "evict abi from cache, policy: {}, segment capacity: {}",
+                        evictionPolicy,
+                        capacity);
+            }
+            return true;
+        }
+    }
+}
@@ -12,43 +12,53 @@ public class ABIDefinitionFactory {
 
     @Deprecated private CryptoSuite cryptoSuite;
     private Hash hashIpml;
+    private final ABIDefinitionCache abiDefinitionCache;
 
     @Deprecated
     public ABIDefinitionFactory(CryptoSuite cryptoSuite) {
         this.cryptoSuite = cryptoSuite;
         this.hashIpml = cryptoSuite.getHashImpl();
+        this.abiDefinitionCache = ABIDefinitionCache.getDefaultCache();
     }
 
     public ABIDefinitionFactory(Hash hashImpl) {
+        this(hashImpl, ABIDefinitionCache.getDefaultCache());
+    }
+
+    /**
+     * create factory with the given abi cache
+     *
+     * @param hashImpl the hash implementation used to calculate method ids and event topics
+     * @param abiDefinitionCache the abi cache, null means parse the abi on every load
+     */
+    public ABIDefinitionFactory(Hash hashImpl, ABIDefinitionCache abiDefinitionCache) {
         this.hashIpml = hashImpl;
+        this.abiDefinitionCache = abiDefinitionCache;
+    }
+
+    public ABIDefinitionCache getAbiDefinitionCache() {
+        return abiDefinitionCache;
     }
 
     /**
-     * load ABI and construct ContractABIDefinition.
+     * load ABI and construct ContractABIDefinition. The result may be shared with other callers
+     * through the abi cache and must not be modified.
      *
      * @param abi the abi need to be loaded
      * @return the contract definition
      */
     public ContractABIDefinition loadABI(String abi) {
         try {
-            ABIDefinition[] abiDefinitions =
-                    ObjectMapperFactory.getObjectMapper().readValue(abi, ABIDefinition[].class);
-
-            ContractABIDefinition contractABIDefinition = new ContractABIDefinition(hashIpml);
-            for (ABIDefinition abiDefinition : abiDefinitions) {
-                if (abiDefinition.getType().equals("constructor")) {
-                    contractABIDefinition.setConstructor(abiDefinition);
-                } else if (abiDefinition.getType().equals("function")) {
-                    contractABIDefinition.addFunction(abiDefinition.getName(), abiDefinition);
-                } else if (abiDefinition.getType().equals("event")) {
-                    contractABIDefinition.addEvent(abiDefinition.getName(), abiDefinition);
-                } else {
-                    // skip and do nothing
-                }
-            }
-            if (contractABIDefinition.getConstructor() == null) {
-                contractABIDefinition.setConstructor(
-                        ABIDefinition.createDefaultConstructorABIDefinition());
+            ContractABIDefinition contractABIDefinition;
+            if (abiDefinitionCache == null) {
+                contractABIDefinition =
+                        buildContractABIDefinition(
+                                ObjectMapperFactory.getObjectMapper()
+                                        .readValue(abi, ABIDefinition[].class));
+            } else {
+                contractABIDefinition =
+                        abiDefinitionCache.getContractABIDefinition(
+                                abi, hashIpml, this::buildContractABIDefinition);
             }
             if (logger.isTraceEnabled()) {
                 logger.trace(" contractABIDefinition {} ", contractABIDefinition);
@@ -61,4 +71,24 @@ public class ABIDefinitionFactory {
             return null;
         }
     }
+
+    private ContractABIDefinition buildContractABIDefinition(ABIDefinition[] abiDefinitions) {
+        ContractABIDefinition contractABIDefinition = new ContractABIDefinition(hashIpml);
+        for (ABIDefinition abiDefinition : abiDefinitions) {
+            if (abiDefinition.getType().equals("constructor")) {
+                contractABIDefinition.setConstructor(abiDefinition);
+            } else if (abiDefinition.getType().equals("function")) {
+                contractABIDefinition.addFunction(abiDefinition.getName(), abiDefinition);
+            } else if (abiDefinition.getType().equals("event")) {
+                contractABIDefinition.addEvent(abiDefinition.getName(), abiDefinition);
+            } else {
+                // skip and do nothing
+            }
+        }
+        if (contractABIDefinition.getConstructor() == null) {
+            contractABIDefinition.setConstructor(
+                    ABIDefinition.createDefaultConstructorABIDefinition());
+        }
+        return contractABIDefinition;
+    }
 }
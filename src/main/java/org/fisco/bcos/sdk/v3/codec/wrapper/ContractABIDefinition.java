@@ -2,11 +2,16 @@ package org.fisco.bcos.sdk.v3.codec.wrapper;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
 import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -25,6 +30,11 @@ public class ContractABIDefinition {
     private Map<ByteBuffer, ABIDefinition> methodIDToFunctions = new HashMap<>();
     // event topic => topic
     private Map<ByteBuffer, ABIDefinition> eventTopicToEvents = new HashMap<>();
+    // full 32 bytes event topic => event
+    private final Map<ByteBuffer, ABIDefinition> eventFullTopicToEvents = new HashMap<>();
+    // full 32 bytes event topic => decode template of the event data, created on first use
+    private final ConcurrentMap<ByteBuffer, ABIObject> eventInputObjects =
+            new ConcurrentHashMap<>();
     private CryptoSuite cryptoSuite;
 
     private final Hash hashIpml;
@@ -37,10 +47,10 @@ public class ContractABIDefinition {
 
     public ContractABIDefinition(Hash hashImpl) {
         // for compatibility
-        if (hashImpl instanceof SM3Hash) {
+        if (hashImpl instanceof SM3Hash || hashImpl instanceof JavaSM3Hash) {
             this.cryptoSuite = new CryptoSuite(CryptoType.SM_TYPE);
         }
-        if (hashImpl instanceof Keccak256) {
+        if (hashImpl instanceof Keccak256 || hashImpl instanceof JavaKeccak256) {
             this.cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
         }
         this.hashIpml = hashImpl;
@@ -126,8 +136,10 @@ public class ContractABIDefinition {
         }
 
         // calculate method id and add abiDefinition to eventTopicToEvents
-        byte[] methodId = abiDefinition.getMethodId(this.hashIpml);
+        byte[] topic = this.hashIpml.hash(abiDefinition.getMethodSignatureAsString().getBytes());
+        byte[] methodId = Arrays.copyOfRange(topic, 0, 4);
         this.eventTopicToEvents.put(ByteBuffer.wrap(methodId), abiDefinition);
+        this.eventFullTopicToEvents.put(ByteBuffer.wrap(topic), abiDefinition);
     }
 
     public ABIDefinition getABIDefinitionByMethodId(byte[] methodId) {
@@ -135,7 +147,42 @@ public class ContractABIDefinition {
     }
 
     public ABIDefinition getABIDefinitionByEventTopic(String topic) {
-        return this.eventTopicToEvents.get(ByteBuffer.wrap(Hex.decode(topic)));
+        return getABIDefinitionByEventTopic(Hex.decode(topic));
+    }
+
+    /**
+     * get the event of a topic
+     *
+     * @param topic the 4 bytes event id, or the full topic0 of a log
+     * @return the event, null if the contract has no such event
+     */
+    public ABIDefinition getABIDefinitionByEventTopic(byte[] topic) {
+        if (topic.length == 4) {
+            return this.eventTopicToEvents.get(ByteBuffer.wrap(topic));
+        }
+        return this.eventFullTopicToEvents.get(ByteBuffer.wrap(topic));
+    }
+
+    /**
+     * get the template to decode the data of an event, the template is built once and shared, it
+     * must not be modified
+     *
+     * @param topic the full topic0 of a log
+     * @return the template, null if the contract has no such event
+     */
+    public ABIObject getEventInputObject(byte[] topic) {
+        ABIObject inputObject = this.eventInputObjects.get(ByteBuffer.wrap(topic));
+        if (inputObject != null) {
+            return inputObject;
+        }
+        ABIDefinition abiDefinition = this.eventFullTopicToEvents.get(ByteBuffer.wrap(topic));
+        if (abiDefinition == null) {
+            return null;
+        }
+        inputObject = ABIObjectFactory.createEventInputObject(abiDefinition);
+        ABIObject previous =
+                this.eventInputObjects.putIfAbsent(ByteBuffer.wrap(topic.clone()), inputObject);
+        return previous == null ? inputObject : previous;
     }
 
     @Override
@@ -28,6 +28,8 @@ public class CryptoMaterialConfig {
     private Boolean useSmCrypto = false;
     private Boolean disableSsl = false;
     private Boolean enableHsm = false;
+    // calculate keccak256/sm3 in java instead of the native library
+    private Boolean useJavaHash = false;
     private String certPath = "conf";
 
     private String caCertPath;
@@ -55,6 +57,7 @@ public class CryptoMaterialConfig {
         Object disableSsl = cryptoMaterialProperty.get("disableSsl");
         Object enableSsl = cryptoMaterialProperty.get("enableSsl");
         String enableHsm = (String) cryptoMaterialProperty.get("enableHsm");
+        String useJavaHash = (String) cryptoMaterialProperty.get("useJavaHash");
 
         this.useSmCrypto = Boolean.valueOf(useSMCrypto);
         if (disableSsl != null) {
@@ -66,6 +69,7 @@ public class CryptoMaterialConfig {
         }
 
         this.enableHsm = Boolean.valueOf(enableHsm);
+        this.useJavaHash = Boolean.valueOf(useJavaHash);
 
         if (this.enableHsm) {
             this.hsmLibPath = (String) cryptoMaterialProperty.get("hsmLibPath");
@@ -259,6 +263,14 @@ public class CryptoMaterialConfig {
         this.enableHsm = enableHsm;
     }
 
+    public Boolean getUseJavaHash() {
+        return useJavaHash;
+    }
+
+    public void setUseJavaHash(Boolean useJavaHash) {
+        this.useJavaHash = useJavaHash;
+    }
+
     public String getHsmLibPath() {
         return hsmLibPath;
     }
@@ -330,6 +342,8 @@ public class CryptoMaterialConfig {
                 + useSmCrypto
                 + "useHSMCrypto="
                 + enableHsm
+                + ", useJavaHash="
+                + useJavaHash
                 + ", certPath='"
                 + certPath
                 + '\''
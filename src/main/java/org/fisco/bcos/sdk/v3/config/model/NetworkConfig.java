@@ -15,6 +15,7 @@
 
 package org.fisco.bcos.sdk.v3.config.model;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -31,6 +32,19 @@ public class NetworkConfig {
     private int timeout = 10000; // ms
     private String defaultGroup;
     private boolean sendRpcRequestToHighestBlockNode = true;
+    // share one request between the identical reads in flight
+    private boolean coalesceReads = false;
+    // the most requests sent in one json rpc batch
+    private int maxBatchSize = 500;
+    private int maxBatchesInFlight = 4;
+    // none, memory, jmx or the class name of an RpcMetrics
+    private String rpcMetrics = "none";
+    // reflective or tuned, the decoder of the json rpc responses
+    private String jsonDecoder = "reflective";
+    // rpc method name => timeout of the synchronous call in ms
+    private Map<String, Integer> methodTimeouts = new HashMap<>();
+    private ReadRoutingConfig readRoutingConfig = new ReadRoutingConfig();
+    private ReadCacheConfig readCacheConfig = new ReadCacheConfig();
 
     public NetworkConfig() {}
 
@@ -49,10 +63,64 @@ public class NetworkConfig {
             if (Objects.nonNull(value)) {
                 sendRpcRequestToHighestBlockNode = Boolean.parseBoolean((String) value);
             }
+
+            value = networkProperty.get("coalesceReads");
+            if (Objects.nonNull(value)) {
+                coalesceReads = Boolean.parseBoolean(String.valueOf(value));
+            }
+
+            value = networkProperty.get("maxBatchSize");
+            if (Objects.nonNull(value)) {
+                maxBatchSize = Integer.parseInt(String.valueOf(value));
+            }
+
+            value = networkProperty.get("maxBatchesInFlight");
+            if (Objects.nonNull(value)) {
+                maxBatchesInFlight = Integer.parseInt(String.valueOf(value));
+            }
+
+            value = networkProperty.get("rpcMetrics");
+            if (Objects.nonNull(value)) {
+                rpcMetrics = String.valueOf(value);
+            }
+
+            value = networkProperty.get("jsonDecoder");
+            if (Objects.nonNull(value)) {
+                jsonDecoder = String.valueOf(value);
+            }
+
+            value = networkProperty.get("methodTimeout");
+            if (value instanceof Map) {
+                ((Map<String, Object>) value)
+                        .forEach(
+                                (method, methodTimeout) ->
+                                        methodTimeouts.put(
+                                                method,
+                                                methodTimeout instanceof Number
+                                                        ? ((Number) methodTimeout).intValue()
+                                                        : Integer.parseInt(
+                                                                (String) methodTimeout)));
+            }
+            value = networkProperty.get("readRouting");
+            if (value instanceof Map) {
+                readRoutingConfig = new ReadRoutingConfig((Map<String, Object>) value);
+            }
+            value = networkProperty.get("readCache");
+            if (value instanceof Map) {
+                readCacheConfig = new ReadCacheConfig((Map<String, Object>) value);
+            }
             logger.info(
-                    "network config items, sendRpcRequestToHighestBlockNode: {}, timeout: {}, peers: {}",
+                    "network config items, sendRpcRequestToHighestBlockNode: {}, coalesceReads: {}, maxBatchSize: {}, maxBatchesInFlight: {}, rpcMetrics: {}, jsonDecoder: {}, timeout: {}, methodTimeouts: {}, readRouting: {}, readCache: {}, peers: {}",
                     sendRpcRequestToHighestBlockNode,
+                    coalesceReads,
+                    maxBatchSize,
+                    maxBatchesInFlight,
+                    rpcMetrics,
+                    jsonDecoder,
                     timeout,
+                    methodTimeouts,
+                    readRoutingConfig,
+                    readCacheConfig,
                     peers);
         }
     }
@@ -89,6 +157,41 @@ public class NetworkConfig {
         this.timeout = timeout;
     }
 
+    /**
+     * get the timeout of the synchronous rpc call
+     *
+     * @param method the rpc method name, see JsonRpcMethods
+     * @return the timeout configured for the method, or the message timeout
+     */
+    public int getTimeout(String method) {
+        Integer methodTimeout = methodTimeouts.get(method);
+        return methodTimeout == null ? timeout : methodTimeout;
+    }
+
+    public Map<String, Integer> getMethodTimeouts() {
+        return methodTimeouts;
+    }
+
+    public void setMethodTimeouts(Map<String, Integer> methodTimeouts) {
+        this.methodTimeouts = methodTimeouts;
+    }
+
+    public ReadRoutingConfig getReadRoutingConfig() {
+        return readRoutingConfig;
+    }
+
+    public void setReadRoutingConfig(ReadRoutingConfig readRoutingConfig) {
+        this.readRoutingConfig = readRoutingConfig;
+    }
+
+    public ReadCacheConfig getReadCacheConfig() {
+        return readCacheConfig;
+    }
+
+    public void setReadCacheConfig(ReadCacheConfig readCacheConfig) {
+        this.readCacheConfig = readCacheConfig;
+    }
+
     public boolean isSendRpcRequestToHighestBlockNode() {
         return sendRpcRequestToHighestBlockNode;
     }
@@ -97,6 +200,46 @@ public class NetworkConfig {
         this.sendRpcRequestToHighestBlockNode = sendRpcRequestToHighestBlockNode;
     }
 
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxBatchesInFlight() {
+        return maxBatchesInFlight;
+    }
+
+    public void setMaxBatchesInFlight(int maxBatchesInFlight) {
+        this.maxBatchesInFlight = maxBatchesInFlight;
+    }
+
+    public String getRpcMetrics() {
+        return rpcMetrics;
+    }
+
+    public void setRpcMetrics(String rpcMetrics) {
+        this.rpcMetrics = rpcMetrics;
+    }
+
+    public String getJsonDecoder() {
+        return jsonDecoder;
+    }
+
+    public void setJsonDecoder(String jsonDecoder) {
+        this.jsonDecoder = jsonDecoder;
+    }
+
     @Override
     public String toString() {
         return "NetworkConfig{"
@@ -106,11 +249,29 @@ public class NetworkConfig {
                 + tarsPeers
                 + ", timeout="
                 + timeout
+                + ", methodTimeouts="
+                + methodTimeouts
+                + ", readRoutingConfig="
+                + readRoutingConfig
+                + ", readCacheConfig="
+                + readCacheConfig
                 + ", defaultGroup='"
                 + defaultGroup
                 + '\''
                 + ", sendRpcRequestToHighestBlockNode="
                 + sendRpcRequestToHighestBlockNode
+                + ", coalesceReads="
+                + coalesceReads
+                + ", maxBatchSize="
+                + maxBatchSize
+                + ", maxBatchesInFlight="
+                + maxBatchesInFlight
+                + ", rpcMetrics='"
+                + rpcMetrics
+                + '\''
+                + ", jsonDecoder='"
+                + jsonDecoder
+                + '\''
                 + '}';
     }
 }
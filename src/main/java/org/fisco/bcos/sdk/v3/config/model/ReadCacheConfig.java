@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.fisco.bcos.sdk.v3.config.model;
+
+import java.util.Map;
+
+/**
+ * Cache of the responses of the reads on immutable chain data, the [network.readCache] table of the
+ * config file. Disabled by default.
+ */
+public class ReadCacheConfig {
+
+    private boolean enable = false;
+    private int maxEntries = 10000;
+    // total size of the cached raw responses
+    private long maxBytes = 64L * 1024 * 1024;
+    // keep the raw responses in direct buffers outside of the java heap
+    private boolean offHeap = false;
+
+    public ReadCacheConfig() {}
+
+    public ReadCacheConfig(Map<String, Object> readCache) {
+        if (readCache == null) {
+            return;
+        }
+        Object value = readCache.get("enable");
+        if (value != null) {
+            enable = toBoolean(value);
+        }
+        value = readCache.get("maxEntries");
+        if (value != null) {
+            maxEntries = (int) toDouble(value);
+        }
+        value = readCache.get("maxBytes");
+        if (value != null) {
+            maxBytes = (long) toDouble(value);
+        }
+        value = readCache.get("offHeap");
+        if (value != null) {
+            offHeap = toBoolean(value);
+        }
+    }
+
+    private static boolean toBoolean(Object value) {
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean((String) value);
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number
+                ? ((Number) value).doubleValue()
+                : Double.parseDouble((String) value);
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadCacheConfig{"
+                + "enable="
+                + enable
+                + ", maxEntries="
+                + maxEntries
+                + ", maxBytes="
+                + maxBytes
+                + ", offHeap="
+                + offHeap
+                + '}';
+    }
+}
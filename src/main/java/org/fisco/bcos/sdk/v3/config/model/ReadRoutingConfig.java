@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.fisco.bcos.sdk.v3.config.model;
+
+import java.util.Map;
+
+/**
+ * Routing of the read-only rpc calls over the nodes of the group, the [network.readRouting] table
+ * of the config file. Disabled by default, the requests then go to the node chosen by the native
+ * layer.
+ */
+public class ReadRoutingConfig {
+
+    public enum Policy {
+        /** no client side routing */
+        NONE,
+        /** the node with the fewest requests waiting for their response */
+        LEAST_OUTSTANDING,
+        /** the node with the lowest moving average latency weighted by its pending requests */
+        EWMA;
+
+        public static Policy fromString(String value) {
+            switch (value) {
+                case "none":
+                    return NONE;
+                case "leastOutstanding":
+                    return LEAST_OUTSTANDING;
+                case "ewma":
+                    return EWMA;
+                default:
+                    throw new IllegalArgumentException(
+                            "unknown read routing policy: "
+                                    + value
+                                    + ", expect none, leastOutstanding or ewma");
+            }
+        }
+    }
+
+    private Policy policy = Policy.NONE;
+    // send the read to a second node when the first has not answered after this percentile
+    private boolean hedge = false;
+    private double hedgePercentile = 95;
+    private long minHedgeDelayMillis = 5;
+    // eject a node whose average latency exceeds this factor times the fastest node
+    private double slowNodeFactor = 3;
+    private int maxConsecutiveFailures = 5;
+    private long ejectMillis = 30000;
+
+    public ReadRoutingConfig() {}
+
+    public ReadRoutingConfig(Map<String, Object> readRouting) {
+        if (readRouting == null) {
+            return;
+        }
+        Object value = readRouting.get("policy");
+        if (value != null) {
+            policy = Policy.fromString((String) value);
+        }
+        value = readRouting.get("hedge");
+        if (value != null) {
+            hedge =
+                    value instanceof Boolean
+                            ? (Boolean) value
+                            : Boolean.parseBoolean((String) value);
+        }
+        value = readRouting.get("hedgePercentile");
+        if (value != null) {
+            hedgePercentile = toDouble(value);
+        }
+        value = readRouting.get("minHedgeDelay");
+        if (value != null) {
+            minHedgeDelayMillis = (long) toDouble(value);
+        }
+        value = readRouting.get("slowNodeFactor");
+        if (value != null) {
+            slowNodeFactor = toDouble(value);
+        }
+        value = readRouting.get("maxConsecutiveFailures");
+        if (value != null) {
+            maxConsecutiveFailures = (int) toDouble(value);
+        }
+        value = readRouting.get("ejectTime");
+        if (value != null) {
+            ejectMillis = (long) toDouble(value);
+        }
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number
+                ? ((Number) value).doubleValue()
+                : Double.parseDouble((String) value);
+    }
+
+    public boolean isEnabled() {
+        return policy != Policy.NONE;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+    }
+
+    public boolean isHedge() {
+        return hedge;
+    }
+
+    public void setHedge(boolean hedge) {
+        this.hedge = hedge;
+    }
+
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public void setHedgePercentile(double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public long getMinHedgeDelayMillis() {
+        return minHedgeDelayMillis;
+    }
+
+    public void setMinHedgeDelayMillis(long minHedgeDelayMillis) {
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+    }
+
+    public double getSlowNodeFactor() {
+        return slowNodeFactor;
+    }
+
+    /**
+     * @param slowNodeFactor the latency factor over the fastest node to eject a node, 0 to never
+     */
+    public void setSlowNodeFactor(double slowNodeFactor) {
+        this.slowNodeFactor = slowNodeFactor;
+    }
+
+    public int getMaxConsecutiveFailures() {
+        return maxConsecutiveFailures;
+    }
+
+    /** @param maxConsecutiveFailures the failures in a row to eject a node, 0 to never */
+    public void setMaxConsecutiveFailures(int maxConsecutiveFailures) {
+        this.maxConsecutiveFailures = maxConsecutiveFailures;
+    }
+
+    public long getEjectMillis() {
+        return ejectMillis;
+    }
+
+    public void setEjectMillis(long ejectMillis) {
+        this.ejectMillis = ejectMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadRoutingConfig{"
+                + "policy="
+                + policy
+                + ", hedge="
+                + hedge
+                + ", hedgePercentile="
+                + hedgePercentile
+                + ", minHedgeDelayMillis="
+                + minHedgeDelayMillis
+                + ", slowNodeFactor="
+                + slowNodeFactor
+                + ", maxConsecutiveFailures="
+                + maxConsecutiveFailures
+                + ", ejectMillis="
+                + ejectMillis
+                + '}';
+    }
+}
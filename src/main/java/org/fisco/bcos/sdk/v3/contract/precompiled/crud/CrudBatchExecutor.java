@@ -0,0 +1,372 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.contract.precompiled.crud;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.v3.client.metrics.LatencyHistogram;
+import org.fisco.bcos.sdk.v3.model.RetCode;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+
+/**
+ * Runs the batch operations of {@link TableCRUDService} and {@link KVTableService}.
+ *
+ * <p>Transactions are sent asynchronously and at most {@link #getMaxInFlight()} of them wait for
+ * their receipt at the same time, so a bulk import keeps the node busy without flooding its
+ * transaction pool. Calls are synchronous, they run on a pool of {@link #getParallelism()} daemon
+ * threads created on first use, and at most {@link #getMaxInFlight()} calls of a batch are queued
+ * or running at the same time. The counters and latency histograms cover every batch run by this
+ * executor.
+ */
+public class CrudBatchExecutor {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 500;
+    public static final int DEFAULT_PARALLELISM = 16;
+
+    private final int maxInFlight;
+    private final int parallelism;
+    private volatile ThreadPoolExecutor callExecutor;
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LatencyHistogram transactionLatency = new LatencyHistogram();
+    private final LatencyHistogram callLatency = new LatencyHistogram();
+
+    /** parse the receipt of one transaction of a batch */
+    @FunctionalInterface
+    public interface RetCodeParser {
+        RetCode parse(TransactionReceipt receipt) throws ContractException;
+    }
+
+    /** send the transaction of one item of a batch */
+    @FunctionalInterface
+    public interface TransactionSender<T> {
+        void send(T item, TransactionCallback callback) throws ContractException;
+    }
+
+    /** run the call of one item of a batch */
+    @FunctionalInterface
+    public interface Caller<T, R> {
+        R call(T item) throws ContractException;
+    }
+
+    public CrudBatchExecutor() {
+        this(DEFAULT_MAX_IN_FLIGHT, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * create a batch executor
+     *
+     * @param maxInFlight the maximum number of transactions waiting for their receipt
+     * @param parallelism the number of threads running the calls
+     */
+    public CrudBatchExecutor(int maxInFlight, int parallelism) {
+        if (maxInFlight <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "maxInFlight and parallelism must be positive, maxInFlight: "
+                            + maxInFlight
+                            + ", parallelism: "
+                            + parallelism);
+        }
+        this.maxInFlight = maxInFlight;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * send one transaction per item and wait for all the receipts
+     *
+     * @param items the items to send
+     * @param sender sends the transaction of an item
+     * @param parser turns the receipt of an item into its result
+     * @param <T> the item type
+     * @return the results in the order of the items, a failed send or receipt gives a result with
+     *     the error code and message
+     * @throws ContractException if the waiting thread is interrupted
+     */
+    public <T> List<RetCode> sendAll(
+            List<T> items, TransactionSender<T> sender, RetCodeParser parser)
+            throws ContractException {
+        RetCode[] results = new RetCode[items.size()];
+        CountDownLatch done = new CountDownLatch(items.size());
+        Semaphore window = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                window.acquire();
+                BatchCallback callback = new BatchCallback(results, i, parser, window, done);
+                inFlight.incrementAndGet();
+                sentCount.increment();
+                try {
+                    sender.send(items.get(i), callback);
+                } catch (ContractException | RuntimeException e) {
+                    callback.complete(
+                            new RetCode(-1, "send transaction failed: " + e.getMessage()));
+                }
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContractException("batch interrupted, " + done.getCount() + " pending", e);
+        } finally {
+            batchNanos.add(System.nanoTime() - start);
+        }
+        return Arrays.asList(results);
+    }
+
+    private class BatchCallback extends TransactionCallback {
+        private final RetCode[] results;
+        private final int index;
+        private final RetCodeParser parser;
+        private final Semaphore window;
+        private final CountDownLatch done;
+        private final long sendNanos = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private BatchCallback(
+                RetCode[] results,
+                int index,
+                RetCodeParser parser,
+                Semaphore window,
+                CountDownLatch done) {
+            this.results = results;
+            this.index = index;
+            this.parser = parser;
+            this.window = window;
+            this.done = done;
+        }
+
+        @Override
+        public void onResponse(TransactionReceipt receipt) {
+            RetCode retCode;
+            try {
+                // never share the cached RetCode instances between receipts
+                RetCode parsed = parser.parse(receipt);
+                retCode = new RetCode(parsed.getCode(), parsed.getMessage());
+            } catch (ContractException e) {
+                retCode = new RetCode(e.getErrorCode(), e.getMessage());
+            } catch (RuntimeException e) {
+                retCode = new RetCode(-1, "parse receipt failed: " + e.getMessage());
+            }
+            retCode.setTransactionReceipt(receipt);
+            complete(retCode);
+        }
+
+        private void complete(RetCode retCode) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            boolean success = retCode.getCode() >= 0;
+            transactionLatency.record(System.nanoTime() - sendNanos, success);
+            (success ? successCount : failureCount).increment();
+            results[index] = retCode;
+            inFlight.decrementAndGet();
+            window.release();
+            done.countDown();
+        }
+    }
+
+    /**
+     * run one call per item on the worker threads and wait for all the results
+     *
+     * @param items the items to call
+     * @param caller runs the call of an item
+     * @param <T> the item type
+     * @param <R> the result type
+     * @return the results in the order of the items
+     * @throws ContractException the first failure of a call, the remaining calls are cancelled and
+     *     the items not submitted yet are skipped
+     */
+    public <T, R> List<R> callAll(List<T> items, Caller<T, R> caller) throws ContractException {
+        Executor executor = getCallExecutor();
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        Semaphore window = new Semaphore(maxInFlight);
+        AtomicBoolean failed = new AtomicBoolean();
+        long start = System.nanoTime();
+        try {
+            for (T item : items) {
+                window.acquire();
+                if (failed.get()) {
+                    // the batch fails anyway, the result loop throws the failure
+                    window.release();
+                    break;
+                }
+                FutureTask<R> task =
+                        new FutureTask<R>(
+                                () -> {
+                                    long callNanos = System.nanoTime();
+                                    boolean success = false;
+                                    try {
+                                        R result = caller.call(item);
+                                        success = true;
+                                        return result;
+                                    } finally {
+                                        if (!success) {
+                                            failed.set(true);
+                                        }
+                                        callCount.increment();
+                                        callLatency.record(System.nanoTime() - callNanos, success);
+                                    }
+                                }) {
+                            @Override
+                            protected void done() {
+                                // run, failed or cancelled
+                                window.release();
+                            }
+                        };
+                futures.add(task);
+                executor.execute(task);
+            }
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContractException("batch interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ContractException) {
+                throw (ContractException) cause;
+            }
+            throw new ContractException("batch call failed: " + cause.getMessage(), cause);
+        } finally {
+            for (Future<R> future : futures) {
+                future.cancel(false);
+            }
+            batchNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private Executor getCallExecutor() {
+        ThreadPoolExecutor executor = callExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = callExecutor;
+                if (executor == null) {
+                    AtomicInteger threadId = new AtomicInteger();
+                    executor =
+                            new ThreadPoolExecutor(
+                                    parallelism,
+                                    parallelism,
+                                    60,
+                                    TimeUnit.SECONDS,
+                                    new LinkedBlockingQueue<>(),
+                                    runnable -> {
+                                        Thread thread =
+                                                new Thread(
+                                                        runnable,
+                                                        "crudBatch-" + threadId.incrementAndGet());
+                                        thread.setDaemon(true);
+                                        return thread;
+                                    });
+                    // idle workers exit, an unused service holds no thread
+                    executor.allowCoreThreadTimeOut(true);
+                    callExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /** @return the number of transactions sent and still waiting for their receipt */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getCallCount() {
+        return callCount.sum();
+    }
+
+    /** @return the completed transactions and calls per second spent in batches */
+    public double getThroughput() {
+        long nanos = batchNanos.sum();
+        if (nanos == 0) {
+            return 0;
+        }
+        long completed = getSuccessCount() + getFailureCount() + getCallCount();
+        return completed * 1e9 / nanos;
+    }
+
+    /** @return the latency from sending a transaction to receiving its receipt */
+    public LatencyHistogram getTransactionLatency() {
+        return transactionLatency;
+    }
+
+    public LatencyHistogram getCallLatency() {
+        return callLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "CrudBatchExecutor{"
+                + "maxInFlight="
+                + maxInFlight
+                + ", parallelism="
+                + parallelism
+                + ", inFlight="
+                + getInFlight()
+                + ", sentCount="
+                + getSentCount()
+                + ", successCount="
+                + getSuccessCount()
+                + ", failureCount="
+                + getFailureCount()
+                + ", callCount="
+                + getCallCount()
+                + ", throughput="
+                + String.format("%.1f", getThroughput())
+                + '}';
+    }
+}
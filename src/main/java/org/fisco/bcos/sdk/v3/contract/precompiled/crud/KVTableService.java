@@ -16,7 +16,10 @@ package org.fisco.bcos.sdk.v3.contract.precompiled.crud;
 
 import static org.fisco.bcos.sdk.v3.contract.precompiled.crud.common.Common.TABLE_PREFIX;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated.Tuple2;
@@ -37,6 +40,7 @@ import org.slf4j.LoggerFactory;
 public class KVTableService {
     private final Client client;
     private final TableManagerPrecompiled tableManagerPrecompiled;
+    private volatile CrudBatchExecutor batchExecutor = new CrudBatchExecutor();
     private final Logger logger = LoggerFactory.getLogger(KVTableService.class);
 
     public KVTableService(Client client, CryptoKeyPair credential) {
@@ -50,6 +54,15 @@ public class KVTableService {
                         credential);
     }
 
+    public CrudBatchExecutor getBatchExecutor() {
+        return batchExecutor;
+    }
+
+    /** @param batchExecutor the executor of the batch operations, with its window and counters */
+    public void setBatchExecutor(CrudBatchExecutor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
     public void checkKey(String key) throws ContractException {
         if (key.length() > PrecompiledConstant.TABLE_KEY_MAX_LENGTH) {
             throw new ContractException(PrecompiledRetCode.OVER_TABLE_KEY_LENGTH_LIMIT);
@@ -80,6 +93,36 @@ public class KVTableService {
                 receipt, tr -> kvTablePrecompiled.getSetOutput(tr).getValue1());
     }
 
+    /**
+     * set many key-value pairs to a specific table. The transactions are sent asynchronously, at
+     * most the max in flight of the batch executor wait for their receipts at the same time
+     *
+     * @param tableName specific table name, table should exist
+     * @param keyValues the values of every key
+     * @return the result of every key in the iteration order of the key-value pairs, see the
+     *     retCode message of the failed ones
+     * @throws ContractException throw when the table can not be opened
+     */
+    public Map<String, RetCode> batchSet(String tableName, Map<String, String> keyValues)
+            throws ContractException {
+        KVTablePrecompiled kvTablePrecompiled = loadKVTablePrecompiled(tableName);
+        List<Map.Entry<String, String>> items = new ArrayList<>(keyValues.entrySet());
+        List<RetCode> retCodes =
+                batchExecutor.sendAll(
+                        items,
+                        (item, callback) ->
+                                kvTablePrecompiled.set(item.getKey(), item.getValue(), callback),
+                        receipt ->
+                                ReceiptParser.parseTransactionReceipt(
+                                        receipt,
+                                        tr -> kvTablePrecompiled.getSetOutput(tr).getValue1()));
+        Map<String, RetCode> results = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            results.put(items.get(i).getKey(), retCodes.get(i));
+        }
+        return results;
+    }
+
     public String get(String tableName, String key) throws ContractException {
         KVTablePrecompiled kvTablePrecompiled = loadKVTablePrecompiled(tableName);
 
@@ -97,6 +140,29 @@ public class KVTableService {
         return booleanStringTuple.getValue2();
     }
 
+    /**
+     * get the values of many keys from a specific table. The gets run in parallel on the worker
+     * threads of the batch executor
+     *
+     * @param tableName specific table name, table should exist
+     * @param keys the keys to get
+     * @return the value of every key in the order of the keys, the keys that do not exist are left
+     *     out
+     * @throws ContractException throw when contract exec exception
+     */
+    public Map<String, String> batchGet(String tableName, List<String> keys)
+            throws ContractException {
+        KVTablePrecompiled kvTablePrecompiled = loadKVTablePrecompiled(tableName);
+        List<Tuple2<Boolean, String>> values = batchExecutor.callAll(keys, kvTablePrecompiled::get);
+        Map<String, String> results = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (values.get(i).getValue1()) {
+                results.put(keys.get(i), values.get(i).getValue2());
+            }
+        }
+        return results;
+    }
+
     public Map<String, String> desc(String tableName) throws ContractException {
         TableManagerPrecompiled.TableInfo desc = tableManagerPrecompiled.desc(tableName);
         Map<String, String> tableDesc = new HashMap<>();
@@ -20,6 +20,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -48,10 +49,27 @@ public class TableCRUDService {
     private final Client client;
     private final TableManagerPrecompiled tableManagerPrecompiled;
     private final long currentVersion;
+    private final TableMetadataCache tableMetadataCache;
+    private volatile CrudBatchExecutor batchExecutor = new CrudBatchExecutor();
     private final Logger logger = LoggerFactory.getLogger(TableCRUDService.class);
 
     public TableCRUDService(Client client, CryptoKeyPair credential) {
+        this(client, credential, new TableMetadataCache());
+    }
+
+    /**
+     * create the service with a table metadata cache, the addresses and columns of the tables are
+     * loaded once and reused until they expire or the table is changed by this service
+     *
+     * @param client the client
+     * @param credential the key pair to send the table manager transactions
+     * @param tableMetadataCache the cache of the table metadata, may be shared between services of
+     *     the same group
+     */
+    public TableCRUDService(
+            Client client, CryptoKeyPair credential, TableMetadataCache tableMetadataCache) {
         this.client = client;
+        this.tableMetadataCache = tableMetadataCache;
         this.tableManagerPrecompiled =
                 TableManagerPrecompiled.load(
                         this.client.isWASM()
@@ -72,6 +90,28 @@ public class TableCRUDService {
         return currentVersion;
     }
 
+    public TableMetadataCache getTableMetadataCache() {
+        return tableMetadataCache;
+    }
+
+    public CrudBatchExecutor getBatchExecutor() {
+        return batchExecutor;
+    }
+
+    /** @param batchExecutor the executor of the batch operations, with its window and counters */
+    public void setBatchExecutor(CrudBatchExecutor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    /**
+     * drop the cached metadata of a table, call it when the table is changed by another client
+     *
+     * @param tableName table name
+     */
+    public void invalidateTableMetadata(String tableName) {
+        tableMetadataCache.invalidate(getTableName(tableName));
+    }
+
     /**
      * create a table with table name, key name, value field names
      *
@@ -87,6 +127,7 @@ public class TableCRUDService {
         TableManagerPrecompiled.TableInfo tableInfo =
                 new TableManagerPrecompiled.TableInfo(keyFieldName, valueFields);
         TransactionReceipt receipt = tableManagerPrecompiled.createTable(tableName, tableInfo);
+        invalidateTableMetadata(tableName);
         return ReceiptParser.parseTransactionReceipt(
                 receipt, tr -> tableManagerPrecompiled.getCreateTableOutput(tr).getValue1());
     }
@@ -111,7 +152,7 @@ public class TableCRUDService {
                 tableName,
                 tableInfo,
                 createTransactionCallback(
-                        callback,
+                        invalidateTableMetadata(tableName, callback),
                         transactionReceipt ->
                                 tableManagerPrecompiled
                                         .getCreateTableOutput(transactionReceipt)
@@ -139,6 +180,7 @@ public class TableCRUDService {
                 new TableManagerPrecompiled.TableInfoV320(
                         keyOrder.getBigValue(), keyFieldName, valueFields);
         TransactionReceipt receipt = tableManagerPrecompiled.createTableV320(tableName, tableInfo);
+        invalidateTableMetadata(tableName);
         return ReceiptParser.parseTransactionReceipt(
                 receipt, tr -> tableManagerPrecompiled.getCreateTableOutput(tr).getValue1());
     }
@@ -167,7 +209,7 @@ public class TableCRUDService {
                 tableName,
                 tableInfo,
                 createTransactionCallback(
-                        callback,
+                        invalidateTableMetadata(tableName, callback),
                         transactionReceipt ->
                                 tableManagerPrecompiled
                                         .getCreateTableOutput(transactionReceipt)
@@ -186,6 +228,7 @@ public class TableCRUDService {
     public RetCode appendColumns(String tableName, List<String> newColumns)
             throws ContractException {
         TransactionReceipt receipt = tableManagerPrecompiled.appendColumns(tableName, newColumns);
+        invalidateTableMetadata(tableName);
         return ReceiptParser.parseTransactionReceipt(
                 receipt, tr -> tableManagerPrecompiled.getAppendColumnsOutput(tr).getValue1());
     }
@@ -204,7 +247,7 @@ public class TableCRUDService {
                 tableName,
                 newColumns,
                 createTransactionCallback(
-                        callback,
+                        invalidateTableMetadata(tableName, callback),
                         transactionReceipt ->
                                 tableManagerPrecompiled
                                         .getAppendColumnsOutput(transactionReceipt)
@@ -223,7 +266,7 @@ public class TableCRUDService {
             throws ContractException {
         TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
 
-        TableManagerPrecompiled.TableInfo tableInfo = tableManagerPrecompiled.desc(tableName);
+        TableMetadataCache.TableMetadata tableInfo = loadTableColumns(tableName, false, false);
         List<TablePrecompiled.Entry> selectEntry = new ArrayList<>();
         List<Map<String, String>> result = new ArrayList<>();
         if (!StringUtils.isEmpty(condition.getEqValue())) {
@@ -235,10 +278,11 @@ public class TableCRUDService {
         }
 
         for (TablePrecompiled.Entry entry : selectEntry) {
+            tableInfo = matchTableColumns(tableName, false, tableInfo, entry);
             Map<String, String> kvs = new HashMap<>();
-            kvs.put(tableInfo.keyColumn, entry.key);
+            kvs.put(tableInfo.getKeyColumn(), entry.key);
             for (int i = 0; i < entry.fields.size(); i++) {
-                kvs.put(tableInfo.valueColumns.get(i), entry.fields.get(i));
+                kvs.put(tableInfo.getValueColumns().get(i), entry.fields.get(i));
             }
             result.add(kvs);
         }
@@ -287,18 +331,18 @@ public class TableCRUDService {
         PrecompiledVersionCheck.V320_CRUD_VERSION.checkVersion(currentVersion);
         TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
 
-        TableManagerPrecompiled.TableInfoV320 tableInfo =
-                tableManagerPrecompiled.descWithKeyOrder(tableName);
+        TableMetadataCache.TableMetadata tableInfo = loadTableColumns(tableName, true, false);
         List<TablePrecompiled.Entry> selectEntry;
         List<Map<String, String>> result = new ArrayList<>();
         selectEntry =
                 tablePrecompiled.selectV320(condition.getTableConditions(), condition.getLimit());
 
         for (TablePrecompiled.Entry entry : selectEntry) {
+            tableInfo = matchTableColumns(tableName, true, tableInfo, entry);
             Map<String, String> kvs = new HashMap<>();
-            kvs.put(tableInfo.keyColumn, entry.key);
+            kvs.put(tableInfo.getKeyColumn(), entry.key);
             for (int i = 0; i < entry.fields.size(); i++) {
-                kvs.put(tableInfo.valueColumns.get(i), entry.fields.get(i));
+                kvs.put(tableInfo.getValueColumns().get(i), entry.fields.get(i));
             }
             result.add(kvs);
         }
@@ -346,16 +390,17 @@ public class TableCRUDService {
     public Map<String, String> select(String tableName, String key) throws ContractException {
         TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
 
-        TableManagerPrecompiled.TableInfo tableInfo = tableManagerPrecompiled.desc(tableName);
+        TableMetadataCache.TableMetadata tableInfo = loadTableColumns(tableName, false, false);
 
         TablePrecompiled.Entry selectEntry = tablePrecompiled.select(key);
         Map<String, String> result = new HashMap<>();
         if (selectEntry.fields.isEmpty()) {
             return result;
         }
-        result.put(tableInfo.keyColumn, selectEntry.key);
+        tableInfo = matchTableColumns(tableName, false, tableInfo, selectEntry);
+        result.put(tableInfo.getKeyColumn(), selectEntry.key);
         for (int i = 0; i < selectEntry.fields.size(); i++) {
-            result.put(tableInfo.valueColumns.get(i), selectEntry.fields.get(i));
+            result.put(tableInfo.getValueColumns().get(i), selectEntry.fields.get(i));
         }
         return result;
     }
@@ -387,6 +432,39 @@ public class TableCRUDService {
         return result;
     }
 
+    /**
+     * select data in a specific table with table name, many single keys. The selects run in
+     * parallel on the worker threads of the batch executor
+     *
+     * @param tableName specific table name, table should exist
+     * @param keys the keys to select
+     * @return the result of every key in the order of the keys, the result of a key that does not
+     *     exist is empty
+     * @throws ContractException throw when contract exec exception
+     */
+    public Map<String, Map<String, String>> batchSelect(String tableName, List<String> keys)
+            throws ContractException {
+        TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
+        TableMetadataCache.TableMetadata tableInfo = loadTableColumns(tableName, false, false);
+
+        List<TablePrecompiled.Entry> selectEntries =
+                batchExecutor.callAll(keys, tablePrecompiled::select);
+        Map<String, Map<String, String>> results = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            TablePrecompiled.Entry selectEntry = selectEntries.get(i);
+            Map<String, String> result = new HashMap<>();
+            if (!selectEntry.fields.isEmpty()) {
+                tableInfo = matchTableColumns(tableName, false, tableInfo, selectEntry);
+                result.put(tableInfo.getKeyColumn(), selectEntry.key);
+                for (int j = 0; j < selectEntry.fields.size(); j++) {
+                    result.put(tableInfo.getValueColumns().get(j), selectEntry.fields.get(j));
+                }
+            }
+            results.put(keys.get(i), result);
+        }
+        return results;
+    }
+
     /**
      * insert data to a specific table with table name, data entry.
      *
@@ -437,6 +515,29 @@ public class TableCRUDService {
                                 tablePrecompiled.getInsertOutput(transactionReceipt).getValue1()));
     }
 
+    /**
+     * insert many data entries to a specific table with table name. The transactions are sent
+     * asynchronously, at most the max in flight of the batch executor wait for their receipts at
+     * the same time
+     *
+     * @param tableName specific table name, table should exist
+     * @param entries data entries, which contains key and values map, values size should match the
+     *     table value field size
+     * @return the result of every entry in the order of the entries, see the retCode message of the
+     *     failed ones
+     * @throws ContractException throw when the table can not be opened
+     */
+    public List<RetCode> batchInsert(String tableName, List<Entry> entries)
+            throws ContractException {
+        TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
+        return batchExecutor.sendAll(
+                entries,
+                (entry, callback) -> tablePrecompiled.insert(entry.covertToEntry(), callback),
+                receipt ->
+                        getCurdRetCode(
+                                receipt, tr -> tablePrecompiled.getInsertOutput(tr).getValue1()));
+    }
+
     /**
      * update data to a specific table with table name, single key, updateFields
      *
@@ -472,6 +573,40 @@ public class TableCRUDService {
                 transactionReceipt, tr -> tablePrecompiled.getUpdateOutput(tr).getValue1());
     }
 
+    /**
+     * update data to a specific table with table name, many single keys. The transactions are sent
+     * asynchronously, at most the max in flight of the batch executor wait for their receipts at
+     * the same time
+     *
+     * @param tableName specific table name, table should exist
+     * @param updates the update fields of every key, keys should exist
+     * @return the result of every key in the iteration order of the updates, see the retCode
+     *     message of the failed ones
+     * @throws ContractException throw when the table can not be opened
+     */
+    public Map<String, RetCode> batchUpdate(String tableName, Map<String, UpdateFields> updates)
+            throws ContractException {
+        TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
+        List<Map.Entry<String, UpdateFields>> items = new ArrayList<>(updates.entrySet());
+        List<RetCode> retCodes =
+                batchExecutor.sendAll(
+                        items,
+                        (item, callback) ->
+                                tablePrecompiled.update(
+                                        item.getKey(),
+                                        item.getValue().convertToUpdateFields(),
+                                        callback),
+                        receipt ->
+                                getCurdRetCode(
+                                        receipt,
+                                        tr -> tablePrecompiled.getUpdateOutput(tr).getValue1()));
+        Map<String, RetCode> results = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            results.put(items.get(i).getKey(), retCodes.get(i));
+        }
+        return results;
+    }
+
     /**
      * update data to a specific table with table name, condition, updateFields
      *
@@ -642,6 +777,27 @@ public class TableCRUDService {
         return remove(tablePrecompiled, key);
     }
 
+    /**
+     * remove data in a specific table with table name, many single keys. The transactions are sent
+     * asynchronously, at most the max in flight of the batch executor wait for their receipts at
+     * the same time
+     *
+     * @param tableName specific table name, table should exist
+     * @param keys the keys to remove
+     * @return the result of every key in the order of the keys, see the retCode message of the
+     *     failed ones
+     * @throws ContractException throw when the table can not be opened
+     */
+    public List<RetCode> batchRemove(String tableName, List<String> keys) throws ContractException {
+        TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
+        return batchExecutor.sendAll(
+                keys,
+                tablePrecompiled::remove,
+                receipt ->
+                        getCurdRetCode(
+                                receipt, tr -> tablePrecompiled.getRemoveOutput(tr).getValue1()));
+    }
+
     /**
      * remove data in a specific table with tablePrecompiled, single key this method will reduce
      * tableManager.openTable() overhead
@@ -783,26 +939,30 @@ public class TableCRUDService {
     }
 
     /**
-     * get a specific table key and value fields with table name
+     * get a specific table key and value fields with table name, always read from the chain so the
+     * columns appended by other clients are seen; the cached columns are refreshed with the result
      *
      * @param tableName specific table name, it should exist
      * @return table key field and value fields info, [("key_field": [""]),("value_fields": [""])]
      * @throws ContractException throw when contract exec exception
      */
     public Map<String, List<String>> desc(String tableName) throws ContractException {
-        TableManagerPrecompiled.TableInfo tableInfo = tableManagerPrecompiled.desc(tableName);
-        if (tableInfo.keyColumn.isEmpty() || tableInfo.valueColumns.isEmpty()) {
+        TableMetadataCache.TableMetadata tableInfo = loadTableColumns(tableName, false, true);
+        if (tableInfo.getKeyColumn().isEmpty() || tableInfo.getValueColumns().isEmpty()) {
             throw new ContractException("Table " + tableName + " does not exist.");
         }
         Map<String, List<String>> descMap = new HashMap<>();
         descMap.put(
-                PrecompiledConstant.KEY_FIELD_NAME, Collections.singletonList(tableInfo.keyColumn));
-        descMap.put(PrecompiledConstant.VALUE_FIELD_NAME, tableInfo.valueColumns);
+                PrecompiledConstant.KEY_FIELD_NAME,
+                Collections.singletonList(tableInfo.getKeyColumn()));
+        descMap.put(
+                PrecompiledConstant.VALUE_FIELD_NAME, new ArrayList<>(tableInfo.getValueColumns()));
         return descMap;
     }
 
     /**
-     * get a specific table key and value fields with table name
+     * get a specific table key and value fields with table name, always read from the chain so the
+     * columns appended by other clients are seen; the cached columns are refreshed with the result
      *
      * @param tableName specific table name, it should exist
      * @return table key field and value fields info, [("key_field": [""]),("value_fields": [""])]
@@ -810,22 +970,31 @@ public class TableCRUDService {
      */
     public Map<String, List<String>> descWithKeyOrder(String tableName) throws ContractException {
         PrecompiledVersionCheck.V320_CRUD_VERSION.checkVersion(currentVersion);
-        TableManagerPrecompiled.TableInfoV320 tableInfo =
-                tableManagerPrecompiled.descWithKeyOrder(tableName);
-        if (tableInfo.keyColumn.isEmpty() || tableInfo.valueColumns.isEmpty()) {
+        TableMetadataCache.TableMetadata tableInfo = loadTableColumns(tableName, true, true);
+        if (tableInfo.getKeyColumn().isEmpty() || tableInfo.getValueColumns().isEmpty()) {
             throw new ContractException("Table " + tableName + " does not exist.");
         }
         Map<String, List<String>> descMap = new HashMap<>();
         descMap.put(
-                PrecompiledConstant.KEY_FIELD_NAME, Collections.singletonList(tableInfo.keyColumn));
-        descMap.put(PrecompiledConstant.VALUE_FIELD_NAME, tableInfo.valueColumns);
+                PrecompiledConstant.KEY_FIELD_NAME,
+                Collections.singletonList(tableInfo.getKeyColumn()));
+        descMap.put(
+                PrecompiledConstant.VALUE_FIELD_NAME, new ArrayList<>(tableInfo.getValueColumns()));
         descMap.put(
                 PrecompiledConstant.KEY_ORDER,
-                Collections.singletonList(
-                        Common.TableKeyOrder.valueOf(tableInfo.keyOrder.intValue()).toString()));
+                Collections.singletonList(tableInfo.getKeyOrder().toString()));
         return descMap;
     }
 
+    private PrecompiledCallback invalidateTableMetadata(
+            String tableName, PrecompiledCallback callback) {
+        invalidateTableMetadata(tableName);
+        return retCode -> {
+            invalidateTableMetadata(tableName);
+            callback.onResponse(retCode);
+        };
+    }
+
     private TransactionCallback createTransactionCallback(
             PrecompiledCallback callback, Function<TransactionReceipt, BigInteger> resultCaller) {
         return new TransactionCallback() {
@@ -867,6 +1036,25 @@ public class TableCRUDService {
     }
 
     private TablePrecompiled loadTablePrecompiled(String tableName) throws ContractException {
+        String cacheKey = getTableName(tableName);
+        CryptoKeyPair credential = client.getCryptoSuite().getCryptoKeyPair();
+        TableMetadataCache.TableMetadata metadata = tableMetadataCache.get(cacheKey);
+        if (metadata != null && metadata.hasAddress()) {
+            tableMetadataCache.recordHit();
+            if (metadata.getCredential() == credential) {
+                return metadata.getTablePrecompiled();
+            }
+            // the key pair of the crypto suite changed, reload the contract but keep the address
+            TablePrecompiled tablePrecompiled =
+                    TablePrecompiled.load(metadata.getAddress(), client, credential);
+            tableMetadataCache.put(
+                    cacheKey,
+                    metadata.withAddress(metadata.getAddress(), tablePrecompiled, credential),
+                    tableMetadataCache.getGeneration());
+            return tablePrecompiled;
+        }
+        tableMetadataCache.recordMiss();
+        long generation = tableMetadataCache.getGeneration();
         String address =
                 client.isWASM()
                         ? getTableName(tableName)
@@ -876,6 +1064,70 @@ public class TableCRUDService {
             throw new ContractException(
                     "Empty address when loadTablePrecompiled, tableName: " + tableName);
         }
-        return TablePrecompiled.load(address, client, client.getCryptoSuite().getCryptoKeyPair());
+        TablePrecompiled tablePrecompiled = TablePrecompiled.load(address, client, credential);
+        if (metadata == null) {
+            metadata = TableMetadataCache.TableMetadata.empty();
+        }
+        tableMetadataCache.put(
+                cacheKey, metadata.withAddress(address, tablePrecompiled, credential), generation);
+        return tablePrecompiled;
+    }
+
+    /**
+     * the cached columns may miss the columns appended by another client, reload them when a
+     * selected entry does not have one field per cached value column
+     */
+    private TableMetadataCache.TableMetadata matchTableColumns(
+            String tableName,
+            boolean withKeyOrder,
+            TableMetadataCache.TableMetadata tableInfo,
+            TablePrecompiled.Entry entry)
+            throws ContractException {
+        if (entry.fields.isEmpty() || entry.fields.size() == tableInfo.getValueColumns().size()) {
+            return tableInfo;
+        }
+        return loadTableColumns(tableName, withKeyOrder, true);
+    }
+
+    /**
+     * get the key and value columns of a table, from the cache or with a desc call; the columns of
+     * a table that does not exist are empty and never cached
+     *
+     * @param refresh skip the cached columns and read them from the chain
+     */
+    private TableMetadataCache.TableMetadata loadTableColumns(
+            String tableName, boolean withKeyOrder, boolean refresh) throws ContractException {
+        String cacheKey = getTableName(tableName);
+        TableMetadataCache.TableMetadata metadata = tableMetadataCache.get(cacheKey);
+        if (!refresh
+                && metadata != null
+                && metadata.hasColumns()
+                && (!withKeyOrder || metadata.getKeyOrder() != null)) {
+            tableMetadataCache.recordHit();
+            return metadata;
+        }
+        tableMetadataCache.recordMiss();
+        long generation = tableMetadataCache.getGeneration();
+        if (metadata == null) {
+            metadata = TableMetadataCache.TableMetadata.empty();
+        }
+        if (withKeyOrder) {
+            TableManagerPrecompiled.TableInfoV320 tableInfo =
+                    tableManagerPrecompiled.descWithKeyOrder(tableName);
+            metadata =
+                    metadata.withColumns(
+                            tableInfo.keyColumn,
+                            tableInfo.valueColumns,
+                            Common.TableKeyOrder.valueOf(tableInfo.keyOrder.intValue()));
+        } else {
+            TableManagerPrecompiled.TableInfo tableInfo = tableManagerPrecompiled.desc(tableName);
+            metadata =
+                    metadata.withColumns(
+                            tableInfo.keyColumn, tableInfo.valueColumns, metadata.getKeyOrder());
+        }
+        if (!metadata.getKeyColumn().isEmpty() && !metadata.getValueColumns().isEmpty()) {
+            tableMetadataCache.put(cacheKey, metadata, generation);
+        }
+        return metadata;
     }
 }
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.contract.precompiled.crud;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.common.Common;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+
+/**
+ * Cache of the table metadata used by {@link TableCRUDService}: the table address with its loaded
+ * {@link TablePrecompiled}, and the key and value columns of the table.
+ *
+ * <p>Entries expire after a fixed time since they were loaded and the least recently used entry is
+ * evicted when the cache is full. A ttl or max size of 0 disables the cache.
+ */
+public class TableMetadataCache {
+
+    public static final long DEFAULT_TTL_MILLIS = 60_000;
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, TableMetadata> tables;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private long generation;
+
+    public TableMetadataCache() {
+        this(DEFAULT_TTL_MILLIS, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * create a table metadata cache
+     *
+     * @param ttlMillis how long an entry stays valid after it was loaded, 0 to disable the cache
+     * @param maxSize the maximum number of tables to keep, 0 to disable the cache
+     */
+    public TableMetadataCache(long ttlMillis, int maxSize) {
+        if (ttlMillis < 0 || maxSize < 0) {
+            throw new IllegalArgumentException(
+                    "ttlMillis and maxSize must not be negative, ttlMillis: "
+                            + ttlMillis
+                            + ", maxSize: "
+                            + maxSize);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+        this.tables =
+                new LinkedHashMap<String, TableMetadata>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, TableMetadata> eldest) {
+                        return size() > TableMetadataCache.this.maxSize;
+                    }
+                };
+    }
+
+    public boolean isEnabled() {
+        return ttlNanos > 0 && maxSize > 0;
+    }
+
+    /**
+     * get the metadata of a table
+     *
+     * @param tableName the table name with the /tables/ prefix
+     * @return the metadata, null if the table is not cached or the entry has expired
+     */
+    public synchronized TableMetadata get(String tableName) {
+        TableMetadata metadata = tables.get(tableName);
+        if (metadata != null && System.nanoTime() - metadata.loadNanos >= ttlNanos) {
+            tables.remove(tableName);
+            return null;
+        }
+        return metadata;
+    }
+
+    /**
+     * the generation is bumped by every invalidation, read it before loading the metadata of a
+     * table and pass it to {@link #put(String, TableMetadata, long)}
+     *
+     * @return the current generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * cache the metadata of a table
+     *
+     * @param tableName the table name with the /tables/ prefix
+     * @param metadata the metadata
+     * @param generation the generation read before the metadata was loaded, the metadata is dropped
+     *     if an invalidation happened meanwhile since it may be stale
+     */
+    public synchronized void put(String tableName, TableMetadata metadata, long generation) {
+        if (isEnabled() && this.generation == generation) {
+            tables.put(tableName, metadata);
+        }
+    }
+
+    /**
+     * drop the metadata of a table, it is reloaded on the next access
+     *
+     * @param tableName the table name with the /tables/ prefix
+     */
+    public synchronized void invalidate(String tableName) {
+        generation++;
+        tables.remove(tableName);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        tables.clear();
+    }
+
+    public synchronized int size() {
+        return tables.size();
+    }
+
+    void recordHit() {
+        hitCount.increment();
+    }
+
+    void recordMiss() {
+        missCount.increment();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getTtlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TableMetadataCache{"
+                + "ttlMillis="
+                + getTtlMillis()
+                + ", maxSize="
+                + maxSize
+                + ", size="
+                + size()
+                + ", hitCount="
+                + getHitCount()
+                + ", missCount="
+                + getMissCount()
+                + '}';
+    }
+
+    /**
+     * Immutable metadata of one table, the address and the columns are loaded independently so
+     * either part may be missing.
+     */
+    public static final class TableMetadata {
+        private final long loadNanos;
+        private final String address;
+        private final TablePrecompiled tablePrecompiled;
+        private final CryptoKeyPair credential;
+        private final String keyColumn;
+        private final List<String> valueColumns;
+        private final Common.TableKeyOrder keyOrder;
+
+        private TableMetadata(
+                long loadNanos,
+                String address,
+                TablePrecompiled tablePrecompiled,
+                CryptoKeyPair credential,
+                String keyColumn,
+                List<String> valueColumns,
+                Common.TableKeyOrder keyOrder) {
+            this.loadNanos = loadNanos;
+            this.address = address;
+            this.tablePrecompiled = tablePrecompiled;
+            this.credential = credential;
+            this.keyColumn = keyColumn;
+            this.valueColumns = valueColumns;
+            this.keyOrder = keyOrder;
+        }
+
+        public static TableMetadata empty() {
+            return new TableMetadata(System.nanoTime(), null, null, null, null, null, null);
+        }
+
+        /**
+         * @param address the table address
+         * @param tablePrecompiled the table contract loaded at the address
+         * @param credential the key pair the table contract was loaded with
+         * @return a copy of the metadata with the address
+         */
+        public TableMetadata withAddress(
+                String address, TablePrecompiled tablePrecompiled, CryptoKeyPair credential) {
+            return new TableMetadata(
+                    loadNanos,
+                    address,
+                    tablePrecompiled,
+                    credential,
+                    keyColumn,
+                    valueColumns,
+                    keyOrder);
+        }
+
+        /**
+         * @param keyColumn the key column
+         * @param valueColumns the value columns
+         * @param keyOrder the key order, null if unknown
+         * @return a copy of the metadata with the columns
+         */
+        public TableMetadata withColumns(
+                String keyColumn, List<String> valueColumns, Common.TableKeyOrder keyOrder) {
+            return new TableMetadata(
+                    loadNanos,
+                    address,
+                    tablePrecompiled,
+                    credential,
+                    keyColumn,
+                    Collections.unmodifiableList(valueColumns),
+                    keyOrder);
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public TablePrecompiled getTablePrecompiled() {
+            return tablePrecompiled;
+        }
+
+        public CryptoKeyPair getCredential() {
+            return credential;
+        }
+
+        public String getKeyColumn() {
+            return keyColumn;
+        }
+
+        public List<String> getValueColumns() {
+            return valueColumns;
+        }
+
+        public Common.TableKeyOrder getKeyOrder() {
+            return keyOrder;
+        }
+
+        public boolean hasAddress() {
+            return address != null;
+        }
+
+        public boolean hasColumns() {
+            return keyColumn != null;
+        }
+    }
+}
@@ -14,11 +14,16 @@
 package org.fisco.bcos.sdk.v3.crypto;
 
 import java.security.KeyPair;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
 import org.fisco.bcos.sdk.v3.config.model.AccountConfig;
 import org.fisco.bcos.sdk.v3.crypto.exceptions.LoadKeyStoreException;
 import org.fisco.bcos.sdk.v3.crypto.exceptions.UnsupportedCryptoTypeException;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
 import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
@@ -28,6 +33,7 @@ import org.fisco.bcos.sdk.v3.crypto.keypair.SM2KeyPair;
 import org.fisco.bcos.sdk.v3.crypto.keystore.KeyTool;
 import org.fisco.bcos.sdk.v3.crypto.keystore.P12KeyStore;
 import org.fisco.bcos.sdk.v3.crypto.keystore.PEMKeyStore;
+import org.fisco.bcos.sdk.v3.crypto.signature.BatchSignatureVerifier;
 import org.fisco.bcos.sdk.v3.crypto.signature.ECDSASignature;
 import org.fisco.bcos.sdk.v3.crypto.signature.HsmSM2Signature;
 import org.fisco.bcos.sdk.v3.crypto.signature.SM2Signature;
@@ -47,6 +53,7 @@ public class CryptoSuite {
     private CryptoKeyPair keyPair;
     private CryptoKeyPair cryptoKeyPair;
     private ConfigOption config;
+    private Executor batchExecutor = ForkJoinPool.commonPool();
 
     public CryptoSuite(int cryptoTypeConfig, CryptoKeyPair cryptoKeyPair) {
         this(cryptoTypeConfig);
@@ -94,12 +101,12 @@ public class CryptoSuite {
         this.cryptoTypeConfig = cryptoTypeConfig;
         if (this.cryptoTypeConfig == CryptoType.ECDSA_TYPE) {
             this.signatureImpl = new ECDSASignature();
-            this.hashImpl = new Keccak256();
+            this.hashImpl = useJavaHash() ? new JavaKeccak256() : new Keccak256();
             this.keyPair = new ECDSAKeyPair();
             this.generateRandomKeyPair();
         } else if (this.cryptoTypeConfig == CryptoType.SM_TYPE) {
             this.signatureImpl = new SM2Signature();
-            this.hashImpl = new SM3Hash();
+            this.hashImpl = useJavaHash() ? new JavaSM3Hash() : new SM3Hash();
             this.keyPair = new SM2KeyPair();
             this.generateRandomKeyPair();
         } else if (this.cryptoTypeConfig == CryptoType.HSM_TYPE) {
@@ -111,7 +118,7 @@ public class CryptoSuite {
             HsmSM2Signature hsmSM2Signature = new HsmSM2Signature();
             hsmSM2Signature.setHsmLibPath(hsmLibPath);
             this.signatureImpl = hsmSM2Signature;
-            this.hashImpl = new SM3Hash();
+            this.hashImpl = useJavaHash() ? new JavaSM3Hash() : new SM3Hash();
             this.keyPair = new HsmSM2KeyPair(hsmLibPath, hsmKeyIndex, hsmPassword);
             HsmSM2KeyPair hsmKeyPair = (HsmSM2KeyPair) this.keyPair;
             this.cryptoKeyPair = hsmKeyPair.useKeyPair();
@@ -127,6 +134,12 @@ public class CryptoSuite {
         }
     }
 
+    private boolean useJavaHash() {
+        return this.config != null
+                && this.config.getCryptoMaterialConfig() != null
+                && Boolean.TRUE.equals(this.config.getCryptoMaterialConfig().getUseJavaHash());
+    }
+
     /**
      * Load account from file
      *
@@ -202,6 +215,16 @@ public class CryptoSuite {
         return this.hashImpl;
     }
 
+    /**
+     * Replace the hash function, e.g. with {@link JavaKeccak256} or {@link JavaSM3Hash} to hash in
+     * java instead of the native library. The hash function must match the CryptoType.
+     *
+     * @param hashImpl the hash function
+     */
+    public void setHashImpl(Hash hashImpl) {
+        this.hashImpl = hashImpl;
+    }
+
     /**
      * Call hash function
      *
@@ -328,6 +351,46 @@ public class CryptoSuite {
         return this.signatureImpl.recoverAddress(msgHash, signature);
     }
 
+    /**
+     * Verify signatures in parallel on the batch executor, e.g. all the transactions of a block
+     *
+     * @param publicKeys the string type public keys
+     * @param messages the string type messages, must be digests
+     * @param signatures the string type signatures
+     * @return the verify result of each signature, false if the signature can not be verified
+     */
+    public boolean[] batchVerify(
+            List<String> publicKeys, List<String> messages, List<String> signatures) {
+        return new BatchSignatureVerifier(this.signatureImpl, this.batchExecutor)
+                .verify(publicKeys, messages, signatures);
+    }
+
+    /**
+     * Recover the addresses from signatures in parallel on the batch executor
+     *
+     * @param msgHashes the string type message hashes, must be digests
+     * @param signatures the signatures to be recovered
+     * @return the address of each signer, null if the address can not be recovered
+     */
+    public String[] batchRecoverAddress(List<String> msgHashes, List<SignatureResult> signatures) {
+        return new BatchSignatureVerifier(this.signatureImpl, this.batchExecutor)
+                .recoverAddress(msgHashes, signatures);
+    }
+
+    public Executor getBatchExecutor() {
+        return this.batchExecutor;
+    }
+
+    /**
+     * Set the executor used by batchVerify and batchRecoverAddress, the common fork join pool by
+     * default
+     *
+     * @param batchExecutor the executor
+     */
+    public void setBatchExecutor(Executor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
     /**
      * Create key pair
      *
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.crypto.hash;
+
+import java.nio.ByteBuffer;
+import org.bouncycastle.crypto.Digest;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+
+/**
+ * Hash calculated in java with the bouncycastle digests. The input bytes are hashed directly,
+ * without the hex conversion required by the native interface, and every thread reuses its own
+ * digest instance, so hashing into a caller provided array does not allocate.
+ */
+public abstract class DigestHash implements Hash {
+
+    private static final int BUFFER_SIZE = 512;
+    private static final ThreadLocal<byte[]> BUFFER =
+            ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    /**
+     * get the digest of the current thread, the digest must not be shared between threads
+     *
+     * @return the digest
+     */
+    protected abstract Digest getDigest();
+
+    public int getDigestSize() {
+        return getDigest().getDigestSize();
+    }
+
+    @Override
+    public String hash(final String inputData) {
+        return Hex.toHexString(hash(inputData.getBytes()));
+    }
+
+    @Override
+    public String hashBytes(byte[] inputBytes) {
+        return Hex.toHexString(hash(inputBytes));
+    }
+
+    @Override
+    public byte[] hash(final byte[] inputBytes) {
+        return hash(inputBytes, 0, inputBytes.length);
+    }
+
+    @Override
+    public byte[] hash(final byte[] inputBytes, int offset, int length) {
+        Digest digest = getDigest();
+        byte[] result = new byte[digest.getDigestSize()];
+        hash(digest, inputBytes, offset, length, result, 0);
+        return result;
+    }
+
+    @Override
+    public int hash(
+            final byte[] inputBytes, int offset, int length, byte[] output, int outputOffset) {
+        return hash(getDigest(), inputBytes, offset, length, output, outputOffset);
+    }
+
+    @Override
+    public byte[] hash(final ByteBuffer input) {
+        Digest digest = getDigest();
+        // drop the state left by a previous call that failed halfway
+        digest.reset();
+        if (input.hasArray()) {
+            digest.update(input.array(), input.arrayOffset() + input.position(), input.remaining());
+            input.position(input.limit());
+        } else {
+            byte[] buffer = BUFFER.get();
+            while (input.hasRemaining()) {
+                int length = Math.min(buffer.length, input.remaining());
+                input.get(buffer, 0, length);
+                digest.update(buffer, 0, length);
+            }
+        }
+        byte[] result = new byte[digest.getDigestSize()];
+        digest.doFinal(result, 0);
+        return result;
+    }
+
+    private static int hash(
+            Digest digest,
+            final byte[] inputBytes,
+            int offset,
+            int length,
+            byte[] output,
+            int outputOffset) {
+        // drop the state left by a previous call that failed halfway
+        digest.reset();
+        digest.update(inputBytes, offset, length);
+        return digest.doFinal(output, outputOffset);
+    }
+}
@@ -15,6 +15,9 @@
 /** interface for hash calculation */
 package org.fisco.bcos.sdk.v3.crypto.hash;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 public interface Hash {
 
     /**
@@ -40,4 +43,56 @@ public interface Hash {
      * @return return byte array hash result
      */
     byte[] hash(final byte[] inputBytes);
+
+    /**
+     * Generate the hash of a slice of the input, without copying the slice when the implementation
+     * supports it
+     *
+     * @param inputBytes byte array type input data
+     * @param offset the offset of the first byte to hash
+     * @param length the number of bytes to hash
+     * @return return byte array hash result
+     */
+    default byte[] hash(final byte[] inputBytes, int offset, int length) {
+        if (offset == 0 && length == inputBytes.length) {
+            return hash(inputBytes);
+        }
+        return hash(Arrays.copyOfRange(inputBytes, offset, offset + length));
+    }
+
+    /**
+     * Generate the hash of the remaining bytes of the buffer, the position of the buffer is moved
+     * to its limit
+     *
+     * @param input the input data
+     * @return return byte array hash result
+     */
+    default byte[] hash(final ByteBuffer input) {
+        if (input.hasArray()) {
+            byte[] result =
+                    hash(input.array(), input.arrayOffset() + input.position(), input.remaining());
+            input.position(input.limit());
+            return result;
+        }
+        byte[] inputBytes = new byte[input.remaining()];
+        input.get(inputBytes);
+        return hash(inputBytes);
+    }
+
+    /**
+     * Generate the hash of a slice of the input into the given output array
+     *
+     * @param inputBytes byte array type input data
+     * @param offset the offset of the first byte to hash
+     * @param length the number of bytes to hash
+     * @param output the array the hash is written to
+     * @param outputOffset the offset in the output array to write the hash at
+     * @return the length of the hash written to the output
+     */
+    default int hash(
+            final byte[] inputBytes, int offset, int length, byte[] output, int outputOffset) {
+        byte[] result = hash(inputBytes, offset, length);
+        System.arraycopy(result, 0, output, outputOffset, result.length);
+        return result.length;
+    }
 }
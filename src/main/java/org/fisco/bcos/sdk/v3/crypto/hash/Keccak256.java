@@ -30,14 +30,24 @@ public class Keccak256 implements Hash {
         return Hex.decode(calculateHash(inputBytes));
     }
 
+    @Override
+    public byte[] hash(final byte[] inputBytes, int offset, int length) {
+        return Hex.decode(calculateHash(inputBytes, offset, length));
+    }
+
     @Override
     public String hashBytes(byte[] inputBytes) {
         return calculateHash(inputBytes);
     }
 
     public static String calculateHash(final byte[] inputBytes) {
+        return calculateHash(inputBytes, 0, inputBytes.length);
+    }
+
+    public static String calculateHash(final byte[] inputBytes, int offset, int length) {
         // Note: the exceptions should be handled by the caller
-        CryptoResult hashResult = NativeInterface.keccak256Hash(Hex.toHexString(inputBytes));
+        CryptoResult hashResult =
+                NativeInterface.keccak256Hash(Hex.toHexString(inputBytes, offset, length));
         if (hashResult.wedprErrorMessage != null && !hashResult.wedprErrorMessage.isEmpty()) {
             throw new HashException(
                     "Calculate hash with keccak256 failed! error message:"
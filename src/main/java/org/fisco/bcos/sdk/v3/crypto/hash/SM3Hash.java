@@ -35,8 +35,18 @@ public class SM3Hash implements Hash {
         return Hex.decode(calculateHash(inputBytes));
     }
 
+    @Override
+    public byte[] hash(final byte[] inputBytes, int offset, int length) {
+        return Hex.decode(calculateHash(inputBytes, offset, length));
+    }
+
     public static String calculateHash(final byte[] inputBytes) {
-        CryptoResult hashResult = NativeInterface.sm3Hash(Hex.toHexString(inputBytes));
+        return calculateHash(inputBytes, 0, inputBytes.length);
+    }
+
+    public static String calculateHash(final byte[] inputBytes, int offset, int length) {
+        CryptoResult hashResult =
+                NativeInterface.sm3Hash(Hex.toHexString(inputBytes, offset, length));
         // call sm3 failed
         if (hashResult.wedprErrorMessage != null && !hashResult.wedprErrorMessage.isEmpty()) {
             throw new HashException(
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.crypto.signature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntConsumer;
+import org.fisco.bcos.sdk.v3.crypto.exceptions.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verify signatures or recover addresses in bulk, e.g. all the transactions of a block. The input
+ * is split into chunks which are processed in parallel on the given executor, the caller blocks
+ * until all the chunks are done.
+ */
+public class BatchSignatureVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(BatchSignatureVerifier.class);
+
+    // below this size the task submission costs more than the signatures it parallelizes
+    private static final int MIN_CHUNK_SIZE = 32;
+    // more chunks than threads, so that a slow chunk doesn't leave the other threads idle
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Signature signatureImpl;
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * create a BatchSignatureVerifier running on the common fork join pool
+     *
+     * @param signatureImpl the signature implementation, must be thread safe
+     */
+    public BatchSignatureVerifier(Signature signatureImpl) {
+        this(signatureImpl, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * create a BatchSignatureVerifier
+     *
+     * @param signatureImpl the signature implementation, must be thread safe
+     * @param executor the executor the chunks run on
+     */
+    public BatchSignatureVerifier(Signature signatureImpl, Executor executor) {
+        this(signatureImpl, executor, getParallelism(executor));
+    }
+
+    /**
+     * create a BatchSignatureVerifier
+     *
+     * @param signatureImpl the signature implementation, must be thread safe
+     * @param executor the executor the chunks run on
+     * @param parallelism the number of threads of the executor expected to run the chunks
+     */
+    public BatchSignatureVerifier(Signature signatureImpl, Executor executor, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.signatureImpl = signatureImpl;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    private static int getParallelism(Executor executor) {
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * verify signatures, the i-th signature is verified with the i-th public key and message
+     *
+     * @param publicKeys the hex public keys
+     * @param messages the hex messages, must be digests
+     * @param signatures the hex signatures
+     * @return the verify result of each signature, false if the signature is invalid or can not be
+     *     verified
+     */
+    public boolean[] verify(
+            List<String> publicKeys, List<String> messages, List<String> signatures) {
+        checkSize(publicKeys.size(), messages.size(), "messages");
+        checkSize(publicKeys.size(), signatures.size(), "signatures");
+        boolean[] result = new boolean[publicKeys.size()];
+        forEach(
+                result.length,
+                i -> {
+                    try {
+                        result[i] =
+                                signatureImpl.verify(
+                                        publicKeys.get(i), messages.get(i), signatures.get(i));
+                    } catch (Exception e) {
+                        logger.debug("verify signature {} failed, e: ", i, e);
+                        result[i] = false;
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * recover the signer addresses, the i-th address is recovered from the i-th message hash and
+     * signature
+     *
+     * @param msgHashes the hex message hashes
+     * @param signatures the signatures
+     * @return the address of each signer, null if the address can not be recovered
+     */
+    public String[] recoverAddress(List<String> msgHashes, List<SignatureResult> signatures) {
+        checkSize(msgHashes.size(), signatures.size(), "signatures");
+        String[] result = new String[msgHashes.size()];
+        forEach(
+                result.length,
+                i -> {
+                    try {
+                        result[i] =
+                                signatureImpl.recoverAddress(msgHashes.get(i), signatures.get(i));
+                    } catch (Exception e) {
+                        logger.debug("recover address of signature {} failed, e: ", i, e);
+                        result[i] = null;
+                    }
+                });
+        return result;
+    }
+
+    private static void checkSize(int expected, int actual, String name) {
+        if (expected != actual) {
+            throw new SignatureException(
+                    "the size of "
+                            + name
+                            + " mismatch, expected: "
+                            + expected
+                            + ", actual: "
+                            + actual);
+        }
+    }
+
+    private void forEach(int size, IntConsumer task) {
+        int chunkCount =
+                Math.min(
+                        parallelism * CHUNKS_PER_THREAD,
+                        (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (chunkCount <= 1) {
+            for (int i = 0; i < size; i++) {
+                task.accept(i);
+            }
+            return;
+        }
+        int chunkSize = (size + chunkCount - 1) / chunkCount;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(chunkCount);
+        for (int begin = 0; begin < size; begin += chunkSize) {
+            int from = begin;
+            int to = Math.min(size, begin + chunkSize);
+            futures.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                for (int i = from; i < to; i++) {
+                                    task.accept(i);
+                                }
+                            },
+                            executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new SignatureException(
+                    "batch signature task failed: " + e.getCause(), e.getCause());
+        }
+    }
+}
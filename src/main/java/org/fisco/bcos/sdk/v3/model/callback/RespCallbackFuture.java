@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.model.callback;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.model.Response;
+
+/**
+ * A {@link CompletableFuture} that can be passed as a {@link RespCallback}, it is completed with
+ * the response or exceptionally with a {@link ClientException} carrying the error code and message.
+ *
+ * <p>If an executor is given the future is completed on it, so the dependent stages do not run on
+ * the network thread of the sdk; otherwise the future is completed on the thread delivering the
+ * response.
+ *
+ * @param <T> the response type
+ */
+public class RespCallbackFuture<T> extends CompletableFuture<T> implements RespCallback<T> {
+
+    private final Executor executor;
+
+    public RespCallbackFuture() {
+        this(null);
+    }
+
+    /** @param executor the executor to complete the future on, null to complete it in place */
+    public RespCallbackFuture(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void onResponse(T t) {
+        execute(() -> complete(t));
+    }
+
+    @Override
+    public void onError(Response errorResponse) {
+        int errorCode =
+                Objects.isNull(errorResponse.getErrorCode()) ? -1 : errorResponse.getErrorCode();
+        ClientException exception =
+                new ClientException(
+                        errorCode,
+                        errorResponse.getErrorMessage(),
+                        "get response failed, code: "
+                                + errorCode
+                                + ", msg: "
+                                + errorResponse.getErrorMessage());
+        execute(() -> completeExceptionally(exception));
+    }
+
+    private void execute(Runnable completion) {
+        if (executor == null) {
+            completion.run();
+            return;
+        }
+        try {
+            executor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            // never lose the response because the executor is shut down or saturated
+            completion.run();
+        }
+    }
+}
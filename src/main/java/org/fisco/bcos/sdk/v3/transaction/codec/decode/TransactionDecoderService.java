@@ -23,17 +23,12 @@ import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import org.fisco.bcos.sdk.v3.codec.ContractCodec;
 import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
-import org.fisco.bcos.sdk.v3.codec.EventEncoder;
 import org.fisco.bcos.sdk.v3.codec.FunctionReturnDecoderInterface;
 import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition.NamedType;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObject;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObjectFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecTools;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
@@ -55,7 +50,7 @@ public class TransactionDecoderService implements TransactionDecoderInterface {
     private CryptoSuite cryptoSuite;
     private final Hash hashImpl;
     private final ContractCodec contractCodec;
-    private final EventEncoder eventEncoder;
+    private volatile int parallelDecodeThreshold = 0;
 
     /**
      * create TransactionDecoderService
@@ -69,14 +64,12 @@ public class TransactionDecoderService implements TransactionDecoderInterface {
         this.cryptoSuite = cryptoSuite;
         this.hashImpl = cryptoSuite.getHashImpl();
         this.contractCodec = new ContractCodec(hashImpl, isWasm);
-        this.eventEncoder = new EventEncoder(hashImpl);
     }
 
     public TransactionDecoderService(Hash hashImpl, boolean isWasm) {
         super();
         this.hashImpl = hashImpl;
         this.contractCodec = new ContractCodec(hashImpl, isWasm);
-        this.eventEncoder = new EventEncoder(hashImpl);
         // for compatibility
         if (hashImpl instanceof org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash) {
             this.cryptoSuite = new CryptoSuite(CryptoType.SM_TYPE);
@@ -171,61 +164,81 @@ public class TransactionDecoderService implements TransactionDecoderInterface {
         return response;
     }
 
+    /**
+     * decode the events of the logs. Every log is matched to its event by topic0 and decoded with
+     * the template cached in the contract definition, in a single pass over the logs
+     *
+     * @param abi the contract abi
+     * @param logs the logs of a receipt
+     * @return the decoded events by event name, the events of the same name in the order of the
+     *     logs; logs of other contracts or that fail to decode are skipped
+     */
     @Override
     public Map<String, List<List<Object>>> decodeEvents(String abi, List<Logs> logs) {
-        ABIDefinitionFactory abiDefinitionFactory = new ABIDefinitionFactory(hashImpl);
-        ContractABIDefinition contractABIDefinition = abiDefinitionFactory.loadABI(abi);
-        Map<String, List<ABIDefinition>> eventsMap = contractABIDefinition.getEvents();
         Map<String, List<List<Object>>> result = new HashMap<>();
-        if (logs == null) {
+        if (logs == null || logs.isEmpty()) {
             return result;
         }
-        eventsMap.forEach(
-                (name, events) -> {
-                    for (ABIDefinition abiDefinition : events) {
-                        ABIObject outputObject =
-                                ABIObjectFactory.createEventInputObject(abiDefinition);
-                        String eventSignature =
-                                eventEncoder.buildEventSignature(decodeMethodSign(abiDefinition));
-                        for (Logs log : logs) {
-                            if (log.getTopics().isEmpty()
-                                    || !log.getTopics().contains(eventSignature)) {
-                                continue;
-                            }
-                            try {
-                                List<Object> list =
-                                        ContractCodecTools.decodeJavaObject(
-                                                outputObject,
-                                                log.getData(),
-                                                this.contractCodec.isWasm());
-                                if (result.containsKey(name)) {
-                                    result.get(name).add(list);
-                                } else {
-                                    List<List<Object>> l = new ArrayList<>();
-                                    l.add(list);
-                                    result.put(name, l);
-                                }
-                            } catch (Exception e) {
-                                logger.error(" exception in decodeEventToObject: ", e);
-                            }
-                        }
-                    }
-                });
+        ContractABIDefinition contractABIDefinition =
+                contractCodec.getAbiDefinitionFactory().loadABI(abi);
+        if (contractABIDefinition == null) {
+            return result;
+        }
+        List<Pair<String, List<Object>>> events;
+        if (parallelDecodeThreshold > 0 && logs.size() >= parallelDecodeThreshold) {
+            events =
+                    logs.parallelStream()
+                            .map(log -> decodeEvent(contractABIDefinition, log))
+                            .collect(Collectors.toList());
+        } else {
+            events = new ArrayList<>(logs.size());
+            for (Logs log : logs) {
+                events.add(decodeEvent(contractABIDefinition, log));
+            }
+        }
+        for (Pair<String, List<Object>> event : events) {
+            if (event != null) {
+                result.computeIfAbsent(event.getLeft(), name -> new ArrayList<>())
+                        .add(event.getRight());
+            }
+        }
         return result;
     }
 
-    private String decodeMethodSign(ABIDefinition abiDefinition) {
-        List<NamedType> inputTypes = abiDefinition.getInputs();
-        StringBuilder methodSign = new StringBuilder();
-        methodSign.append(abiDefinition.getName());
-        methodSign.append("(");
-        String params =
-                inputTypes.stream()
-                        .map(NamedType::getTypeAsString)
-                        .collect(Collectors.joining(","));
-        methodSign.append(params);
-        methodSign.append(")");
-        return methodSign.toString();
+    private Pair<String, List<Object>> decodeEvent(
+            ContractABIDefinition contractABIDefinition, Logs log) {
+        if (log.getTopics() == null || log.getTopics().isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] topic = Hex.decode(log.getTopics().get(0));
+            ABIObject inputObject = contractABIDefinition.getEventInputObject(topic);
+            if (inputObject == null) {
+                return null;
+            }
+            String name = contractABIDefinition.getABIDefinitionByEventTopic(topic).getName();
+            return Pair.of(
+                    name,
+                    ContractCodecTools.decodeJavaObject(
+                            inputObject, log.getData(), this.contractCodec.isWasm()));
+        } catch (Exception e) {
+            logger.error(" exception in decodeEventToObject: ", e);
+            return null;
+        }
+    }
+
+    public int getParallelDecodeThreshold() {
+        return parallelDecodeThreshold;
+    }
+
+    /**
+     * decode the events of receipts with many logs in parallel on the common fork join pool
+     *
+     * @param parallelDecodeThreshold the minimum number of logs of a receipt to decode them in
+     *     parallel, 0 to always decode in the calling thread
+     */
+    public void setParallelDecodeThreshold(int parallelDecodeThreshold) {
+        this.parallelDecodeThreshold = parallelDecodeThreshold;
     }
 
     /** @return the cryptoSuite */
@@ -117,96 +117,117 @@ public class DefaultTransactionManager extends TransactionManager {
      */
     @Override
     public TxPair createSignedTransaction(AbiEncodedRequest request) throws JniException {
-        if (!request.isTransactionEssentialSatisfy()) {
-            throw new JniException(
-                    "Transaction essential fields are not satisfied: encodedData, to.");
-        }
-        int transactionAttribute;
-        if (client.isWASM()) {
-            transactionAttribute = TransactionAttribute.LIQUID_SCALE_CODEC;
-            if (request.isCreate()) {
-                transactionAttribute |= TransactionAttribute.LIQUID_CREATE;
+        return new Signer().sign(request);
+    }
+
+    @Override
+    protected BatchSigner newBatchSigner() {
+        return new Signer();
+    }
+
+    /** Signs with the client context resolved once, shared by the threads signing a batch. */
+    private class Signer implements BatchSigner {
+        private final boolean wasm = client.isWASM();
+        private final String groupId = client.getGroup();
+        private final String chainId = client.getChainId();
+        private final String extraData = client.getExtraData();
+        private final int cryptoType = client.getCryptoSuite().getCryptoTypeConfig();
+        // the native key pair is only read when signing, the threads share its handle
+        private final long jniKeyPair = client.getCryptoSuite().getCryptoKeyPair().getJniKeyPair();
+
+        @Override
+        public TxPair sign(AbiEncodedRequest request) throws JniException {
+            if (!request.isTransactionEssentialSatisfy()) {
+                throw new JniException(
+                        "Transaction essential fields are not satisfied: encodedData, to.");
             }
-        } else {
-            transactionAttribute = TransactionAttribute.EVM_ABI_CODEC;
-        }
-        byte[] methodId = new byte[4];
-        if (!request.isCreate() && (request.getEncodedData().length >= 4)) {
-            System.arraycopy(request.getEncodedData(), 0, methodId, 0, 4);
-        }
-        String nonce = request.getNonce();
-        if (nonce == null || nonce.isEmpty()) {
-            nonce = getNonceProvider().getNonce();
-        }
-        BigInteger blockLimit = request.getBlockLimit();
-        if (blockLimit == null || blockLimit.longValue() <= 0) {
-            blockLimit = getNonceProvider().getBlockLimit(client);
-        }
-        EIP1559Struct eip1559Struct = null;
-        if (getGasProvider().isEIP1559Enabled() || request.isEIP1559Enabled()) {
-            eip1559Struct =
-                    request.getEip1559Struct() == null
-                            ? getGasProvider().getEIP1559Struct(methodId)
-                            : request.getEip1559Struct();
-        }
-        BigInteger gasPrice =
-                request.getGasPrice() == null
-                        ? getGasProvider().getGasPrice(methodId)
-                        : request.getGasPrice();
-        BigInteger gasLimit =
-                request.getGasLimit() == null
-                        ? getGasProvider().getGasLimit(methodId)
-                        : request.getGasLimit();
-
-        TransactionData transactionData =
-                new TransactionData()
-                        .buildVersion(request.getVersion().getValue())
-                        .buildGroupId(client.getGroup())
-                        .buildChainId(client.getChainId())
-                        .buildTo(request.getTo())
-                        .buildNonce(nonce)
-                        .buildInput(request.getEncodedData())
-                        .buildAbi(request.isCreate() ? request.getAbi() : "")
-                        .buildBlockLimit(blockLimit.longValue());
-        if (request.getVersion().getValue() >= TransactionVersion.V1.getValue()) {
-            transactionData =
-                    new TransactionDataV1(transactionData)
-                            .buildGasLimit(gasLimit.longValue())
-                            .buildGasPrice(
-                                    eip1559Struct == null ? Numeric.toHexString(gasPrice) : "")
-                            .buildValue(Numeric.toHexString(request.getValue()))
-                            .buildMaxFeePerGas(
-                                    eip1559Struct == null
-                                            ? ""
-                                            : Numeric.toHexString(eip1559Struct.getMaxFeePerGas()))
-                            .buildMaxPriorityFeePerGas(
-                                    eip1559Struct == null
-                                            ? ""
-                                            : Numeric.toHexString(
-                                                    eip1559Struct.getMaxPriorityFeePerGas()));
-        }
-        if (request.getVersion().getValue() >= TransactionVersion.V2.getValue()) {
-            transactionData =
-                    new TransactionDataV2((TransactionDataV1) transactionData)
-                            .buildExtension(request.getExtension());
-        }
-        String transactionDataHash =
-                TransactionStructBuilderJniObj.calcTransactionDataStructHash(
-                        client.getCryptoSuite().getCryptoTypeConfig(), transactionData);
+            int transactionAttribute;
+            if (wasm) {
+                transactionAttribute = TransactionAttribute.LIQUID_SCALE_CODEC;
+                if (request.isCreate()) {
+                    transactionAttribute |= TransactionAttribute.LIQUID_CREATE;
+                }
+            } else {
+                transactionAttribute = TransactionAttribute.EVM_ABI_CODEC;
+            }
+            byte[] methodId = new byte[4];
+            if (!request.isCreate() && (request.getEncodedData().length >= 4)) {
+                System.arraycopy(request.getEncodedData(), 0, methodId, 0, 4);
+            }
+            String nonce = request.getNonce();
+            if (nonce == null || nonce.isEmpty()) {
+                nonce = getNonceProvider().getNonce();
+            }
+            BigInteger blockLimit = request.getBlockLimit();
+            if (blockLimit == null || blockLimit.longValue() <= 0) {
+                blockLimit = getNonceProvider().getBlockLimit(client);
+            }
+            EIP1559Struct eip1559Struct = null;
+            if (getGasProvider().isEIP1559Enabled() || request.isEIP1559Enabled()) {
+                eip1559Struct =
+                        request.getEip1559Struct() == null
+                                ? getGasProvider().getEIP1559Struct(methodId)
+                                : request.getEip1559Struct();
+            }
+            BigInteger gasPrice =
+                    request.getGasPrice() == null
+                            ? getGasProvider().getGasPrice(methodId)
+                            : request.getGasPrice();
+            BigInteger gasLimit =
+                    request.getGasLimit() == null
+                            ? getGasProvider().getGasLimit(methodId)
+                            : request.getGasLimit();
 
-        String signature =
-                TransactionBuilderJniObj.signTransactionDataHash(
-                        client.getCryptoSuite().getCryptoKeyPair().getJniKeyPair(),
-                        transactionDataHash);
+            TransactionData transactionData =
+                    new TransactionData()
+                            .buildVersion(request.getVersion().getValue())
+                            .buildGroupId(groupId)
+                            .buildChainId(chainId)
+                            .buildTo(request.getTo())
+                            .buildNonce(nonce)
+                            .buildInput(request.getEncodedData())
+                            .buildAbi(request.isCreate() ? request.getAbi() : "")
+                            .buildBlockLimit(blockLimit.longValue());
+            if (request.getVersion().getValue() >= TransactionVersion.V1.getValue()) {
+                transactionData =
+                        new TransactionDataV1(transactionData)
+                                .buildGasLimit(gasLimit.longValue())
+                                .buildGasPrice(
+                                        eip1559Struct == null ? Numeric.toHexString(gasPrice) : "")
+                                .buildValue(Numeric.toHexString(request.getValue()))
+                                .buildMaxFeePerGas(
+                                        eip1559Struct == null
+                                                ? ""
+                                                : Numeric.toHexString(
+                                                        eip1559Struct.getMaxFeePerGas()))
+                                .buildMaxPriorityFeePerGas(
+                                        eip1559Struct == null
+                                                ? ""
+                                                : Numeric.toHexString(
+                                                        eip1559Struct.getMaxPriorityFeePerGas()));
+            }
+            if (request.getVersion().getValue() >= TransactionVersion.V2.getValue()) {
+                transactionData =
+                        new TransactionDataV2((TransactionDataV1) transactionData)
+                                .buildExtension(request.getExtension());
+            }
+            String transactionDataHash =
+                    TransactionStructBuilderJniObj.calcTransactionDataStructHash(
+                            cryptoType, transactionData);
 
-        String encodedTransaction =
-                TransactionStructBuilderJniObj.createEncodedTransaction(
-                        transactionData,
-                        signature,
-                        transactionDataHash,
-                        transactionAttribute,
-                        client.getExtraData());
-        return new TxPair(transactionDataHash, encodedTransaction);
+            String signature =
+                    TransactionBuilderJniObj.signTransactionDataHash(
+                            jniKeyPair, transactionDataHash);
+
+            String encodedTransaction =
+                    TransactionStructBuilderJniObj.createEncodedTransaction(
+                            transactionData,
+                            signature,
+                            transactionDataHash,
+                            transactionAttribute,
+                            extraData);
+            return new TxPair(transactionDataHash, encodedTransaction);
+        }
     }
 
     /**
@@ -234,7 +255,7 @@ public class DefaultTransactionManager extends TransactionManager {
                 value,
                 getGasProvider().getGasPrice(methodId),
                 getGasProvider().getGasLimit(methodId),
-                client.getBlockLimit(),
+                getNonceProvider().getBlockLimit(client),
                 abi,
                 constructor);
     }
@@ -263,7 +284,14 @@ public class DefaultTransactionManager extends TransactionManager {
             boolean constructor)
             throws JniException {
         return sendTransaction(
-                to, data, value, gasPrice, gasLimit, client.getBlockLimit(), abi, constructor);
+                to,
+                data,
+                value,
+                gasPrice,
+                gasLimit,
+                getNonceProvider().getBlockLimit(client),
+                abi,
+                constructor);
     }
 
     /**
@@ -383,7 +411,7 @@ public class DefaultTransactionManager extends TransactionManager {
                 value,
                 getGasProvider().getGasPrice(methodId),
                 getGasProvider().getGasLimit(methodId),
-                client.getBlockLimit(),
+                getNonceProvider().getBlockLimit(client),
                 abi,
                 constructor,
                 callback);
@@ -420,7 +448,7 @@ public class DefaultTransactionManager extends TransactionManager {
                 value,
                 gasPrice,
                 gasLimit,
-                client.getBlockLimit(),
+                getNonceProvider().getBlockLimit(client),
                 abi,
                 constructor,
                 callback);
@@ -503,7 +531,13 @@ public class DefaultTransactionManager extends TransactionManager {
             boolean constructor)
             throws JniException {
         return sendTransactionEIP1559(
-                to, data, value, eip1559Struct, client.getBlockLimit(), abi, constructor);
+                to,
+                data,
+                value,
+                eip1559Struct,
+                getNonceProvider().getBlockLimit(client),
+                abi,
+                constructor);
     }
 
     /**
@@ -580,7 +614,14 @@ public class DefaultTransactionManager extends TransactionManager {
             TransactionCallback callback)
             throws JniException {
         return asyncSendTransactionEIP1559(
-                to, data, value, eip1559Struct, client.getBlockLimit(), abi, constructor, callback);
+                to,
+                data,
+                value,
+                eip1559Struct,
+                getNonceProvider().getBlockLimit(client),
+                abi,
+                constructor,
+                callback);
     }
 
     /**
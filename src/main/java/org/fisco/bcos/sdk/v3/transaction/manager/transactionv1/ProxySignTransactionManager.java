@@ -23,6 +23,7 @@ import org.fisco.bcos.sdk.v3.model.CryptoType;
 import org.fisco.bcos.sdk.v3.model.Response;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.RespCallback;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallbackFuture;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.gasProvider.ContractGasProvider;
 import org.fisco.bcos.sdk.v3.transaction.gasProvider.DefaultGasProvider;
@@ -265,7 +266,7 @@ public class ProxySignTransactionManager extends TransactionManager {
                 value,
                 getGasProvider().getGasPrice(methodId),
                 getGasProvider().getGasLimit(methodId),
-                client.getBlockLimit(),
+                getNonceProvider().getBlockLimit(client),
                 abi,
                 constructor);
     }
@@ -294,7 +295,14 @@ public class ProxySignTransactionManager extends TransactionManager {
             boolean constructor)
             throws JniException {
         return sendTransaction(
-                to, data, value, gasPrice, gasLimit, client.getBlockLimit(), abi, constructor);
+                to,
+                data,
+                value,
+                gasPrice,
+                gasLimit,
+                getNonceProvider().getBlockLimit(client),
+                abi,
+                constructor);
     }
 
     /**
@@ -355,7 +363,7 @@ public class ProxySignTransactionManager extends TransactionManager {
             boolean constructor)
             throws JniException {
         if (blockLimit.compareTo(BigInteger.ZERO) == 0) {
-            blockLimit = client.getBlockLimit();
+            blockLimit = getNonceProvider().getBlockLimit(client);
         }
         String nonce = nonceProvider.getNonce();
         String dataHash =
@@ -443,7 +451,7 @@ public class ProxySignTransactionManager extends TransactionManager {
                 value,
                 getGasProvider().getGasPrice(methodId),
                 getGasProvider().getGasLimit(methodId),
-                client.getBlockLimit(),
+                getNonceProvider().getBlockLimit(client),
                 null,
                 false,
                 callback);
@@ -480,7 +488,7 @@ public class ProxySignTransactionManager extends TransactionManager {
                 value,
                 getGasProvider().getGasPrice(methodId),
                 getGasProvider().getGasLimit(methodId),
-                client.getBlockLimit(),
+                getNonceProvider().getBlockLimit(client),
                 abi,
                 constructor,
                 callback);
@@ -517,7 +525,7 @@ public class ProxySignTransactionManager extends TransactionManager {
                 value,
                 gasPrice,
                 gasLimit,
-                client.getBlockLimit(),
+                getNonceProvider().getBlockLimit(client),
                 abi,
                 constructor,
                 callback);
@@ -651,7 +659,13 @@ public class ProxySignTransactionManager extends TransactionManager {
             boolean constructor)
             throws JniException {
         return sendTransactionEIP1559(
-                to, data, value, eip1559Struct, client.getBlockLimit(), abi, constructor);
+                to,
+                data,
+                value,
+                eip1559Struct,
+                getNonceProvider().getBlockLimit(client),
+                abi,
+                constructor);
     }
 
     /**
@@ -727,7 +741,14 @@ public class ProxySignTransactionManager extends TransactionManager {
             TransactionCallback callback)
             throws JniException {
         return asyncSendTransactionEIP1559(
-                to, data, value, eip1559Struct, client.getBlockLimit(), abi, constructor, callback);
+                to,
+                data,
+                value,
+                eip1559Struct,
+                getNonceProvider().getBlockLimit(client),
+                abi,
+                constructor,
+                callback);
     }
 
     /**
@@ -842,22 +863,13 @@ public class ProxySignTransactionManager extends TransactionManager {
      */
     @Override
     public Call sendCall(String to, byte[] data) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            outputStream.write(Hex.trimPrefix(to).getBytes());
-            outputStream.write(data);
-            byte[] hash = hashImpl.hash(outputStream.toByteArray());
-            CompletableFuture<Call> future = new CompletableFuture<>();
-            asyncTxSigner.signAsync(
-                    hash,
-                    signature -> {
-                        Call call =
-                                client.call(
-                                        new Transaction("", to, data),
-                                        Hex.toHexString(signature.encode()));
-                        future.complete(call);
-                        return 0;
-                    });
-            return future.get();
+        // the call is sent asynchronously from the signer callback, no thread is blocked on it
+        RespCallbackFuture<Call> future = new RespCallbackFuture<>();
+        asyncSendCall(to, data, future);
+        try {
+            return future.get(
+                    client.getConfigOption().getNetworkConfig().getTimeout(),
+                    TimeUnit.MILLISECONDS);
         } catch (Exception e) {
             logger.error("Send call failed, error message: {}", e.getMessage(), e);
             throw new RuntimeException(e);
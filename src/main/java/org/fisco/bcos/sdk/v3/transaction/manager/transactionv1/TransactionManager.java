@@ -1,6 +1,15 @@
 package org.fisco.bcos.sdk.v3.transaction.manager.transactionv1;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.fisco.bcos.sdk.jni.common.JniException;
 import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
 import org.fisco.bcos.sdk.v3.client.Client;
@@ -11,7 +20,9 @@ import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.gasProvider.ContractGasProvider;
 import org.fisco.bcos.sdk.v3.transaction.gasProvider.EIP1559Struct;
 import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto.AbiEncodedRequest;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto.SignedTransaction;
 import org.fisco.bcos.sdk.v3.transaction.nonce.NonceAndBlockLimitProvider;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +32,11 @@ public abstract class TransactionManager {
 
     protected final Logger logger = LoggerFactory.getLogger(TransactionManager.class);
 
+    private static final int SIGN_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    // the requests a signing worker claims at once
+    private static final int SIGN_BLOCK_SIZE = 64;
+    private static volatile ThreadPoolExecutor signExecutor;
+
     public Client getClient() {
         return client;
     }
@@ -430,4 +446,136 @@ public abstract class TransactionManager {
      */
     public abstract void asyncSendCall(
             String to, byte[] data, String signature, RespCallback<Call> callback);
+
+    /**
+     * Sign the transactions of a batch in parallel on a pool of one daemon thread per core, the
+     * calling thread included.
+     *
+     * @param requests the transaction requests
+     * @return the signed transactions in the order of the requests
+     * @throws JniException if a request fails to sign, the first error is thrown
+     */
+    public List<SignedTransaction> createSignedTransactions(List<AbiEncodedRequest> requests)
+            throws JniException {
+        return createSignedTransactions(requests, getSignExecutor(), SIGN_PARALLELISM);
+    }
+
+    /**
+     * Sign the transactions of a batch in parallel.
+     *
+     * @param requests the transaction requests
+     * @param executor runs the signing workers but one, which runs on the calling thread
+     * @param parallelism the number of signing workers
+     * @return the signed transactions in the order of the requests
+     * @throws JniException if a request fails to sign, the first error is thrown
+     */
+    public List<SignedTransaction> createSignedTransactions(
+            List<AbiEncodedRequest> requests, Executor executor, int parallelism)
+            throws JniException {
+        int size = requests.size();
+        SignedTransaction[] results = new SignedTransaction[size];
+        BatchSigner signer = newBatchSigner();
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicReference<Exception> error = new AtomicReference<>();
+        Runnable worker =
+                () -> {
+                    // claim the requests by blocks, every worker stays busy until the end
+                    int start;
+                    while (error.get() == null
+                            && (start = nextIndex.getAndAdd(SIGN_BLOCK_SIZE)) < size) {
+                        int end = Math.min(size, start + SIGN_BLOCK_SIZE);
+                        try {
+                            for (int i = start; i < end; i++) {
+                                TxPair txPair = signer.sign(requests.get(i));
+                                results[i] =
+                                        new SignedTransaction(
+                                                txPair.getTxHash(),
+                                                Numeric.hexStringToByteArray(txPair.getSignedTx()));
+                            }
+                        } catch (Exception e) {
+                            error.compareAndSet(null, e);
+                        }
+                    }
+                };
+        int workers =
+                Math.max(1, Math.min(parallelism, (size + SIGN_BLOCK_SIZE - 1) / SIGN_BLOCK_SIZE));
+        CountDownLatch done = new CountDownLatch(workers - 1);
+        for (int i = 1; i < workers; i++) {
+            executor.execute(
+                    () -> {
+                        try {
+                            worker.run();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // the workers stop at their next block
+            error.compareAndSet(null, e);
+            throw new JniException("interrupted while signing the transactions");
+        }
+        Exception e = error.get();
+        if (e instanceof JniException) {
+            throw (JniException) e;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Signs the requests of a batch, created once per batch and called from several threads at
+     * once.
+     */
+    @FunctionalInterface
+    protected interface BatchSigner {
+        TxPair sign(AbiEncodedRequest request) throws JniException;
+    }
+
+    /**
+     * Create the signer of a batch, managers override it to resolve the signing context once per
+     * batch instead of once per transaction.
+     *
+     * @return the signer of a batch
+     */
+    protected BatchSigner newBatchSigner() {
+        return this::createSignedTransaction;
+    }
+
+    private static Executor getSignExecutor() {
+        ThreadPoolExecutor executor = signExecutor;
+        if (executor == null) {
+            synchronized (TransactionManager.class) {
+                executor = signExecutor;
+                if (executor == null) {
+                    AtomicInteger threadId = new AtomicInteger();
+                    executor =
+                            new ThreadPoolExecutor(
+                                    SIGN_PARALLELISM,
+                                    SIGN_PARALLELISM,
+                                    60,
+                                    TimeUnit.SECONDS,
+                                    new LinkedBlockingQueue<>(),
+                                    runnable -> {
+                                        Thread thread =
+                                                new Thread(
+                                                        runnable,
+                                                        "txSign-" + threadId.incrementAndGet());
+                                        thread.setDaemon(true);
+                                        return thread;
+                                    });
+                    // idle workers exit, an unused manager holds no thread
+                    executor.allowCoreThreadTimeOut(true);
+                    signExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
 }
@@ -0,0 +1,549 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.manager.transactionv1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.metrics.LatencyHistogram;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto.AbiEncodedRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Signs and sends transactions of a {@link TransactionManager} with a bounded number of them
+ * waiting for their receipt.
+ *
+ * <p>A submitted request is signed on a pool of worker threads, then a dispatcher thread sends it
+ * when the in-flight window has room. A transaction rejected with TxPoolIsFull is sent again after
+ * a backoff and halves the window, every receipt received without it grows the window back by about
+ * one transaction per window of receipts (additive increase, multiplicative decrease). At most
+ * {@link #getMaxPending()} requests wait to be signed or sent, {@link #submit} blocks beyond.
+ */
+public class TransactionPipeline implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPipeline.class);
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1000;
+    public static final int DEFAULT_SIGN_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_MAX_RETRIES = 5;
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 100;
+
+    private final TransactionManager transactionManager;
+    private final Client client;
+    private final int maxInFlight;
+    private final int maxPending;
+    private final int maxRetries;
+    private final long retryDelayMillis;
+
+    private final ThreadPoolExecutor signExecutor;
+    private final ScheduledThreadPoolExecutor retryExecutor;
+    private final Thread dispatcher;
+    private final LinkedBlockingQueue<Job> signedQueue = new LinkedBlockingQueue<>();
+    private final Semaphore pending;
+    private volatile boolean closed = false;
+
+    // the in-flight window, the limit moves between 1 and maxInFlight
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private final Condition windowRoom = windowLock.newCondition();
+    private double windowLimit;
+    private int inFlight;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    private final AtomicInteger signQueueDepth = new AtomicInteger();
+    // the signed transactions waiting for the window, the one held by the dispatcher included
+    private final AtomicInteger sendQueueDepth = new AtomicInteger();
+    // the transactions waiting for their retry delay
+    private final Set<Job> retrying = ConcurrentHashMap.newKeySet();
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder txPoolFullCount = new LongAdder();
+    private final LatencyHistogram signLatency = new LatencyHistogram();
+    private final LatencyHistogram submitLatency = new LatencyHistogram();
+    private final LatencyHistogram confirmLatency = new LatencyHistogram();
+
+    public TransactionPipeline(TransactionManager transactionManager) {
+        this(transactionManager, DEFAULT_MAX_IN_FLIGHT, DEFAULT_SIGN_PARALLELISM);
+    }
+
+    public TransactionPipeline(
+            TransactionManager transactionManager, int maxInFlight, int signParallelism) {
+        this(
+                transactionManager,
+                maxInFlight,
+                signParallelism,
+                DEFAULT_MAX_RETRIES,
+                DEFAULT_RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * create a pipeline and start its threads
+     *
+     * @param transactionManager signs the transactions
+     * @param maxInFlight the maximum number of transactions waiting for their receipt
+     * @param signParallelism the number of threads signing the transactions
+     * @param maxRetries the number of times a transaction rejected by a full pool is sent again
+     * @param retryDelayMillis the delay before the first retry, doubled for each further retry
+     */
+    public TransactionPipeline(
+            TransactionManager transactionManager,
+            int maxInFlight,
+            int signParallelism,
+            int maxRetries,
+            long retryDelayMillis) {
+        if (maxInFlight <= 0 || signParallelism <= 0 || maxRetries < 0 || retryDelayMillis < 0) {
+            throw new IllegalArgumentException(
+                    "invalid transaction pipeline, maxInFlight: "
+                            + maxInFlight
+                            + ", signParallelism: "
+                            + signParallelism
+                            + ", maxRetries: "
+                            + maxRetries
+                            + ", retryDelayMillis: "
+                            + retryDelayMillis);
+        }
+        this.transactionManager = transactionManager;
+        this.client = transactionManager.getClient();
+        this.maxInFlight = maxInFlight;
+        this.maxPending = maxInFlight * 2;
+        this.maxRetries = maxRetries;
+        this.retryDelayMillis = retryDelayMillis;
+        this.windowLimit = maxInFlight;
+        this.pending = new Semaphore(maxPending);
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.signExecutor =
+                new ThreadPoolExecutor(
+                        signParallelism,
+                        signParallelism,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "txPipeline-sign-" + threadId.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.signExecutor.allowCoreThreadTimeOut(true);
+        this.retryExecutor =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "txPipeline-retry");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.retryExecutor.setRemoveOnCancelPolicy(true);
+        this.dispatcher = new Thread(this::dispatch, "txPipeline-dispatch");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * sign and send a transaction, blocks while {@link #getMaxPending()} requests wait to be signed
+     * or sent
+     *
+     * @param request the transaction request
+     * @param callback receives the receipt, or the error of the signature or of the send
+     * @throws InterruptedException if interrupted while waiting for room in the pipeline
+     */
+    public void submit(AbiEncodedRequest request, TransactionCallback callback)
+            throws InterruptedException {
+        if (closed) {
+            throw new RejectedExecutionException("the transaction pipeline is closed");
+        }
+        pending.acquire();
+        Job job = new Job(request, callback);
+        submittedCount.increment();
+        signQueueDepth.incrementAndGet();
+        try {
+            signExecutor.execute(new SignTask(job));
+        } catch (RejectedExecutionException e) {
+            signQueueDepth.decrementAndGet();
+            pending.release();
+            throw e;
+        }
+    }
+
+    /**
+     * sign and send a transaction, blocks while {@link #getMaxPending()} requests wait to be signed
+     * or sent
+     *
+     * @param request the transaction request
+     * @return the future receipt, a failed signature or send completes it with a receipt holding
+     *     the error code and message
+     * @throws InterruptedException if interrupted while waiting for room in the pipeline
+     */
+    public CompletableFuture<TransactionReceipt> submit(AbiEncodedRequest request)
+            throws InterruptedException {
+        CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        submit(
+                request,
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        future.complete(receipt);
+                    }
+                });
+        return future;
+    }
+
+    private class SignTask implements Runnable {
+        private final Job job;
+
+        private SignTask(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            signQueueDepth.decrementAndGet();
+            long start = System.nanoTime();
+            try {
+                TxPair txPair = transactionManager.createSignedTransaction(job.request);
+                signLatency.record(System.nanoTime() - start, true);
+                job.signedTransaction = txPair.getSignedTx();
+                enqueue(job);
+            } catch (Exception e) {
+                signLatency.record(System.nanoTime() - start, false);
+                pending.release();
+                job.fail(-1, "sign transaction failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch() {
+        while (!closed) {
+            Job job;
+            try {
+                job = signedQueue.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+            try {
+                acquireWindow();
+            } catch (InterruptedException e) {
+                signedQueue.add(job);
+                break;
+            }
+            sendQueueDepth.decrementAndGet();
+            if (job.attempt == 0) {
+                // a retried job released its pending permit when first sent
+                pending.release();
+            }
+            send(job);
+        }
+    }
+
+    private void enqueue(Job job) {
+        sendQueueDepth.incrementAndGet();
+        signedQueue.add(job);
+        if (closed) {
+            // signed or retried after close drained the queue, nothing dispatches it any more
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        Job job;
+        while ((job = signedQueue.poll()) != null) {
+            sendQueueDepth.decrementAndGet();
+            if (job.attempt == 0) {
+                pending.release();
+            }
+            job.fail(-1, "the transaction pipeline is closed");
+        }
+    }
+
+    private void send(Job job) {
+        job.sendNanos = System.nanoTime();
+        PipelineCallback callback = new PipelineCallback(job);
+        try {
+            client.sendTransactionAsync(job.signedTransaction, false, callback);
+            submitLatency.record(System.nanoTime() - job.sendNanos, true);
+        } catch (RuntimeException e) {
+            submitLatency.record(System.nanoTime() - job.sendNanos, false);
+            callback.onError(-1, "send transaction failed: " + e.getMessage());
+        }
+    }
+
+    private void acquireWindow() throws InterruptedException {
+        windowLock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) windowLimit) {
+                windowRoom.await();
+            }
+            inFlight++;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void releaseWindow(long sendNanos, boolean txPoolFull) {
+        windowLock.lock();
+        try {
+            inFlight--;
+            if (txPoolFull) {
+                // one decrease per window: the receipts of the transactions sent before the last
+                // decrease report the same congestion
+                if (sendNanos - lastDecreaseNanos >= 0) {
+                    windowLimit = Math.max(1, windowLimit / 2);
+                    lastDecreaseNanos = System.nanoTime();
+                }
+            } else if (windowLimit < maxInFlight) {
+                windowLimit = Math.min(maxInFlight, windowLimit + 1 / windowLimit);
+            }
+            windowRoom.signalAll();
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void retry(Job job) {
+        job.attempt++;
+        retryCount.increment();
+        retrying.add(job);
+        long delay = retryDelayMillis << Math.min(job.attempt - 1, 16);
+        try {
+            retryExecutor.schedule(
+                    () -> {
+                        if (retrying.remove(job)) {
+                            enqueue(job);
+                        }
+                    },
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (retrying.remove(job)) {
+                job.fail(
+                        TransactionReceiptStatus.TxPoolIsFull.getCode(),
+                        "the transaction pipeline is closed");
+            }
+        }
+    }
+
+    private class Job {
+        private final AbiEncodedRequest request;
+        private final TransactionCallback callback;
+        private volatile String signedTransaction;
+        private volatile int attempt;
+        private volatile long sendNanos;
+
+        private Job(AbiEncodedRequest request, TransactionCallback callback) {
+            this.request = request;
+            this.callback = callback;
+        }
+
+        private void fail(int errorCode, String errorMessage) {
+            failureCount.increment();
+            try {
+                callback.onError(errorCode, errorMessage);
+            } catch (RuntimeException e) {
+                logger.warn("transaction callback failed, ", e);
+            }
+        }
+    }
+
+    private class PipelineCallback extends TransactionCallback {
+        private final Job job;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private PipelineCallback(Job job) {
+            this.job = job;
+        }
+
+        @Override
+        public void onResponse(TransactionReceipt receipt) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            boolean txPoolFull =
+                    receipt != null
+                            && receipt.getStatus()
+                                    == TransactionReceiptStatus.TxPoolIsFull.getCode();
+            boolean success = receipt != null && receipt.isStatusOK();
+            confirmLatency.record(System.nanoTime() - job.sendNanos, success);
+            releaseWindow(job.sendNanos, txPoolFull);
+            if (txPoolFull) {
+                txPoolFullCount.increment();
+                if (job.attempt < maxRetries && !closed) {
+                    retry(job);
+                    return;
+                }
+            }
+            (success ? successCount : failureCount).increment();
+            try {
+                job.callback.onResponse(receipt);
+            } catch (RuntimeException e) {
+                logger.warn("transaction callback failed, ", e);
+            }
+        }
+    }
+
+    /**
+     * stop the threads, the requests not sent yet fail, the transactions already sent still get
+     * their receipt; a signature still running after close fails when it completes
+     */
+    @Override
+    public void close() {
+        closed = true;
+        List<Job> remaining = new ArrayList<>();
+        for (Runnable task : signExecutor.shutdownNow()) {
+            signQueueDepth.decrementAndGet();
+            pending.release();
+            remaining.add(((SignTask) task).job);
+        }
+        retryExecutor.shutdownNow();
+        dispatcher.interrupt();
+        try {
+            // the running signatures still hand their transaction to the dispatch queue
+            signExecutor.awaitTermination(1, TimeUnit.SECONDS);
+            dispatcher.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Job job : retrying) {
+            if (retrying.remove(job)) {
+                remaining.add(job);
+            }
+        }
+        for (Job failed : remaining) {
+            failed.fail(-1, "the transaction pipeline is closed");
+        }
+        failQueued();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /** @return the current in-flight limit set by the congestion control */
+    public int getWindowLimit() {
+        windowLock.lock();
+        try {
+            return (int) windowLimit;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    /** @return the number of transactions sent and waiting for their receipt */
+    public int getInFlight() {
+        windowLock.lock();
+        try {
+            return inFlight;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    /** @return the number of requests waiting to be signed */
+    public int getSignQueueDepth() {
+        return signQueueDepth.get();
+    }
+
+    /** @return the number of signed transactions waiting for room in the window */
+    public int getSendQueueDepth() {
+        return sendQueueDepth.get();
+    }
+
+    /** @return the number of transactions waiting for their retry delay */
+    public int getRetryQueueDepth() {
+        return retrying.size();
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    public long getTxPoolFullCount() {
+        return txPoolFullCount.sum();
+    }
+
+    /** @return the latency of the signatures */
+    public LatencyHistogram getSignLatency() {
+        return signLatency;
+    }
+
+    /** @return the latency of handing a signed transaction to the client */
+    public LatencyHistogram getSubmitLatency() {
+        return submitLatency;
+    }
+
+    /** @return the latency from the send of a transaction to its receipt */
+    public LatencyHistogram getConfirmLatency() {
+        return confirmLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionPipeline{"
+                + "windowLimit="
+                + getWindowLimit()
+                + ", inFlight="
+                + getInFlight()
+                + ", signQueueDepth="
+                + getSignQueueDepth()
+                + ", sendQueueDepth="
+                + getSendQueueDepth()
+                + ", retryQueueDepth="
+                + getRetryQueueDepth()
+                + ", success="
+                + getSuccessCount()
+                + ", failure="
+                + getFailureCount()
+                + ", retry="
+                + getRetryCount()
+                + '}';
+    }
+}
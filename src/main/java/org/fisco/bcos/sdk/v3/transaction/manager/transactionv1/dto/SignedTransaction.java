@@ -0,0 +1,29 @@
+package org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto;
+
+import org.fisco.bcos.sdk.v3.utils.Hex;
+
+/** A signed and encoded transaction, ready to be sent. */
+public class SignedTransaction {
+    private final String txHash;
+    private final byte[] encodedTransaction;
+
+    public SignedTransaction(String txHash, byte[] encodedTransaction) {
+        this.txHash = txHash;
+        this.encodedTransaction = encodedTransaction;
+    }
+
+    /** @return the hash of the transaction data */
+    public String getTxHash() {
+        return txHash;
+    }
+
+    /** @return the encoded transaction */
+    public byte[] getEncodedTransaction() {
+        return encodedTransaction;
+    }
+
+    /** @return the hex encoded transaction, as taken by Client.sendTransaction */
+    public String getSignedTx() {
+        return Hex.toHexString(encodedTransaction);
+    }
+}
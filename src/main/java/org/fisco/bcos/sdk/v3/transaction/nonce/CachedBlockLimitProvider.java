@@ -0,0 +1,291 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.nonce;
+
+import java.math.BigInteger;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.model.Response;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Nonce and block limit provider that serves the block limit from a locally tracked block number
+ * instead of asking the client for every transaction.
+ *
+ * <p>Once started, the block number follows the block notifications of the client, see {@link
+ * Client#addBlockNumberListener}; {@link Client#getBlockNumberAsync} polls it in the background
+ * only when no notification came for a refresh interval. It can also be pushed by the application
+ * through {@link #updateBlockNumber(long)}. {@link #getBlockLimit(Client)} only reads a volatile
+ * field; it falls back to {@link Client#getBlockNumber()} when the tracked block number is older
+ * than the configured staleness bound.
+ */
+public class CachedBlockLimitProvider extends DefaultNonceAndBlockLimitProvider
+        implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedBlockLimitProvider.class);
+
+    public static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 1000;
+    public static final long DEFAULT_MAX_STALENESS_MILLIS = 10000;
+    public static final int DEFAULT_BLOCK_LIMIT_RANGE = 500;
+
+    private final Client client;
+    private final long refreshIntervalMillis;
+    private final long maxStalenessNanos;
+    private final int blockLimitRange;
+    private final LongConsumer blockNumberListener = this::updateBlockNumber;
+    private ScheduledExecutorService scheduler;
+    private boolean started = false;
+    private boolean notified = false;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+    private final LongAdder refreshFailureCount = new LongAdder();
+
+    public CachedBlockLimitProvider(Client client) {
+        this(
+                client,
+                DEFAULT_REFRESH_INTERVAL_MILLIS,
+                DEFAULT_MAX_STALENESS_MILLIS,
+                DEFAULT_BLOCK_LIMIT_RANGE);
+    }
+
+    /**
+     * create a block limit provider tracking the block number of the client
+     *
+     * @param client the client to track
+     * @param refreshIntervalMillis the age of the tracked block number from which the background
+     *     refresh polls it, 0 disables the background refresh
+     * @param maxStalenessMillis the maximum age of the tracked block number before falling back to
+     *     {@link Client#getBlockNumber()}
+     * @param blockLimitRange the number of blocks added to the block number to get the block limit
+     */
+    public CachedBlockLimitProvider(
+            Client client,
+            long refreshIntervalMillis,
+            long maxStalenessMillis,
+            int blockLimitRange) {
+        if (refreshIntervalMillis < 0) {
+            throw new IllegalArgumentException(
+                    "refreshIntervalMillis must not be negative: " + refreshIntervalMillis);
+        }
+        if (maxStalenessMillis < 0) {
+            throw new IllegalArgumentException(
+                    "maxStalenessMillis must not be negative: " + maxStalenessMillis);
+        }
+        if (blockLimitRange <= 0) {
+            throw new IllegalArgumentException(
+                    "blockLimitRange must be positive: " + blockLimitRange);
+        }
+        this.client = client;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+        this.blockLimitRange = blockLimitRange;
+    }
+
+    /**
+     * follow the block notifications of the client and start the background refresh
+     *
+     * @return this provider
+     */
+    public synchronized CachedBlockLimitProvider start() {
+        if (started) {
+            return this;
+        }
+        started = true;
+        notified = client.addBlockNumberListener(blockNumberListener);
+        if (refreshIntervalMillis > 0) {
+            scheduler =
+                    Executors.newSingleThreadScheduledExecutor(
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "blockLimitRefresher");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            scheduler.scheduleWithFixedDelay(
+                    this::refreshIfStale, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    private void refreshIfStale() {
+        long staleness = getStalenessMillis();
+        if (staleness < 0 || staleness >= refreshIntervalMillis) {
+            refresh();
+        }
+    }
+
+    @Override
+    public BigInteger getBlockLimit(Client client) {
+        if (client != this.client) {
+            return client.getBlockLimit();
+        }
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.updateNanos <= maxStalenessNanos) {
+            hitCount.increment();
+            return current.blockLimit;
+        }
+        fallbackCount.increment();
+        long blockNumber = client.getBlockNumber().getBlockNumber().longValue();
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "cached block number is stale, fallback to client, blockNumber: {}, staleness: {}ms",
+                    blockNumber,
+                    getStalenessMillis());
+        }
+        return update(blockNumber).blockLimit;
+    }
+
+    /** fetch the latest block number from the client asynchronously */
+    public void refresh() {
+        try {
+            client.getBlockNumberAsync(
+                    new RespCallback<BlockNumber>() {
+                        @Override
+                        public void onResponse(BlockNumber blockNumber) {
+                            updateBlockNumber(blockNumber.getBlockNumber().longValue());
+                        }
+
+                        @Override
+                        public void onError(Response errorResponse) {
+                            refreshFailureCount.increment();
+                            logger.warn(
+                                    "refresh block number failed, code: {}, msg: {}",
+                                    errorResponse.getErrorCode(),
+                                    errorResponse.getErrorMessage());
+                        }
+                    });
+        } catch (Exception e) {
+            refreshFailureCount.increment();
+            logger.warn("refresh block number failed, e: ", e);
+        }
+    }
+
+    /**
+     * update the tracked block number, e.g. on a block notification. The tracked block number never
+     * goes backwards, an older block number only marks the tracked one as fresh.
+     *
+     * @param blockNumber the latest block number known by the caller
+     */
+    public void updateBlockNumber(long blockNumber) {
+        update(blockNumber);
+    }
+
+    private synchronized Snapshot update(long blockNumber) {
+        Snapshot current = snapshot;
+        if (current != null && current.blockNumber > blockNumber) {
+            blockNumber = current.blockNumber;
+        }
+        snapshot =
+                new Snapshot(
+                        blockNumber,
+                        BigInteger.valueOf(blockNumber + blockLimitRange),
+                        System.nanoTime());
+        return snapshot;
+    }
+
+    /** @return the tracked block number, -1 if the block number is unknown yet */
+    public long getCachedBlockNumber() {
+        Snapshot current = snapshot;
+        return current == null ? -1 : current.blockNumber;
+    }
+
+    /** @return the time since the tracked block number was updated, -1 if it is unknown yet */
+    public long getStalenessMillis() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return -1;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - current.updateNanos);
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.sum();
+    }
+
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+    public long getMaxStalenessMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxStalenessNanos);
+    }
+
+    public int getBlockLimitRange() {
+        return blockLimitRange;
+    }
+
+    /** @return true if the block number follows the block notifications of the client */
+    public synchronized boolean isNotified() {
+        return notified;
+    }
+
+    /** stop following the block notifications and the background refresh */
+    @Override
+    public synchronized void close() {
+        if (notified) {
+            client.removeBlockNumberListener(blockNumberListener);
+            notified = false;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachedBlockLimitProvider{"
+                + "cachedBlockNumber="
+                + getCachedBlockNumber()
+                + ", stalenessMillis="
+                + getStalenessMillis()
+                + ", hitCount="
+                + getHitCount()
+                + ", fallbackCount="
+                + getFallbackCount()
+                + ", refreshFailureCount="
+                + getRefreshFailureCount()
+                + '}';
+    }
+
+    private static class Snapshot {
+        private final long blockNumber;
+        private final BigInteger blockLimit;
+        private final long updateNanos;
+
+        private Snapshot(long blockNumber, BigInteger blockLimit, long updateNanos) {
+            this.blockNumber = blockNumber;
+            this.blockLimit = blockLimit;
+            this.updateNanos = updateNanos;
+        }
+    }
+}
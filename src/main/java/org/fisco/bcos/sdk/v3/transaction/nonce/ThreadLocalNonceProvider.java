@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.nonce;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import org.fisco.bcos.sdk.v3.client.Client;
+
+/**
+ * Nonce provider for signing transactions from many threads.
+ *
+ * <p>Every thread owns a {@link SplittableRandom} split from a root generator seeded by {@link
+ * SecureRandom}, so generating a nonce takes no lock and touches no shared state. A nonce is 128
+ * random bits in 32 lowercase hex characters, the same format as {@link
+ * DefaultNonceAndBlockLimitProvider#getNonce()}. The block limit is delegated to another provider,
+ * e.g. a {@link CachedBlockLimitProvider}.
+ */
+public class ThreadLocalNonceProvider implements NonceAndBlockLimitProvider {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final NonceAndBlockLimitProvider blockLimitProvider;
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> generator;
+
+    public ThreadLocalNonceProvider() {
+        this(new DefaultNonceAndBlockLimitProvider());
+    }
+
+    /**
+     * create a nonce provider
+     *
+     * @param blockLimitProvider the provider of the block limit
+     */
+    public ThreadLocalNonceProvider(NonceAndBlockLimitProvider blockLimitProvider) {
+        this.blockLimitProvider = blockLimitProvider;
+        this.root = new SplittableRandom(new SecureRandom().nextLong());
+        this.generator = ThreadLocal.withInitial(this::split);
+    }
+
+    private SplittableRandom split() {
+        // SplittableRandom is not thread safe, split() once per thread under the lock
+        synchronized (root) {
+            return root.split();
+        }
+    }
+
+    @Override
+    public String getNonce() {
+        SplittableRandom random = generator.get();
+        char[] nonce = new char[32];
+        writeHex(random.nextLong(), nonce, 0);
+        writeHex(random.nextLong(), nonce, 16);
+        return new String(nonce);
+    }
+
+    private static void writeHex(long value, char[] out, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            out[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    @Override
+    public void getNonceAsync(RemoteNonceCallbackInterface callback) {
+        callback.handleNonce(getNonce());
+    }
+
+    @Override
+    public BigInteger getBlockLimit(Client client) {
+        return blockLimitProvider.getBlockLimit(client);
+    }
+
+    @Override
+    public void getBlockLimitAsync(Client client, RemoteBlockLimitCallbackInterface callback) {
+        blockLimitProvider.getBlockLimitAsync(client, callback);
+    }
+
+    public NonceAndBlockLimitProvider getBlockLimitProvider() {
+        return blockLimitProvider;
+    }
+}
@@ -0,0 +1,148 @@
+package org.fisco.bcos.sdk.v3.test.client;
+
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.model.Response;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallback;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallbackFuture;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+public class AsyncClientTest {
+
+    @Test
+    public void testFutureCompletedByCallback() throws Exception {
+        Client client = mock(Client.class);
+        doAnswer(
+                        (Answer<Void>)
+                                invocation -> {
+                                    RespCallback<BlockNumber> callback = invocation.getArgument(0);
+                                    BlockNumber blockNumber = new BlockNumber();
+                                    blockNumber.setResult("0x64");
+                                    callback.onResponse(blockNumber);
+                                    return null;
+                                })
+                .when(client)
+                .getBlockNumberAsync(any(RespCallback.class));
+        when(client.getBlockNumberAsync()).thenCallRealMethod();
+
+        CompletableFuture<BlockNumber> future = client.getBlockNumberAsync();
+        Assert.assertEquals(
+                BigInteger.valueOf(100), future.get(1, TimeUnit.SECONDS).getBlockNumber());
+    }
+
+    @Test
+    public void testFutureCompletedOnCallbackExecutor() throws Exception {
+        ExecutorService executor =
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callback"));
+        try {
+            Client client = mock(Client.class);
+            when(client.getCallbackExecutor()).thenReturn(executor);
+            doAnswer(
+                            (Answer<Void>)
+                                    invocation -> {
+                                        RespCallback<BcosBlock> callback =
+                                                invocation.getArgument(3);
+                                        callback.onResponse(new BcosBlock());
+                                        return null;
+                                    })
+                    .when(client)
+                    .getBlockByNumberAsync(
+                            any(BigInteger.class),
+                            anyBoolean(),
+                            anyBoolean(),
+                            any(RespCallback.class));
+            when(client.getBlockByNumberAsync(any(BigInteger.class), anyBoolean(), anyBoolean()))
+                    .thenCallRealMethod();
+
+            // hold the executor until the dependent stage is registered
+            CountDownLatch registered = new CountDownLatch(1);
+            executor.execute(
+                    () -> {
+                        try {
+                            registered.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+            CompletableFuture<String> thread =
+                    client.getBlockByNumberAsync(BigInteger.ONE, true, true)
+                            .thenApply(block -> Thread.currentThread().getName());
+            registered.countDown();
+            Assert.assertEquals("callback", thread.get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFutureCompletedExceptionallyOnError() throws Exception {
+        Client client = mock(Client.class);
+        doAnswer(
+                        (Answer<Void>)
+                                invocation -> {
+                                    RespCallback<BlockNumber> callback = invocation.getArgument(0);
+                                    callback.onError(new Response(-5, "node unreachable"));
+                                    return null;
+                                })
+                .when(client)
+                .getBlockNumberAsync(any(RespCallback.class));
+        when(client.getBlockNumberAsync()).thenCallRealMethod();
+
+        try {
+            client.getBlockNumberAsync().get(1, TimeUnit.SECONDS);
+            Assert.fail("ClientException expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ClientException);
+            ClientException clientException = (ClientException) e.getCause();
+            Assert.assertEquals(-5, clientException.getErrorCode());
+            Assert.assertEquals("node unreachable", clientException.getErrorMessage());
+        }
+    }
+
+    @Test
+    public void testSendTransactionFuture() throws Exception {
+        Client client = mock(Client.class);
+        doAnswer(
+                        (Answer<Void>)
+                                invocation -> {
+                                    TransactionCallback callback = invocation.getArgument(2);
+                                    TransactionReceipt receipt = new TransactionReceipt();
+                                    receipt.setStatus(0);
+                                    receipt.setTransactionHash("0x1234");
+                                    callback.onResponse(receipt);
+                                    return null;
+                                })
+                .when(client)
+                .sendTransactionAsync(anyString(), anyBoolean(), any(TransactionCallback.class));
+        when(client.sendTransactionAsync(anyString(), anyBoolean())).thenCallRealMethod();
+
+        TransactionReceipt receipt =
+                client.sendTransactionAsync("0x00", false).get(1, TimeUnit.SECONDS);
+        Assert.assertEquals("0x1234", receipt.getTransactionHash());
+    }
+
+    @Test
+    public void testRejectedExecutorCompletesInPlace() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        RespCallbackFuture<String> future = new RespCallbackFuture<>(executor);
+        future.onResponse("done");
+        Assert.assertEquals("done", future.get(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,180 @@
+package org.fisco.bcos.sdk.v3.test.client;
+
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.deserializer.JsonRpcResponseReaders;
+import org.fisco.bcos.sdk.v3.client.protocol.request.BatchRequest;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcRequest;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockHash;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class BatchRequestTest {
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private static JsonRpcRequest<Object> blockHashRequest(long id, long blockNumber) {
+        JsonRpcRequest<Object> request =
+                new JsonRpcRequest<>(
+                        JsonRpcMethods.GET_BLOCKHASH_BY_NUMBER,
+                        Arrays.asList("group0", "", BigInteger.valueOf(blockNumber)));
+        request.setId(id);
+        return request;
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testEncode() throws Exception {
+        BatchRequest batch =
+                new BatchRequest()
+                        .add(blockHashRequest(1, 10), BlockHash.class)
+                        .add(blockHashRequest(2, 11), BlockHash.class);
+        JsonNode encoded = objectMapper.readTree(batch.encode(objectMapper));
+        Assert.assertTrue(encoded.isArray());
+        Assert.assertEquals(2, encoded.size());
+        Assert.assertEquals("2.0", encoded.get(0).get("jsonrpc").asText());
+        Assert.assertEquals(
+                JsonRpcMethods.GET_BLOCKHASH_BY_NUMBER, encoded.get(0).get("method").asText());
+        Assert.assertEquals(2, encoded.get(1).get("id").asLong());
+        Assert.assertEquals(11, encoded.get(1).get("params").get(2).asLong());
+    }
+
+    @Test
+    public void testDuplicateId() {
+        BatchRequest batch = new BatchRequest().add(blockHashRequest(1, 10), BlockHash.class);
+        try {
+            batch.add(blockHashRequest(1, 11), BlockHash.class);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals(1, batch.size());
+        }
+    }
+
+    @Test
+    public void testDecodeById() throws Exception {
+        BatchRequest batch =
+                new BatchRequest()
+                        .add(blockHashRequest(7, 10), BlockHash.class)
+                        .add(
+                                new JsonRpcRequest<>(
+                                        JsonRpcMethods.GET_BLOCK_NUMBER,
+                                        Arrays.asList("group0", "")),
+                                BlockNumber.class)
+                        .add(blockHashRequest(9, 11), BlockHash.class);
+        long blockNumberId = batch.getRequests().get(1).getId();
+        // answered out of order, one request with an error and one without answer
+        List<JsonRpcResponse<?>> responses =
+                batch.decode(
+                        JsonRpcResponseReaders.reflective(),
+                        bytes(
+                                "[{\"id\":"
+                                        + blockNumberId
+                                        + ",\"jsonrpc\":\"2.0\",\"result\":12},"
+                                        + "{\"id\":7,\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32602,\"message\":\"invalid\"}},"
+                                        + "{\"id\":100,\"jsonrpc\":\"2.0\",\"result\":\"0x1\"}]"));
+        Assert.assertEquals(3, responses.size());
+
+        Assert.assertTrue(responses.get(0) instanceof BlockHash);
+        Assert.assertTrue(responses.get(0).hasError());
+        Assert.assertEquals(-32602, responses.get(0).getError().getCode());
+
+        Assert.assertTrue(responses.get(1) instanceof BlockNumber);
+        Assert.assertFalse(responses.get(1).hasError());
+        Assert.assertEquals(
+                BigInteger.valueOf(12), ((BlockNumber) responses.get(1)).getBlockNumber());
+
+        Assert.assertTrue(responses.get(2) instanceof BlockHash);
+        Assert.assertEquals(9, responses.get(2).getId());
+        Assert.assertEquals(
+                BatchRequest.NO_RESPONSE_ERROR_CODE, responses.get(2).getError().getCode());
+    }
+
+    @Test
+    public void testDecodeErrorOfOneResponse() throws Exception {
+        BatchRequest batch =
+                new BatchRequest()
+                        .add(blockHashRequest(1, 10), BlockHash.class)
+                        .add(
+                                new JsonRpcRequest<>(
+                                        JsonRpcMethods.GET_BLOCK_NUMBER,
+                                        Arrays.asList("group0", "")),
+                                BlockNumber.class);
+        long blockNumberId = batch.getRequests().get(1).getId();
+        // the block number is not a number, the block hash is still decoded
+        List<JsonRpcResponse<?>> responses =
+                batch.decode(
+                        JsonRpcResponseReaders.tuned(),
+                        bytes(
+                                "[{\"id\":"
+                                        + blockNumberId
+                                        + ",\"jsonrpc\":\"2.0\",\"result\":{\"unexpected\":true}},"
+                                        + "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":\"0x1\"}]"));
+        Assert.assertEquals(2, responses.size());
+        Assert.assertFalse(responses.get(0).hasError());
+        Assert.assertEquals("0x1", ((BlockHash) responses.get(0)).getBlockHashByNumber());
+        Assert.assertTrue(responses.get(1) instanceof BlockNumber);
+        Assert.assertEquals(blockNumberId, responses.get(1).getId());
+        Assert.assertEquals(BatchRequest.DECODE_ERROR_CODE, responses.get(1).getError().getCode());
+    }
+
+    @Test
+    public void testDecodeRejected() throws Exception {
+        BatchRequest batch = new BatchRequest().add(blockHashRequest(1, 10), BlockHash.class);
+        Assert.assertNull(
+                batch.decode(
+                        JsonRpcResponseReaders.reflective(),
+                        bytes(
+                                "{\"id\":null,\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}}")));
+    }
+
+    @Test
+    public void testSubBatch() {
+        BatchRequest batch = new BatchRequest();
+        for (int i = 0; i < 5; i++) {
+            batch.add(blockHashRequest(i, i), BlockHash.class);
+        }
+        BatchRequest subBatch = batch.subBatch(2, 4);
+        Assert.assertEquals(2, subBatch.size());
+        Assert.assertEquals(2, subBatch.getRequests().get(0).getId());
+        Assert.assertEquals(3, subBatch.getRequests().get(1).getId());
+    }
+
+    @Test
+    public void testGetBlockHashesByNumber() {
+        Client client = mock(Client.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        doReturn("group0").when(client).getGroup();
+        doReturn("").when(client).getNodeToSendRequest();
+        BlockHash blockHash = new BlockHash();
+        blockHash.setResult("0x01");
+        doReturn(Arrays.asList(blockHash, blockHash)).when(client).sendBatch(any());
+
+        List<BlockHash> blockHashes =
+                client.getBlockHashesByNumber(
+                        Arrays.asList(BigInteger.valueOf(1), BigInteger.valueOf(2)));
+        Assert.assertEquals(2, blockHashes.size());
+        Assert.assertEquals("0x01", blockHashes.get(1).getBlockHashByNumber());
+
+        ArgumentCaptor<BatchRequest> captor = ArgumentCaptor.forClass(BatchRequest.class);
+        verify(client).sendBatch(captor.capture());
+        BatchRequest batch = captor.getValue();
+        Assert.assertEquals(2, batch.size());
+        Assert.assertEquals(
+                Arrays.asList("group0", "", BigInteger.valueOf(2)),
+                batch.getRequests().get(1).getParams());
+        Assert.assertEquals(BlockHash.class, batch.getResponseType(0));
+    }
+}
@@ -0,0 +1,64 @@
+package org.fisco.bcos.sdk.v3.test.client;
+
+import java.util.concurrent.TimeoutException;
+import org.fisco.bcos.sdk.jni.common.Response;
+import org.fisco.bcos.sdk.v3.client.BlockingRpcCallback;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockingRpcCallbackTest {
+
+    private static Response response(int code) {
+        Response response = new Response();
+        response.setErrorCode(code);
+        response.setErrorMessage("msg" + code);
+        return response;
+    }
+
+    @Test
+    public void testReusedAfterResponse() throws Exception {
+        BlockingRpcCallback callback = BlockingRpcCallback.acquire();
+        Thread responder = new Thread(() -> callback.onResponse(response(1)));
+        responder.start();
+        Assert.assertEquals(1, callback.await(10000).getErrorCode());
+        responder.join();
+
+        // the completed callback is reused by the next request of the thread
+        Assert.assertSame(callback, BlockingRpcCallback.acquire());
+        callback.onResponse(response(2));
+        Assert.assertEquals(2, callback.await(0).getErrorCode());
+    }
+
+    @Test
+    public void testTimeoutAbandonsCallback() throws Exception {
+        BlockingRpcCallback callback = BlockingRpcCallback.acquire();
+        try {
+            callback.await(20);
+            Assert.fail("timeout expected");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        Assert.assertTrue(callback.isAbandoned());
+        BlockingRpcCallback next = BlockingRpcCallback.acquire();
+        Assert.assertNotSame(callback, next);
+
+        // the late response of the timed out request does not reach the next request
+        callback.onResponse(response(1));
+        next.onResponse(response(2));
+        Assert.assertEquals(2, next.await(1000).getErrorCode());
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        BlockingRpcCallback callback = BlockingRpcCallback.acquire();
+        Thread.currentThread().interrupt();
+        try {
+            callback.await(10000);
+            Assert.fail("interrupt expected");
+        } catch (InterruptedException e) {
+            // expected
+        }
+        Assert.assertTrue(callback.isAbandoned());
+        Assert.assertNotSame(callback, BlockingRpcCallback.acquire());
+    }
+}
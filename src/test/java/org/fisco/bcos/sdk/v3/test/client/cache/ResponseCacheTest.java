@@ -0,0 +1,131 @@
+package org.fisco.bcos.sdk.v3.test.client.cache;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.fisco.bcos.sdk.v3.client.cache.ResponseCache;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResponseCacheTest {
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testCacheableMethods() {
+        Assert.assertTrue(ResponseCache.isCacheableMethod(JsonRpcMethods.GET_TRANSACTION_RECEIPT));
+        Assert.assertTrue(ResponseCache.isCacheableMethod(JsonRpcMethods.GET_CODE));
+        Assert.assertFalse(ResponseCache.isCacheableMethod(JsonRpcMethods.CALL));
+        Assert.assertFalse(ResponseCache.isCacheableMethod(JsonRpcMethods.GET_BLOCK_NUMBER));
+
+        Assert.assertFalse(ResponseCache.isCacheableResult(null));
+        Assert.assertFalse(ResponseCache.isCacheableResult(""));
+        Assert.assertFalse(ResponseCache.isCacheableResult("0x"));
+        Assert.assertTrue(ResponseCache.isCacheableResult("0x6080"));
+    }
+
+    @Test
+    public void testKeyIgnoresNode() {
+        String key0 =
+                ResponseCache.key(
+                        JsonRpcMethods.GET_BLOCK_BY_NUMBER,
+                        Arrays.asList("group0", "", BigInteger.TEN, false, true));
+        String key1 =
+                ResponseCache.key(
+                        JsonRpcMethods.GET_BLOCK_BY_NUMBER,
+                        Arrays.asList("group0", "node1", BigInteger.TEN, false, true));
+        String key2 =
+                ResponseCache.key(
+                        JsonRpcMethods.GET_BLOCK_BY_NUMBER,
+                        Arrays.asList("group0", "", BigInteger.TEN, true, true));
+        Assert.assertEquals(key0, key1);
+        Assert.assertNotEquals(key0, key2);
+    }
+
+    @Test
+    public void testHitRate() {
+        ResponseCache cache = new ResponseCache(100, 1 << 20, false);
+        Assert.assertEquals(0, cache.getHitRate(), 0);
+        Assert.assertNull(cache.get("a"));
+        cache.put("a", bytes("{\"result\":1}"));
+        Assert.assertArrayEquals(bytes("{\"result\":1}"), cache.get("a"));
+        Assert.assertArrayEquals(bytes("{\"result\":1}"), cache.get("a"));
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(12, cache.getWeight());
+    }
+
+    @Test
+    public void testOffHeap() {
+        ResponseCache cache = new ResponseCache(100, 1 << 20, true);
+        byte[] data = bytes("{\"result\":\"0x6080\"}");
+        cache.put("code", data);
+        byte[] cached = cache.get("code");
+        Assert.assertArrayEquals(data, cached);
+        Assert.assertNotSame(data, cached);
+        Assert.assertEquals(data.length, cache.getWeight());
+        cache.invalidateAll();
+        Assert.assertNull(cache.get("code"));
+        Assert.assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public void testEvictByEntries() {
+        // one entry per segment
+        ResponseCache cache = new ResponseCache(16, 1 << 20, false);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, bytes("value" + i));
+        }
+        Assert.assertTrue(cache.size() <= 16);
+        Assert.assertEquals(1000 - cache.size(), cache.getEvictionCount());
+        // the latest entry is kept
+        Assert.assertArrayEquals(bytes("value999"), cache.get("key999"));
+    }
+
+    @Test
+    public void testEvictByWeight() {
+        // 64 bytes per segment
+        ResponseCache cache = new ResponseCache(10000, 16 * 64, false);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, new byte[40]);
+        }
+        Assert.assertTrue(cache.getWeight() <= 16 * 64);
+        Assert.assertTrue(cache.size() <= 16);
+        // larger than a segment
+        cache.put("large", new byte[65]);
+        Assert.assertNull(cache.get("large"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsed() {
+        // two entries per segment, the keys are chosen in the same segment
+        ResponseCache cache = new ResponseCache(32, 1 << 20, false);
+        String[] keys = sameSegmentKeys(3);
+        cache.put(keys[0], bytes("0"));
+        cache.put(keys[1], bytes("1"));
+        // touch the first one, the second is evicted by the third
+        Assert.assertNotNull(cache.get(keys[0]));
+        cache.put(keys[2], bytes("2"));
+        Assert.assertNotNull(cache.get(keys[0]));
+        Assert.assertNull(cache.get(keys[1]));
+        Assert.assertNotNull(cache.get(keys[2]));
+    }
+
+    private static String[] sameSegmentKeys(int count) {
+        String[] keys = new String[count];
+        int found = 0;
+        for (int i = 0; found < count; i++) {
+            String key = "key" + i;
+            int hash = key.hashCode();
+            if (((hash ^ (hash >>> 16)) & 15) == 0) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,155 @@
+package org.fisco.bcos.sdk.v3.test.client.coalesce;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.v3.client.coalesce.RequestCoalescer;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.client.protocol.response.SystemConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestCoalescerTest {
+
+    @Test
+    public void testCoalescableMethods() {
+        Assert.assertTrue(RequestCoalescer.isCoalescableMethod(JsonRpcMethods.GET_BLOCK_NUMBER));
+        Assert.assertTrue(
+                RequestCoalescer.isCoalescableMethod(JsonRpcMethods.GET_SYSTEM_CONFIG_BY_KEY));
+        Assert.assertFalse(RequestCoalescer.isCoalescableMethod(JsonRpcMethods.SEND_TRANSACTION));
+        Assert.assertFalse(
+                RequestCoalescer.isCoalescableMethod(JsonRpcMethods.GET_FILTER_CHANGES));
+    }
+
+    @Test
+    public void testKey() {
+        String key =
+                RequestCoalescer.key(
+                        "group0",
+                        "",
+                        JsonRpcMethods.GET_SYSTEM_CONFIG_BY_KEY,
+                        Arrays.asList("group0", "", "tx_count_limit"),
+                        SystemConfig.class);
+        Assert.assertEquals(
+                key,
+                RequestCoalescer.key(
+                        "group0",
+                        "",
+                        JsonRpcMethods.GET_SYSTEM_CONFIG_BY_KEY,
+                        Arrays.asList("group0", "", "tx_count_limit"),
+                        SystemConfig.class));
+        Assert.assertNotEquals(
+                key,
+                RequestCoalescer.key(
+                        "group0",
+                        "node0",
+                        JsonRpcMethods.GET_SYSTEM_CONFIG_BY_KEY,
+                        Arrays.asList("group0", "node0", "tx_count_limit"),
+                        SystemConfig.class));
+        Assert.assertNotEquals(
+                key,
+                RequestCoalescer.key(
+                        "group0",
+                        "",
+                        JsonRpcMethods.GET_SYSTEM_CONFIG_BY_KEY,
+                        Arrays.asList("group0", "", "tx_gas_limit"),
+                        SystemConfig.class));
+    }
+
+    @Test
+    public void testConcurrentReadsShareOneRequest() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger sent = new AtomicInteger();
+        List<CompletableFuture<BlockNumber>> pending = new ArrayList<>();
+        // the first read sends, the next ones join while its response is awaited
+        List<CompletableFuture<BlockNumber>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(
+                    coalescer.execute(
+                            "getBlockNumber",
+                            future -> {
+                                sent.incrementAndGet();
+                                pending.add(future);
+                            }));
+        }
+        Assert.assertEquals(1, sent.get());
+        Assert.assertEquals(1, coalescer.getInFlight());
+        BlockNumber blockNumber = new BlockNumber();
+        pending.get(0).complete(blockNumber);
+        for (CompletableFuture<BlockNumber> result : results) {
+            Assert.assertSame(blockNumber, result.get());
+        }
+        Assert.assertEquals(1, coalescer.getSentCount());
+        Assert.assertEquals(99, coalescer.getCoalescedCount());
+        Assert.assertEquals(0, coalescer.getInFlight());
+
+        // a read after the response sends again
+        coalescer.execute("getBlockNumber", future -> sent.incrementAndGet());
+        Assert.assertEquals(2, sent.get());
+    }
+
+    @Test
+    public void testFailureShared() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        CompletableFuture<BlockNumber> first =
+                coalescer.execute(
+                        "getBlockNumber",
+                        future -> {
+                            throw new ClientException("send failed");
+                        });
+        try {
+            first.get();
+            Assert.fail("the send failure should complete the flight");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ClientException);
+        }
+        Assert.assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void testThreads() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger sent = new AtomicInteger();
+        List<CompletableFuture<String>> pending = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(
+                        executor.submit(
+                                () ->
+                                        coalescer
+                                                .<String>execute(
+                                                        "call",
+                                                        future -> {
+                                                            sent.incrementAndGet();
+                                                            pending.add(future);
+                                                        })
+                                                .get(5, TimeUnit.SECONDS)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pending.isEmpty()
+                    || coalescer.getSentCount() + coalescer.getCoalescedCount() < 8) {
+                Assert.assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+            pending.get(0).complete("result");
+            for (Future<String> result : results) {
+                Assert.assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+            Assert.assertEquals(1, sent.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
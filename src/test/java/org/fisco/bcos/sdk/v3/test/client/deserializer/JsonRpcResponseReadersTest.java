@@ -0,0 +1,185 @@
+package org.fisco.bcos.sdk.v3.test.client.deserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.deserializer.JsonRpcResponseReaders;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransaction;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
+import org.fisco.bcos.sdk.v3.client.protocol.response.LogWrapper;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JsonRpcResponseReadersTest {
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final JsonRpcResponseReaders reflective = JsonRpcResponseReaders.reflective();
+    private final JsonRpcResponseReaders tuned = JsonRpcResponseReaders.tuned();
+
+    private static byte[] json(String content) {
+        return content.replace('\'', '"').getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** decode with both readers, they must give the same response */
+    private <T extends JsonRpcResponse<?>> T decode(String content, Class<T> type)
+            throws Exception {
+        T expected = reflective.readValue(json(content), type);
+        T actual = tuned.readValue(json(content), type);
+        Assert.assertEquals(type, actual.getClass());
+        Assert.assertEquals(
+                objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual));
+        return actual;
+    }
+
+    @Test
+    public void testReceipt() throws Exception {
+        BcosTransactionReceipt receipt =
+                decode(
+                        "{'id':3,'jsonrpc':'2.0','result':{'version':0,'blockNumber':12,"
+                                + "'contractAddress':'','checksumContractAddress':'','from':'0x01',"
+                                + "'gasUsed':'21000','hash':'0xaa','input':'0x12','output':'0x',"
+                                + "'status':16,'to':'0x02','transactionHash':'0xbb','message':'revert',"
+                                + "'extraData':'','effectiveGasPrice':'1','txProof':['0x1','0x2'],"
+                                + "'txReceiptProof':null,'unknown':{'a':[1,{'b':2}]},"
+                                + "'logEntries':[{'address':'0x03','data':'0x04','topics':['0x05'],"
+                                + "'blockNumber':'12'},null]}}",
+                        BcosTransactionReceipt.class);
+        TransactionReceipt transactionReceipt = receipt.getTransactionReceipt();
+        Assert.assertEquals(BigInteger.valueOf(12), transactionReceipt.getBlockNumber());
+        Assert.assertEquals("0xaa", transactionReceipt.getReceiptHash());
+        Assert.assertEquals(16, transactionReceipt.getStatus());
+        Assert.assertEquals("0x05", transactionReceipt.getLogEntries().get(0).getTopics().get(0));
+        byte[] encoded = objectMapper.writeValueAsBytes(receipt);
+        Assert.assertEquals(
+                transactionReceipt,
+                tuned.readValue(encoded, BcosTransactionReceipt.class).getTransactionReceipt());
+
+        // the values coerced by jackson
+        decode(
+                "{'id':3,'result':{'blockNumber':'12','status':'1','version':null,"
+                        + "'logEntries':[],'transactionProof':[{'left':['0x1'],'right':[]}]}}",
+                BcosTransactionReceipt.class);
+    }
+
+    @Test
+    public void testCall() throws Exception {
+        Call call =
+                decode(
+                        "{'id':1,'jsonrpc':'2.0','result':{'blockNumber':7,'output':'0x1234','status':0}}",
+                        Call.class);
+        Assert.assertEquals(7, call.getCallResult().getBlockNumber());
+        Assert.assertEquals("0x1234", call.getCallResult().getOutput());
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        String header =
+                "'number':1,'version':1,'hash':'0xaa','txsRoot':'0x01','receiptsRoot':'0x02',"
+                        + "'stateRoot':'0x03','sealer':0,'sealerList':['0x04'],'extraData':'0x',"
+                        + "'gasUsed':'36488','timestamp':1637579843630,'consensusWeights':[1],"
+                        + "'parentInfo':[{'blockHash':'0x05','blockNumber':0}],"
+                        + "'signatureList':[{'sealerIndex':0,'signature':'0x06'}]";
+        BcosBlock withHashes =
+                decode(
+                        "{'id':5,'jsonrpc':'2.0','result':{"
+                                + header
+                                + ",'transactions':['0x07','0x08']}}",
+                        BcosBlock.class);
+        Assert.assertEquals(2, withHashes.getBlock().getTransactionHashes().size());
+        Assert.assertEquals("0x01", withHashes.getBlock().getTransactionsRoot());
+        Assert.assertEquals(
+                Integer.valueOf(0), withHashes.getBlock().getSignatureList().get(0).getIndex());
+
+        BcosBlock withObjects =
+                decode(
+                        "{'id':5,'jsonrpc':'2.0','result':{"
+                                + header
+                                + ",'transactions':[{'blockLimit':500,'chainID':'chain',"
+                                + "'from':'0x09','groupID':'group','hash':'0x0a','importTime':0,"
+                                + "'input':'0x0b','nonce':'8554','signature':'0x0c','to':'0x0d',"
+                                + "'version':0}]}}",
+                        BcosBlock.class);
+        Assert.assertEquals(1, withObjects.getBlock().getTransactionObject().size());
+        Assert.assertEquals(
+                "0x0a", withObjects.getBlock().getTransactionObject().get(0).getHash());
+
+        BcosBlock empty = decode("{'id':5,'jsonrpc':'2.0','result':null}", BcosBlock.class);
+        Assert.assertNull(empty.getBlock());
+    }
+
+    @Test
+    public void testTransaction() throws Exception {
+        BcosTransaction transaction =
+                decode(
+                        "{'id':4,'jsonrpc':'2.0','result':{'abi':'','blockLimit':501,"
+                                + "'chainID':'chain0','from':'0x01','groupID':'group0','hash':'0x02',"
+                                + "'importTime':1654587909356,'input':'0x03','nonce':'1153',"
+                                + "'signature':'0x04','to':'0x05','version':1,'value':'0x1',"
+                                + "'gasPrice':'0x2','gasLimit':300,'maxFeePerGas':'',"
+                                + "'maxPriorityFeePerGas':'','extension':'AQID'}}",
+                        BcosTransaction.class);
+        Assert.assertEquals(501, transaction.getResult().getBlockLimit());
+        Assert.assertArrayEquals(
+                new byte[] {1, 2, 3}, transaction.getResult().getExtension());
+    }
+
+    @Test
+    public void testLogs() throws Exception {
+        LogWrapper logWrapper =
+                decode(
+                        "{'id':6,'jsonrpc':'2.0','result':[{'removed':false,'logIndex':'0x1',"
+                                + "'transactionIndex':'0x0','transactionHash':'0x01',"
+                                + "'blockHash':'0x02','blockNumber':'0x3','address':'0x04',"
+                                + "'data':'0x05','type':'mined','topics':['0x06','0x07']}]}",
+                        LogWrapper.class);
+        Assert.assertEquals(1, logWrapper.getLogs().size());
+        Assert.assertEquals("0x3", ((LogWrapper.LogObject) logWrapper.getLogs().get(0)).getBlockNumberRaw());
+
+        // the hashes are not serializable, compared by equals
+        byte[] hashes = json("{'id':6,'jsonrpc':'2.0','result':['0x08','0x09']}");
+        Assert.assertEquals(
+                reflective.readValue(hashes, LogWrapper.class).getLogs(),
+                tuned.readValue(hashes, LogWrapper.class).getLogs());
+        Assert.assertEquals(
+                new LogWrapper.Hash("0x09"),
+                tuned.readValue(hashes, LogWrapper.class).getLogs().get(1));
+    }
+
+    @Test
+    public void testError() throws Exception {
+        Call call =
+                decode(
+                        "{'id':1,'jsonrpc':'2.0','error':{'code':-32602,'message':'invalid','data':'x'}}",
+                        Call.class);
+        Assert.assertTrue(call.hasError());
+        Assert.assertEquals(-32602, call.getError().getCode());
+        Assert.assertNull(call.getResult());
+    }
+
+    @Test
+    public void testOtherTypes() throws Exception {
+        // not tuned, read with the bean binding
+        BlockNumber blockNumber = decode("{'id':1,'jsonrpc':'2.0','result':12}", BlockNumber.class);
+        Assert.assertEquals(BigInteger.valueOf(12), blockNumber.getBlockNumber());
+        Assert.assertSame(tuned.readerFor(BlockNumber.class), tuned.readerFor(BlockNumber.class));
+    }
+
+    @Test
+    public void testOf() {
+        Assert.assertSame(reflective, JsonRpcResponseReaders.of(null));
+        Assert.assertSame(reflective, JsonRpcResponseReaders.of("reflective"));
+        Assert.assertSame(tuned, JsonRpcResponseReaders.of("tuned"));
+        try {
+            JsonRpcResponseReaders.of("fast");
+            Assert.fail();
+        } catch (ClientException e) {
+            Assert.assertTrue(e.getMessage().contains("fast"));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.fisco.bcos.sdk.v3.test.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.client.metrics.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testRecord() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getPercentileMicros(99));
+
+        // 90 requests of 100us, 10 requests of 10ms and one failure
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(100), true);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(10), true);
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(1, histogram.getErrorCount());
+        Assert.assertEquals(10000, histogram.getMaxMicros());
+        Assert.assertEquals(1090.0, histogram.getMeanMicros(), 0.001);
+        // 100us falls in [64, 128), 10ms in [8192, 16384) capped by the max
+        Assert.assertEquals(128, histogram.getPercentileMicros(50));
+        Assert.assertEquals(128, histogram.getPercentileMicros(90));
+        Assert.assertEquals(10000, histogram.getPercentileMicros(99));
+        Assert.assertEquals(10000, histogram.getPercentileMicros(100));
+
+        long[] buckets = histogram.getBucketCounts();
+        Assert.assertEquals(90, buckets[7]);
+        Assert.assertEquals(10, buckets[14]);
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMaxMicros());
+    }
+
+    @Test
+    public void testBucketBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0, true);
+        histogram.record(-1, true);
+        histogram.record(Long.MAX_VALUE, true);
+        long[] buckets = histogram.getBucketCounts();
+        Assert.assertEquals(2, buckets[0]);
+        Assert.assertEquals(1, buckets[LatencyHistogram.BUCKET_COUNT - 1]);
+        Assert.assertEquals(
+                Long.MAX_VALUE,
+                LatencyHistogram.getBucketUpperBoundMicros(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().getPercentileMicros(0);
+    }
+}
@@ -0,0 +1,134 @@
+package org.fisco.bcos.sdk.v3.test.client.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.metrics.DefaultRpcMetrics;
+import org.fisco.bcos.sdk.v3.client.metrics.JmxRpcMetrics;
+import org.fisco.bcos.sdk.v3.client.metrics.RpcMethodMetrics;
+import org.fisco.bcos.sdk.v3.client.metrics.RpcMetrics;
+import org.fisco.bcos.sdk.v3.client.metrics.RpcSample;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RpcMetricsTest {
+
+    private static RpcSample sample(
+            String method, long serializeMicros, long roundTripMicros, int errorCode) {
+        RpcSample sample = new RpcSample(method);
+        sample.setSerializeNanos(TimeUnit.MICROSECONDS.toNanos(serializeMicros));
+        sample.setRoundTripNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        sample.setParseNanos(TimeUnit.MICROSECONDS.toNanos(5));
+        sample.setRequestBytes(100);
+        sample.setResponseBytes(2000);
+        sample.setErrorCode(errorCode);
+        return sample.complete();
+    }
+
+    @Test
+    public void testDefaultMetrics() {
+        DefaultRpcMetrics metrics = new DefaultRpcMetrics();
+        for (int i = 0; i < 10; i++) {
+            metrics.onStart(JsonRpcMethods.CALL);
+        }
+        for (int i = 0; i < 8; i++) {
+            metrics.onComplete(sample(JsonRpcMethods.CALL, 10, 1000, RpcSample.SUCCESS));
+        }
+        metrics.onComplete(sample(JsonRpcMethods.CALL, 10, 100000, RpcSample.TIMEOUT_ERROR));
+
+        RpcMethodMetrics call = metrics.getMethodMetrics().get(JsonRpcMethods.CALL);
+        Assert.assertEquals(10, call.getRequestCount());
+        Assert.assertEquals(1, call.getInFlight());
+        Assert.assertEquals(1, call.getErrorCount());
+        Assert.assertEquals(
+                Long.valueOf(1), call.getErrorCodeCounts().get(RpcSample.TIMEOUT_ERROR));
+        Assert.assertEquals(9, call.getRoundTripLatency().getCount());
+        Assert.assertTrue(call.getRoundTripP99Micros() >= 65536);
+        Assert.assertTrue(call.getRoundTripLatency().getPercentileMicros(50) <= 1024);
+        Assert.assertTrue(call.getSerializeP99Micros() <= 16);
+        Assert.assertEquals(900, call.getRequestBytes());
+        Assert.assertEquals(18000, call.getResponseBytes());
+        Assert.assertEquals(2000, call.getMaxResponseBytes());
+        Assert.assertNull(metrics.getMethodMetrics().get(JsonRpcMethods.GET_BLOCK_NUMBER));
+
+        metrics.reset();
+        Assert.assertEquals(0, call.getRequestCount());
+        Assert.assertEquals(1, call.getInFlight());
+        Assert.assertEquals("{}", call.getErrorCodes());
+    }
+
+    @Test
+    public void testCachedSample() {
+        DefaultRpcMetrics metrics = new DefaultRpcMetrics();
+        metrics.onStart(JsonRpcMethods.GET_CODE);
+        RpcSample sample = new RpcSample(JsonRpcMethods.GET_CODE);
+        sample.setCached(true);
+        metrics.onComplete(sample.complete());
+        RpcMethodMetrics getCode = metrics.getMethodMetrics(JsonRpcMethods.GET_CODE);
+        Assert.assertEquals(1, getCode.getCachedCount());
+        Assert.assertEquals(1, getCode.getLatency().getCount());
+        Assert.assertEquals(0, getCode.getRoundTripLatency().getCount());
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        JmxRpcMetrics metrics = new JmxRpcMetrics("group0", mBeanServer);
+        metrics.onStart(JsonRpcMethods.GET_BLOCK_NUMBER);
+        metrics.onComplete(sample(JsonRpcMethods.GET_BLOCK_NUMBER, 10, 1000, -32602));
+
+        ObjectName name = metrics.getObjectName(JsonRpcMethods.GET_BLOCK_NUMBER);
+        Assert.assertTrue(mBeanServer.isRegistered(name));
+        Assert.assertEquals(1L, mBeanServer.getAttribute(name, "RequestCount"));
+        Assert.assertEquals(1L, mBeanServer.getAttribute(name, "ErrorCount"));
+        Assert.assertEquals("{-32602=1}", mBeanServer.getAttribute(name, "ErrorCodes"));
+
+        metrics.close();
+        Assert.assertFalse(mBeanServer.isRegistered(name));
+    }
+
+    @Test
+    public void testJmxOfTwoClients() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        JmxRpcMetrics first = new JmxRpcMetrics("group1", mBeanServer);
+        JmxRpcMetrics second = new JmxRpcMetrics("group1", mBeanServer);
+        first.onStart(JsonRpcMethods.CALL);
+        second.onStart(JsonRpcMethods.CALL);
+        second.onStart(JsonRpcMethods.CALL);
+
+        ObjectName firstName = first.getObjectName(JsonRpcMethods.CALL);
+        ObjectName secondName = second.getObjectName(JsonRpcMethods.CALL);
+        Assert.assertNotEquals(firstName, secondName);
+        Assert.assertEquals(1L, mBeanServer.getAttribute(firstName, "RequestCount"));
+        Assert.assertEquals(2L, mBeanServer.getAttribute(secondName, "RequestCount"));
+
+        // closing one client keeps the MBeans of the other
+        second.close();
+        Assert.assertFalse(mBeanServer.isRegistered(secondName));
+        Assert.assertTrue(mBeanServer.isRegistered(firstName));
+        first.close();
+        Assert.assertFalse(mBeanServer.isRegistered(firstName));
+    }
+
+    public static class CountingMetrics implements RpcMetrics {}
+
+    @Test
+    public void testCreate() {
+        Assert.assertSame(RpcMetrics.NOOP, RpcMetrics.create("none", "group0"));
+        Assert.assertSame(RpcMetrics.NOOP, RpcMetrics.create(null, "group0"));
+        Assert.assertTrue(RpcMetrics.create("memory", "group0") instanceof DefaultRpcMetrics);
+        Assert.assertTrue(RpcMetrics.create("jmx", "group0") instanceof JmxRpcMetrics);
+        Assert.assertTrue(
+                RpcMetrics.create(CountingMetrics.class.getName(), "group0")
+                        instanceof CountingMetrics);
+        try {
+            RpcMetrics.create("org.fisco.NoSuchMetrics", "group0");
+            Assert.fail();
+        } catch (ClientException e) {
+            Assert.assertTrue(e.getMessage().contains("org.fisco.NoSuchMetrics"));
+        }
+    }
+}
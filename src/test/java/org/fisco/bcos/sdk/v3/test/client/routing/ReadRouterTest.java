@@ -0,0 +1,272 @@
+package org.fisco.bcos.sdk.v3.test.client.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.fisco.bcos.sdk.jni.common.Response;
+import org.fisco.bcos.sdk.jni.rpc.RpcCallback;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
+import org.fisco.bcos.sdk.v3.client.routing.NodeState;
+import org.fisco.bcos.sdk.v3.client.routing.ReadRouter;
+import org.fisco.bcos.sdk.v3.config.model.ReadRoutingConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReadRouterTest {
+
+    private static Response response(int errorCode) {
+        Response response = new Response();
+        response.setErrorCode(errorCode);
+        response.setErrorMessage(errorCode == 0 ? "success" : "failed");
+        return response;
+    }
+
+    private static ReadRoutingConfig config(ReadRoutingConfig.Policy policy) {
+        ReadRoutingConfig config = new ReadRoutingConfig();
+        config.setPolicy(policy);
+        return config;
+    }
+
+    @Test
+    public void testReadMethods() {
+        Assert.assertTrue(ReadRouter.isReadMethod(JsonRpcMethods.CALL));
+        Assert.assertTrue(ReadRouter.isReadMethod(JsonRpcMethods.GET_TRANSACTION_RECEIPT));
+        Assert.assertFalse(ReadRouter.isReadMethod(JsonRpcMethods.SEND_TRANSACTION));
+        Assert.assertFalse(ReadRouter.isReadMethod(JsonRpcMethods.GET_BLOCK_NUMBER));
+    }
+
+    @Test
+    public void testLeastOutstanding() throws Exception {
+        ReadRouter router =
+                new ReadRouter(
+                        config(ReadRoutingConfig.Policy.LEAST_OUTSTANDING),
+                        Arrays.asList("node0", "node1", "node2"));
+        List<String> targets = new ArrayList<>();
+        List<RpcCallback> callbacks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            router.callAsync(
+                    (node, callback) -> {
+                        targets.add(node);
+                        callbacks.add(callback);
+                    },
+                    response -> {});
+        }
+        // every node has one pending request
+        Assert.assertEquals(3, new HashSet<>(targets).size());
+        for (NodeState node : router.getNodeStates()) {
+            Assert.assertEquals(1, node.getOutstanding());
+        }
+        // node1 answers, it gets the next request
+        callbacks.get(targets.indexOf("node1")).onResponse(response(0));
+        Assert.assertEquals("node1", router.select(null).getName());
+        Assert.assertEquals(0, router.getNodeStates().get(1).getOutstanding());
+    }
+
+    @Test
+    public void testEwmaPrefersFastNode() throws Exception {
+        ReadRouter router =
+                new ReadRouter(
+                        config(ReadRoutingConfig.Policy.EWMA), Arrays.asList("slow", "fast"));
+        for (int i = 0; i < 10; i++) {
+            router.call(
+                    (node, callback) -> {
+                        if (node.equals("slow")) {
+                            try {
+                                Thread.sleep(5);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        callback.onResponse(response(0));
+                    },
+                    1000);
+        }
+        NodeState slow = router.getNodeStates().get(0);
+        NodeState fast = router.getNodeStates().get(1);
+        Assert.assertTrue(slow.getEwmaMicros() > fast.getEwmaMicros());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(fast, router.select(null));
+        }
+    }
+
+    @Test
+    public void testEwmaProbesNewNodeOnce() throws Exception {
+        ReadRouter router =
+                new ReadRouter(
+                        config(ReadRoutingConfig.Policy.EWMA), Arrays.asList("known", "new"));
+        NodeState known = router.getNodeStates().get(0);
+        NodeState fresh = router.getNodeStates().get(1);
+        // only the known node answers, the new one never has a latency
+        router.call(
+                (node, callback) -> {
+                    if (node.equals("known")) {
+                        callback.onResponse(response(0));
+                    }
+                },
+                1000);
+        Assert.assertEquals(1, known.getLatency().getCount());
+        for (int i = 0; i < 10; i++) {
+            router.callAsync(
+                    (node, callback) -> {
+                        if (node.equals("known")) {
+                            callback.onResponse(response(0));
+                        }
+                    },
+                    response -> {});
+        }
+        // scored as the median node, the new node is probed once instead of taking every read
+        Assert.assertEquals(1, fresh.getOutstanding());
+    }
+
+    @Test
+    public void testEwmaProbesReadmittedNodeOnce() throws Exception {
+        ReadRoutingConfig config = config(ReadRoutingConfig.Policy.EWMA);
+        config.setMaxConsecutiveFailures(1);
+        config.setEjectMillis(20);
+        ReadRouter router = new ReadRouter(config, Arrays.asList("good", "bad"));
+        NodeState bad = router.getNodeStates().get(1);
+        for (int i = 0; i < 10 && !bad.isEjected(); i++) {
+            router.call(
+                    (node, callback) -> callback.onResponse(response(node.equals("bad") ? -1 : 0)),
+                    1000);
+        }
+        Assert.assertTrue(bad.isEjected());
+
+        Thread.sleep(30);
+        // readmitted without latency, the bad node now hangs
+        for (int i = 0; i < 10; i++) {
+            router.callAsync(
+                    (node, callback) -> {
+                        if (node.equals("good")) {
+                            callback.onResponse(response(0));
+                        }
+                    },
+                    response -> {});
+        }
+        Assert.assertFalse(bad.isEjected());
+        Assert.assertEquals(1, bad.getOutstanding());
+    }
+
+    @Test
+    public void testAsyncDeadlineEjectsHungNode() throws Exception {
+        ReadRoutingConfig config = config(ReadRoutingConfig.Policy.LEAST_OUTSTANDING);
+        config.setMaxConsecutiveFailures(2);
+        ReadRouter router = new ReadRouter(config, Arrays.asList("hung", "ok"));
+        NodeState hung = router.getNodeStates().get(0);
+        int timeouts = 0;
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<Response> result = new CompletableFuture<>();
+            router.callAsync(
+                    (node, callback) -> {
+                        if (node.equals("ok")) {
+                            callback.onResponse(response(0));
+                        }
+                    },
+                    20,
+                    result::complete);
+            Response response = result.get(5, TimeUnit.SECONDS);
+            if (response.getErrorCode() == ReadRouter.TIMEOUT_ERROR_CODE) {
+                timeouts++;
+            }
+        }
+        Assert.assertTrue(hung.isEjected());
+        Assert.assertEquals(2, timeouts);
+        Assert.assertEquals(0, hung.getOutstanding());
+        router.close();
+    }
+
+    @Test
+    public void testEjectAfterFailures() throws Exception {
+        ReadRoutingConfig config = config(ReadRoutingConfig.Policy.LEAST_OUTSTANDING);
+        config.setMaxConsecutiveFailures(2);
+        ReadRouter router = new ReadRouter(config, Arrays.asList("bad", "good"));
+        int failures = 0;
+        for (int i = 0; i < 10; i++) {
+            Response response =
+                    router.call(
+                            (node, callback) ->
+                                    callback.onResponse(response(node.equals("bad") ? -1 : 0)),
+                            1000);
+            if (response.getErrorCode() != 0) {
+                failures++;
+            }
+        }
+        NodeState bad = router.getNodeStates().get(0);
+        Assert.assertTrue(bad.isEjected());
+        Assert.assertEquals(1, bad.getEjectionCount());
+        Assert.assertEquals(2, failures);
+        Assert.assertEquals("good", router.select(null).getName());
+    }
+
+    @Test
+    public void testNeverEjectLastNode() throws Exception {
+        ReadRoutingConfig config = config(ReadRoutingConfig.Policy.LEAST_OUTSTANDING);
+        config.setMaxConsecutiveFailures(1);
+        ReadRouter router = new ReadRouter(config, Arrays.asList("node0", "node1"));
+        for (int i = 0; i < 4; i++) {
+            router.call((node, callback) -> callback.onResponse(response(-1)), 1000);
+        }
+        int ejected = 0;
+        for (NodeState node : router.getNodeStates()) {
+            ejected += node.isEjected() ? 1 : 0;
+        }
+        Assert.assertEquals(1, ejected);
+        Assert.assertNotNull(router.select(null));
+    }
+
+    @Test
+    public void testHedge() throws Exception {
+        ReadRoutingConfig config = config(ReadRoutingConfig.Policy.LEAST_OUTSTANDING);
+        config.setHedge(true);
+        config.setMinHedgeDelayMillis(1);
+        config.setSlowNodeFactor(0);
+        ReadRouter router = new ReadRouter(config, Arrays.asList("node0", "node1"));
+        Assert.assertEquals(-1, router.getHedgeDelayNanos());
+        for (int i = 0; i < 40; i++) {
+            router.call((node, callback) -> callback.onResponse(response(0)), 1000);
+        }
+        Assert.assertTrue(router.getHedgeDelayNanos() > 0);
+
+        // the first node never answers, the hedged read to the other one does
+        Set<String> targets = new HashSet<>();
+        Response response =
+                router.call(
+                        (node, callback) -> {
+                            if (targets.add(node) && targets.size() == 2) {
+                                callback.onResponse(response(0));
+                            }
+                        },
+                        5000);
+        Assert.assertEquals(0, response.getErrorCode());
+        Assert.assertEquals(2, targets.size());
+        Assert.assertEquals(1, router.getHedgeCount());
+        router.close();
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        ReadRouter router =
+                new ReadRouter(
+                        config(ReadRoutingConfig.Policy.LEAST_OUTSTANDING),
+                        Arrays.asList("node0", "node1"));
+        List<RpcCallback> callbacks = new ArrayList<>();
+        try {
+            router.call((node, callback) -> callbacks.add(callback), 20);
+            Assert.fail("the read should time out");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        for (NodeState node : router.getNodeStates()) {
+            Assert.assertEquals(0, node.getOutstanding());
+        }
+        // the late response is dropped
+        callbacks.get(0).onResponse(response(0));
+        Assert.assertEquals(1, router.getReadLatency().getCount());
+        Assert.assertEquals(1, router.getReadLatency().getErrorCount());
+    }
+}
@@ -0,0 +1,251 @@
+package org.fisco.bcos.sdk.v3.test.client.stream;
+
+import static org.mockito.Mockito.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.client.stream.BlockStream;
+import org.fisco.bcos.sdk.v3.model.Response;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallback;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockStreamTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** a client answering the block requests out of order, failing the blocks in failing */
+    private Client mockClient(long failing) {
+        Client client = mock(Client.class);
+        doAnswer(
+                        invocation -> {
+                            BlockNumber blockNumber = new BlockNumber();
+                            blockNumber.setResult("0x" + Long.toHexString(head.get()));
+                            return blockNumber;
+                        })
+                .when(client)
+                .getBlockNumber();
+        Random random = new Random(7);
+        doAnswer(
+                        invocation -> {
+                            long number = ((BigInteger) invocation.getArgument(0)).longValue();
+                            RespCallback<BcosBlock> callback = invocation.getArgument(3);
+                            requests.incrementAndGet();
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            int delay = random.nextInt(3);
+                            executor.execute(
+                                    () -> {
+                                        try {
+                                            Thread.sleep(delay);
+                                        } catch (InterruptedException e) {
+                                            return;
+                                        }
+                                        inFlight.decrementAndGet();
+                                        if (number == failing) {
+                                            Response errorResponse = new Response();
+                                            errorResponse.setErrorCode(-1);
+                                            errorResponse.setErrorMessage("failed");
+                                            callback.onError(errorResponse);
+                                            return;
+                                        }
+                                        BcosBlock.Block block = new BcosBlock.Block();
+                                        block.setNumber(number);
+                                        BcosBlock bcosBlock = new BcosBlock();
+                                        bcosBlock.setResult(block);
+                                        callback.onResponse(bcosBlock);
+                                    });
+                            return null;
+                        })
+                .when(client)
+                .getBlockByNumberAsync(any(BigInteger.class), anyBoolean(), anyBoolean(), any());
+        return client;
+    }
+
+    @Test
+    public void testRangeInOrder() {
+        head.set(1000);
+        BlockStream stream = new BlockStream(mockClient(-1), 10, 500, false, true, 8).start();
+        long expected = 10;
+        while (stream.hasNext()) {
+            Assert.assertEquals(expected++, stream.next().getNumber());
+            Assert.assertTrue(stream.getPrefetched() <= 8);
+        }
+        Assert.assertEquals(501, expected);
+        Assert.assertEquals(491, requests.get());
+        Assert.assertTrue(maxInFlight.get() <= 8);
+        Assert.assertTrue(maxInFlight.get() > 1);
+        try {
+            stream.next();
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // the range is consumed
+        }
+    }
+
+    @Test
+    public void testFollowHead() {
+        head.set(5);
+        BlockStream stream =
+                new BlockStream(mockClient(-1), 0, BlockStream.FOLLOW_HEAD, false, true, 4)
+                        .start();
+        List<Long> numbers = new ArrayList<>();
+        for (int i = 0; i <= 5; i++) {
+            numbers.add(stream.next().getNumber());
+        }
+        Assert.assertEquals(6, requests.get());
+        Assert.assertEquals(5, stream.getHeadBlockNumber());
+
+        // notified of the new blocks
+        executor.execute(() -> stream.onNewBlock(8));
+        for (int i = 0; i < 3; i++) {
+            numbers.add(stream.next().getNumber());
+        }
+        for (int i = 0; i < numbers.size(); i++) {
+            Assert.assertEquals(i, numbers.get(i).longValue());
+        }
+        Assert.assertTrue(stream.hasNext());
+        stream.close();
+        Assert.assertFalse(stream.hasNext());
+    }
+
+    @Test
+    public void testPollHead() {
+        head.set(2);
+        BlockStream stream =
+                new BlockStream(mockClient(-1), 2, BlockStream.FOLLOW_HEAD, false, true, 4)
+                        .start();
+        Assert.assertEquals(2, stream.next().getNumber());
+        // no notification, found by polling the block number
+        head.set(3);
+        Assert.assertEquals(3, stream.next().getNumber());
+        stream.close();
+    }
+
+    @Test
+    public void testFailure() {
+        head.set(100);
+        BlockStream stream = new BlockStream(mockClient(20), 0, 100, false, true, 8).start();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i, stream.next().getNumber());
+        }
+        try {
+            stream.next();
+            Assert.fail();
+        } catch (ClientException e) {
+            Assert.assertTrue(e.getMessage().contains("fetch block 20 failed"));
+        }
+        stream.close();
+    }
+
+    @Test
+    public void testFailureAfterPendingBlocks() {
+        head.set(2);
+        Client client = mock(Client.class);
+        doAnswer(
+                        invocation -> {
+                            BlockNumber blockNumber = new BlockNumber();
+                            blockNumber.setResult("0x" + Long.toHexString(head.get()));
+                            return blockNumber;
+                        })
+                .when(client)
+                .getBlockNumber();
+        List<RespCallback<BcosBlock>> pending = new ArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            long number = ((BigInteger) invocation.getArgument(0)).longValue();
+                            RespCallback<BcosBlock> callback = invocation.getArgument(3);
+                            if (number == 2) {
+                                Response errorResponse = new Response();
+                                errorResponse.setErrorCode(-1);
+                                errorResponse.setErrorMessage("failed");
+                                callback.onError(errorResponse);
+                            } else {
+                                pending.add(callback);
+                            }
+                            return null;
+                        })
+                .when(client)
+                .getBlockByNumberAsync(any(BigInteger.class), anyBoolean(), anyBoolean(), any());
+        // block 2 fails while the blocks 0 and 1 are still in flight
+        BlockStream stream = new BlockStream(client, 0, 2, false, true, 4).start();
+        Assert.assertEquals(2, pending.size());
+        executor.execute(
+                () -> {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (long number = 0; number < 2; number++) {
+                        BcosBlock.Block block = new BcosBlock.Block();
+                        block.setNumber(number);
+                        BcosBlock bcosBlock = new BcosBlock();
+                        bcosBlock.setResult(block);
+                        pending.get((int) number).onResponse(bcosBlock);
+                    }
+                });
+        Assert.assertEquals(0, stream.next().getNumber());
+        Assert.assertEquals(1, stream.next().getNumber());
+        try {
+            stream.next();
+            Assert.fail();
+        } catch (ClientException e) {
+            Assert.assertTrue(e.getMessage().contains("fetch block 2 failed"));
+        }
+        stream.close();
+    }
+
+    @Test
+    public void testCloseWakesConsumer() throws Exception {
+        head.set(0);
+        BlockStream stream =
+                new BlockStream(mockClient(-1), 1, BlockStream.FOLLOW_HEAD, false, true, 4)
+                        .start();
+        CountDownLatch closed = new CountDownLatch(1);
+        Thread consumer =
+                new Thread(
+                        () -> {
+                            try {
+                                stream.next();
+                            } catch (NoSuchElementException e) {
+                                closed.countDown();
+                            }
+                        });
+        consumer.start();
+        Thread.sleep(50);
+        stream.close();
+        Assert.assertTrue(closed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInvalidRange() {
+        try {
+            new BlockStream(mock(Client.class), 10, 9, false, true, 4);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // to is below from
+        }
+    }
+}
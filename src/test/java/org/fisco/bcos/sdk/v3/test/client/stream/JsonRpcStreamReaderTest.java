@@ -0,0 +1,168 @@
+package org.fisco.bcos.sdk.v3.test.client.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.LogWrapper;
+import org.fisco.bcos.sdk.v3.client.protocol.stream.JsonRpcStreamReader;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JsonRpcStreamReaderTest {
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private static String transaction(int i) {
+        return "{\"blockLimit\":500,\"chainID\":\"chain\",\"from\":\"0x2d6300a8f067872ebc87252d711b83a0c9325d35\","
+                + "\"groupID\":\"group\",\"hash\":\"0x"
+                + String.format("%064x", i)
+                + "\",\"importTime\":0,\"input\":\"0x4ed3885e\",\"nonce\":\""
+                + (1000 + i)
+                + "\",\"signature\":\"0xd8ab504b932b2a338685ea1a3c378a3a83683c055fe13651957d01a72ffdb2c53963367108ae496c53785dd3e6827a6f9bb72d55fcc7cb6ed846d302f384873200\","
+                + "\"to\":\"0x8c17cf316c1063ab6c89df875e96c9f0f5b2f744\",\"version\":0}";
+    }
+
+    private static String block(String transactions) {
+        // the transactions are not the last field, the header after them must be kept
+        return "{\"id\":5,\"jsonrpc\":\"2.0\",\"result\":{\"consensusWeights\":[1],\"extraData\":\"0x\","
+                + "\"gasUsed\":\"36488\",\"hash\":\"0xaa3fb2b657db63ca437f9b862bab1a5e06bb0be6281cd78bf51373beafc97f5b\","
+                + "\"number\":1,\"parentInfo\":[{\"blockHash\":\"0x3e05e34a36cad0836483101667a9ed1822a7810f848979ce2a38444a222e029c\",\"blockNumber\":0}],"
+                + "\"receiptsRoot\":\"0x0000000000000000000000000000000000000000000000000000000000000000\",\"sealer\":0,"
+                + "\"sealerList\":[\"0x751bbcec\"],\"signatureList\":[{\"sealerIndex\":0,\"signature\":\"0x8427bf9a\"}],"
+                + "\"transactions\":"
+                + transactions
+                + ",\"stateRoot\":\"0x6a061fd2b32d4384df1d2e1897286f6dbbc139a3383569cbd940d0d990f66604\","
+                + "\"timestamp\":1637579843630,\"txsRoot\":\"0x0000000000000000000000000000000000000000000000000000000000000000\","
+                + "\"version\":0}}";
+    }
+
+    private static String log(int i) {
+        return "{\"removed\":false,\"logIndex\":\""
+                + i
+                + "\",\"transactionIndex\":\"0\",\"transactionHash\":\"0x"
+                + String.format("%064x", i)
+                + "\",\"blockHash\":\"0x01\",\"blockNumber\":\"10\",\"address\":\"0x8c17cf316c1063ab6c89df875e96c9f0f5b2f744\","
+                + "\"data\":\"0x\",\"type\":\"\",\"topics\":[\"0x"
+                + String.format("%064x", i * 7)
+                + "\"]}";
+    }
+
+    @Test
+    public void testReadBlockWithTransactionObjects() throws IOException {
+        StringBuilder transactions = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) {
+            transactions.append(i == 0 ? "" : ",").append(transaction(i));
+        }
+        byte[] content = block(transactions.append("]").toString()).getBytes(StandardCharsets.UTF_8);
+
+        BcosBlock.Block expected = objectMapper.readValue(content, BcosBlock.class).getBlock();
+        List<BcosBlock.TransactionResult> visited = new ArrayList<>();
+        BcosBlock.Block block = JsonRpcStreamReader.readBlock(content, visited::add);
+
+        Assert.assertEquals(expected.getTransactions(), visited);
+        Assert.assertTrue(visited.get(0) instanceof BcosBlock.TransactionObject);
+        Assert.assertTrue(block.getTransactions().isEmpty());
+        Assert.assertEquals(expected.getHash(), block.getHash());
+        Assert.assertEquals(expected.getNumber(), block.getNumber());
+        Assert.assertEquals(expected.getStateRoot(), block.getStateRoot());
+        Assert.assertEquals(expected.getTimestamp(), block.getTimestamp());
+        Assert.assertEquals(expected.getSignatureList(), block.getSignatureList());
+        Assert.assertEquals(expected.getParentInfo(), block.getParentInfo());
+
+        expected.setTransactions(new ArrayList<>());
+        Assert.assertEquals(expected, block);
+    }
+
+    @Test
+    public void testReadBlockWithTransactionHashes() throws IOException {
+        byte[] content = block("[\"0x01\",\"0x02\",\"0x03\"]").getBytes(StandardCharsets.UTF_8);
+        List<BcosBlock.TransactionResult> visited = new ArrayList<>();
+        BcosBlock.Block block = JsonRpcStreamReader.readBlock(content, visited::add);
+        Assert.assertEquals(3, visited.size());
+        Assert.assertEquals(new BcosBlock.TransactionHash("0x02"), visited.get(1));
+        Assert.assertEquals(1, block.getNumber());
+    }
+
+    @Test
+    public void testReadNullBlock() throws IOException {
+        byte[] content = "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":null}".getBytes();
+        Assert.assertNull(
+                JsonRpcStreamReader.readBlock(
+                        content, tx -> Assert.fail("no transaction expected")));
+    }
+
+    @Test
+    public void testReadError() throws IOException {
+        byte[] content =
+                "{\"id\":1,\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32602,\"message\":\"invalid params\"}}"
+                        .getBytes();
+        try {
+            JsonRpcStreamReader.readBlock(content, tx -> {});
+            Assert.fail("ClientException expected");
+        } catch (ClientException e) {
+            Assert.assertEquals(-32602, e.getErrorCode());
+            Assert.assertEquals("invalid params", e.getErrorMessage());
+        }
+        try {
+            JsonRpcStreamReader.readLogs(content, log -> {});
+            Assert.fail("ClientException expected");
+        } catch (ClientException e) {
+            Assert.assertEquals(-32602, e.getErrorCode());
+        }
+    }
+
+    @Test
+    public void testReadLogs() throws IOException {
+        StringBuilder logs = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            logs.append(i == 0 ? "" : ",").append(log(i));
+        }
+        byte[] content =
+                ("{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":" + logs.append("]") + "}")
+                        .getBytes(StandardCharsets.UTF_8);
+        LogWrapper expected = objectMapper.readValue(content, LogWrapper.class);
+
+        List<LogWrapper.LogResult> visited = new ArrayList<>();
+        JsonRpcStreamReader.readLogs(content, visited::add);
+        Assert.assertEquals(10, visited.size());
+        for (int i = 0; i < visited.size(); i++) {
+            Assert.assertEquals(
+                    ((LogWrapper.LogObject) expected.getLogs().get(i)).getTransactionHash(),
+                    ((LogWrapper.LogObject) visited.get(i)).getTransactionHash());
+            Assert.assertEquals(
+                    ((LogWrapper.LogObject) expected.getLogs().get(i)).getTopics(),
+                    ((LogWrapper.LogObject) visited.get(i)).getTopics());
+        }
+
+        try (JsonRpcStreamReader.LogResultIterator iterator =
+                JsonRpcStreamReader.iterateLogs(content)) {
+            int count = 0;
+            while (iterator.hasNext()) {
+                Assert.assertNotNull(iterator.next());
+                count++;
+            }
+            Assert.assertEquals(10, count);
+            Assert.assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void testIterateHashesAndEmptyResult() throws IOException {
+        Iterator<LogWrapper.LogResult> iterator =
+                JsonRpcStreamReader.iterateLogs(
+                        "{\"id\":1,\"result\":[\"0x01\",\"0x02\"]}".getBytes());
+        Assert.assertEquals(new LogWrapper.Hash("0x01"), iterator.next());
+        Assert.assertEquals(new LogWrapper.Hash("0x02"), iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+
+        Assert.assertFalse(
+                JsonRpcStreamReader.iterateLogs("{\"id\":1,\"result\":[]}".getBytes()).hasNext());
+        Assert.assertFalse(
+                JsonRpcStreamReader.iterateLogs("{\"id\":1,\"result\":null}".getBytes()).hasNext());
+    }
+}
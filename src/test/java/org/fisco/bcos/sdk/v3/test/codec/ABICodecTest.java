@@ -9,11 +9,17 @@ import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObject;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObjectFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 class Item {
@@ -353,6 +359,40 @@ public class ABICodecTest {
         }
     }
 
+    @Test
+    public void testEncodeWithJavaHash() throws ContractCodecException {
+        List<String> args = new ArrayList<String>();
+        args.add("100");
+        args.add(
+                "[{\"name\": \"Hello world!\", \"count\": 100, \"items\": [{\"a\": 1, \"b\": 2, \"c\": 3}]}]");
+        args.add("Hello world!");
+        Hash[][] hashes = {
+            {new Keccak256(), new JavaKeccak256()}, {new SM3Hash(), new JavaSM3Hash()}
+        };
+        for (Hash[] pair : hashes) {
+            ContractCodec nativeCodec = new ContractCodec(pair[0], false);
+            ContractCodec javaCodec = new ContractCodec(pair[1], false);
+            byte[] encoded = javaCodec.encodeMethodFromString(this.abiDesc, "test", args);
+            Assert.assertArrayEquals(
+                    nativeCodec.encodeMethodFromString(this.abiDesc, "test", args), encoded);
+            ContractABIDefinition contractABIDefinition =
+                    javaCodec.getAbiDefinitionFactory().loadABI(this.abiDesc);
+            Assert.assertNotNull(
+                    contractABIDefinition.getABIDefinitionByMethodId(
+                            Arrays.copyOfRange(encoded, 0, 4)));
+            ABIDefinition test = contractABIDefinition.getFunctions().get("test").get(0);
+            Assert.assertArrayEquals(
+                    nativeCodec.encodeMethodByAbiDefinition(
+                            test, Arrays.asList(new BigInteger("100"), new ArrayList<>(), "a")),
+                    javaCodec.encodeMethodByAbiDefinition(
+                            test, Arrays.asList(new BigInteger("100"), new ArrayList<>(), "a")));
+            List<String> setArgs = Arrays.asList("Hello world!");
+            Assert.assertArrayEquals(
+                    nativeCodec.encodeMethodByInterfaceFromString("set(string)", setArgs),
+                    javaCodec.encodeMethodByInterfaceFromString("set(string)", setArgs));
+        }
+    }
+
     @Test
     public void testEncodeFromStringWithInvalidParams() {
         List<String> args = new ArrayList<String>();
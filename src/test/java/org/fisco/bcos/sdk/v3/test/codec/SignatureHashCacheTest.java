@@ -0,0 +1,113 @@
+package org.fisco.bcos.sdk.v3.test.codec;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.v3.codec.Encoder;
+import org.fisco.bcos.sdk.v3.codec.EventEncoder;
+import org.fisco.bcos.sdk.v3.codec.SignatureHashCache;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Event;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SignatureHashCacheTest {
+
+    @Test
+    public void testMethodIdPerHashImplementation() {
+        String signature = "transfer(address,uint256)";
+        Hash keccak = new Keccak256();
+        Hash sm3 = new SM3Hash();
+
+        byte[] keccakId = SignatureHashCache.getMethodId(keccak, signature);
+        byte[] sm3Id = SignatureHashCache.getMethodId(sm3, signature);
+        Assert.assertArrayEquals(
+                Arrays.copyOfRange(keccak.hash(signature.getBytes()), 0, 4), keccakId);
+        Assert.assertArrayEquals(Arrays.copyOfRange(sm3.hash(signature.getBytes()), 0, 4), sm3Id);
+        Assert.assertFalse(Arrays.equals(keccakId, sm3Id));
+        Assert.assertEquals("0xa9059cbb", Numeric.toHexString(keccakId));
+
+        // the cached selector must not be exposed to the caller
+        keccakId[0] = 0;
+        Assert.assertEquals(
+                "0xa9059cbb",
+                Numeric.toHexString(SignatureHashCache.getMethodId(new Keccak256(), signature)));
+        Assert.assertArrayEquals(
+                SignatureHashCache.getMethodId(keccak, signature),
+                new FunctionEncoder(keccak).buildMethodId(signature));
+    }
+
+    @Test
+    public void testEventTopic() {
+        Hash keccak = new Keccak256();
+        String signature = "Notify(uint256,uint256)";
+        String topic = SignatureHashCache.getEventTopic(keccak, signature);
+        Assert.assertEquals(
+                "0x71e71a8458267085d5ab16980fd5f114d2d37f232479c245d523ce8d23ca40ed", topic);
+        Assert.assertSame(topic, SignatureHashCache.getEventTopic(keccak, signature));
+        Assert.assertNotEquals(topic, SignatureHashCache.getEventTopic(new SM3Hash(), signature));
+    }
+
+    @Test
+    public void testEventSignatureBuiltOnce() {
+        Event event =
+                new Event(
+                        "Notify",
+                        Arrays.<TypeReference<?>>asList(
+                                new TypeReference<Uint256>() {},
+                                new TypeReference<Uint256>(true) {}));
+        String signature = event.getMethodSignature();
+        Assert.assertEquals("Notify(uint256,uint256)", signature);
+        Assert.assertSame(signature, event.getMethodSignature());
+        Assert.assertEquals(
+                new EventEncoder(new Keccak256())
+                        .buildMethodSignature(event.getName(), event.getParameters()),
+                signature);
+        Assert.assertEquals(
+                "0x71e71a8458267085d5ab16980fd5f114d2d37f232479c245d523ce8d23ca40ed",
+                event.encodeToTopic(new Keccak256()));
+    }
+
+    @Test
+    public void testAbiDefinitionMethodIdIsCached() throws Exception {
+        AtomicInteger hashes = new AtomicInteger();
+        Hash counting =
+                new Keccak256() {
+                    @Override
+                    public byte[] hash(byte[] inputBytes) {
+                        hashes.incrementAndGet();
+                        return super.hash(inputBytes);
+                    }
+                };
+        ABIDefinition definition = ABIDefinition.createABIDefinition("set(string)");
+        Assert.assertEquals("0x4ed3885e", Numeric.toHexString(definition.getMethodId(counting)));
+        Assert.assertEquals("0x4ed3885e", Numeric.toHexString(definition.getMethodId(counting)));
+        Assert.assertEquals(1, hashes.get());
+
+        // an encoder built from a hash must not generate a key pair until the suite is asked for
+        Field cryptoSuite = Encoder.class.getDeclaredField("cryptoSuite");
+        cryptoSuite.setAccessible(true);
+        FunctionEncoder encoder = new FunctionEncoder(new Keccak256());
+        encoder.buildMethodId("set(string)");
+        Assert.assertNull(cryptoSuite.get(encoder));
+        Assert.assertNotNull(encoder.getCryptoSuite());
+    }
+
+    @Test
+    public void testClear() {
+        SignatureHashCache.getMethodId(new Keccak256(), "set(string)");
+        Assert.assertTrue(SignatureHashCache.size() > 0);
+        SignatureHashCache.clear();
+        Assert.assertEquals(0, SignatureHashCache.size());
+        Assert.assertEquals(
+                "0x4ed3885e",
+                Numeric.toHexString(SignatureHashCache.getMethodId(new Keccak256(), "set(string)")));
+    }
+}
@@ -1,6 +1,8 @@
 package org.fisco.bcos.sdk.v3.test.codec.abi;
 
 import org.fisco.bcos.sdk.v3.test.codec.TestUtils;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.abi.TypeDecoder;
 import org.fisco.bcos.sdk.v3.codec.abi.TypeEncoder;
 import org.fisco.bcos.sdk.v3.codec.datatypes.*;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.*;
@@ -10,6 +12,10 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
@@ -1329,4 +1335,98 @@ public class TypeEncoderTest {
                         // length second string
                         + "0000000000000000000000000000000000000000000000000000000000000000"));
     }
+
+    @Test
+    public void testEncodedLength() {
+        List<Type> values =
+                Arrays.asList(
+                        new Uint8(255),
+                        new Int256(-1),
+                        new Int64(Long.MIN_VALUE),
+                        new Address("0x0000000000000000000000000000000000001234"),
+                        new Bool(true),
+                        new Bytes3(new byte[] {1, 2, 3}),
+                        new DynamicBytes(new byte[33]),
+                        new Utf8String("hello \u4e16\u754c \ud83d\ude00"),
+                        new StaticArray2<>(Uint256.class, new Uint256(1), new Uint256(2)),
+                        new DynamicArray<>(
+                                Utf8String.class, new Utf8String("a"), new Utf8String("")),
+                        new DynamicArray<>(
+                                TestFixture.Foo.class,
+                                new TestFixture.Foo("id", "name"),
+                                new TestFixture.Foo("", "x")),
+                        new StaticArray2<>(
+                                TestFixture.Foo.class,
+                                new TestFixture.Foo("1", "2"),
+                                new TestFixture.Foo("3", "4")),
+                        new TestFixture.Naz(
+                                new TestFixture.Nar(
+                                        new TestFixture.Nuu(new TestFixture.Foo("4", "nestedFoo"))),
+                                BigInteger.ONE),
+                        new TestFixture.Fuzz(
+                                new TestFixture.Bar(BigInteger.ONE, BigInteger.TEN),
+                                BigInteger.ZERO));
+        for (Type value : values) {
+            byte[] encoded = TypeEncoder.encode(value);
+            assertEquals(encoded.length, TypeEncoder.encodedLength(value));
+
+            // writes in place at an offset and overwrites the stale content of the buffer
+            byte[] buffer = new byte[encoded.length + 10];
+            Arrays.fill(buffer, (byte) 0x55);
+            assertEquals(7 + encoded.length, TypeEncoder.encode(value, buffer, 7));
+            Assert.assertArrayEquals(
+                    encoded, Arrays.copyOfRange(buffer, 7, 7 + encoded.length));
+        }
+    }
+
+    @Test
+    public void testUtf8StringEncode() {
+        String[] values = {
+            "",
+            "abc",
+            "\u00e9t\u00e9",
+            "\u4e2d\u6587",
+            "\ud83d\ude00",
+            "\ud800x",
+            "x\udc00",
+            "a\ud83d",
+            "\ude00\ud83d"
+        };
+        for (String value : values) {
+            Assert.assertArrayEquals(
+                    value,
+                    TypeEncoder.encodeDynamicBytes(
+                            new DynamicBytes(value.getBytes(StandardCharsets.UTF_8))),
+                    TypeEncoder.encodeString(new Utf8String(value)));
+        }
+    }
+
+    @Test
+    public void testLargeParametersEncode() throws Exception {
+        byte[] evidence = new byte[100 * 1024 + 5];
+        for (int i = 0; i < evidence.length; i++) {
+            evidence[i] = (byte) i;
+        }
+        List<Utf8String> strings = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            strings.add(new Utf8String(new String(evidence, 0, 1000 * i, StandardCharsets.ISO_8859_1)));
+        }
+        DynamicArray<Utf8String> stringArray = new DynamicArray<>(Utf8String.class, strings);
+        byte[] encoded =
+                FunctionEncoder.encodeConstructor(
+                        Arrays.asList(new Uint256(7), new DynamicBytes(evidence), stringArray));
+
+        assertEquals(BigInteger.valueOf(7), TypeDecoder.decodeNumeric(encoded, 0, Uint256.class).getValue());
+        int bytesOffset = TypeDecoder.decodeUintAsInt(encoded, 32);
+        int arrayOffset = TypeDecoder.decodeUintAsInt(encoded, 64);
+        assertEquals(96, bytesOffset);
+        Assert.assertArrayEquals(evidence, TypeDecoder.decodeDynamicBytes(encoded, bytesOffset).getValue());
+        assertEquals(
+                bytesOffset + TypeEncoder.encodedLength(new DynamicBytes(evidence)), arrayOffset);
+        DynamicArray<Utf8String> decoded =
+                TypeDecoder.decodeDynamicArray(
+                        encoded, arrayOffset, new TypeReference<DynamicArray<Utf8String>>() {});
+        assertEquals(strings, decoded.getValue());
+        assertEquals(arrayOffset + TypeEncoder.encodedLength(stringArray), encoded.length);
+    }
 }
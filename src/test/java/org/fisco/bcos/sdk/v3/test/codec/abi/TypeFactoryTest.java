@@ -0,0 +1,171 @@
+package org.fisco.bcos.sdk.v3.test.codec.abi;
+
+import org.fisco.bcos.sdk.v3.codec.abi.TypeDecoder;
+import org.fisco.bcos.sdk.v3.codec.abi.TypeEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.AbiTypes;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Bytes;
+import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
+import org.fisco.bcos.sdk.v3.codec.datatypes.NumericType;
+import org.fisco.bcos.sdk.v3.codec.datatypes.StaticArray;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeFactory;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int256;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int64;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int8;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint64;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint8;
+import org.fisco.bcos.sdk.v3.test.codec.TestFixture;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TypeFactoryTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratedTypes() {
+        for (int bits = 8; bits <= 256; bits += 8) {
+            for (String prefix : new String[] {"uint", "int"}) {
+                Class<NumericType> type = (Class<NumericType>) AbiTypes.getType(prefix + bits);
+                TypeFactory.NumericFactory<NumericType> factory =
+                        TypeFactory.getNumericFactory(type);
+                Assert.assertEquals(bits, factory.getBitLength());
+                Assert.assertEquals(prefix.equals("int"), factory.isSigned());
+                NumericType value = factory.create(BigInteger.ONE);
+                Assert.assertEquals(type, value.getClass());
+                Assert.assertEquals(BigInteger.ONE, value.getValue());
+            }
+        }
+        for (int length = 1; length <= 32; length++) {
+            Class<Bytes> type = (Class<Bytes>) AbiTypes.getType("bytes" + length);
+            TypeFactory.BytesFactory<Bytes> factory = TypeFactory.getBytesFactory(type);
+            Assert.assertEquals(length, factory.getLength());
+            Assert.assertEquals(type, factory.create(new byte[length]).getClass());
+        }
+        for (int length = 1; length <= 32; length++) {
+            List<Uint8> elements = Collections.nCopies(length, new Uint8(1));
+            StaticArray<Uint8> array = TypeFactory.newStaticArray(elements, length);
+            Assert.assertEquals("StaticArray" + length, array.getClass().getSimpleName());
+            Assert.assertEquals(elements, array.getValue());
+        }
+        StaticArray<Uint8> array =
+                TypeFactory.newStaticArray(Collections.nCopies(128, new Uint8(1)), 128);
+        Assert.assertEquals("StaticArray128", array.getClass().getSimpleName());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnsupportedStaticArrayLength() {
+        TypeFactory.newStaticArray(Collections.nCopies(33, new Uint8(1)), 33);
+    }
+
+    @Test
+    public void testNotGeneratedType() {
+        TypeFactory.NumericFactory<Uint> factory = TypeFactory.getNumericFactory(Uint.class);
+        Assert.assertEquals(256, factory.getBitLength());
+        Assert.assertEquals(new Uint(BigInteger.TEN), factory.create(BigInteger.TEN));
+        Assert.assertSame(factory, TypeFactory.getNumericFactory(Uint.class));
+    }
+
+    @Test
+    public void testStructFactory() {
+        TypeFactory.StructFactory<TestFixture.Bar> factory =
+                TypeFactory.getStructFactory(TestFixture.Bar.class);
+        Assert.assertEquals(2, factory.getParameterCount());
+        Assert.assertEquals(Uint256.class, factory.getParameterType(0));
+        TestFixture.Bar bar =
+                factory.newInstance(Arrays.asList(new Uint256(1), new Uint256(2)));
+        Assert.assertEquals(BigInteger.ONE, bar.id);
+        Assert.assertEquals(BigInteger.valueOf(2), bar.data);
+        Assert.assertSame(factory, TypeFactory.getStructFactory(TestFixture.Bar.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testStructFactoryRejectsMembers() {
+        TypeFactory.getStructFactory(TestFixture.Bar.class)
+                .newInstance(Collections.singletonList(new Uint256(1)));
+    }
+
+    @Test
+    public void testNumericBoundaries() {
+        BigInteger uint256Max = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        BigInteger longMax = BigInteger.valueOf(Long.MAX_VALUE);
+        BigInteger longMin = BigInteger.valueOf(Long.MIN_VALUE);
+        for (BigInteger value :
+                Arrays.asList(
+                        BigInteger.ZERO,
+                        BigInteger.ONE,
+                        longMax,
+                        longMax.add(BigInteger.ONE),
+                        BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE),
+                        BigInteger.ONE.shiftLeft(64),
+                        uint256Max)) {
+            assertRoundTrip(new Uint256(value), Uint256.class);
+        }
+        for (BigInteger value :
+                Arrays.asList(
+                        BigInteger.ZERO,
+                        BigInteger.ONE.negate(),
+                        longMax,
+                        longMin,
+                        longMin.subtract(BigInteger.ONE),
+                        longMax.add(BigInteger.ONE),
+                        BigInteger.ONE.shiftLeft(255).negate().add(BigInteger.ONE),
+                        BigInteger.ONE.shiftLeft(255).subtract(BigInteger.ONE))) {
+            assertRoundTrip(new Int256(value), Int256.class);
+        }
+        assertRoundTrip(new Int64(longMin), Int64.class);
+        assertRoundTrip(new Int64(-2), Int64.class);
+        assertRoundTrip(new Uint64(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE)), Uint64.class);
+        assertRoundTrip(new Int8(-128), Int8.class);
+        assertRoundTrip(new Uint8(255), Uint8.class);
+    }
+
+    private static <T extends NumericType> void assertRoundTrip(T value, Class<T> type) {
+        byte[] encoded = TypeEncoder.encode(value);
+        byte[] input = new byte[encoded.length + 32];
+        System.arraycopy(encoded, 0, input, 32, encoded.length);
+        Assert.assertEquals(value, TypeDecoder.decodeNumeric(input, 32, type));
+        Assert.assertEquals(value, TypeDecoder.decodeNumeric(encoded, type));
+    }
+
+    @Test
+    public void testDecodeLargeDynamicArray() throws Exception {
+        List<Uint256> values = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            values.add(new Uint256(BigInteger.valueOf(i).shiftLeft(i % 200)));
+        }
+        DynamicArray<Uint256> array = new DynamicArray<>(Uint256.class, values);
+        byte[] encoded = TypeEncoder.encode(array);
+        DynamicArray<Uint256> decoded =
+                TypeDecoder.decode(encoded, 0, new TypeReference<DynamicArray<Uint256>>() {});
+        Assert.assertEquals(values, decoded.getValue());
+    }
+
+    @Test
+    public void testDecodeStructArray() throws Exception {
+        List<TestFixture.Bar> values = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            values.add(new TestFixture.Bar(BigInteger.valueOf(i), BigInteger.valueOf(-i & 0xff)));
+        }
+        DynamicArray<TestFixture.Bar> array = new DynamicArray<>(TestFixture.Bar.class, values);
+        byte[] encoded = TypeEncoder.encode(array);
+        DynamicArray<TestFixture.Bar> decoded =
+                TypeDecoder.decode(
+                        encoded, 0, new TypeReference<DynamicArray<TestFixture.Bar>>() {});
+        Assert.assertEquals(values.size(), decoded.getValue().size());
+        for (int i = 0; i < values.size(); i++) {
+            Assert.assertEquals(values.get(i).id, decoded.getValue().get(i).id);
+            Assert.assertEquals(values.get(i).data, decoded.getValue().get(i).data);
+        }
+        Type<?> first = decoded.getValue().get(0);
+        Assert.assertEquals(TestFixture.Bar.class, first.getClass());
+    }
+}
@@ -288,4 +288,121 @@ public class ScaleTest
         testFixedWidthInteger(new BigInteger("123123122147483649"), signed, valueByteSize, "00000000000000000000000000000000000000000000000001b56bd3c73ce001");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testUnsignedHighBit() throws IOException {
+        testFixedWidthInteger(new BigInteger("4294967295"), false, 4, "ffffffff");
+        testFixedWidthInteger(new BigInteger("2147483648"), false, 4, "00000080");
+        testFixedWidthInteger(new BigInteger("18446744073709551615"), false, 8, "ffffffffffffffff");
+        testFixedWidthInteger(new BigInteger("9223372036854775808"), false, 8, "0000000000000080");
+        testFixedWidthInteger(
+                BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE),
+                false,
+                16,
+                "ffffffffffffffffffffffffffffffff");
+        testFixedWidthInteger(
+                BigInteger.ONE.shiftLeft(127), false, 16, "00000000000000000000000000000080");
+        testFixedWidthInteger(
+                BigInteger.ONE.shiftLeft(127).negate(),
+                true,
+                16,
+                "00000000000000000000000000000080");
+    }
+
+    @Test
+    public void testPrimitiveIntegers() throws IOException {
+        long[] values = {0, 1, -1, 63, 64, 16383, 16384, (1 << 30) - 1, 1 << 30, Integer.MAX_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            for (int size : new int[] {1, 2, 4, 8, 16}) {
+                BigInteger bigValue = BigInteger.valueOf(value);
+                boolean fitsSigned = size >= 8 || bigValue.bitLength() < size * 8;
+                if (fitsSigned) {
+                    assertSameEncoding(
+                            w -> w.writeInteger(value, size), w -> w.writeInteger(bigValue, size));
+                    ScaleCodecReader reader = new ScaleCodecReader(encode(w -> w.writeInteger(value, size)));
+                    Assert.assertEquals(bigValue, reader.decodeInteger(true, size));
+                }
+                BigInteger unsignedValue =
+                        value < 0 ? bigValue.add(BigInteger.ONE.shiftLeft(64)) : bigValue;
+                if (size >= 8 || unsignedValue.bitLength() <= size * 8) {
+                    assertSameEncoding(
+                            w -> w.writeUnsignedInteger(value, size),
+                            w -> w.writeUnsignedInteger(unsignedValue, size));
+                    ScaleCodecReader reader =
+                            new ScaleCodecReader(encode(w -> w.writeUnsignedInteger(value, size)));
+                    Assert.assertEquals(unsignedValue, reader.decodeInteger(false, size));
+                }
+            }
+            byte[] int256 = encode(w -> w.writeBigInt256(true, BigInteger.valueOf(value)));
+            Assert.assertEquals(32, int256.length);
+            Assert.assertEquals(BigInteger.valueOf(value), new BigInteger(int256));
+            Assert.assertEquals(BigInteger.valueOf(value), new ScaleCodecReader(int256).decodeInt256());
+        }
+        ScaleCodecReader reader = new ScaleCodecReader(Hex.decode("ff7f0080ffffffff"));
+        Assert.assertEquals(-1, reader.readLong(true, 1));
+        Assert.assertEquals(127, reader.readLong(false, 1));
+        Assert.assertEquals(-32768, reader.readLong(true, 2));
+        Assert.assertEquals(4294967295L, reader.readLong(false, 4));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPrimitiveOverflow() throws IOException {
+        encode(w -> w.writeUnsignedInteger(256, 1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPrimitiveSignedOverflow() throws IOException {
+        encode(w -> w.writeInteger(128, 1));
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        long[] values = {0, 1, 63, 64, 16383, 16384, (1 << 30) - 1, 1 << 30, Integer.MAX_VALUE,
+                1L << 32, Long.MAX_VALUE};
+        for (long value : values) {
+            byte[] encoded = encode(w -> w.writeCompact(value));
+            Assert.assertEquals(ScaleCodecWriter.compactLength(value), encoded.length);
+            if (value <= Integer.MAX_VALUE) {
+                Assert.assertArrayEquals(
+                        encode(w -> ScaleCodecWriter.COMPACT_UINT.write(w, (int) value)), encoded);
+            }
+            if (value < (1 << 30)) {
+                Assert.assertEquals(value, new ScaleCodecReader(encoded).readCompact());
+            }
+        }
+        Assert.assertEquals("0300000080", Hex.toHexString(encode(w -> w.writeCompact(1L << 31))));
+        Assert.assertEquals("070000000001", Hex.toHexString(encode(w -> w.writeCompact(1L << 32))));
+    }
+
+    @Test
+    public void testBufferWriter() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        ScaleCodecWriter writer = new ScaleCodecWriter(buffer);
+        writer.writeString("\u00e9t\u00e9");
+        writer.writeUnsignedInteger(0x01020304L, 4);
+        Assert.assertFalse(buffer.hasRemaining());
+        Assert.assertEquals("14c3a974c3a904030201", Hex.toHexString(buffer.array()));
+        ScaleCodecReader reader = new ScaleCodecReader(buffer.array());
+        Assert.assertEquals("\u00e9t\u00e9", reader.readString());
+        Assert.assertEquals(0x01020304L, reader.readLong(false, 4));
+    }
+
+    private interface WriterAction {
+        void write(ScaleCodecWriter writer) throws IOException;
+    }
+
+    private static byte[] encode(WriterAction action) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        action.write(new ScaleCodecWriter(outputStream));
+        return outputStream.toByteArray();
+    }
+
+    private static void assertSameEncoding(WriterAction expected, WriterAction actual)
+            throws IOException {
+        byte[] encoded = encode(expected);
+        Assert.assertArrayEquals(encoded, encode(actual));
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length);
+        actual.write(new ScaleCodecWriter(buffer));
+        Assert.assertArrayEquals(encoded, buffer.array());
+    }
+}
@@ -1,10 +1,12 @@
 package org.fisco.bcos.sdk.v3.test.codec.scale;
 
 import org.fisco.bcos.sdk.v3.test.codec.TestUtils;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Bool;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Bytes;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicBytes;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
@@ -12,7 +14,12 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes1;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes4;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Bytes6;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray3;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int128;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int256;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint64;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint8;
 import org.fisco.bcos.sdk.v3.codec.scale.ScaleCodecReader;
 import org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder;
 import org.fisco.bcos.sdk.v3.codec.scale.TypeEncoder;
@@ -24,6 +31,8 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 
@@ -319,4 +328,49 @@ public class TypeEncoderTest {
                         // length second string
                         + "00"));
     }
+
+    @Test
+    public void testEncodedLength() throws IOException, ClassNotFoundException {
+        List<Type> values =
+                Arrays.asList(
+                        new Bool(true),
+                        new Uint8(255),
+                        new Uint64(new BigInteger("18446744073709551615")),
+                        new Int128(BigInteger.ONE.shiftLeft(127).negate()),
+                        new Uint256(BigInteger.ONE.shiftLeft(200)),
+                        new Int256(-2),
+                        new Address("0x000000000000000000000000000000000000abcd"),
+                        new Bytes6(new byte[6]),
+                        new DynamicBytes(new byte[100]),
+                        new Utf8String("caf\u00e9 \ud83d\ude00"),
+                        new DynamicArray<>(Uint256.class, new Uint256(1), new Uint256(2)),
+                        new StaticArray3<>(
+                                Utf8String.class,
+                                new Utf8String(""),
+                                new Utf8String("a"),
+                                new Utf8String(new String(new char[20000]))));
+        for (Type value : values) {
+            byte[] encoded = TypeEncoder.encode(value);
+            Assert.assertEquals(value.toString(), TypeEncoder.encodedLength(value), encoded.length);
+        }
+        Assert.assertEquals(
+                new Utf8String("caf\u00e9 \ud83d\ude00"),
+                TypeDecoder.decode(
+                        TypeEncoder.encode(new Utf8String("caf\u00e9 \ud83d\ude00")),
+                        TypeReference.create(Utf8String.class)));
+        Assert.assertEquals(
+                new Uint64(new BigInteger("18446744073709551615")),
+                TypeDecoder.decode(
+                        TypeEncoder.encode(new Uint64(new BigInteger("18446744073709551615"))),
+                        TypeReference.create(Uint64.class)));
+        Assert.assertEquals(
+                new Uint32(4294967295L),
+                TypeDecoder.decode(
+                        TypeEncoder.encode(new Uint32(4294967295L)),
+                        TypeReference.create(Uint32.class)));
+        Assert.assertEquals(
+                new Int256(-2),
+                TypeDecoder.decode(
+                        TypeEncoder.encode(new Int256(-2)), TypeReference.create(Int256.class)));
+    }
 }
@@ -0,0 +1,71 @@
+package org.fisco.bcos.sdk.v3.test.codec.wrapper;
+
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionCache;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionFactory;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ABIDefinitionCacheTest {
+    private static final String abiTemplate =
+            "[{\"inputs\":[{\"name\":\"v\",\"type\":\"uint256\"}],\"name\":\"%s\",\"outputs\":[],\"type\":\"function\"},"
+                    + "{\"anonymous\":false,\"inputs\":[{\"indexed\":false,\"name\":\"v\",\"type\":\"uint256\"}],\"name\":\"E\",\"type\":\"event\"}]";
+
+    private static String abi(String method) {
+        return String.format(abiTemplate, method);
+    }
+
+    @Test
+    public void testHitAndMiss() throws Exception {
+        ABIDefinitionCache cache = new ABIDefinitionCache(4, ABIDefinitionCache.EvictionPolicy.LRU);
+        ABIDefinitionFactory factory = new ABIDefinitionFactory(new Keccak256(), cache);
+
+        ContractABIDefinition first = factory.loadABI(abi("set"));
+        ContractABIDefinition second = factory.loadABI(new String(abi("set")));
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, first.getFunctions().get("set").size());
+        Assert.assertEquals(1, first.getEventTopicToEvents().size());
+
+        // the same abi with another hash implementation reuses the parsed definitions
+        ABIDefinitionFactory smFactory = new ABIDefinitionFactory(new SM3Hash(), cache);
+        ContractABIDefinition sm = smFactory.loadABI(abi("set"));
+        Assert.assertNotSame(first, sm);
+        Assert.assertNotEquals(
+                first.getMethodIDToFunctions().keySet(), sm.getMethodIDToFunctions().keySet());
+        Assert.assertSame(
+                first.getFunctions().get("set").get(0), sm.getFunctions().get("set").get(0));
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ABIDefinitionCache cache = new ABIDefinitionCache(2, ABIDefinitionCache.EvictionPolicy.LRU);
+        for (int i = 0; i < 10; i++) {
+            ABIDefinition[] definitions = cache.getABIDefinitions(abi("m" + i));
+            Assert.assertEquals("m" + i, definitions[0].getName());
+            Assert.assertTrue(cache.size() <= 2);
+        }
+        Assert.assertEquals(8, cache.getEvictionCount());
+        cache.invalidateAll();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabledAndInvalidAbi() {
+        ABIDefinitionCache cache = new ABIDefinitionCache(0, ABIDefinitionCache.EvictionPolicy.FIFO);
+        ABIDefinitionFactory factory = new ABIDefinitionFactory(new Keccak256(), cache);
+        ContractABIDefinition first = factory.loadABI(abi("set"));
+        ContractABIDefinition second = factory.loadABI(abi("set"));
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(0, cache.size());
+
+        Assert.assertNull(factory.loadABI("not a json"));
+        Assert.assertNull(new ABIDefinitionFactory(new Keccak256(), null).loadABI("[}"));
+    }
+}
@@ -15,9 +15,15 @@
 
 package org.fisco.bcos.sdk.v3.test.config;
 
+import com.moandjiezana.toml.Toml;
+import org.fisco.bcos.sdk.v3.client.protocol.request.JsonRpcMethods;
 import org.fisco.bcos.sdk.v3.config.Config;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
 import org.fisco.bcos.sdk.v3.config.exceptions.ConfigException;
+import org.fisco.bcos.sdk.v3.config.model.ConfigProperty;
+import org.fisco.bcos.sdk.v3.config.model.NetworkConfig;
+import org.fisco.bcos.sdk.v3.config.model.ReadCacheConfig;
+import org.fisco.bcos.sdk.v3.config.model.ReadRoutingConfig;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -49,4 +55,117 @@ public class ConfigTest {
         Assert.assertEquals("group0", configOption.getNetworkConfig().getDefaultGroup());
         Assert.assertEquals(2, configOption.getNetworkConfig().getPeers().size());
     }
+
+    @Test
+    public void testMethodTimeout() throws ConfigException {
+        ConfigOption configOption =
+                Config.load(
+                        "src/test/resources/config/config-example.toml");
+        NetworkConfig networkConfig = configOption.getNetworkConfig();
+        Assert.assertTrue(networkConfig.getMethodTimeouts().isEmpty());
+        Assert.assertEquals(10000, networkConfig.getTimeout(JsonRpcMethods.SEND_TRANSACTION));
+
+        ConfigProperty configProperty =
+                new Toml()
+                        .read(
+                                "[network]\n"
+                                        + "messageTimeout = \"5000\"\n"
+                                        + "[network.methodTimeout]\n"
+                                        + "sendTransaction = \"30000\"\n"
+                                        + "call = 2000\n")
+                        .to(ConfigProperty.class);
+        networkConfig = new NetworkConfig(configProperty);
+        Assert.assertEquals(5000, networkConfig.getTimeout());
+        Assert.assertEquals(30000, networkConfig.getTimeout(JsonRpcMethods.SEND_TRANSACTION));
+        Assert.assertEquals(2000, networkConfig.getTimeout(JsonRpcMethods.CALL));
+        Assert.assertEquals(5000, networkConfig.getTimeout(JsonRpcMethods.GET_BLOCK_NUMBER));
+    }
+
+    @Test
+    public void testReadRouting() {
+        NetworkConfig networkConfig = new NetworkConfig();
+        Assert.assertFalse(networkConfig.getReadRoutingConfig().isEnabled());
+
+        ConfigProperty configProperty =
+                new Toml()
+                        .read(
+                                "[network]\n"
+                                        + "[network.readRouting]\n"
+                                        + "policy = \"ewma\"\n"
+                                        + "hedge = \"true\"\n"
+                                        + "hedgePercentile = 99\n"
+                                        + "ejectTime = \"1000\"\n")
+                        .to(ConfigProperty.class);
+        ReadRoutingConfig readRoutingConfig =
+                new NetworkConfig(configProperty).getReadRoutingConfig();
+        Assert.assertTrue(readRoutingConfig.isEnabled());
+        Assert.assertEquals(ReadRoutingConfig.Policy.EWMA, readRoutingConfig.getPolicy());
+        Assert.assertTrue(readRoutingConfig.isHedge());
+        Assert.assertEquals(99, readRoutingConfig.getHedgePercentile(), 0);
+        Assert.assertEquals(1000, readRoutingConfig.getEjectMillis());
+        Assert.assertEquals(5, readRoutingConfig.getMaxConsecutiveFailures());
+    }
+
+    @Test
+    public void testReadCache() {
+        Assert.assertFalse(new NetworkConfig().getReadCacheConfig().isEnable());
+
+        ConfigProperty configProperty =
+                new Toml()
+                        .read(
+                                "[network]\n"
+                                        + "[network.readCache]\n"
+                                        + "enable = \"true\"\n"
+                                        + "maxEntries = 500\n"
+                                        + "maxBytes = \"1048576\"\n"
+                                        + "offHeap = true\n")
+                        .to(ConfigProperty.class);
+        ReadCacheConfig readCacheConfig = new NetworkConfig(configProperty).getReadCacheConfig();
+        Assert.assertTrue(readCacheConfig.isEnable());
+        Assert.assertEquals(500, readCacheConfig.getMaxEntries());
+        Assert.assertEquals(1048576, readCacheConfig.getMaxBytes());
+        Assert.assertTrue(readCacheConfig.isOffHeap());
+    }
+
+    @Test
+    public void testCoalesceReads() {
+        Assert.assertFalse(new NetworkConfig().isCoalesceReads());
+        ConfigProperty configProperty =
+                new Toml()
+                        .read("[network]\ncoalesceReads = \"true\"\n")
+                        .to(ConfigProperty.class);
+        Assert.assertTrue(new NetworkConfig(configProperty).isCoalesceReads());
+    }
+
+    @Test
+    public void testMaxBatchSize() {
+        Assert.assertEquals(500, new NetworkConfig().getMaxBatchSize());
+        ConfigProperty configProperty =
+                new Toml().read("[network]\nmaxBatchSize = \"200\"\n").to(ConfigProperty.class);
+        Assert.assertEquals(200, new NetworkConfig(configProperty).getMaxBatchSize());
+    }
+
+    @Test
+    public void testMaxBatchesInFlight() {
+        Assert.assertEquals(4, new NetworkConfig().getMaxBatchesInFlight());
+        ConfigProperty configProperty =
+                new Toml().read("[network]\nmaxBatchesInFlight = \"2\"\n").to(ConfigProperty.class);
+        Assert.assertEquals(2, new NetworkConfig(configProperty).getMaxBatchesInFlight());
+    }
+
+    @Test
+    public void testRpcMetrics() {
+        Assert.assertEquals("none", new NetworkConfig().getRpcMetrics());
+        ConfigProperty configProperty =
+                new Toml().read("[network]\nrpcMetrics = \"jmx\"\n").to(ConfigProperty.class);
+        Assert.assertEquals("jmx", new NetworkConfig(configProperty).getRpcMetrics());
+    }
+
+    @Test
+    public void testJsonDecoder() {
+        Assert.assertEquals("reflective", new NetworkConfig().getJsonDecoder());
+        ConfigProperty configProperty =
+                new Toml().read("[network]\njsonDecoder = \"tuned\"\n").to(ConfigProperty.class);
+        Assert.assertEquals("tuned", new NetworkConfig(configProperty).getJsonDecoder());
+    }
 }
@@ -13,9 +13,16 @@
  */
 package org.fisco.bcos.sdk.v3.test.crypto;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.fisco.bcos.sdk.v3.config.ConfigOption;
+import org.fisco.bcos.sdk.v3.config.model.CryptoMaterialConfig;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.exceptions.UnsupportedCryptoTypeException;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
 import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -85,6 +92,71 @@ public class HashTest {
         testSM3(sm3Hasher);
     }
 
+    @Test
+    public void testJavaKeccak256() {
+        Hash hasher = new JavaKeccak256();
+        testKeccak256(hasher);
+        checkSameAsNative(hasher, new Keccak256());
+    }
+
+    @Test
+    public void testJavaSM3() {
+        Hash hasher = new JavaSM3Hash();
+        testSM3(hasher);
+        checkSameAsNative(hasher, new SM3Hash());
+    }
+
+    @Test
+    public void testCryptoSuiteWithJavaHash() {
+        ConfigOption configOption = new ConfigOption();
+        CryptoMaterialConfig cryptoMaterialConfig = new CryptoMaterialConfig();
+        cryptoMaterialConfig.setUseJavaHash(true);
+        configOption.setCryptoMaterialConfig(cryptoMaterialConfig);
+
+        CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+        cryptoSuite.setConfig(configOption);
+        cryptoSuite.initCryptoSuite(CryptoType.ECDSA_TYPE);
+        Assert.assertTrue(cryptoSuite.getHashImpl() instanceof JavaKeccak256);
+        checkHashWithCryptoSuite(
+                cryptoSuite,
+                "abcde",
+                "6377c7e66081cb65e473c1b95db5195a27d04a7108b468890224bedbe1a8a6eb");
+
+        cryptoSuite.initCryptoSuite(CryptoType.SM_TYPE);
+        Assert.assertTrue(cryptoSuite.getHashImpl() instanceof JavaSM3Hash);
+        checkHashWithCryptoSuite(
+                cryptoSuite,
+                "abcde",
+                "afe4ccac5ab7d52bcae36373676215368baf52d3905e1fecbe369cc120e97628");
+    }
+
+    private void checkSameAsNative(Hash hasher, Hash nativeHasher) {
+        Random random = new Random(1);
+        for (int size : new int[] {0, 1, 31, 32, 135, 136, 137, 1000, 4096}) {
+            byte[] input = new byte[size + 16];
+            random.nextBytes(input);
+            byte[] slice = Arrays.copyOfRange(input, 7, 7 + size);
+            byte[] expected = nativeHasher.hash(slice);
+
+            Assert.assertArrayEquals(expected, hasher.hash(slice));
+            Assert.assertArrayEquals(expected, hasher.hash(input, 7, size));
+            Assert.assertArrayEquals(expected, nativeHasher.hash(input, 7, size));
+
+            byte[] output = new byte[40];
+            Assert.assertEquals(32, hasher.hash(input, 7, size, output, 8));
+            Assert.assertArrayEquals(expected, Arrays.copyOfRange(output, 8, 40));
+
+            ByteBuffer heapBuffer = ByteBuffer.wrap(input, 7, size);
+            Assert.assertArrayEquals(expected, hasher.hash(heapBuffer));
+            Assert.assertFalse(heapBuffer.hasRemaining());
+
+            ByteBuffer directBuffer = ByteBuffer.allocateDirect(size);
+            directBuffer.put(slice).flip();
+            Assert.assertArrayEquals(expected, hasher.hash(directBuffer));
+            Assert.assertFalse(directBuffer.hasRemaining());
+        }
+    }
+
     private void testKeccak256(Hash hasher) {
 
         // check keccak256 for "abcde"
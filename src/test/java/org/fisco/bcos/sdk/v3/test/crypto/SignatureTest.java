@@ -42,6 +42,10 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SignatureTest {
     private static final String configFile =
@@ -103,6 +107,72 @@ public class SignatureTest {
         this.testSMSignature(cryptoSuite, keyPair);
     }
 
+    @Test
+    public void testBatchVerifyForECDSA() {
+        testBatchVerify(new CryptoSuite(CryptoType.ECDSA_TYPE));
+    }
+
+    @Test
+    public void testBatchVerifyForSM2() {
+        testBatchVerify(new CryptoSuite(CryptoType.SM_TYPE));
+    }
+
+    private void testBatchVerify(CryptoSuite cryptoSuite) {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        cryptoSuite.setBatchExecutor(executor);
+        try {
+            int count = 300;
+            List<String> publicKeys = new ArrayList<>();
+            List<String> messages = new ArrayList<>();
+            List<String> signatures = new ArrayList<>();
+            List<SignatureResult> signatureResults = new ArrayList<>();
+            List<String> addresses = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                CryptoKeyPair keyPair = cryptoSuite.generateRandomKeyPair();
+                String message = cryptoSuite.hash("batch message " + i);
+                SignatureResult signatureResult = cryptoSuite.sign(message, keyPair);
+                publicKeys.add(keyPair.getHexPublicKey());
+                messages.add(message);
+                signatures.add(signatureResult.convertToString());
+                signatureResults.add(signatureResult);
+                addresses.add(keyPair.getAddress());
+            }
+            // signed by another key
+            publicKeys.set(7, publicKeys.get(8));
+            // malformed signature
+            signatures.set(100, "0x1234");
+
+            boolean[] verifyResults = cryptoSuite.batchVerify(publicKeys, messages, signatures);
+            Assert.assertEquals(count, verifyResults.length);
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(i != 7 && i != 100, verifyResults[i]);
+            }
+
+            String[] recoveredAddresses = cryptoSuite.batchRecoverAddress(messages, signatureResults);
+            Assert.assertEquals(count, recoveredAddresses.length);
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(addresses.get(i), recoveredAddresses[i]);
+            }
+
+            // small batches run in the calling thread
+            Assert.assertArrayEquals(
+                    new boolean[] {true},
+                    cryptoSuite.batchVerify(
+                            publicKeys.subList(0, 1), messages.subList(0, 1), signatures.subList(0, 1)));
+            Assert.assertEquals(0, cryptoSuite.batchVerify(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()).length);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = SignatureException.class)
+    public void testBatchVerifyWithMismatchedSize() {
+        CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+        List<String> values = new ArrayList<>();
+        values.add("0x1234");
+        cryptoSuite.batchVerify(values, values, new ArrayList<>());
+    }
+
     @Test
     public void testECDSASignature() {
         ECDSASignature ecdsaSignature = new ECDSASignature();
@@ -0,0 +1,157 @@
+package org.fisco.bcos.sdk.v3.test.precompiled;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.CrudBatchExecutor;
+import org.fisco.bcos.sdk.v3.model.PrecompiledRetCode;
+import org.fisco.bcos.sdk.v3.model.RetCode;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CrudBatchExecutorTest {
+
+    @Test
+    public void testSendAllBoundsInFlight() throws Exception {
+        CrudBatchExecutor batchExecutor = new CrudBatchExecutor(4, 2);
+        ExecutorService node = Executors.newFixedThreadPool(8);
+        AtomicInteger pending = new AtomicInteger();
+        AtomicInteger maxPending = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add(i);
+        }
+        try {
+            List<RetCode> results =
+                    batchExecutor.sendAll(
+                            items,
+                            (item, callback) -> {
+                                maxPending.accumulateAndGet(
+                                        pending.incrementAndGet(), Math::max);
+                                node.execute(
+                                        () -> {
+                                            TransactionReceipt receipt = new TransactionReceipt();
+                                            receipt.setStatus(0);
+                                            receipt.setMessage(String.valueOf(item));
+                                            pending.decrementAndGet();
+                                            callback.onResponse(receipt);
+                                        });
+                            },
+                            receipt ->
+                                    Integer.parseInt(receipt.getMessage()) % 10 == 0
+                                            ? PrecompiledRetCode.CODE_NO_AUTHORIZED
+                                            : PrecompiledRetCode.CODE_SUCCESS);
+            Assert.assertEquals(200, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertEquals(
+                        String.valueOf(i), results.get(i).getTransactionReceipt().getMessage());
+                Assert.assertEquals(i % 10 == 0 ? -50000 : 0, results.get(i).getCode());
+                // the shared constants are copied, not modified
+                Assert.assertNotSame(PrecompiledRetCode.CODE_SUCCESS, results.get(i));
+            }
+            Assert.assertTrue(maxPending.get() <= 4);
+            Assert.assertEquals(0, batchExecutor.getInFlight());
+            Assert.assertEquals(200, batchExecutor.getSentCount());
+            Assert.assertEquals(180, batchExecutor.getSuccessCount());
+            Assert.assertEquals(20, batchExecutor.getFailureCount());
+            Assert.assertEquals(200, batchExecutor.getTransactionLatency().getCount());
+            Assert.assertTrue(batchExecutor.getThroughput() > 0);
+        } finally {
+            node.shutdown();
+            node.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        Assert.assertNull(PrecompiledRetCode.CODE_SUCCESS.getTransactionReceipt());
+    }
+
+    @Test
+    public void testSendFailure() throws Exception {
+        CrudBatchExecutor batchExecutor = new CrudBatchExecutor(1, 1);
+        List<RetCode> results =
+                batchExecutor.sendAll(
+                        Arrays.asList("a", "b"),
+                        (item, callback) -> {
+                            if (item.equals("a")) {
+                                throw new IllegalStateException("broken");
+                            }
+                            TransactionReceipt receipt = new TransactionReceipt();
+                            receipt.setStatus(0);
+                            callback.onResponse(receipt);
+                            // a second response is ignored
+                            callback.onResponse(receipt);
+                        },
+                        receipt -> PrecompiledRetCode.CODE_SUCCESS);
+        Assert.assertEquals(-1, results.get(0).getCode());
+        Assert.assertTrue(results.get(0).getMessage().contains("broken"));
+        Assert.assertEquals(0, results.get(1).getCode());
+        Assert.assertEquals(1, batchExecutor.getSuccessCount());
+        Assert.assertEquals(1, batchExecutor.getFailureCount());
+    }
+
+    @Test
+    public void testCallAll() throws Exception {
+        CrudBatchExecutor batchExecutor = new CrudBatchExecutor(1, 4);
+        Assert.assertEquals(
+                Arrays.asList("k1", "k2", "k3"),
+                batchExecutor.callAll(Arrays.asList("1", "2", "3"), key -> "k" + key));
+        Assert.assertEquals(3, batchExecutor.getCallCount());
+
+        try {
+            batchExecutor.callAll(
+                    Arrays.asList("1", "2"),
+                    key -> {
+                        if (key.equals("2")) {
+                            throw new ContractException("missing " + key);
+                        }
+                        return key;
+                    });
+            Assert.fail("ContractException expected");
+        } catch (ContractException e) {
+            Assert.assertEquals("missing 2", e.getMessage());
+        }
+        Assert.assertEquals(1, batchExecutor.getCallLatency().getErrorCount());
+    }
+
+    @Test
+    public void testCallAllBoundsQueued() throws Exception {
+        CrudBatchExecutor batchExecutor = new CrudBatchExecutor(4, 2);
+        AtomicInteger pending = new AtomicInteger();
+        AtomicInteger maxPending = new AtomicInteger();
+        // counts the items taken from the list, an item is taken right before its call is queued
+        List<Integer> items =
+                new AbstractList<Integer>() {
+                    @Override
+                    public Integer get(int index) {
+                        maxPending.accumulateAndGet(pending.incrementAndGet(), Math::max);
+                        return index;
+                    }
+
+                    @Override
+                    public int size() {
+                        return 200;
+                    }
+                };
+        List<Integer> results =
+                batchExecutor.callAll(
+                        items,
+                        item -> {
+                            LockSupport.parkNanos(1_000_000);
+                            pending.decrementAndGet();
+                            return item * 2;
+                        });
+        Assert.assertEquals(200, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(i * 2, results.get(i).intValue());
+        }
+        // the window, plus the item taken while waiting for a free slot
+        Assert.assertTrue(maxPending.get() <= 5);
+        Assert.assertEquals(200, batchExecutor.getCallCount());
+    }
+}
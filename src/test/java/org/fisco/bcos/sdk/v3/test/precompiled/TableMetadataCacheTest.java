@@ -0,0 +1,224 @@
+package org.fisco.bcos.sdk.v3.test.precompiled;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.request.Transaction;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosGroupInfo;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosGroupNodeInfo;
+import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableCRUDService;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableManagerPrecompiled;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableMetadataCache;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TablePrecompiled;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.EnumNodeVersion;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TableMetadataCacheTest {
+    private static final String TABLE_ADDRESS = "0x0000000000000000000000000000000000012345";
+
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+    private final FunctionEncoder functionEncoder = new FunctionEncoder(cryptoSuite.getHashImpl());
+    private final Map<String, AtomicInteger> calls = new HashMap<>();
+    private volatile List<String> valueColumns = Arrays.asList("name", "age");
+    private volatile List<String> selectFields = Arrays.asList("alice", "18");
+
+    private Client mockClient() {
+        Client client = mock(Client.class);
+        when(client.getCryptoSuite()).thenReturn(cryptoSuite);
+        when(client.isWASM()).thenReturn(false);
+        when(client.getGroupInfo())
+                .then(
+                        invocation -> {
+                            BcosGroupInfo bcosGroupInfo = new BcosGroupInfo();
+                            BcosGroupInfo.GroupInfo groupInfo = new BcosGroupInfo.GroupInfo();
+                            BcosGroupNodeInfo.GroupNodeInfo groupNodeInfo =
+                                    new BcosGroupNodeInfo.GroupNodeInfo();
+                            BcosGroupNodeInfo.Protocol protocol = new BcosGroupNodeInfo.Protocol();
+                            protocol.setCompatibilityVersion(
+                                    EnumNodeVersion.BCOS_3_1_0.getVersion());
+                            groupNodeInfo.setProtocol(protocol);
+                            groupInfo.setNodeList(Collections.singletonList(groupNodeInfo));
+                            bcosGroupInfo.setResult(groupInfo);
+                            return bcosGroupInfo;
+                        });
+        when(client.call(any(Transaction.class)))
+                .then(
+                        invocation -> {
+                            Transaction transaction = invocation.getArgument(0);
+                            String selector =
+                                    Hex.toHexString(Arrays.copyOfRange(transaction.getData(), 0, 4));
+                            Type output;
+                            if (selector.equals(selector("openTable(string)"))) {
+                                count("openTable");
+                                output = new Address(TABLE_ADDRESS);
+                            } else if (selector.equals(selector("desc(string)"))) {
+                                count("desc");
+                                output = new TableManagerPrecompiled.TableInfo("id", valueColumns);
+                            } else if (selector.equals(selector("select(string)"))) {
+                                count("select");
+                                output = new TablePrecompiled.Entry("1", selectFields);
+                            } else {
+                                throw new IllegalStateException("unexpected call " + selector);
+                            }
+                            Call call = new Call();
+                            Call.CallOutput callOutput = new Call.CallOutput();
+                            callOutput.setOutput(
+                                    Numeric.toHexString(
+                                            FunctionEncoder.encodeConstructor(
+                                                    Collections.singletonList(output))));
+                            callOutput.setStatus(0);
+                            call.setResult(callOutput);
+                            return call;
+                        });
+        return client;
+    }
+
+    private String selector(String signature) {
+        return Hex.toHexString(functionEncoder.buildMethodId(signature));
+    }
+
+    private void count(String method) {
+        calls.computeIfAbsent(method, m -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private int calls(String method) {
+        AtomicInteger counter = calls.get(method);
+        return counter == null ? 0 : counter.get();
+    }
+
+    @Test
+    public void testSelectReusesMetadata() throws Exception {
+        TableCRUDService service =
+                new TableCRUDService(mockClient(), cryptoSuite.getCryptoKeyPair());
+        Map<String, String> expected = new HashMap<>();
+        expected.put("id", "1");
+        expected.put("name", "alice");
+        expected.put("age", "18");
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(expected, service.select("t_test", "1"));
+        }
+        Assert.assertEquals(1, calls("openTable"));
+        Assert.assertEquals(1, calls("desc"));
+        Assert.assertEquals(5, calls("select"));
+        // the prefixed name shares the entry
+        service.select("/tables/t_test", "1");
+        Assert.assertEquals(1, calls("openTable"));
+        Assert.assertEquals(Arrays.asList("name", "age"), service.desc("t_test").get("value_field"));
+        // desc is never answered from the cache
+        Assert.assertEquals(2, calls("desc"));
+
+        service.invalidateTableMetadata("t_test");
+        service.select("t_test", "1");
+        Assert.assertEquals(2, calls("openTable"));
+        Assert.assertEquals(3, calls("desc"));
+        Assert.assertEquals(1, service.getTableMetadataCache().size());
+    }
+
+    @Test
+    public void testDescSeesColumnsAppendedElsewhere() throws Exception {
+        TableCRUDService service =
+                new TableCRUDService(mockClient(), cryptoSuite.getCryptoKeyPair());
+        service.select("t_test", "1");
+        Assert.assertEquals(1, calls("desc"));
+
+        // another client appends a column, this service is not told
+        valueColumns = Arrays.asList("name", "age", "email");
+        Assert.assertEquals(
+                Arrays.asList("name", "age", "email"), service.desc("t_test").get("value_field"));
+        Assert.assertEquals(2, calls("desc"));
+        // the cached columns are refreshed as well
+        Assert.assertEquals(
+                Arrays.asList("name", "age", "email"),
+                service.getTableMetadataCache().get("/tables/t_test").getValueColumns());
+    }
+
+    @Test
+    public void testSelectSeesColumnsAppendedElsewhere() throws Exception {
+        TableCRUDService service =
+                new TableCRUDService(mockClient(), cryptoSuite.getCryptoKeyPair());
+        service.select("t_test", "1");
+        Assert.assertEquals(1, calls("desc"));
+
+        // another client appends a column, the selected entries get one more field
+        valueColumns = Arrays.asList("name", "age", "email");
+        selectFields = Arrays.asList("alice", "18", "alice@example.com");
+        Map<String, String> expected = new HashMap<>();
+        expected.put("id", "1");
+        expected.put("name", "alice");
+        expected.put("age", "18");
+        expected.put("email", "alice@example.com");
+        Assert.assertEquals(expected, service.select("t_test", "1"));
+        Assert.assertEquals(2, calls("desc"));
+        Assert.assertEquals(
+                Collections.singletonMap("1", expected),
+                service.batchSelect("t_test", Collections.singletonList("1")));
+        // the reloaded columns are cached
+        Assert.assertEquals(2, calls("desc"));
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        TableCRUDService service =
+                new TableCRUDService(
+                        mockClient(),
+                        cryptoSuite.getCryptoKeyPair(),
+                        new TableMetadataCache(0, 0));
+        service.select("t_test", "1");
+        service.select("t_test", "1");
+        Assert.assertEquals(2, calls("openTable"));
+        Assert.assertEquals(2, calls("desc"));
+        Assert.assertEquals(0, service.getTableMetadataCache().size());
+    }
+
+    @Test
+    public void testExpiryAndEviction() throws Exception {
+        TableMetadataCache cache = new TableMetadataCache(50, 2);
+        TableMetadataCache.TableMetadata metadata =
+                TableMetadataCache.TableMetadata.empty()
+                        .withColumns("id", Arrays.asList("v"), null);
+        cache.put("/tables/a", metadata, cache.getGeneration());
+        cache.put("/tables/b", metadata, cache.getGeneration());
+        Assert.assertSame(metadata, cache.get("/tables/a"));
+        cache.put("/tables/c", metadata, cache.getGeneration());
+        // b is the least recently used
+        Assert.assertNull(cache.get("/tables/b"));
+        Assert.assertNotNull(cache.get("/tables/a"));
+        Assert.assertEquals(2, cache.size());
+
+        Thread.sleep(60);
+        Assert.assertNull(cache.get("/tables/a"));
+        Assert.assertNull(cache.get("/tables/c"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testStalePutDropped() {
+        TableMetadataCache cache = new TableMetadataCache();
+        long generation = cache.getGeneration();
+        cache.invalidate("/tables/a");
+        cache.put(
+                "/tables/a",
+                TableMetadataCache.TableMetadata.empty().withColumns("id", Arrays.asList("v"), null),
+                generation);
+        Assert.assertNull(cache.get("/tables/a"));
+    }
+}
@@ -0,0 +1,120 @@
+package org.fisco.bcos.sdk.v3.test.transaction.codec;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.fisco.bcos.sdk.v3.codec.EventEncoder;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionFactory;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.transaction.codec.decode.TransactionDecoderService;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EventDecodeTest {
+    private static final String ABI =
+            "[{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"from\",\"type\":\"address\"},"
+                    + "{\"indexed\":false,\"name\":\"value\",\"type\":\"uint256\"},{\"indexed\":false,\"name\":\"memo\",\"type\":\"string\"}],"
+                    + "\"name\":\"Transfer\",\"type\":\"event\"},"
+                    + "{\"anonymous\":false,\"inputs\":[{\"indexed\":false,\"name\":\"v\",\"type\":\"uint256\"}],\"name\":\"Log\",\"type\":\"event\"},"
+                    + "{\"inputs\":[{\"name\":\"v\",\"type\":\"uint256\"}],\"name\":\"set\",\"outputs\":[],\"type\":\"function\"}]";
+
+    private final Keccak256 hash = new Keccak256();
+    private final EventEncoder eventEncoder = new EventEncoder(hash);
+    private final String transferTopic =
+            eventEncoder.buildEventSignature("Transfer(address,uint256,string)");
+    private final String logTopic = eventEncoder.buildEventSignature("Log(uint256)");
+
+    private TransactionReceipt.Logs log(List<String> topics, Type... values) {
+        TransactionReceipt.Logs log = new TransactionReceipt.Logs();
+        log.setTopics(topics);
+        log.setData(Numeric.toHexString(FunctionEncoder.encodeConstructor(Arrays.asList(values))));
+        return log;
+    }
+
+    private List<TransactionReceipt.Logs> logs(int count) {
+        List<TransactionReceipt.Logs> logs = new ArrayList<>();
+        String from = "0x000000000000000000000000" + "1234567890123456789012345678901234567890";
+        for (int i = 0; i < count; i++) {
+            if (i % 3 == 0) {
+                logs.add(log(Collections.singletonList(logTopic), new Uint256(i)));
+            } else if (i % 3 == 1) {
+                logs.add(
+                        log(
+                                Arrays.asList(transferTopic, from),
+                                new Uint256(i),
+                                new Utf8String("memo" + i)));
+            } else {
+                // an event of another contract
+                logs.add(
+                        log(
+                                Collections.singletonList(
+                                        eventEncoder.buildEventSignature("Other(uint256)")),
+                                new Uint256(i)));
+            }
+        }
+        return logs;
+    }
+
+    @Test
+    public void testDecodeEvents() {
+        TransactionDecoderService decoder = new TransactionDecoderService(hash, false);
+        Map<String, List<List<Object>>> events = decoder.decodeEvents(ABI, logs(6));
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(2, events.get("Log").size());
+        Assert.assertEquals(BigInteger.valueOf(0), events.get("Log").get(0).get(0));
+        Assert.assertEquals(BigInteger.valueOf(3), events.get("Log").get(1).get(0));
+        Assert.assertEquals(
+                Arrays.asList(BigInteger.valueOf(1), "memo1"), events.get("Transfer").get(0));
+        Assert.assertEquals(
+                Arrays.asList(BigInteger.valueOf(4), "memo4"), events.get("Transfer").get(1));
+
+        Assert.assertTrue(decoder.decodeEvents(ABI, null).isEmpty());
+        Assert.assertTrue(decoder.decodeEvents(ABI, new ArrayList<>()).isEmpty());
+        TransactionReceipt.Logs noTopic = log(new ArrayList<>(), new Uint256(1));
+        Assert.assertTrue(decoder.decodeEvents(ABI, Collections.singletonList(noTopic)).isEmpty());
+    }
+
+    @Test
+    public void testParallelDecodeKeepsLogOrder() {
+        TransactionDecoderService decoder = new TransactionDecoderService(hash, false);
+        List<TransactionReceipt.Logs> logs = logs(3000);
+        Map<String, List<List<Object>>> sequential = decoder.decodeEvents(ABI, logs);
+
+        decoder.setParallelDecodeThreshold(100);
+        Map<String, List<List<Object>>> parallel = decoder.decodeEvents(ABI, logs);
+        Assert.assertEquals(sequential, parallel);
+        Assert.assertEquals(1000, parallel.get("Transfer").size());
+        Assert.assertEquals(BigInteger.valueOf(2998), parallel.get("Transfer").get(999).get(0));
+    }
+
+    @Test
+    public void testEventLookupByTopic() {
+        ContractABIDefinition definition = new ABIDefinitionFactory(hash).loadABI(ABI);
+        byte[] topic = Hex.decode(transferTopic);
+        Assert.assertEquals("Transfer", definition.getABIDefinitionByEventTopic(topic).getName());
+        Assert.assertEquals(
+                "Transfer", definition.getABIDefinitionByEventTopic(transferTopic).getName());
+        // the 4 bytes event id still works
+        Assert.assertEquals(
+                "Transfer",
+                definition
+                        .getABIDefinitionByEventTopic(Arrays.copyOfRange(topic, 0, 4))
+                        .getName());
+        Assert.assertSame(
+                definition.getEventInputObject(topic), definition.getEventInputObject(topic));
+        Assert.assertNull(
+                definition.getEventInputObject(
+                        Hex.decode(eventEncoder.buildEventSignature("Other(uint256)"))));
+    }
+}
@@ -0,0 +1,102 @@
+package org.fisco.bcos.sdk.v3.test.transaction.manager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.fisco.bcos.sdk.jni.common.JniException;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.TransactionManager;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto.AbiEncodedRequest;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto.SignedTransaction;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class CreateSignedTransactionsTest {
+
+    private final TransactionManager transactionManager =
+            mock(
+                    TransactionManager.class,
+                    withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+    private final Set<String> signingThreads = ConcurrentHashMap.newKeySet();
+
+    public CreateSignedTransactionsTest() throws JniException {
+        // the request nonce is signed as the transaction
+        doAnswer(
+                        invocation -> {
+                            signingThreads.add(Thread.currentThread().getName());
+                            AbiEncodedRequest request = invocation.getArgument(0);
+                            if (request.getNonce().equals("bad")) {
+                                throw new JniException("bad request");
+                            }
+                            return new TxPair(
+                                    "0x" + request.getNonce(), "0x" + request.getNonce());
+                        })
+                .when(transactionManager)
+                .createSignedTransaction(any(AbiEncodedRequest.class));
+    }
+
+    private static AbiEncodedRequest request(String nonce) {
+        AbiEncodedRequest request = mock(AbiEncodedRequest.class);
+        Mockito.when(request.getNonce()).thenReturn(nonce);
+        return request;
+    }
+
+    @Test
+    public void testOrderAndEncoding() throws Exception {
+        List<AbiEncodedRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            requests.add(request(String.format("%04x", i)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<SignedTransaction> signed =
+                    transactionManager.createSignedTransactions(requests, executor, 4);
+            Assert.assertEquals(requests.size(), signed.size());
+            for (int i = 0; i < requests.size(); i++) {
+                String nonce = String.format("%04x", i);
+                Assert.assertEquals("0x" + nonce, signed.get(i).getTxHash());
+                Assert.assertArrayEquals(
+                        Numeric.hexStringToByteArray(nonce),
+                        signed.get(i).getEncodedTransaction());
+                Assert.assertEquals(nonce, signed.get(i).getSignedTx());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // the calling thread takes part
+        Assert.assertTrue(signingThreads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void testDefaultExecutor() throws Exception {
+        List<SignedTransaction> signed =
+                transactionManager.createSignedTransactions(
+                        Collections.nCopies(200, request("01")));
+        Assert.assertEquals(200, signed.size());
+        Assert.assertTrue(
+                transactionManager.createSignedTransactions(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testFirstErrorThrown() {
+        List<AbiEncodedRequest> requests = new ArrayList<>(Collections.nCopies(500, request("01")));
+        requests.set(300, request("bad"));
+        try {
+            transactionManager.createSignedTransactions(requests);
+            Assert.fail("the bad request should fail the batch");
+        } catch (JniException e) {
+            Assert.assertEquals("bad request", e.getMessage());
+        }
+    }
+}
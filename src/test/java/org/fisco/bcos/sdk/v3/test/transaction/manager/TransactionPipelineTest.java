@@ -0,0 +1,209 @@
+package org.fisco.bcos.sdk.v3.test.transaction.manager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.jni.common.JniException;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.TransactionManager;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.TransactionPipeline;
+import org.fisco.bcos.sdk.v3.transaction.manager.transactionv1.dto.AbiEncodedRequest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransactionPipelineTest {
+
+    private final Client client = mock(Client.class);
+    private final TransactionManager transactionManager = mock(TransactionManager.class);
+    // the transactions sent to the client, answered by the test
+    private final LinkedBlockingQueue<TransactionCallback> sent = new LinkedBlockingQueue<>();
+
+    public TransactionPipelineTest() throws JniException {
+        when(transactionManager.getClient()).thenReturn(client);
+        when(transactionManager.createSignedTransaction(any()))
+                .thenReturn(new TxPair("0x01", "signed"));
+        doAnswer(
+                        invocation -> {
+                            sent.add(invocation.getArgument(2));
+                            return null;
+                        })
+                .when(client)
+                .sendTransactionAsync(anyString(), anyBoolean(), any(TransactionCallback.class));
+    }
+
+    private static TransactionReceipt receipt(int status) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setStatus(status);
+        return receipt;
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("condition not reached", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testInFlightWindow() throws Exception {
+        try (TransactionPipeline pipeline = new TransactionPipeline(transactionManager, 4, 2)) {
+            List<CompletableFuture<TransactionReceipt>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pipeline.submit(mock(AbiEncodedRequest.class)));
+            }
+            // the depth also reads 4 while the jobs are still being signed or sent
+            waitFor(() -> sent.size() == 4 && pipeline.getSendQueueDepth() == 4);
+            Assert.assertEquals(4, pipeline.getInFlight());
+
+            for (int i = 0; i < 8; i++) {
+                sent.poll(5, TimeUnit.SECONDS).onResponse(receipt(0));
+            }
+            for (CompletableFuture<TransactionReceipt> future : futures) {
+                Assert.assertTrue(future.get(5, TimeUnit.SECONDS).isStatusOK());
+            }
+            Assert.assertEquals(8, pipeline.getSuccessCount());
+            Assert.assertEquals(0, pipeline.getInFlight());
+            Assert.assertEquals(8, pipeline.getSignLatency().getCount());
+            Assert.assertEquals(8, pipeline.getConfirmLatency().getCount());
+        }
+    }
+
+    @Test
+    public void testRetryOnTxPoolFull() throws Exception {
+        try (TransactionPipeline pipeline =
+                new TransactionPipeline(transactionManager, 8, 1, 3, 1)) {
+            CompletableFuture<TransactionReceipt> future =
+                    pipeline.submit(mock(AbiEncodedRequest.class));
+            sent.poll(5, TimeUnit.SECONDS)
+                    .onResponse(receipt(TransactionReceiptStatus.TxPoolIsFull.getCode()));
+            // the window halves and the transaction is sent again
+            Assert.assertEquals(4, pipeline.getWindowLimit());
+            sent.poll(5, TimeUnit.SECONDS).onResponse(receipt(0));
+            Assert.assertTrue(future.get(5, TimeUnit.SECONDS).isStatusOK());
+            Assert.assertEquals(1, pipeline.getRetryCount());
+            Assert.assertEquals(1, pipeline.getTxPoolFullCount());
+        }
+    }
+
+    @Test
+    public void testRetryExhausted() throws Exception {
+        try (TransactionPipeline pipeline =
+                new TransactionPipeline(transactionManager, 8, 1, 2, 1)) {
+            CompletableFuture<TransactionReceipt> future =
+                    pipeline.submit(mock(AbiEncodedRequest.class));
+            for (int i = 0; i < 3; i++) {
+                sent.poll(5, TimeUnit.SECONDS)
+                        .onResponse(receipt(TransactionReceiptStatus.TxPoolIsFull.getCode()));
+            }
+            Assert.assertEquals(
+                    TransactionReceiptStatus.TxPoolIsFull.getCode(),
+                    future.get(5, TimeUnit.SECONDS).getStatus());
+            Assert.assertEquals(2, pipeline.getRetryCount());
+            Assert.assertEquals(1, pipeline.getFailureCount());
+            // each congestion signal came from a transaction sent after the previous decrease
+            Assert.assertEquals(1, pipeline.getWindowLimit());
+        }
+    }
+
+    @Test
+    public void testAdditiveIncrease() throws Exception {
+        try (TransactionPipeline pipeline =
+                new TransactionPipeline(transactionManager, 4, 1, 1, 1)) {
+            pipeline.submit(mock(AbiEncodedRequest.class));
+            sent.poll(5, TimeUnit.SECONDS)
+                    .onResponse(receipt(TransactionReceiptStatus.TxPoolIsFull.getCode()));
+            Assert.assertEquals(2, pipeline.getWindowLimit());
+            sent.poll(5, TimeUnit.SECONDS).onResponse(receipt(0));
+            // one receipt per window grows it by one
+            for (int i = 0; i < 2; i++) {
+                pipeline.submit(mock(AbiEncodedRequest.class));
+                sent.poll(5, TimeUnit.SECONDS).onResponse(receipt(0));
+            }
+            Assert.assertEquals(3, pipeline.getWindowLimit());
+        }
+    }
+
+    @Test
+    public void testSignFailure() throws Exception {
+        when(transactionManager.createSignedTransaction(any()))
+                .thenThrow(new JniException("no key"));
+        try (TransactionPipeline pipeline = new TransactionPipeline(transactionManager, 4, 1)) {
+            TransactionReceipt receipt =
+                    pipeline.submit(mock(AbiEncodedRequest.class)).get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(-1, receipt.getStatus());
+            Assert.assertTrue(receipt.getMessage().contains("no key"));
+            Assert.assertEquals(1, pipeline.getFailureCount());
+            Assert.assertTrue(sent.isEmpty());
+        }
+    }
+
+    @Test
+    public void testCloseFailsPending() throws Exception {
+        TransactionPipeline pipeline = new TransactionPipeline(transactionManager, 1, 1);
+        AtomicInteger closedCount = new AtomicInteger();
+        TransactionCallback callback =
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        if (receipt.getStatus() == -1) {
+                            closedCount.incrementAndGet();
+                        }
+                    }
+                };
+        pipeline.submit(mock(AbiEncodedRequest.class), callback);
+        pipeline.submit(mock(AbiEncodedRequest.class), callback);
+        waitFor(() -> sent.size() == 1 && pipeline.getSendQueueDepth() == 1);
+        pipeline.close();
+        // the transaction sent keeps its receipt, the one waiting for the window fails
+        Assert.assertEquals(1, closedCount.get());
+        Assert.assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void testCloseFailsLateSigned() throws Exception {
+        CountDownLatch signing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionManager.createSignedTransaction(any()))
+                .then(
+                        invocation -> {
+                            signing.countDown();
+                            // a signature that ignores the interrupt of close
+                            while (true) {
+                                try {
+                                    release.await();
+                                    return new TxPair("0x01", "signed");
+                                } catch (InterruptedException e) {
+                                    // keep signing
+                                }
+                            }
+                        });
+        TransactionPipeline pipeline = new TransactionPipeline(transactionManager, 4, 1);
+        CompletableFuture<TransactionReceipt> future =
+                pipeline.submit(mock(AbiEncodedRequest.class));
+        Assert.assertTrue(signing.await(5, TimeUnit.SECONDS));
+        // close gives up waiting for the signature before it completes
+        pipeline.close();
+        release.countDown();
+        TransactionReceipt receipt = future.get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(-1, receipt.getStatus());
+        Assert.assertEquals(0, pipeline.getSendQueueDepth());
+        Assert.assertTrue(sent.isEmpty());
+    }
+}
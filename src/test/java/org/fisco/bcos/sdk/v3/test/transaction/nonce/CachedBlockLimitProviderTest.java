@@ -0,0 +1,166 @@
+package org.fisco.bcos.sdk.v3.test.transaction.nonce;
+
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.model.Response;
+import org.fisco.bcos.sdk.v3.model.callback.RespCallback;
+import org.fisco.bcos.sdk.v3.transaction.nonce.CachedBlockLimitProvider;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+
+import static org.mockito.Mockito.*;
+
+public class CachedBlockLimitProviderTest {
+
+    private static Client mockClient(long blockNumber) {
+        Client client = mock(Client.class);
+        BlockNumber current = new BlockNumber();
+        current.setResult("0x" + Long.toHexString(blockNumber));
+        when(client.getBlockNumber()).thenReturn(current);
+        when(client.getBlockLimit()).thenReturn(BigInteger.valueOf(blockNumber + 500));
+        doAnswer(
+                        (Answer<Void>)
+                                invocation -> {
+                                    RespCallback<BlockNumber> callback = invocation.getArgument(0);
+                                    BlockNumber response = new BlockNumber();
+                                    response.setResult("0x" + Long.toHexString(blockNumber));
+                                    callback.onResponse(response);
+                                    return null;
+                                })
+                .when(client)
+                .getBlockNumberAsync(any(RespCallback.class));
+        return client;
+    }
+
+    @Test
+    public void testServeFromRefreshedBlockNumber() {
+        Client client = mockClient(16);
+        CachedBlockLimitProvider provider = new CachedBlockLimitProvider(client, 0, 60000, 500);
+        Assert.assertEquals(-1, provider.getCachedBlockNumber());
+        Assert.assertEquals(-1, provider.getStalenessMillis());
+
+        provider.refresh();
+        Assert.assertEquals(16, provider.getCachedBlockNumber());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(BigInteger.valueOf(516), provider.getBlockLimit(client));
+        }
+        Assert.assertEquals(10, provider.getHitCount());
+        Assert.assertEquals(0, provider.getFallbackCount());
+        verify(client, never()).getBlockNumber();
+    }
+
+    @Test
+    public void testFallbackWhenUnknownOrStale() throws InterruptedException {
+        Client client = mockClient(100);
+        CachedBlockLimitProvider provider = new CachedBlockLimitProvider(client, 0, 50, 500);
+
+        // nothing tracked yet, ask the client
+        Assert.assertEquals(BigInteger.valueOf(600), provider.getBlockLimit(client));
+        Assert.assertEquals(1, provider.getFallbackCount());
+        Assert.assertEquals(100, provider.getCachedBlockNumber());
+        Assert.assertEquals(BigInteger.valueOf(600), provider.getBlockLimit(client));
+        Assert.assertEquals(1, provider.getHitCount());
+
+        Thread.sleep(100);
+        Assert.assertTrue(provider.getStalenessMillis() >= 50);
+        Assert.assertEquals(BigInteger.valueOf(600), provider.getBlockLimit(client));
+        Assert.assertEquals(2, provider.getFallbackCount());
+        verify(client, times(2)).getBlockNumber();
+    }
+
+    @Test
+    public void testFallbackWithOwnRange() {
+        Client client = mockClient(100);
+        CachedBlockLimitProvider provider = new CachedBlockLimitProvider(client, 0, 60000, 1000);
+        Assert.assertEquals(BigInteger.valueOf(1100), provider.getBlockLimit(client));
+        Assert.assertEquals(100, provider.getCachedBlockNumber());
+        verify(client, never()).getBlockLimit();
+    }
+
+    @Test
+    public void testFollowBlockNotifications() {
+        Client client = mockClient(7);
+        AtomicReference<LongConsumer> listener = new AtomicReference<>();
+        doAnswer(
+                        invocation -> {
+                            listener.set(invocation.getArgument(0));
+                            return true;
+                        })
+                .when(client)
+                .addBlockNumberListener(any());
+        CachedBlockLimitProvider provider = new CachedBlockLimitProvider(client, 60000, 60000, 500);
+        // nothing is started by the constructor
+        verify(client, never()).addBlockNumberListener(any());
+        provider.start();
+        Assert.assertTrue(provider.isNotified());
+
+        listener.get().accept(30);
+        Assert.assertEquals(30, provider.getCachedBlockNumber());
+        Assert.assertEquals(BigInteger.valueOf(530), provider.getBlockLimit(client));
+        provider.close();
+        verify(client).removeBlockNumberListener(listener.get());
+    }
+
+    @Test
+    public void testUpdateBlockNumberIsMonotonic() {
+        Client client = mockClient(0);
+        CachedBlockLimitProvider provider = new CachedBlockLimitProvider(client, 0, 60000, 1000);
+        provider.updateBlockNumber(200);
+        Assert.assertEquals(BigInteger.valueOf(1200), provider.getBlockLimit(client));
+        provider.updateBlockNumber(150);
+        Assert.assertEquals(200, provider.getCachedBlockNumber());
+        Assert.assertEquals(BigInteger.valueOf(1200), provider.getBlockLimit(client));
+        provider.updateBlockNumber(201);
+        Assert.assertEquals(BigInteger.valueOf(1201), provider.getBlockLimit(client));
+    }
+
+    @Test
+    public void testBackgroundRefresh() throws InterruptedException {
+        Client client = mockClient(42);
+        try (CachedBlockLimitProvider provider =
+                new CachedBlockLimitProvider(client, 10, 60000, 500).start()) {
+            Assert.assertFalse(provider.isNotified());
+            for (int i = 0; i < 100 && provider.getCachedBlockNumber() < 0; i++) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(42, provider.getCachedBlockNumber());
+            Assert.assertEquals(BigInteger.valueOf(542), provider.getBlockLimit(client));
+        }
+    }
+
+    @Test
+    public void testRefreshFailure() {
+        Client client = mock(Client.class);
+        doAnswer(
+                        (Answer<Void>)
+                                invocation -> {
+                                    RespCallback<BlockNumber> callback = invocation.getArgument(0);
+                                    Response response = new Response();
+                                    response.setErrorCode(-1);
+                                    response.setErrorMessage("timeout");
+                                    callback.onError(response);
+                                    return null;
+                                })
+                .when(client)
+                .getBlockNumberAsync(any(RespCallback.class));
+        CachedBlockLimitProvider provider = new CachedBlockLimitProvider(client, 0, 60000, 500);
+        provider.refresh();
+        Assert.assertEquals(1, provider.getRefreshFailureCount());
+        Assert.assertEquals(-1, provider.getCachedBlockNumber());
+    }
+
+    @Test
+    public void testOtherClientIsNotCached() {
+        Client client = mockClient(10);
+        Client other = mockClient(20);
+        CachedBlockLimitProvider provider = new CachedBlockLimitProvider(client, 0, 60000, 500);
+        provider.updateBlockNumber(10);
+        Assert.assertEquals(BigInteger.valueOf(520), provider.getBlockLimit(other));
+        Assert.assertEquals(BigInteger.valueOf(510), provider.getBlockLimit(client));
+    }
+}
@@ -0,0 +1,73 @@
+package org.fisco.bcos.sdk.v3.test.transaction.nonce;
+
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BlockNumber;
+import org.fisco.bcos.sdk.v3.transaction.nonce.CachedBlockLimitProvider;
+import org.fisco.bcos.sdk.v3.transaction.nonce.ThreadLocalNonceProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ThreadLocalNonceProviderTest {
+
+    @Test
+    public void testNonceFormat() {
+        ThreadLocalNonceProvider provider = new ThreadLocalNonceProvider();
+        for (int i = 0; i < 1000; i++) {
+            String nonce = provider.getNonce();
+            Assert.assertEquals(32, nonce.length());
+            Assert.assertTrue(nonce.matches("[0-9a-f]{32}"));
+        }
+    }
+
+    @Test
+    public void testUniqueAcrossThreads() throws InterruptedException {
+        ThreadLocalNonceProvider provider = new ThreadLocalNonceProvider();
+        ThreadLocalNonceProvider another = new ThreadLocalNonceProvider();
+        Set<String> nonces = ConcurrentHashMap.newKeySet();
+        int threadCount = 16;
+        int perThread = 10000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            ThreadLocalNonceProvider p = i % 2 == 0 ? provider : another;
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                for (int j = 0; j < perThread; j++) {
+                                    nonces.add(p.getNonce());
+                                }
+                                latch.countDown();
+                            });
+            threads.add(thread);
+            thread.start();
+        }
+        latch.await();
+        Assert.assertEquals(threadCount * perThread, nonces.size());
+    }
+
+    @Test
+    public void testBlockLimitDelegated() {
+        Client client = mock(Client.class);
+        BlockNumber blockNumber = new BlockNumber();
+        blockNumber.setResult("0x64");
+        when(client.getBlockNumber()).thenReturn(blockNumber);
+        CachedBlockLimitProvider blockLimitProvider =
+                new CachedBlockLimitProvider(client, 0, 60000, 500);
+        ThreadLocalNonceProvider provider = new ThreadLocalNonceProvider(blockLimitProvider);
+        Assert.assertEquals(BigInteger.valueOf(600), provider.getBlockLimit(client));
+        provider.getBlockLimitAsync(
+                client, blockLimit -> Assert.assertEquals(BigInteger.valueOf(600), blockLimit));
+        Assert.assertEquals(1, blockLimitProvider.getHitCount());
+        Assert.assertSame(blockLimitProvider, provider.getBlockLimitProvider());
+    }
+}